@@ -58,6 +58,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.measure.converter.ConversionException;
 
+import jscl.Budget;
 import jscl.JsclArithmeticException;
 import jscl.MathEngine;
 import jscl.NumeralBase;
@@ -169,21 +170,23 @@ public class Calculator implements SharedPreferences.OnSharedPreferenceChangeLis
         try {
             pe = prepare(e);
 
+            // beyond these limits the calculation fails instead of exhausting the device
+            final Budget budget = Budget.interactive().create();
+            budget.enter();
             try {
                 final MathEngine mathEngine = engine.getMathEngine();
                 mathEngine.setMessageRegistry(mr);
 
                 final Generic result = o.evaluateGeneric(pe.value, mathEngine);
 
-                // NOTE: toString() method must be called here as ArithmeticOperationException may occur in it (just to avoid later check!)
-                //noinspection ResultOfMethodCallIgnored
-                result.toString();
-
+                // NOTE: rendering must stay in this block as ArithmeticOperationException may occur in it
                 final String stringResult = o.getFromProcessor(engine).process(result);
                 bus.post(new CalculationFinishedEvent(o, e, sequence, result, stringResult, collectMessages(mr)));
 
             } catch (JsclArithmeticException exception) {
                 bus.post(new CalculationFailedEvent(o, e, sequence, exception));
+            } finally {
+                budget.exit();
             }
         } catch (ArithmeticException exception) {
             onException(sequence, o, e, mr, pe, new ParseException(e, new CalculatorMessage(CalculatorMessages.msg_001, MessageType.error, exception.getMessage())));
@@ -23,6 +23,7 @@
 package org.solovyev.android.calculator.jscl;
 
 import jscl.math.Generic;
+import jscl.math.RenderOptions;
 import org.solovyev.android.calculator.text.TextProcessor;
 
 import javax.annotation.Nonnull;
@@ -31,9 +32,12 @@ class FromJsclNumericTextProcessor implements TextProcessor<String, Generic> {
 
     public static final FromJsclNumericTextProcessor instance = new FromJsclNumericTextProcessor();
 
+    // multiplication signs are omitted in numeric results
+    private static final RenderOptions OPTIONS = RenderOptions.DEFAULT.withMultiplicationSign("");
+
     @Nonnull
     @Override
     public String process(@Nonnull Generic numeric) {
-        return numeric.toString().replace("*", "");
+        return numeric.toString(OPTIONS);
     }
 }
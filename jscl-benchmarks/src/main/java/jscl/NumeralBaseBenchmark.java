@@ -0,0 +1,101 @@
+package jscl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Programmer mode: parsing and formatting of integers in other numeral bases, with and without a word size, and
+ * conversion of doubles with a fraction
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumeralBaseBenchmark {
+
+    @Param({"hex", "oct", "bin"})
+    public NumeralBase nb;
+
+    @Param({"0", "32"})
+    public int wordSize;
+
+    private JsclMathEngine me;
+    private String digits;
+    private String expression;
+    private long value;
+    private double fraction;
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        me = JsclMathEngine.getInstance();
+        me.setNumeralBase(nb);
+        me.setWordSize(wordSize);
+        value = 0x7A5F3C1EL;
+        digits = nb.toString(value);
+        expression = digits + "*" + nb.toString(3) + "-" + nb.toString(12345);
+        fraction = -12345.6789;
+    }
+
+    @TearDown
+    public void tearDown() {
+        me.setWordSize(0);
+        me.setNumeralBase(JsclMathEngine.DEFAULT_NUMERAL_BASE);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return nb.toJsclInteger(digits);
+    }
+
+    @Benchmark
+    public Object parseBigInteger() {
+        return nb.toBigInteger(digits);
+    }
+
+    @Benchmark
+    public String format() {
+        return me.format(-value);
+    }
+
+    @Benchmark
+    public String formatDouble() {
+        // the result as double, as evaluated before
+        return me.format((double) -value);
+    }
+
+    @Benchmark
+    public String evaluate() throws Exception {
+        return me.evaluate(expression);
+    }
+
+    @Benchmark
+    public String formatFraction() {
+        return nb.toString(fraction, 20);
+    }
+
+    @Benchmark
+    public StringBuilder formatFractionInBuffer() {
+        buffer.setLength(0);
+        return nb.append(buffer, fraction, 20);
+    }
+
+    @Benchmark
+    public String formatFractionDecimal() {
+        return NumeralBase.dec.toString(fraction, 20);
+    }
+}
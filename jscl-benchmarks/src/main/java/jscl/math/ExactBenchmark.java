@@ -0,0 +1,79 @@
+package jscl.math;
+
+import jscl.JsclMathEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Integer and rational arithmetic with values fitting into a long, run with -Pprof=gc to see the allocations
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExactBenchmark {
+
+    @Param({"1/3+1/6-1/7*2/5", "(1+2/3)^5-17/4", "1000000007*998244353-123456789/987654321"})
+    public String expression;
+
+    private JsclMathEngine me;
+    private Rational[] fractions;
+
+    @Setup
+    public void setUp() {
+        me = JsclMathEngine.getInstance();
+        me.setExactArithmetic(true);
+        fractions = new Rational[100];
+        for (int i = 0; i < fractions.length; i++) {
+            fractions[i] = Rational.valueOf(JsclInteger.valueOf(i % 2 == 0 ? 1 : -1), JsclInteger.valueOf(i + 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        me.setExactArithmetic(false);
+    }
+
+    @Benchmark
+    public String evaluate() throws Exception {
+        return me.evaluate(expression);
+    }
+
+    @Benchmark
+    public Generic simplify() throws Exception {
+        return Expression.valueOf(expression).expand().simplify();
+    }
+
+    @Benchmark
+    public Generic harmonicSum() {
+        // alternating harmonic series: small numerators and denominators, the sum overflows a long at the end
+        Generic result = JsclInteger.ZERO;
+        for (Rational fraction : fractions) {
+            result = result.add(fraction);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Generic integerSum() {
+        Generic result = JsclInteger.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            result = result.add(JsclInteger.valueOf(i).multiply(JsclInteger.valueOf(i)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package jscl.math;
+
+import jscl.JsclMathEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and the three engine operations on inputs typed in the calculator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    @Param({"2+2*3", "sin(30)^2+cos(30)^2", "(x^2-1)/(x-1)", "∫(x*sin(x), x)", "√(8)+√(2)", "5!+ln(e^2)*π"})
+    public String expression;
+
+    private JsclMathEngine engine;
+    private boolean numeric;
+
+    @Setup
+    public void setUp() {
+        engine = JsclMathEngine.getInstance();
+        // inputs with free variables have no numeric value
+        try {
+            engine.evaluate(expression);
+            numeric = true;
+        } catch (Exception e) {
+            numeric = false;
+        }
+    }
+
+    @Benchmark
+    public Generic parse() throws Exception {
+        return Expression.valueOf(expression);
+    }
+
+    @Benchmark
+    public String evaluate() throws Exception {
+        return numeric ? engine.evaluate(expression) : null;
+    }
+
+    @Benchmark
+    public String simplify() throws Exception {
+        Simplification.clearCache();
+        return engine.simplify(expression);
+    }
+
+    @Benchmark
+    public String simplifyCached() throws Exception {
+        return engine.simplify(expression);
+    }
+
+    @Benchmark
+    public String elementary() throws Exception {
+        return engine.elementary(expression);
+    }
+}
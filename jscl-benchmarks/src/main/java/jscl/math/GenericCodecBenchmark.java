@@ -0,0 +1,76 @@
+package jscl.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading of large symbolic results: the binary encoding against toString() and parsing the text back
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericCodecBenchmark {
+
+    // same text as the default options, but not served from the text cached by toString()
+    private static final RenderOptions OPTIONS = RenderOptions.DEFAULT.withMultiplicationSign("*");
+
+    @Param({"sum", "trigonometric"})
+    public String kind;
+
+    @Param({"5", "10"})
+    public int power;
+
+    private Generic value;
+    private String text;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String expression = kind.equals("sum") ? "(a+b+c+d)^" + power : "(sin(x)+cos(y)+ln(x+y)+√(z))^" + power;
+        value = Expression.valueOf(expression).expand();
+        text = value.toString();
+        bytes = save();
+    }
+
+    @Benchmark
+    public byte[] save() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GenericCodec.write(new DataOutputStream(out), value);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Generic load() throws Exception {
+        return GenericCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Benchmark
+    public String saveText() {
+        final StringBuilder result = new StringBuilder();
+        value.appendTo(result, OPTIONS);
+        return result.toString();
+    }
+
+    @Benchmark
+    public Generic loadText() throws Exception {
+        return Expression.valueOf(text);
+    }
+}
@@ -0,0 +1,57 @@
+package jscl.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MathML output of symbolic matrices and of expanded sums
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathMLBenchmark {
+
+    @Param({"10", "30"})
+    public int size;
+
+    private Matrix matrix;
+    private Generic sum;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Generic[][] elements = new Generic[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                elements[i][j] = Expression.valueOf((i + 1) + "*a^2-" + (j + 1) + "*b/c+sin(d)").expand();
+            }
+        }
+        matrix = new Matrix(elements);
+        // (a+b+c+d)^k has (k+1)(k+2)(k+3)/6 terms, about size^2 like the matrix
+        final int k = (int) Math.round(Math.cbrt(6d * size * size));
+        sum = Expression.valueOf("(a+b+c+d)^" + k).expand();
+    }
+
+    @Benchmark
+    public String matrix() {
+        return matrix.toMathML();
+    }
+
+    @Benchmark
+    public String sum() {
+        return sum.toMathML();
+    }
+}
@@ -0,0 +1,59 @@
+package jscl.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+
+    @Param({"3", "5", "7"})
+    public int size;
+
+    /**
+     * Integer entries or linear forms in a, b, c
+     */
+    @Param({"integer", "symbolic"})
+    public String entries;
+
+    private Matrix matrix;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Random random = new Random(size);
+        final Generic[][] elements = new Generic[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                final int n = random.nextInt(19) - 9;
+                elements[i][j] = entries.equals("integer") ? JsclInteger.valueOf(n) : Expression.valueOf(n + "*a+" + (i + 1) + "*b-" + (j + 1) + "*c").expand();
+            }
+        }
+        matrix = new Matrix(elements);
+    }
+
+    @Benchmark
+    public Generic determinant() {
+        return matrix.determinant();
+    }
+
+    @Benchmark
+    public Matrix product() {
+        return matrix.multiply(matrix);
+    }
+}
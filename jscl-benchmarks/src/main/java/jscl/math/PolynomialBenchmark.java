@@ -0,0 +1,66 @@
+package jscl.math;
+
+import jscl.math.polynomial.Polynomial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polynomial gcd and factorization, univariate inputs go through Zassenhaus, multivariate ones through
+ * evaluation and Hensel lifting
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolynomialBenchmark {
+
+    @Param({"(x^10+x+1)*(2*x^20-7*x^3+1)*(3*x^20+x^19-4)",
+            "x^50-1",
+            "x^16-136*x^14+6476*x^12-141912*x^10+1513334*x^8-7453176*x^6+13950764*x^4-5596840*x^2+46225",
+            "(x+y+z)^4*(x-y)^3",
+            "(x^3*y+z)*(x*z^2+y^2*x-1)*(x+y+z+1)*(x^2*z-y+3)"})
+    public String polynomial;
+
+    private Generic generic;
+    private Generic cofactor;
+    private BigInteger[] coefficients;
+
+    @Setup
+    public void setUp() throws Exception {
+        generic = Expression.valueOf(polynomial).expand();
+        cofactor = Expression.valueOf("(" + polynomial + ")*(x^3-2*x+7)").expand();
+        if (generic.variables().length == 1) {
+            coefficients = Factorization.univariate(Polynomial.factory(generic.variables()).valueOf(generic));
+        }
+    }
+
+    @Benchmark
+    public Generic factorize() {
+        return generic.factorize();
+    }
+
+    @Benchmark
+    public List<BigInteger[]> zassenhaus() {
+        return coefficients == null ? null : Zassenhaus.compute(coefficients);
+    }
+
+    @Benchmark
+    public Generic gcd() {
+        return generic.gcd(cofactor);
+    }
+}
@@ -0,0 +1,67 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elementary functions of {@link BigReal} with the given number of digits
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigRealBenchmark {
+
+    @Param({"34", "100", "1000"})
+    public int digits;
+
+    private BigReal x;
+
+    @Setup
+    public void setUp() {
+        JsclMathEngine.getInstance().setAngleUnits(AngleUnit.rad);
+        x = BigReal.valueOf(new BigDecimal("0.7853981633974483096156608458198757210492923498437764552437361480"), new MathContext(digits));
+    }
+
+    @Benchmark
+    public Numeric sin() {
+        return x.sin();
+    }
+
+    @Benchmark
+    public Numeric exp() {
+        return x.exp();
+    }
+
+    @Benchmark
+    public Numeric ln() {
+        return x.ln();
+    }
+
+    @Benchmark
+    public Numeric atan() {
+        return x.atan();
+    }
+
+    @Benchmark
+    public Numeric sqrt() {
+        return x.sqrt();
+    }
+}
@@ -0,0 +1,91 @@
+package jscl.math.numeric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix products and scalar products in a {@link NumericAccumulator} against chains of immutable numbers, run with
+ * -Pprof=gc to see the allocations
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericAccumulatorBenchmark {
+
+    @Param({"real", "complex"})
+    public String kind;
+
+    @Param({"10", "50"})
+    public int size;
+
+    private Matrix matrix;
+    private Vector vector;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final Numeric[][] elements = new Numeric[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                elements[i][j] = newNumeric(random);
+            }
+        }
+        matrix = new Matrix(elements);
+        vector = new Vector(elements[0].clone());
+    }
+
+    private Numeric newNumeric(Random random) {
+        return kind.equals("real") ? Real.valueOf(random.nextDouble()) : Complex.restore(random.nextDouble(), random.nextDouble());
+    }
+
+    @Benchmark
+    public Numeric multiply() {
+        return matrix.multiply(matrix);
+    }
+
+    @Benchmark
+    public Numeric multiplyChained() {
+        final Numeric[][] m = matrix.elements();
+        final Numeric[][] result = new Numeric[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                Numeric sum = Real.ZERO;
+                for (int k = 0; k < size; k++) {
+                    sum = sum.add(m[i][k].multiply(m[k][j]));
+                }
+                result[i][j] = sum;
+            }
+        }
+        return new Matrix(result);
+    }
+
+    @Benchmark
+    public Numeric scalarProduct() {
+        return vector.scalarProduct(vector);
+    }
+
+    @Benchmark
+    public Numeric scalarProductChained() {
+        final Numeric[] elements = vector.elements();
+        Numeric sum = Real.ZERO;
+        for (Numeric element : elements) {
+            sum = sum.add(element.multiply(element));
+        }
+        return sum;
+    }
+}
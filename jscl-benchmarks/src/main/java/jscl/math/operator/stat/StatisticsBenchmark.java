@@ -0,0 +1,75 @@
+package jscl.math.operator.stat;
+
+import jscl.math.Generic;
+import jscl.math.JsclVector;
+import jscl.math.NumericWrapper;
+import jscl.math.numeric.Real;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass {@link Statistics} of doubles (in parallel for large arrays) and the stat operators on vectors of reals
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private double[] values;
+    private JsclVector vector;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        values = new double[size];
+        final Generic[] elements = new Generic[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextGaussian();
+            elements[i] = new NumericWrapper(Real.valueOf(values[i]));
+        }
+        vector = new JsclVector(elements);
+    }
+
+    @Benchmark
+    public Statistics statistics() {
+        return Statistics.of(values);
+    }
+
+    @Benchmark
+    public Statistics statisticsSequential() {
+        return Statistics.of(values, 0, values.length);
+    }
+
+    @Benchmark
+    public double median() {
+        return Statistics.percentile(values.clone(), 0.5);
+    }
+
+    @Benchmark
+    public Generic standardDeviation() {
+        return new StandardDeviation(vector).numeric();
+    }
+
+    @Benchmark
+    public Generic medianOperator() {
+        return new Median(vector).numeric();
+    }
+}
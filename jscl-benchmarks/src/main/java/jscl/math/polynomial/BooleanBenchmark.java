@@ -0,0 +1,92 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boolean ring arithmetic with word-packed terms against the monomial array representation, and bases of
+ * random quadratic boolean systems
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BooleanBenchmark {
+
+    @Param({"8", "10", "12"})
+    public int variables;
+
+    @Param({"bitset", "array"})
+    public String representation;
+
+    private Polynomial[] polynomials;
+    private Monomial[] monomials;
+    private Generic[] system;
+    private Variable[] unknown;
+    private int flags;
+
+    @Setup
+    public void setUp() throws Exception {
+        unknown = new Variable[variables];
+        for (int i = 0; i < variables; i++) unknown[i] = Expression.valueOf("x" + i).variableValue();
+        final Monomial monomialFactory = Monomial.factory(unknown, Monomial.degreeReverseLexicographic, Basis.POWER_2_DEFINED);
+        final Polynomial factory = representation.equals("bitset") ? Polynomial.factory(monomialFactory, 2, 0, false) : new ArrayPolynomialBoolean(monomialFactory);
+        // without the packed terms the field equations x^2 = x are added to the input instead
+        flags = representation.equals("bitset") ? Basis.POWER_2_DEFINED : Basis.POWER_2 | Basis.DEFINING_EQS;
+        final Random random = new Random(variables);
+        polynomials = new Polynomial[64];
+        monomials = new Monomial[64];
+        for (int i = 0; i < polynomials.length; i++) {
+            polynomials[i] = factory.valueOf(random(random, 20, 3));
+            monomials[i] = factory.valueOf(random(random, 1, 2)).head().monomial();
+        }
+        system = new Generic[variables];
+        for (int i = 0; i < system.length; i++) system[i] = random(random, 2 * variables, 2);
+    }
+
+    @Benchmark
+    public Polynomial arithmetic() {
+        Polynomial s = polynomials[0];
+        for (int i = 1; i < polynomials.length; i++) {
+            s = s.subtract(polynomials[i].multiply(monomials[i]));
+        }
+        return s;
+    }
+
+    @Benchmark
+    public Basis basis() {
+        return Basis.compute(system, unknown, Monomial.degreeReverseLexicographic, 2, flags);
+    }
+
+    private Generic random(Random random, int terms, int degree) throws Exception {
+        final StringBuilder sb = new StringBuilder("1");
+        for (int i = 0; i < terms; i++) {
+            sb.append('+');
+            sb.append(1);
+            // square-free terms, the array representation does not reduce x^2 to x
+            final BitSet term = new BitSet(variables);
+            final int d = 1 + random.nextInt(degree);
+            while (term.cardinality() < d) term.set(random.nextInt(variables));
+            for (int j = term.nextSetBit(0); j >= 0; j = term.nextSetBit(j + 1)) sb.append("*x").append(j);
+        }
+        return Expression.valueOf(sb.toString()).expand();
+    }
+}
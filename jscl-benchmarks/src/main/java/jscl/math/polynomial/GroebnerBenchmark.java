@@ -0,0 +1,127 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groebner bases of the cyclic-n and katsura-n systems in degree reverse lexicographic order, over Q and
+ * modulo a word-size prime
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroebnerBenchmark {
+
+    @Param({"cyclic-4", "cyclic-5", "katsura-3", "katsura-4"})
+    public String system;
+
+    @Param({"buchberger", "f4", "block", "modular"})
+    public String algorithm;
+
+    /**
+     * Representation selected from the input (adaptive) or forced: 32-bit exponents, packed 8-bit exponents,
+     * geobuckets
+     */
+    @Param({"adaptive", "plain", "packed", "buckets"})
+    public String representation;
+
+    private Generic[] generic;
+    private Variable[] unknown;
+    private int flags;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String[] s = system.split("-");
+        final int n = Integer.parseInt(s[1]);
+        if (s[0].equals("cyclic")) {
+            unknown = unknown(n);
+            generic = cyclic(unknown);
+        } else {
+            unknown = unknown(n + 1);
+            generic = katsura(unknown);
+        }
+        if (algorithm.equals("f4")) flags |= Basis.F4;
+        else if (algorithm.equals("block")) flags |= Basis.BLOCK;
+        else if (algorithm.equals("modular")) flags |= Basis.MODULAR;
+        if (representation.equals("adaptive")) flags |= Basis.ADAPTIVE;
+        else if (representation.equals("packed")) flags |= Basis.POWER_8;
+        else if (representation.equals("buckets")) flags |= Basis.GEO_BUCKETS;
+    }
+
+    @Benchmark
+    public Basis rational() {
+        return Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, flags);
+    }
+
+    @Benchmark
+    public Basis prime() {
+        return Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 32003, flags);
+    }
+
+    static Variable[] unknown(int n) throws Exception {
+        final Variable[] unknown = new Variable[n];
+        for (int i = 0; i < n; i++) unknown[i] = Expression.valueOf(String.valueOf((char) ('a' + i))).variableValue();
+        return unknown;
+    }
+
+    /**
+     * Elementary symmetric-like sums of cyclically consecutive products and the product minus one
+     */
+    static Generic[] cyclic(Variable[] x) throws Exception {
+        final int n = x.length;
+        final Generic[] generic = new Generic[n];
+        for (int k = 1; k < n; k++) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                if (i > 0) sb.append('+');
+                for (int j = 0; j < k; j++) {
+                    if (j > 0) sb.append('*');
+                    sb.append(x[(i + j) % n]);
+                }
+            }
+            generic[k - 1] = Expression.valueOf(sb.toString()).expand();
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) sb.append(x[i]).append('*');
+        generic[n - 1] = Expression.valueOf(sb.append("1-1").toString()).expand();
+        return generic;
+    }
+
+    /**
+     * Sums of u(l)*u(m-l) over l in [-n, n] minus u(m) for m < n, with u(-l) = u(l) and u(l) = 0 for l > n,
+     * and u(0)+2*(u(1)+...+u(n)) = 1
+     */
+    static Generic[] katsura(Variable[] u) throws Exception {
+        final int n = u.length - 1;
+        final Generic[] generic = new Generic[n + 1];
+        for (int m = 0; m < n; m++) {
+            final StringBuilder sb = new StringBuilder("0");
+            for (int l = -n; l <= n; l++) {
+                final int k = Math.abs(m - l);
+                if (k <= n) sb.append('+').append(u[Math.abs(l)]).append('*').append(u[k]);
+            }
+            generic[m] = Expression.valueOf(sb.append('-').append(u[m]).toString()).expand();
+        }
+        final StringBuilder sb = new StringBuilder(u[0].toString());
+        for (int l = 1; l <= n; l++) sb.append("+2*").append(u[l]);
+        generic[n] = Expression.valueOf(sb.append("-1").toString()).expand();
+        return generic;
+    }
+}
@@ -0,0 +1,102 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.ModularInteger;
+import jscl.math.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reduction steps modulo a word-size prime with the int coefficient kernels (Shoup multiplication, conditional
+ * subtraction) against ModularInteger coefficients, and the coefficient multiplication alone against a remainder
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModularKernelBenchmark {
+
+    private static final int MODULO = 2147483629;
+
+    @Param({"int", "generic"})
+    public String coefficients;
+
+    @Param({"50", "500"})
+    public int terms;
+
+    private Polynomial p;
+    private Polynomial q;
+    private Monomial monomial;
+    private Generic factor;
+    private ArrayPolynomialModular kernel;
+    private int[] x;
+    private int g;
+    private long gp;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Variable[] unknown = new Variable[3];
+        for (int i = 0; i < unknown.length; i++) unknown[i] = Expression.valueOf("x" + i).variableValue();
+        final Monomial monomialFactory = Monomial.factory(unknown, Monomial.degreeReverseLexicographic, 0);
+        final Polynomial factory = coefficients.equals("int") ? new ArrayPolynomialModular(monomialFactory, ModularInteger.factory(MODULO)) : new ArrayPolynomialGeneric(monomialFactory, ModularInteger.factory(MODULO));
+        final Random random = new Random(terms);
+        p = factory.valueOf(random(random, terms));
+        q = factory.valueOf(random(random, terms));
+        monomial = factory.valueOf(Expression.valueOf("x0*x2")).head().monomial();
+        factor = new ModularInteger(random.nextInt(MODULO), MODULO);
+
+        kernel = new ArrayPolynomialModular(monomialFactory, ModularInteger.factory(MODULO));
+        x = new int[terms];
+        for (int i = 0; i < x.length; i++) x[i] = random.nextInt(MODULO);
+        g = random.nextInt(MODULO);
+        gp = kernel.precompute(g);
+    }
+
+    @Benchmark
+    public Polynomial multiplyAndSubtract() {
+        return p.multiplyAndSubtract(monomial, factor, q);
+    }
+
+    @Benchmark
+    public Polynomial multiplyAndSubtractConstant() {
+        return p.multiplyAndSubtract(factor, q);
+    }
+
+    @Benchmark
+    public long shoup() {
+        long s = 0;
+        for (int i = 0; i < x.length; i++) s += kernel.multiply(x[i], g, gp);
+        return s;
+    }
+
+    @Benchmark
+    public long remainder() {
+        long s = 0;
+        for (int i = 0; i < x.length; i++) s += (long) x[i] * g % MODULO;
+        return s;
+    }
+
+    private static Generic random(Random random, int terms) throws Exception {
+        final StringBuilder sb = new StringBuilder("1");
+        for (int i = 0; i < terms; i++) {
+            sb.append('+').append(1 + random.nextInt(MODULO - 1));
+            for (int j = 0; j < 3; j++) sb.append("*x").append(j).append('^').append(random.nextInt(8));
+        }
+        return Expression.valueOf(sb.toString()).expand();
+    }
+}
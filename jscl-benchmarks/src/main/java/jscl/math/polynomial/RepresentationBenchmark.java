@@ -0,0 +1,93 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groebner bases of random systems swept over the number of variables, the number of terms per polynomial and
+ * the degree spread of the terms, in each polynomial representation, over Q and modulo a word-size prime. The
+ * thresholds of {@link Profile} are read off these results: for each shape, the representation the adaptive
+ * choice should pick is the fastest one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepresentationBenchmark {
+
+    @Param({"2", "3", "4"})
+    public int variables;
+
+    @Param({"4", "8", "16"})
+    public int terms;
+
+    /**
+     * Difference between the largest and the smallest total degree of the terms of a polynomial, 0 for
+     * homogeneous systems
+     */
+    @Param({"0", "1", "2"})
+    public int spread;
+
+    /**
+     * Representation selected from the input (adaptive) or forced: 32-bit exponents, packed 8-bit exponents,
+     * geobuckets
+     */
+    @Param({"adaptive", "plain", "packed", "buckets"})
+    public String representation;
+
+    private Generic[] generic;
+    private Variable[] unknown;
+    private int flags;
+
+    @Setup
+    public void setUp() throws Exception {
+        unknown = new Variable[variables];
+        for (int i = 0; i < variables; i++) unknown[i] = Expression.valueOf(String.valueOf((char) ('a' + i))).variableValue();
+        final Random random = new Random(31 * (31 * variables + terms) + spread);
+        generic = new Generic[variables];
+        for (int i = 0; i < variables; i++) generic[i] = random(random);
+        if (representation.equals("adaptive")) flags |= Basis.ADAPTIVE;
+        else if (representation.equals("packed")) flags |= Basis.POWER_8;
+        else if (representation.equals("buckets")) flags |= Basis.GEO_BUCKETS;
+    }
+
+    @Benchmark
+    public Basis rational() {
+        return Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, flags);
+    }
+
+    @Benchmark
+    public Basis prime() {
+        return Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 32003, flags);
+    }
+
+    /**
+     * Polynomial of the given number of terms with coefficients in [-9, 9] and total degrees in [2, 2 + spread]
+     */
+    private Generic random(Random random) throws Exception {
+        final StringBuilder sb = new StringBuilder("0");
+        for (int i = 0; i < terms; i++) {
+            sb.append(random.nextBoolean() ? '+' : '-').append(1 + random.nextInt(9));
+            final int degree = 2 + random.nextInt(spread + 1);
+            for (int j = 0; j < degree; j++) sb.append('*').append(unknown[random.nextInt(variables)]);
+        }
+        return Expression.valueOf(sb.toString()).expand();
+    }
+}
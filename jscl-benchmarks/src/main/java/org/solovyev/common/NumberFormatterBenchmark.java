@@ -0,0 +1,60 @@
+package org.solovyev.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberFormatterBenchmark {
+
+    @Param({"2", "8", "10", "16"})
+    public int radix;
+
+    @Param({"simple", "scientific", "engineering"})
+    public String format;
+
+    private final NumberFormatter formatter = new NumberFormatter();
+    private final double[] doubles = {0.1, 1d / 3, 123456.789, 6.02214076e23, -1.602e-19, 5999999999999999.5};
+    private final BigInteger integer = BigInteger.valueOf(3).pow(200);
+
+    @Setup
+    public void setUp() {
+        if (format.equals("scientific")) {
+            formatter.useScientificFormat(NumberFormatter.DEFAULT_MAGNITUDE);
+        } else if (format.equals("engineering")) {
+            formatter.useEngineeringFormat(NumberFormatter.DEFAULT_MAGNITUDE);
+        } else {
+            formatter.useSimpleFormat();
+        }
+    }
+
+    @Benchmark
+    public int formatDouble() {
+        int length = 0;
+        for (double value : doubles) {
+            length += formatter.format(value, radix).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public CharSequence formatInteger() {
+        return formatter.format(integer, radix);
+    }
+}
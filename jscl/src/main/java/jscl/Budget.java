@@ -0,0 +1,211 @@
+package jscl;
+
+import jscl.text.ParserUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resource limits of one evaluation: a wall-clock deadline, the number of terms of any single expression or
+ * polynomial, the number of terms of all expressions and polynomials created and the degree of any monomial.
+ * Memory is bounded through the numbers of terms, the heap is shared with the rest of the process and is not
+ * measured: the total catches computations building many intermediates each within the size limit.
+ * <p>
+ * A budget applies to the calling thread between {@link #enter()} and {@link #exit()}. Arithmetic checks it
+ * through the static methods below, which cost one volatile read while no budget is in use anywhere. Work handed
+ * to other threads runs under the budget of the caller through {@link #inherit(Callable)}.
+ * Exceeding a limit throws {@link BudgetExceededException}.
+ */
+public final class Budget {
+
+    /**
+     * Number of term allocations between two deadline checks
+     */
+    static final int CHECK_INTERVAL = 1024;
+
+    public enum Limit {
+        time,
+        terms,
+        allocations,
+        degree
+    }
+
+    private static final ThreadLocal<Budget> current = new ThreadLocal<Budget>();
+    private static volatile int active;
+
+    private final long timeout;
+    private final int maxTerms;
+    private final long maxAllocations;
+    private final int maxDegree;
+    // a copy for a worker thread keeps the deadline and shares the total of the budget it was taken from
+    private final boolean inherited;
+    @Nonnull
+    private final AtomicLong allocated;
+    private long deadline;
+    private int countdown;
+    @Nullable
+    private Budget previous;
+
+    private Budget(@Nonnull Builder builder) {
+        this.timeout = builder.timeout;
+        this.maxTerms = builder.maxTerms;
+        this.maxAllocations = builder.maxAllocations;
+        this.maxDegree = builder.maxDegree;
+        this.inherited = false;
+        this.allocated = new AtomicLong();
+    }
+
+    private Budget(@Nonnull Budget budget) {
+        this.timeout = budget.timeout;
+        this.maxTerms = budget.maxTerms;
+        this.maxAllocations = budget.maxAllocations;
+        this.maxDegree = budget.maxDegree;
+        this.inherited = true;
+        this.deadline = budget.deadline;
+        this.allocated = budget.allocated;
+    }
+
+    /**
+     * Starts the clock and the count of terms and makes this budget the one of the calling thread
+     */
+    public void enter() {
+        if (!inherited) {
+            deadline = timeout == 0 ? 0 : System.nanoTime() + timeout * 1000000L;
+            allocated.set(0);
+        }
+        countdown = CHECK_INTERVAL;
+        previous = current.get();
+        current.set(this);
+        synchronized (Budget.class) {
+            active++;
+        }
+    }
+
+    public void exit() {
+        if (previous == null) current.remove();
+        else current.set(previous);
+        previous = null;
+        synchronized (Budget.class) {
+            active--;
+        }
+    }
+
+    @Nullable
+    public static Budget current() {
+        return active == 0 ? null : current.get();
+    }
+
+    /**
+     * Wraps a task handed to a worker thread so that it runs under the limits and the deadline of the budget of
+     * the calling thread, its terms counting towards the same total. The task is returned as is if there is no
+     * budget. Each wrapped task must run only once.
+     */
+    @Nonnull
+    public static <V> Callable<V> inherit(@Nonnull final Callable<V> task) {
+        final Budget budget = current();
+        if (budget == null) return task;
+        final Budget worker = new Budget(budget);
+        return new Callable<V>() {
+            @Override
+            public V call() throws Exception {
+                worker.enter();
+                try {
+                    return task.call();
+                } finally {
+                    worker.exit();
+                }
+            }
+        };
+    }
+
+    /**
+     * Checks the deadline and the interruption of the calling thread, for loops whose iterations do enough
+     * work to afford a clock read
+     */
+    public static void check() {
+        ParserUtils.checkInterruption();
+        final Budget budget = current();
+        if (budget != null) budget.checkTime();
+    }
+
+    /**
+     * Accounts for a new expression or polynomial of the given number of terms
+     */
+    public static void terms(int size) {
+        final Budget budget = current();
+        if (budget == null) return;
+        if (budget.maxTerms > 0 && size > budget.maxTerms) throw new BudgetExceededException(Limit.terms, budget.maxTerms);
+        if (budget.maxAllocations > 0 && budget.allocated.addAndGet(size) > budget.maxAllocations) throw new BudgetExceededException(Limit.allocations, budget.maxAllocations);
+        if (--budget.countdown <= 0) {
+            budget.countdown = CHECK_INTERVAL;
+            ParserUtils.checkInterruption();
+            budget.checkTime();
+        }
+    }
+
+    public static void degree(int degree) {
+        final Budget budget = current();
+        if (budget != null && budget.maxDegree > 0 && degree > budget.maxDegree) throw new BudgetExceededException(Limit.degree, budget.maxDegree);
+    }
+
+    private void checkTime() {
+        if (deadline != 0 && System.nanoTime() - deadline > 0) throw new BudgetExceededException(Limit.time, timeout);
+    }
+
+    /**
+     * Limits for an expression typed by a user: ten seconds, 100000 terms, 20000000 terms in total and degree
+     * 10000
+     */
+    @Nonnull
+    public static Builder interactive() {
+        return new Builder()
+                .setTimeout(10000)
+                .setMaxTerms(100000)
+                .setMaxAllocations(20000000)
+                .setMaxDegree(10000);
+    }
+
+    /**
+     * Limits left at 0 are not checked
+     */
+    public static final class Builder {
+        private long timeout;
+        private int maxTerms;
+        private long maxAllocations;
+        private int maxDegree;
+
+        @Nonnull
+        public Builder setTimeout(long millis) {
+            this.timeout = millis;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setMaxTerms(int maxTerms) {
+            this.maxTerms = maxTerms;
+            return this;
+        }
+
+        /**
+         * Limits the number of terms of all expressions and polynomials created, intermediate ones included
+         */
+        @Nonnull
+        public Builder setMaxAllocations(long maxAllocations) {
+            this.maxAllocations = maxAllocations;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setMaxDegree(int maxDegree) {
+            this.maxDegree = maxDegree;
+            return this;
+        }
+
+        @Nonnull
+        public Budget create() {
+            return new Budget(this);
+        }
+    }
+}
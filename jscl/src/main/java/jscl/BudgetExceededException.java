@@ -0,0 +1,51 @@
+package jscl;
+
+import jscl.text.msg.Messages;
+
+import javax.annotation.Nonnull;
+
+public class BudgetExceededException extends JsclArithmeticException {
+
+    private static final long serialVersionUID = 1L;
+
+    @Nonnull
+    private final Budget.Limit limit;
+
+    /**
+     * @param value the limit: milliseconds, terms, terms in total or degree
+     */
+    public BudgetExceededException(@Nonnull Budget.Limit limit, long value) {
+        super(messageCode(limit), parameter(limit, value));
+        this.limit = limit;
+    }
+
+    @Nonnull
+    private static String messageCode(@Nonnull Budget.Limit limit) {
+        switch (limit) {
+            case time:
+                return Messages.msg_26;
+            case terms:
+                return Messages.msg_27;
+            case allocations:
+                return Messages.msg_29;
+            default:
+                return Messages.msg_28;
+        }
+    }
+
+    @Nonnull
+    private static Number parameter(@Nonnull Budget.Limit limit, long value) {
+        switch (limit) {
+            case time:
+                // seconds
+                return value / 1000.0;
+            default:
+                return value;
+        }
+    }
+
+    @Nonnull
+    public Budget.Limit getLimit() {
+        return limit;
+    }
+}
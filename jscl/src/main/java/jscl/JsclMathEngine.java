@@ -9,6 +9,7 @@ import org.solovyev.common.math.MathRegistry;
 import org.solovyev.common.msg.MessageRegistry;
 import org.solovyev.common.msg.Messages;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
 
@@ -17,6 +18,9 @@ import javax.annotation.Nullable;
 
 import jscl.math.Expression;
 import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.Rational;
+import jscl.math.Simplification;
 import jscl.math.function.Constants;
 import jscl.math.function.ConstantsRegistry;
 import jscl.math.function.Function;
@@ -50,6 +54,14 @@ public class JsclMathEngine implements MathEngine {
     private AngleUnit angleUnits = DEFAULT_ANGLE_UNITS;
     @Nonnull
     private NumeralBase numeralBase = DEFAULT_NUMERAL_BASE;
+    private volatile boolean extendedPrecision;
+    private volatile boolean exactArithmetic;
+    // 0 if integers are not wrapped
+    private volatile int wordSize;
+    @Nullable
+    private volatile java.math.MathContext bigDecimalContext;
+    // changes with every setting which changes how numbers are formatted
+    private volatile int formatVersion;
     @Nonnull
     private MessageRegistry messageRegistry = Messages.synchronizedMessageRegistry(new FixedCapacityListMessageRegistry(10));
 
@@ -80,9 +92,39 @@ public class JsclMathEngine implements MathEngine {
     public Generic evaluateGeneric(@Nonnull String expression) throws ParseException {
         if (expression.contains(Percent.NAME) || expression.contains(Rand.NAME)) {
             return Expression.valueOf(expression).numeric();
-        } else {
-            return Expression.valueOf(expression).expand().numeric();
         }
+        final Generic expanded = Expression.valueOf(expression).expand();
+        if (exactArithmetic) {
+            final Generic exact = exactValue(expanded);
+            if (exact != null) {
+                return exact;
+            }
+        }
+        if (expanded instanceof JsclInteger && (numeralBase != NumeralBase.dec || wordSize != 0)) {
+            // programmer mode: integers are not converted to doubles
+            return wordSize != 0 ? ((JsclInteger) expanded).wrap(wordSize) : expanded;
+        }
+        return expanded.numeric();
+    }
+
+    /**
+     * @return value of the expanded expression if it is a rational number, null otherwise. Sums of integers and
+     * fractions are taken as they are, only other expressions are simplified.
+     */
+    @Nullable
+    private static Generic exactValue(@Nonnull Generic expanded) {
+        final Generic value = rationalValue(expanded);
+        return value != null ? value : rationalValue(expanded.simplify());
+    }
+
+    @Nullable
+    private static Generic rationalValue(@Nonnull Generic generic) {
+        if (generic instanceof JsclInteger || generic instanceof Rational) {
+            return generic;
+        } else if (generic instanceof Expression) {
+            return ((Expression) generic).rationalValue();
+        }
+        return null;
     }
 
     @Nonnull
@@ -130,6 +172,54 @@ public class JsclMathEngine implements MathEngine {
 
     public void setNumeralBase(@Nonnull NumeralBase numeralBase) {
         this.numeralBase = numeralBase;
+        formatVersion++;
+    }
+
+    public boolean isExtendedPrecision() {
+        return extendedPrecision;
+    }
+
+    public void setExtendedPrecision(boolean extendedPrecision) {
+        this.extendedPrecision = extendedPrecision;
+    }
+
+    public boolean isExactArithmetic() {
+        return exactArithmetic;
+    }
+
+    /**
+     * In exact mode results of {@link #evaluate(String)} which are rational numbers are kept as fractions (1/3+1/6 is
+     * 1/2), other results are computed numerically as before
+     */
+    public void setExactArithmetic(boolean exactArithmetic) {
+        this.exactArithmetic = exactArithmetic;
+    }
+
+    public int getWordSize() {
+        return wordSize;
+    }
+
+    /**
+     * Integer results of {@link #evaluate(String)} are wrapped to two's complement numbers of <var>wordSize</var> bits
+     * (8, 16, 32 or 64) and negative numbers are shown as unsigned words in other numeral bases than decimal, 0 turns
+     * the wrapping off
+     */
+    public void setWordSize(int wordSize) {
+        if (wordSize != 0 && wordSize != 8 && wordSize != 16 && wordSize != 32 && wordSize != 64) {
+            throw new IllegalArgumentException("Unsupported word size: " + wordSize);
+        }
+        this.wordSize = wordSize;
+        formatVersion++;
+    }
+
+    @Nullable
+    public java.math.MathContext getBigDecimalContext() {
+        return bigDecimalContext;
+    }
+
+    public void setBigDecimalContext(@Nullable java.math.MathContext bigDecimalContext) {
+        this.bigDecimalContext = bigDecimalContext;
+        formatVersion++;
     }
 
     @Nonnull
@@ -187,8 +277,32 @@ public class JsclMathEngine implements MathEngine {
         return format(value, numeralBase);
     }
 
+    @Nonnull
+    public String format(long value) {
+        return format(value, numeralBase);
+    }
+
+    @Nonnull
+    public String format(long value, @Nonnull NumeralBase nb) {
+        if (nb == NumeralBase.dec) {
+            return format(BigInteger.valueOf(value), nb);
+        }
+        final String digits;
+        if (value >= 0 || wordSize == 64) {
+            digits = nb.toUnsignedString(value);
+        } else if (wordSize != 0 && value >= -(1L << wordSize - 1)) {
+            digits = nb.toUnsignedString(value & (1L << wordSize) - 1);
+        } else {
+            return prepareNumberFormatter(nb).format(BigInteger.valueOf(value), nb.radix).toString();
+        }
+        return hasGroupingSeparator() ? insertSeparators(digits, nb) : digits;
+    }
+
     @Nonnull
     public String format(@Nonnull BigInteger value, @Nonnull NumeralBase nb) {
+        if (nb != NumeralBase.dec && value.bitLength() < 64) {
+            return format(value.longValue(), nb);
+        }
         if (nb == NumeralBase.dec) {
             if (BigInteger.ZERO.equals(value)) {
                 return "0";
@@ -197,6 +311,22 @@ public class JsclMathEngine implements MathEngine {
         return prepareNumberFormatter(nb).format(value, nb.radix).toString();
     }
 
+    /**
+     * Formats <var>value</var> with <var>digits</var> significant digits, other numeral bases than decimal show the
+     * value as integer or double
+     */
+    @Nonnull
+    public String format(@Nonnull BigDecimal value, int digits) {
+        final NumeralBase nb = numeralBase;
+        if (nb != NumeralBase.dec) {
+            if (value.signum() == 0 || value.stripTrailingZeros().scale() <= 0) {
+                return format(value.toBigInteger(), nb);
+            }
+            return format(value.doubleValue(), nb);
+        }
+        return prepareNumberFormatter(nb).format(value, digits).toString();
+    }
+
     @Nullable
     private IConstant findConstant(double value) {
         final MathRegistry<IConstant> constants = ConstantsRegistry.getInstance();
@@ -241,6 +371,23 @@ public class JsclMathEngine implements MathEngine {
         return null;
     }
 
+    /**
+     * Fraction of simplifications answered from the shared result cache since it was last cleared
+     */
+    public double getSimplificationHitRate() {
+        final long hits = Simplification.getCacheHits();
+        final long total = hits + Simplification.getCacheMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Version of the settings used in {@link #format(double)} and {@link #format(BigInteger)}, changes whenever the
+     * formatting of numbers changes
+     */
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
     @Nonnull
     public MessageRegistry getMessageRegistry() {
         return messageRegistry;
@@ -292,6 +439,7 @@ public class JsclMathEngine implements MathEngine {
 
     public void setPrecision(int precision) {
         this.precision = precision;
+        formatVersion++;
     }
 
     public void setNotation(int notation) {
@@ -299,6 +447,7 @@ public class JsclMathEngine implements MathEngine {
             throw new IllegalArgumentException("Unsupported notation: " + notation);
         }
         this.notation = notation;
+        formatVersion++;
     }
 
     public char getGroupingSeparator() {
@@ -307,5 +456,6 @@ public class JsclMathEngine implements MathEngine {
 
     public void setGroupingSeparator(char separator) {
         this.groupingSeparator = separator;
+        formatVersion++;
     }
 }
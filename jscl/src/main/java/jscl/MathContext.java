@@ -5,6 +5,7 @@ import org.solovyev.common.math.MathRegistry;
 import java.math.BigInteger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import jscl.math.function.Function;
 import jscl.math.function.IConstant;
@@ -32,6 +33,29 @@ public interface MathContext {
     @Nonnull
     NumeralBase getNumeralBase();
 
+    /**
+     * @return true if numbers are computed with {@link jscl.math.numeric.ExtendedReal} instead of double
+     */
+    boolean isExtendedPrecision();
+
+    void setExtendedPrecision(boolean extendedPrecision);
+
+    /**
+     * @return context of {@link jscl.math.numeric.BigReal} numbers if numbers are computed with arbitrary precision,
+     * null otherwise. Takes precedence over {@link #isExtendedPrecision()}
+     */
+    @Nullable
+    java.math.MathContext getBigDecimalContext();
+
+    void setBigDecimalContext(@Nullable java.math.MathContext bigDecimalContext);
+
+    /**
+     * @return number of bits integer results are wrapped to, 0 if they are not wrapped
+     */
+    int getWordSize();
+
+    void setWordSize(int wordSize);
+
 
     // OUTPUT NUMBER FORMATTING
     // todo serso: maybe gather all formatting data in one object?
@@ -13,7 +13,7 @@ import static java.util.Arrays.asList;
 
 public enum NumeralBase {
 
-    dec(10, 3) {
+    dec(10, 3, 18) {
 
         private final Set<Character> characters = new HashSet<>(asList('0', '1', '2', '3', '4', '5', '6', '7', '8', '9'));
 
@@ -36,7 +36,7 @@ public enum NumeralBase {
         }
     },
 
-    hex(16, 2) {
+    hex(16, 2, 15) {
 
         private final Set<Character> characters = new HashSet<>(asList('0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'));
 
@@ -53,7 +53,7 @@ public enum NumeralBase {
         }
     },
 
-    oct(8, 4) {
+    oct(8, 4, 21) {
 
         private final Set<Character> characters = new HashSet<>(asList('0', '1', '2', '3', '4', '5', '6', '7'));
 
@@ -70,7 +70,7 @@ public enum NumeralBase {
         }
     },
 
-    bin(2, 4) {
+    bin(2, 4, 63) {
 
         private final Set<Character> characters = new HashSet<>(asList('0', '1'));
 
@@ -87,12 +87,17 @@ public enum NumeralBase {
         }
     };
 
+    private static final char[] DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
     public final int radix;
     public final int groupingSize;
+    // numbers with up to this many digits fit into a long
+    private final int longDigits;
 
-    NumeralBase(int radix, int groupingSize) {
+    NumeralBase(int radix, int groupingSize, int longDigits) {
         this.radix = radix;
         this.groupingSize = groupingSize;
+        this.longDigits = longDigits;
     }
 
     @Nullable
@@ -108,18 +113,110 @@ public enum NumeralBase {
 
     @Nonnull
     protected static String toString(@Nonnull Double value, int radix, int fractionDigits) {
-        final BigDecimal mult = BigDecimal.valueOf(radix).pow(fractionDigits);
-        final BigDecimal bd = BigDecimal.valueOf(value).multiply(mult);
+        return append(new StringBuilder(), value, radix, fractionDigits).toString();
+    }
+
+    /**
+     * Appends <var>value</var> with <var>fractionDigits</var> digits after the point to <var>result</var>. In
+     * power-of-two radices the digits are read from the bits of the double and the last digit is rounded half to
+     * even, in other radices the decimal representation of the double is truncated.
+     */
+    @Nonnull
+    static StringBuilder append(@Nonnull StringBuilder result, double value, int radix, int fractionDigits) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Infinite or NaN");
+        }
+        final int start = result.length();
+        if (value < 0) {
+            result.append('-');
+        }
+        final int digitsStart = result.length();
+        if (Integer.bitCount(radix) == 1) {
+            appendBits(result, value, radix, fractionDigits);
+        } else {
+            final BigDecimal mult = BigDecimal.valueOf(radix).pow(fractionDigits);
+            final String digits = BigDecimal.valueOf(Math.abs(value)).multiply(mult).toBigInteger().toString(radix).toUpperCase();
+            for (int i = digits.length(); i < fractionDigits + 1; i++) {  // +1 for leading zero
+                result.append('0');
+            }
+            result.append(digits);
+            result.insert(result.length() - fractionDigits, '.');
+        }
+
+        if (digitsStart != start && isZero(result, digitsStart)) {
+            result.deleteCharAt(start);
+        }
+        return result;
+    }
 
-        final BigInteger bi = bd.toBigInteger();
-        final StringBuilder result = new StringBuilder(bi.toString(radix));
+    private static void appendBits(@Nonnull StringBuilder result, double value, int radix, int fractionDigits) {
+        // |value| = mantissa * 2^exponent
+        final long bits = Double.doubleToRawLongBits(value);
+        final int biasedExponent = (int) (bits >>> 52) & 0x7FF;
+        long mantissa = bits & 0xFFFFFFFFFFFFFL;
+        final int exponent;
+        if (biasedExponent == 0) {
+            exponent = -1074;
+        } else {
+            mantissa |= 1L << 52;
+            exponent = biasedExponent - 1075;
+        }
 
-        while (result.length() < fractionDigits + 1) {  // +1 for leading zero
-            result.insert(0, "0");
+        final int shift = Integer.numberOfTrailingZeros(radix);
+        final int mask = radix - 1;
+        // position of the highest digit, 0 for the leading zero of values below 1
+        int highest = 0;
+        if (mantissa != 0) {
+            highest = Math.max(0, exponent + 63 - Long.numberOfLeadingZeros(mantissa)) / shift;
+        }
+        final int digitsStart = result.length();
+        result.ensureCapacity(digitsStart + highest + fractionDigits + 2);
+        for (int k = highest; k >= -fractionDigits; k--) {
+            result.append(DIGITS[digit(mantissa, k * shift - exponent, mask)]);
+            if (k == 0) {
+                result.append('.');
+            }
         }
-        result.insert(result.length() - fractionDigits, ".");
 
-        return result.toString().toUpperCase();
+        // bits of the mantissa below the last digit
+        final int rest = -fractionDigits * shift - exponent;
+        if (rest <= 0 || rest > 53) {
+            // exact or less than half of the last digit
+            return;
+        }
+        final long remainder = mantissa & ((1L << rest) - 1);
+        final long half = 1L << (rest - 1);
+        if (remainder > half || remainder == half && (digit(mantissa, rest, mask) & 1) != 0) {
+            for (int i = result.length() - 1; i >= digitsStart; i--) {
+                final char c = result.charAt(i);
+                if (c != '.') {
+                    final int digit = Character.digit(c, radix);
+                    if (digit != mask) {
+                        result.setCharAt(i, DIGITS[digit + 1]);
+                        return;
+                    }
+                    result.setCharAt(i, '0');
+                }
+            }
+            result.insert(digitsStart, '1');
+        }
+    }
+
+    private static int digit(long mantissa, int offset, int mask) {
+        if (offset >= 0) {
+            return offset < 64 ? (int) (mantissa >>> offset) & mask : 0;
+        }
+        return -offset < 64 ? (int) (mantissa << -offset) & mask : 0;
+    }
+
+    private static boolean isZero(@Nonnull StringBuilder result, int start) {
+        for (int i = start; i < result.length(); i++) {
+            final char c = result.charAt(i);
+            if (c != '0' && c != '.') {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Nonnull
@@ -134,6 +231,9 @@ public enum NumeralBase {
 
     @Nonnull
     public JsclInteger toJsclInteger(@Nonnull String integerString) throws NumberFormatException {
+        if (integerString.length() <= longDigits) {
+            return JsclInteger.valueOf(Long.parseLong(integerString, radix));
+        }
         return new JsclInteger(toBigInteger(integerString));
     }
 
@@ -150,6 +250,29 @@ public enum NumeralBase {
         return Integer.toString(value, radix).toUpperCase();
     }
 
+    @Nonnull
+    public String toString(long value) {
+        return value < 0 ? "-" + toUnsignedString(-value) : toUnsignedString(value);
+    }
+
+    /**
+     * @return digits of <var>value</var> read as unsigned 64-bit number, e.g. FFFFFFFFFFFFFFFF for -1 in hex
+     */
+    @Nonnull
+    public String toUnsignedString(long value) {
+        if (radix == 10) {
+            return Long.toUnsignedString(value);
+        }
+        final int shift = Integer.numberOfTrailingZeros(radix);
+        final char[] result = new char[64];
+        int i = result.length;
+        do {
+            result[--i] = DIGITS[(int) value & (radix - 1)];
+            value >>>= shift;
+        } while (value != 0);
+        return new String(result, i, result.length - i);
+    }
+
     @Nonnull
     public abstract String getJsclPrefix();
 
@@ -164,4 +287,12 @@ public enum NumeralBase {
     public String toString(@Nonnull Double value, int fractionDigits) {
         return toString(value, radix, fractionDigits);
     }
+
+    /**
+     * Same as {@link #toString(Double, int)} but writes into <var>result</var>
+     */
+    @Nonnull
+    public StringBuilder append(@Nonnull StringBuilder result, double value, int fractionDigits) {
+        return append(result, value, radix, fractionDigits);
+    }
 }
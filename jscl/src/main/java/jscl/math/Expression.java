@@ -9,6 +9,8 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import jscl.Budget;
+import jscl.JsclMathEngine;
 import jscl.math.function.Constant;
 import jscl.math.function.Fraction;
 import jscl.math.function.Inverse;
@@ -52,6 +54,8 @@ public class Expression extends Generic {
     int size;
     private Literal literals[];
     private JsclInteger coefficients[];
+    // text of the last toString(), reused while neither the options nor the number format change
+    private Rendering rendering;
 
     Expression() {
     }
@@ -164,9 +168,16 @@ public class Expression extends Generic {
     }
 
     void init(int size) {
+        Budget.terms(size);
         literals = new Literal[size];
         coefficients = new JsclInteger[size];
         this.size = size;
+        rendering = null;
+    }
+
+    void set(int n, @Nonnull Literal literal, @Nonnull JsclInteger coefficient) {
+        literals[n] = literal;
+        coefficients[n] = coefficient;
     }
 
     void resize(int size) {
@@ -179,6 +190,7 @@ public class Expression extends Generic {
             this.literals = literal;
             this.coefficients = coef;
             this.size = size;
+            rendering = null;
         }
     }
 
@@ -649,6 +661,52 @@ public class Expression extends Generic {
         }
     }
 
+    /**
+     * @return value of this expression as {@link JsclInteger} or {@link Rational} if it is a sum of integers and
+     * fractions of integers, null otherwise
+     */
+    @Nullable
+    public Generic rationalValue() {
+        Generic result = JsclInteger.ZERO;
+        for (int i = 0; i < size; i++) {
+            final Literal literal = literals[i];
+            Generic term = coefficients[i];
+            for (int j = 0; j < literal.size(); j++) {
+                final Rational value = rationalValue(literal.getVariable(j));
+                if (value == null) {
+                    return null;
+                }
+                for (int k = 0; k < literal.getPower(j); k++) {
+                    term = term.multiply(value);
+                }
+            }
+            result = result.add(term);
+        }
+        return result.isInteger() ? result.integerValue() : result;
+    }
+
+    @Nullable
+    private static Rational rationalValue(@Nonnull Variable variable) {
+        try {
+            final JsclInteger numerator, denominator;
+            if (variable instanceof Fraction) {
+                final Generic[] parameters = ((Fraction) variable).getParameters();
+                numerator = parameters[0].integerValue();
+                denominator = parameters[1].integerValue();
+            } else if (variable instanceof Inverse) {
+                numerator = JsclInteger.ONE;
+                denominator = ((Inverse) variable).getParameters()[0].integerValue();
+            } else {
+                return null;
+            }
+            // division by zero is left to the numeric evaluation
+            return denominator.signum() == 0 ? null : Rational.valueOf(numerator, denominator).reduce();
+        } catch (NotIntegerException e) {
+            // not a number
+        }
+        return null;
+    }
+
     @Override
     public double doubleValue() throws NotDoubleException {
         if (size == 0) {
@@ -801,8 +859,24 @@ public class Expression extends Generic {
         return this;
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
+    @Nonnull
+    public String toString(@Nonnull RenderOptions options) {
+        final int version = JsclMathEngine.getInstance().getFormatVersion();
+        final Rendering rendering = this.rendering;
+        if (rendering != null && rendering.options.equals(options) && rendering.version == version) {
+            return rendering.text;
+        }
+        final String text = super.toString(options);
+        this.rendering = new Rendering(options, version, text);
+        return text;
+    }
+
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        final Rendering rendering = this.rendering;
+        if (rendering != null && rendering.options.equals(options) && rendering.version == JsclMathEngine.getInstance().getFormatVersion()) {
+            result.append(rendering.text);
+            return;
+        }
 
         if (signum() == 0) {
             result.append("0");
@@ -818,20 +892,19 @@ public class Expression extends Generic {
             }
 
             if (literal.degree() == 0) {
-                result.append(coefficient);
+                coefficient.appendTo(result, options);
             } else {
                 if (coefficient.abs().compareTo(JsclInteger.valueOf(1)) == 0) {
                     if (coefficient.signum() < 0) {
                         result.append("-");
                     }
                 } else {
-                    result.append(coefficient).append("*");
+                    coefficient.appendTo(result, options);
+                    options.appendMultiplicationSign(result);
                 }
-                result.append(literal);
+                literal.appendTo(result, options);
             }
         }
-
-        return result.toString();
     }
 
     public String toJava() {
@@ -910,4 +983,18 @@ public class Expression extends Generic {
     private Expression newInstance(int n) {
         return new Expression(n);
     }
+
+    private static final class Rendering {
+        @Nonnull
+        final RenderOptions options;
+        final int version;
+        @Nonnull
+        final String text;
+
+        Rendering(@Nonnull RenderOptions options, int version, @Nonnull String text) {
+            this.options = options;
+            this.version = version;
+            this.text = text;
+        }
+    }
 }
@@ -1,13 +1,17 @@
 package jscl.math;
 
+import jscl.math.function.Constant;
 import jscl.math.polynomial.Basis;
 import jscl.math.polynomial.Monomial;
 import jscl.math.polynomial.Ordering;
 import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.Term;
 import jscl.util.ArrayComparator;
 import jscl.util.ArrayUtils;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -58,7 +62,7 @@ public class Factorization {
             System.arraycopy(unk, 0, unk, 1, unk.length - 1);
             unk[0] = u;
         }
-        Generic be[][] = Linearization.compute(Basis.compute(a, unk, Monomial.lexicographic, 0, Basis.DEGREE).elements(), unk);
+        Generic be[][] = Linearization.compute(Basis.compute(a, unk, Monomial.lexicographic, 0, Basis.DEGREE | Basis.ADAPTIVE).elements(), unk);
         for (int i = 0; i < be.length; i++) {
             Polynomial r = substitute(p, be[i], unk);
             try {
@@ -104,6 +108,56 @@ public class Factorization {
         return a;
     }
 
+    /**
+     * Dense integer coefficients of a univariate polynomial or null if it has other variables or
+     * non-integer coefficients
+     */
+    static BigInteger[] univariate(Polynomial polynomial) {
+        if (polynomial.signum() == 0) return null;
+        Monomial head = polynomial.head().monomial();
+        if (head.unknown().length != 1) return null;
+        BigInteger c[] = new BigInteger[head.degree() + 1];
+        Arrays.fill(c, BigInteger.ZERO);
+        Iterator<?> it = polynomial.iterator();
+        while (it.hasNext()) {
+            Term t = (Term) it.next();
+            try {
+                c[t.monomial().degree()] = t.coef().integerValue().content();
+            } catch (NotIntegerException e) {
+                return null;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * True if the polynomial has several variables, all of them plain symbols, and integer coefficients
+     */
+    static boolean multivariate(Polynomial polynomial) {
+        if (polynomial.signum() == 0) return false;
+        Variable va[] = polynomial.genericValue().variables();
+        if (va.length < 2) return false;
+        for (int i = 0; i < va.length; i++) if (!(va[i] instanceof Constant)) return false;
+        Iterator<?> it = polynomial.iterator();
+        while (it.hasNext()) {
+            try {
+                ((Term) it.next()).coef().integerValue();
+            } catch (NotIntegerException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Generic generic(Variable variable, BigInteger c[]) {
+        Generic s = JsclInteger.valueOf(0);
+        for (int i = 0; i < c.length; i++) {
+            if (c[i].signum() == 0) continue;
+            s = s.add(i == 0 ? new JsclInteger(c[i]) : Expression.valueOf(Literal.valueOf(variable, i), new JsclInteger(c[i])));
+        }
+        return s;
+    }
+
     static Generic expression(Generic generic) {
         return expression(generic, false);
     }
@@ -118,11 +172,34 @@ public class Factorization {
     }
 
     void computeValue(Generic generic) {
-        Debug.println("factorization");
         Polynomial n[] = factory.valueOf(generic).gcdAndNormalize();
         Monomial m = n[1].monomialGcd();
         Polynomial s = n[1].divide(m);
         Generic a = JsclInteger.valueOf(1);
+        List<Generic> factors = null;
+        BigInteger c[] = univariate(s);
+        if (c != null) {
+            Variable x = m.unknown()[0];
+            factors = new ArrayList<Generic>();
+            for (BigInteger[] f : Zassenhaus.compute(c)) factors.add(generic(x, f));
+        } else if (multivariate(s)) {
+            try {
+                factors = MultivariateFactorization.compute(s.genericValue());
+            } catch (NoLuckyPointException e) {
+                // left to the divisor search below
+            }
+        }
+        if (factors != null) {
+            Trace.event(Trace.Event.factorizationStep, s, factors.size());
+            Polynomial p = s.valueOf(JsclInteger.valueOf(1));
+            for (Generic f : factors) {
+                Polynomial r[] = factory.valueOf(f).gcdAndNormalize();
+                a = a.multiply(expression(r[1].genericValue()));
+                p = p.multiply(r[1]);
+            }
+            result = a.multiply(n[0].multiply(m).multiply(s.divide(p).genericValue()).genericValue());
+            return;
+        }
         Divisor d[] = new Divisor[2];
         Monomial p[] = new Monomial[2];
         Monomial q[] = new Monomial[2];
@@ -136,14 +213,12 @@ public class Factorization {
                 p[0] = (Monomial) d[0].next();
                 q[0] = d[0].complementary();
                 if (p[1].compareTo(p[0]) <= 0) continue loop;
-                Debug.println(toString(p) + " * " + toString(q) + " = " + s);
+                Trace.event(Trace.Event.factorizationStep, s, 0);
                 if (ArrayComparator.comparator.compare(q, p) < 0) {
                     a = a.multiply(expression(s.genericValue()));
                     break loop;
                 } else {
-                    Debug.increment();
                     Polynomial r[] = remainder(s, polynomial(s, p), terminator(s));
-                    Debug.decrement();
                     if (r[0].signum() == 0) {
                         a = a.multiply(expression(r[1].genericValue()));
                         s = r[2];
@@ -172,10 +247,7 @@ class Linearization {
 
     static Generic[][] compute(Generic generic[], Variable unknown[]) {
         Linearization l = new Linearization(unknown);
-        Debug.println("linearization");
-        Debug.increment();
         l.process(generic);
-        Debug.decrement();
         return l.getValue();
     }
 
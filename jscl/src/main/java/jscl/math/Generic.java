@@ -3,7 +3,7 @@ package jscl.math;
 import jscl.math.function.Constant;
 import jscl.math.function.IConstant;
 import jscl.mathml.MathML;
-import jscl.text.ParserUtils;
+import jscl.Budget;
 import org.solovyev.common.math.MathRegistry;
 
 import javax.annotation.Nonnull;
@@ -115,7 +115,7 @@ public abstract class Generic implements Arithmetic<Generic>, Comparable {
 
         for (int i = 0; i < exponent; i++) {
 
-            ParserUtils.checkInterruption();
+            Budget.check();
 
             result = result.multiply(this);
         }
@@ -204,10 +204,26 @@ public abstract class Generic implements Arithmetic<Generic>, Comparable {
         return false;
     }
 
+    /**
+     * Appends the text of this expression, {@link #toString()} being the text rendered with {@link RenderOptions#DEFAULT}
+     */
+    public abstract void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options);
+
+    @Nonnull
+    public String toString(@Nonnull RenderOptions options) {
+        final StringBuilder result = new StringBuilder();
+        appendTo(result, options);
+        return result.toString();
+    }
+
+    public String toString() {
+        return toString(RenderOptions.DEFAULT);
+    }
+
     public abstract String toJava();
 
     public String toMathML() {
-        MathML document = new MathML("math", "-//W3C//DTD MathML 2.0//EN", "http://www.w3.org/TR/MathML2/dtd/mathml2.dtd");
+        MathML document = new MathML();
         MathML e = document.element("math");
         toMathML(e, null);
         return e.toString();
@@ -0,0 +1,686 @@
+package jscl.math;
+
+import jscl.math.function.Constant;
+import jscl.math.function.Fraction;
+import jscl.math.function.Function;
+import jscl.math.function.FunctionsRegistry;
+import jscl.math.function.ImplicitFunction;
+import jscl.math.function.Inverse;
+import jscl.math.function.PostfixFunctionsRegistry;
+import jscl.math.function.Pow;
+import jscl.math.function.Root;
+import jscl.math.numeric.BigComplex;
+import jscl.math.numeric.BigReal;
+import jscl.math.numeric.Complex;
+import jscl.math.numeric.ExtendedReal;
+import jscl.math.numeric.Numeric;
+import jscl.math.numeric.Real;
+import jscl.math.operator.AbstractFunction;
+import jscl.math.operator.Operator;
+import jscl.math.operator.matrix.OperatorsRegistry;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Binary encoding of {@link Generic} values: a version number followed by the tree, sizes and integers as varints.
+ * Names are written once and then referred to by index, as are repeated variables, literals and shared subtrees.
+ * Functions and operators are stored by name and looked up in their registries when read.
+ */
+public final class GenericCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int REFERENCE = 1;
+
+    private static final int INTEGER = 2;
+    private static final int BIG_INTEGER = 3;
+    private static final int RATIONAL = 4;
+    private static final int EXPRESSION = 5;
+    private static final int NUMERIC = 6;
+    private static final int VECTOR = 7;
+    private static final int MATRIX = 8;
+
+    private static final int REAL = 1;
+    private static final int COMPLEX = 2;
+    private static final int NUMERIC_VECTOR = 3;
+    private static final int NUMERIC_MATRIX = 4;
+    private static final int EXTENDED_REAL = 5;
+    private static final int BIG_REAL = 6;
+    private static final int BIG_COMPLEX = 7;
+
+    private static final int CONSTANT = 2;
+    private static final int TECHNICAL_VARIABLE = 3;
+    private static final int EXPRESSION_VARIABLE = 4;
+    private static final int INTEGER_VARIABLE = 5;
+    private static final int DOUBLE_VARIABLE = 6;
+    private static final int VECTOR_VARIABLE = 7;
+    private static final int MATRIX_VARIABLE = 8;
+    private static final int FUNCTION = 9;
+    private static final int OPERATOR = 10;
+    private static final int POSTFIX_FUNCTION = 11;
+    private static final int POW = 12;
+    private static final int FRACTION = 13;
+    private static final int INVERSE = 14;
+    private static final int ROOT = 15;
+    private static final int IMPLICIT_FUNCTION = 16;
+
+    private GenericCodec() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @throws UnsupportedGenericException if <var>value</var> contains intermediate values of the algorithms
+     *                                     (polynomials, modular integers) or functions missing from the registries
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Generic value) throws IOException {
+        writeSize(out, VERSION);
+        new Writer(out).generic(value);
+    }
+
+    @Nonnull
+    public static Generic read(@Nonnull DataInput in) throws IOException {
+        final int version = readSize(in);
+        if (version != VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+        final Generic result = new Reader(in).generic();
+        if (result == null) {
+            throw new IOException("No value");
+        }
+        return result;
+    }
+
+    static void writeVarint(@Nonnull DataOutput out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarint(@Nonnull DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeSize(@Nonnull DataOutput out, int size) throws IOException {
+        writeVarint(out, size);
+    }
+
+    private static int readSize(@Nonnull DataInput in) throws IOException {
+        final long size = readVarint(in);
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IOException("Malformed size: " + size);
+        }
+        return (int) size;
+    }
+
+    private static final class Writer {
+
+        @Nonnull
+        private final DataOutput out;
+        @Nonnull
+        private final Map<Generic, Integer> generics = new IdentityHashMap<>();
+        // equal variables and literals are interchangeable, parsed expressions rarely share the instances
+        @Nonnull
+        private final Map<Variable, Integer> variables = new TreeMap<>();
+        @Nonnull
+        private final Map<Literal, Integer> literals = new TreeMap<>();
+        @Nonnull
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(@Nonnull DataOutput out) {
+            this.out = out;
+        }
+
+        void generic(@Nullable Generic generic) throws IOException {
+            if (generic == null) {
+                out.writeByte(NULL);
+                return;
+            }
+            if (generic instanceof JsclInteger) {
+                integer(((JsclInteger) generic).content());
+                return;
+            }
+            final Integer reference = generics.get(generic);
+            if (reference != null) {
+                out.writeByte(REFERENCE);
+                writeSize(out, reference);
+                return;
+            }
+            final Class<? extends Generic> c = generic.getClass();
+            if (c == Expression.class) {
+                final Expression expression = (Expression) generic;
+                out.writeByte(EXPRESSION);
+                writeSize(out, expression.size());
+                for (int i = 0; i < expression.size(); i++) {
+                    literal(expression.literal(i));
+                    integer(expression.coef(i).content());
+                }
+            } else if (c == Rational.class) {
+                final Rational rational = (Rational) generic;
+                out.writeByte(RATIONAL);
+                integer(rational.numerator());
+                integer(rational.denominator());
+            } else if (c == NumericWrapper.class) {
+                out.writeByte(NUMERIC);
+                numeric(((NumericWrapper) generic).content());
+            } else if (c == JsclVector.class) {
+                final JsclVector vector = (JsclVector) generic;
+                out.writeByte(VECTOR);
+                generics(vector.elements);
+            } else if (c == Matrix.class) {
+                final Matrix matrix = (Matrix) generic;
+                out.writeByte(MATRIX);
+                writeSize(out, matrix.rows);
+                writeSize(out, matrix.cols);
+                for (int i = 0; i < matrix.rows; i++) {
+                    for (int j = 0; j < matrix.cols; j++) {
+                        generic(matrix.elements[i][j]);
+                    }
+                }
+            } else {
+                throw new UnsupportedGenericException(c);
+            }
+            generics.put(generic, generics.size());
+        }
+
+        private void generics(@Nonnull Generic[] generics) throws IOException {
+            writeSize(out, generics.length);
+            for (Generic generic : generics) {
+                generic(generic);
+            }
+        }
+
+        private void integer(@Nonnull BigInteger value) throws IOException {
+            if (value.bitLength() < 64) {
+                final long l = value.longValue();
+                out.writeByte(INTEGER);
+                // zigzag: small magnitudes of either sign take few bytes
+                writeVarint(out, (l << 1) ^ (l >> 63));
+            } else {
+                final byte[] bytes = value.toByteArray();
+                out.writeByte(BIG_INTEGER);
+                writeSize(out, bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private void decimal(@Nonnull BigDecimal value) throws IOException {
+            final int scale = value.scale();
+            writeVarint(out, (scale << 1) ^ (scale >> 31));
+            integer(value.unscaledValue());
+        }
+
+        private void numeric(@Nonnull Numeric numeric) throws IOException {
+            if (numeric instanceof Real) {
+                out.writeByte(REAL);
+                out.writeDouble(numeric.doubleValue());
+            } else if (numeric instanceof ExtendedReal) {
+                final byte[] bytes = new byte[ExtendedReal.BYTES];
+                ((ExtendedReal) numeric).toBytes(bytes, 0);
+                out.writeByte(EXTENDED_REAL);
+                out.write(bytes);
+            } else if (numeric instanceof BigReal) {
+                out.writeByte(BIG_REAL);
+                writeSize(out, ((BigReal) numeric).getMathContext().getPrecision());
+                decimal(((BigReal) numeric).bigDecimalValue());
+            } else if (numeric instanceof BigComplex) {
+                out.writeByte(BIG_COMPLEX);
+                writeSize(out, ((BigComplex) numeric).getMathContext().getPrecision());
+                decimal(((BigComplex) numeric).realPart());
+                decimal(((BigComplex) numeric).imaginaryPart());
+            } else if (numeric instanceof Complex) {
+                out.writeByte(COMPLEX);
+                out.writeDouble(((Complex) numeric).realPart());
+                out.writeDouble(((Complex) numeric).imaginaryPart());
+            } else if (numeric instanceof jscl.math.numeric.Vector) {
+                final Numeric[] elements = ((jscl.math.numeric.Vector) numeric).elements();
+                out.writeByte(NUMERIC_VECTOR);
+                writeSize(out, elements.length);
+                for (Numeric element : elements) {
+                    numeric(element);
+                }
+            } else if (numeric instanceof jscl.math.numeric.Matrix) {
+                final Numeric[][] elements = ((jscl.math.numeric.Matrix) numeric).elements();
+                final int cols = elements.length > 0 ? elements[0].length : 0;
+                out.writeByte(NUMERIC_MATRIX);
+                writeSize(out, elements.length);
+                writeSize(out, cols);
+                for (Numeric[] row : elements) {
+                    for (int j = 0; j < cols; j++) {
+                        numeric(row[j]);
+                    }
+                }
+            } else {
+                throw new UnsupportedGenericException(numeric.getClass());
+            }
+        }
+
+        private void literal(@Nonnull Literal literal) throws IOException {
+            // 0 starts a new literal, n refers to the (n - 1)-th one
+            final Integer reference = literals.get(literal);
+            if (reference != null) {
+                writeSize(out, reference + 1);
+                return;
+            }
+            writeSize(out, 0);
+            writeSize(out, literal.size());
+            for (int i = 0; i < literal.size(); i++) {
+                variable(literal.getVariable(i));
+                writeVarint(out, literal.getPower(i));
+            }
+            literals.put(literal, literals.size());
+        }
+
+        private void variable(@Nonnull Variable variable) throws IOException {
+            final Integer reference = variables.get(variable);
+            if (reference != null) {
+                out.writeByte(REFERENCE);
+                writeSize(out, reference);
+                return;
+            }
+            final Class<? extends Variable> c = variable.getClass();
+            if (c == Constant.class) {
+                final Constant constant = (Constant) variable;
+                out.writeByte(CONSTANT);
+                string(constant.getName());
+                writeSize(out, constant.prime());
+                generics(constant.subscript());
+            } else if (c == TechnicalVariable.class) {
+                final TechnicalVariable technical = (TechnicalVariable) variable;
+                out.writeByte(TECHNICAL_VARIABLE);
+                string(technical.getName());
+                ints(technical.subscript);
+            } else if (variable instanceof GenericVariable) {
+                if (c == ExpressionVariable.class) {
+                    out.writeByte(EXPRESSION_VARIABLE);
+                } else if (c == IntegerVariable.class) {
+                    out.writeByte(INTEGER_VARIABLE);
+                } else if (c == DoubleVariable.class) {
+                    out.writeByte(DOUBLE_VARIABLE);
+                } else if (c == VectorVariable.class) {
+                    out.writeByte(VECTOR_VARIABLE);
+                } else if (c == MatrixVariable.class) {
+                    out.writeByte(MATRIX_VARIABLE);
+                } else {
+                    throw new UnsupportedGenericException(c);
+                }
+                generic(((GenericVariable) variable).content);
+            } else if (variable instanceof AbstractFunction) {
+                function((AbstractFunction) variable);
+            } else {
+                throw new UnsupportedGenericException(c);
+            }
+            variables.put(variable, variables.size());
+        }
+
+        private void function(@Nonnull AbstractFunction function) throws IOException {
+            final Class<? extends AbstractFunction> c = function.getClass();
+            if (c == Pow.class) {
+                out.writeByte(POW);
+            } else if (c == Fraction.class) {
+                out.writeByte(FRACTION);
+            } else if (c == Inverse.class) {
+                // 1/g
+                out.writeByte(INVERSE);
+                generic(function.getParameters()[1]);
+                return;
+            } else if (c == Root.class) {
+                out.writeByte(ROOT);
+                generic(((Root) function).subscript());
+            } else if (c == ImplicitFunction.class) {
+                final ImplicitFunction implicit = (ImplicitFunction) function;
+                out.writeByte(IMPLICIT_FUNCTION);
+                string(implicit.getName());
+                ints(implicit.derivations());
+                generics(implicit.subscript());
+            } else if (registered(FunctionsRegistry.getInstance().get(function.getName()), c)) {
+                out.writeByte(FUNCTION);
+                string(function.getName());
+            } else if (registered(PostfixFunctionsRegistry.getInstance().get(function.getName()), c)) {
+                out.writeByte(POSTFIX_FUNCTION);
+                string(function.getName());
+            } else if (registered(OperatorsRegistry.getInstance().get(function.getName()), c)) {
+                out.writeByte(OPERATOR);
+                string(function.getName());
+            } else {
+                throw new UnsupportedGenericException(c);
+            }
+            generics(function.getParameters());
+        }
+
+        private boolean registered(@Nullable AbstractFunction prototype, @Nonnull Class<? extends AbstractFunction> c) {
+            return prototype != null && prototype.getClass() == c;
+        }
+
+        private void ints(@Nonnull int[] values) throws IOException {
+            writeSize(out, values.length);
+            for (int value : values) {
+                writeVarint(out, value);
+            }
+        }
+
+        private void string(@Nonnull String s) throws IOException {
+            // 0 starts a new string, n refers to the (n - 1)-th one
+            final Integer reference = strings.get(s);
+            if (reference != null) {
+                writeSize(out, reference + 1);
+                return;
+            }
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeSize(out, 0);
+            writeSize(out, bytes.length);
+            out.write(bytes);
+            strings.put(s, strings.size());
+        }
+    }
+
+    private static final class Reader {
+
+        @Nonnull
+        private final DataInput in;
+        @Nonnull
+        private final List<Generic> generics = new ArrayList<>();
+        @Nonnull
+        private final List<Variable> variables = new ArrayList<>();
+        @Nonnull
+        private final List<Literal> literals = new ArrayList<>();
+        @Nonnull
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(@Nonnull DataInput in) {
+            this.in = in;
+        }
+
+        @Nullable
+        Generic generic() throws IOException {
+            final int tag = in.readUnsignedByte();
+            final Generic result;
+            switch (tag) {
+                case NULL:
+                    return null;
+                case REFERENCE:
+                    return reference(generics, readSize(in));
+                case INTEGER:
+                case BIG_INTEGER:
+                    return new JsclInteger(integer(tag));
+                case EXPRESSION:
+                    final int size = readSize(in);
+                    final Expression expression = new Expression(size);
+                    for (int i = 0; i < size; i++) {
+                        final Literal literal = literal();
+                        expression.set(i, literal, new JsclInteger(integer(in.readUnsignedByte())));
+                    }
+                    result = expression;
+                    break;
+                case RATIONAL:
+                    final BigInteger numerator = integer(in.readUnsignedByte());
+                    result = new Rational(numerator, integer(in.readUnsignedByte()));
+                    break;
+                case NUMERIC:
+                    result = new NumericWrapper(numeric());
+                    break;
+                case VECTOR:
+                    result = new JsclVector(generics());
+                    break;
+                case MATRIX:
+                    final int rows = readSize(in);
+                    final int cols = readSize(in);
+                    final Generic[][] elements = new Generic[rows][cols];
+                    for (int i = 0; i < rows; i++) {
+                        for (int j = 0; j < cols; j++) {
+                            elements[i][j] = notNull(generic());
+                        }
+                    }
+                    result = new Matrix(elements);
+                    break;
+                default:
+                    throw new IOException("Unknown value: " + tag);
+            }
+            generics.add(result);
+            return result;
+        }
+
+        @Nonnull
+        private Generic[] generics() throws IOException {
+            final Generic[] result = new Generic[readSize(in)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = generic();
+            }
+            return result;
+        }
+
+        @Nonnull
+        private BigInteger integer(int tag) throws IOException {
+            if (tag == INTEGER) {
+                final long l = readVarint(in);
+                return BigInteger.valueOf((l >>> 1) ^ -(l & 1));
+            } else if (tag == BIG_INTEGER) {
+                final byte[] bytes = new byte[readSize(in)];
+                in.readFully(bytes);
+                return new BigInteger(bytes);
+            }
+            throw new IOException("Not an integer: " + tag);
+        }
+
+        @Nonnull
+        private BigDecimal decimal() throws IOException {
+            final long scale = readVarint(in);
+            return new BigDecimal(integer(in.readUnsignedByte()), (int) ((scale >>> 1) ^ -(scale & 1)));
+        }
+
+        @Nonnull
+        private Numeric numeric() throws IOException {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case REAL:
+                    return Real.valueOf(in.readDouble());
+                case EXTENDED_REAL:
+                    final byte[] bytes = new byte[ExtendedReal.BYTES];
+                    in.readFully(bytes);
+                    return ExtendedReal.valueOf(bytes, 0);
+                case BIG_REAL:
+                    final MathContext mc = new MathContext(readSize(in));
+                    return BigReal.valueOf(decimal(), mc);
+                case BIG_COMPLEX:
+                    final MathContext complexMc = new MathContext(readSize(in));
+                    final BigDecimal re = decimal();
+                    return BigComplex.restore(re, decimal(), complexMc);
+                case COMPLEX:
+                    final double real = in.readDouble();
+                    return Complex.restore(real, in.readDouble());
+                case NUMERIC_VECTOR:
+                    final Numeric[] elements = new Numeric[readSize(in)];
+                    for (int i = 0; i < elements.length; i++) {
+                        elements[i] = numeric();
+                    }
+                    return new jscl.math.numeric.Vector(elements);
+                case NUMERIC_MATRIX:
+                    final int rows = readSize(in);
+                    final int cols = readSize(in);
+                    final Numeric[][] m = new Numeric[rows][cols];
+                    for (int i = 0; i < rows; i++) {
+                        for (int j = 0; j < cols; j++) {
+                            m[i][j] = numeric();
+                        }
+                    }
+                    return new jscl.math.numeric.Matrix(m);
+                default:
+                    throw new IOException("Unknown number: " + tag);
+            }
+        }
+
+        @Nonnull
+        private Literal literal() throws IOException {
+            final int reference = readSize(in);
+            if (reference > 0) {
+                return reference(literals, reference - 1);
+            }
+            final int size = readSize(in);
+            final Literal result = new Literal(size);
+            for (int i = 0; i < size; i++) {
+                final Variable variable = variable();
+                result.set(i, variable, (int) readVarint(in));
+            }
+            literals.add(result);
+            return result;
+        }
+
+        @Nonnull
+        private Variable variable() throws IOException {
+            final int tag = in.readUnsignedByte();
+            final Variable result;
+            switch (tag) {
+                case REFERENCE:
+                    return reference(variables, readSize(in));
+                case CONSTANT:
+                    final String name = string();
+                    final int prime = readSize(in);
+                    result = new Constant(name, prime, generics());
+                    break;
+                case TECHNICAL_VARIABLE:
+                    result = new TechnicalVariable(string(), ints());
+                    break;
+                case EXPRESSION_VARIABLE:
+                    result = new ExpressionVariable(notNull(generic()));
+                    break;
+                case INTEGER_VARIABLE:
+                    result = new IntegerVariable(notNull(generic()));
+                    break;
+                case DOUBLE_VARIABLE:
+                    result = new DoubleVariable(notNull(generic()));
+                    break;
+                case VECTOR_VARIABLE:
+                    result = new VectorVariable(notNull(generic()));
+                    break;
+                case MATRIX_VARIABLE:
+                    result = new MatrixVariable(notNull(generic()));
+                    break;
+                default:
+                    result = function(tag);
+            }
+            variables.add(result);
+            return result;
+        }
+
+        @Nonnull
+        private AbstractFunction function(int tag) throws IOException {
+            switch (tag) {
+                case POW:
+                    final Generic[] pow = parameters(2);
+                    return new Pow(pow[0], pow[1]);
+                case FRACTION:
+                    final Generic[] fraction = parameters(2);
+                    return new Fraction(fraction[0], fraction[1]);
+                case INVERSE:
+                    return new Inverse(notNull(generic()));
+                case ROOT:
+                    final Generic subscript = notNull(generic());
+                    return new Root(generics(), subscript);
+                case IMPLICIT_FUNCTION:
+                    final String name = string();
+                    final int[] derivations = ints();
+                    final Generic[] subscripts = generics();
+                    return new ImplicitFunction(name, generics(), derivations, subscripts);
+                case FUNCTION:
+                    final String functionName = string();
+                    final Function function = FunctionsRegistry.getInstance().get(functionName);
+                    if (function == null) {
+                        throw new IOException("Unknown function: " + functionName);
+                    }
+                    final Generic[] parameters = generics();
+                    if (parameters.length < function.getMinParameters() || parameters.length > function.getMaxParameters()) {
+                        throw new IOException("Wrong number of parameters for " + functionName + ": " + parameters.length);
+                    }
+                    function.setParameters(parameters);
+                    return function;
+                case POSTFIX_FUNCTION:
+                    final String postfixName = string();
+                    return registered(postfixName, PostfixFunctionsRegistry.getInstance().get(postfixName, generics()));
+                case OPERATOR:
+                    final String operatorName = string();
+                    return registered(operatorName, OperatorsRegistry.getInstance().get(operatorName, generics()));
+                default:
+                    throw new IOException("Unknown variable: " + tag);
+            }
+        }
+
+        @Nonnull
+        private Operator registered(@Nonnull String name, @Nullable Operator operator) throws IOException {
+            if (operator == null) {
+                throw new IOException("Unknown operator: " + name);
+            }
+            return operator;
+        }
+
+        @Nonnull
+        private Generic[] parameters(int count) throws IOException {
+            final Generic[] result = generics();
+            if (result.length != count) {
+                throw new IOException("Expected " + count + " parameters, got " + result.length);
+            }
+            return result;
+        }
+
+        @Nonnull
+        private int[] ints() throws IOException {
+            final int[] result = new int[readSize(in)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (int) readVarint(in);
+            }
+            return result;
+        }
+
+        @Nonnull
+        private String string() throws IOException {
+            final int reference = readSize(in);
+            if (reference > 0) {
+                return reference(strings, reference - 1);
+            }
+            final byte[] bytes = new byte[readSize(in)];
+            in.readFully(bytes);
+            final String result = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(result);
+            return result;
+        }
+
+        @Nonnull
+        private static <T> T reference(@Nonnull List<T> values, int index) throws IOException {
+            if (index >= values.size()) {
+                throw new IOException("Unknown reference: " + index);
+            }
+            return values.get(index);
+        }
+
+        @Nonnull
+        private static Generic notNull(@Nullable Generic generic) throws IOException {
+            if (generic == null) {
+                throw new IOException("Missing value");
+            }
+            return generic;
+        }
+    }
+}
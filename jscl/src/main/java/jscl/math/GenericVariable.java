@@ -98,8 +98,8 @@ public abstract class GenericVariable extends Variable {
         }
     }
 
-    public String toString() {
-        return content.toString();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        content.appendTo(result, options);
     }
 
     public String toJava() {
@@ -22,10 +22,10 @@ class IntegerVariable extends GenericVariable {
         return content.simplify();
     }
 
-    public String toString() {
-        StringBuffer buffer = new StringBuffer();
-        buffer.append("(").append(content).append(")");
-        return buffer.toString();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        result.append("(");
+        content.appendTo(result, options);
+        result.append(")");
     }
 
     public String toJava() {
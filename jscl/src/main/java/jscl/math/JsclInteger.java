@@ -1,6 +1,5 @@
 package jscl.math;
 
-import jscl.JsclMathEngine;
 import jscl.math.function.Constant;
 import jscl.mathml.MathML;
 
@@ -12,36 +11,77 @@ import java.util.Set;
 
 public final class JsclInteger extends Generic {
 
+    // cached values of valueOf(long)
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final JsclInteger[] cache = new JsclInteger[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new JsclInteger((long) (i + CACHE_LOW));
+        }
+    }
+
     public static final JsclInteger factory = new JsclInteger(BigInteger.valueOf(0));
-    public static final JsclInteger ZERO = new JsclInteger(BigInteger.valueOf(0));
-    public static final JsclInteger ONE = new JsclInteger(BigInteger.valueOf(1));
-    private final BigInteger content;
+    public static final JsclInteger ZERO = valueOf(0);
+    public static final JsclInteger ONE = valueOf(1);
+
+    // value if it fits into a long other than Long.MIN_VALUE (so that it can be negated), big is null then
+    final long small;
+    @Nullable
+    final BigInteger big;
 
     public JsclInteger(BigInteger content) {
-        this.content = content;
+        if (isSmall(content)) {
+            this.small = content.longValue();
+            this.big = null;
+        } else {
+            this.small = 0;
+            this.big = content;
+        }
+    }
+
+    private JsclInteger(long value) {
+        this.small = value;
+        this.big = null;
+    }
+
+    static boolean isSmall(@Nonnull BigInteger value) {
+        return value.bitLength() < 64 && value.longValue() != Long.MIN_VALUE;
     }
 
     public static JsclInteger valueOf(long val) {
-        switch ((int) val) {
-            case 0:
-                return ZERO;
-            case 1:
-                return ONE;
-            default:
-                return new JsclInteger(BigInteger.valueOf(val));
+        if (val >= CACHE_LOW && val <= CACHE_HIGH) {
+            return cache[(int) val - CACHE_LOW];
+        } else if (val == Long.MIN_VALUE) {
+            return new JsclInteger(BigInteger.valueOf(val));
+        } else {
+            return new JsclInteger(val);
         }
     }
 
+    @Nonnull
+    static JsclInteger valueOf(@Nonnull BigInteger value) {
+        return isSmall(value) ? valueOf(value.longValue()) : new JsclInteger(value);
+    }
+
     public static JsclInteger valueOf(String str) {
-        return new JsclInteger(new BigInteger(str));
+        return valueOf(new BigInteger(str));
     }
 
     public BigInteger content() {
-        return content;
+        return big != null ? big : BigInteger.valueOf(small);
     }
 
     public JsclInteger add(JsclInteger integer) {
-        return new JsclInteger(content.add(integer.content));
+        if (big == null && integer.big == null) {
+            try {
+                return valueOf(Math.addExact(small, integer.small));
+            } catch (ArithmeticException e) {
+                // overflow: continue with BigInteger
+            }
+        }
+        return valueOf(content().add(integer.content()));
     }
 
     @Nonnull
@@ -57,14 +97,21 @@ public final class JsclInteger extends Generic {
     }
 
     private boolean isZero() {
-        return content.equals(ZERO.content);
+        return big == null && small == 0;
     }
 
     public JsclInteger subtract(JsclInteger that) {
         if(isZero()) {
             return that.negate();
         }
-        return new JsclInteger(content.subtract(that.content));
+        if (big == null && that.big == null) {
+            try {
+                return valueOf(Math.subtractExact(small, that.small));
+            } catch (ArithmeticException e) {
+                // overflow: continue with BigInteger
+            }
+        }
+        return valueOf(content().subtract(that.content()));
     }
 
     @Nonnull
@@ -77,7 +124,14 @@ public final class JsclInteger extends Generic {
     }
 
     public JsclInteger multiply(JsclInteger integer) {
-        return new JsclInteger(content.multiply(integer.content));
+        if (big == null && integer.big == null) {
+            try {
+                return valueOf(Math.multiplyExact(small, integer.small));
+            } catch (ArithmeticException e) {
+                // overflow: continue with BigInteger
+            }
+        }
+        return valueOf(content().multiply(integer.content()));
     }
 
     @Nonnull
@@ -93,7 +147,7 @@ public final class JsclInteger extends Generic {
     }
 
     private boolean isOne() {
-        return content.equals(ONE.content);
+        return big == null && small == 1;
     }
 
     public JsclInteger divide(@Nonnull JsclInteger that) {
@@ -119,9 +173,15 @@ public final class JsclInteger extends Generic {
 
     @Nonnull
     private JsclInteger[] divideAndRemainder(@Nonnull JsclInteger that) {
+        if (big == null && that.big == null) {
+            if (that.small == 0) {
+                throw new NotDivisibleException();
+            }
+            return new JsclInteger[]{valueOf(small / that.small), valueOf(small % that.small)};
+        }
         try {
-            final BigInteger result[] = content.divideAndRemainder(that.content);
-            return new JsclInteger[]{new JsclInteger(result[0]), new JsclInteger(result[1])};
+            final BigInteger result[] = content().divideAndRemainder(that.content());
+            return new JsclInteger[]{valueOf(result[0]), valueOf(result[1])};
         } catch (ArithmeticException e) {
             throw new NotDivisibleException();
         }
@@ -136,7 +196,10 @@ public final class JsclInteger extends Generic {
     }
 
     public JsclInteger remainder(JsclInteger integer) throws ArithmeticException {
-        return new JsclInteger(content.remainder(integer.content));
+        if (big == null && integer.big == null) {
+            return valueOf(small % integer.small);
+        }
+        return valueOf(content().remainder(integer.content()));
     }
 
     public Generic remainder(Generic generic) throws ArithmeticException {
@@ -149,7 +212,25 @@ public final class JsclInteger extends Generic {
 
     @Nonnull
     public JsclInteger gcd(@Nonnull JsclInteger integer) {
-        return new JsclInteger(content.gcd(integer.content));
+        if (big == null && integer.big == null) {
+            return valueOf(gcd(small, integer.small));
+        }
+        return valueOf(content().gcd(integer.content()));
+    }
+
+    /**
+     * @return non-negative greatest common divisor of <var>a</var> and <var>b</var>, neither of which is
+     * Long.MIN_VALUE
+     */
+    static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            final long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
     }
 
     public Generic gcd(@Nonnull Generic generic) {
@@ -162,19 +243,36 @@ public final class JsclInteger extends Generic {
 
     @Nonnull
     public Generic gcd() {
-        return new JsclInteger(BigInteger.valueOf(signum()));
+        return valueOf(signum());
     }
 
     public Generic pow(int exponent) {
-        return new JsclInteger(content.pow(exponent));
+        if (big == null && exponent >= 0) {
+            try {
+                long result = 1;
+                long base = small;
+                for (int e = exponent; e > 0; e >>= 1) {
+                    if ((e & 1) != 0) {
+                        result = Math.multiplyExact(result, base);
+                    }
+                    if (e > 1) {
+                        base = Math.multiplyExact(base, base);
+                    }
+                }
+                return valueOf(result);
+            } catch (ArithmeticException e) {
+                // overflow: continue with BigInteger
+            }
+        }
+        return valueOf(content().pow(exponent));
     }
 
     public JsclInteger negate() {
-        return new JsclInteger(content.negate());
+        return big == null ? valueOf(-small) : valueOf(big.negate());
     }
 
     public int signum() {
-        return content.signum();
+        return big == null ? Long.signum(small) : big.signum();
     }
 
     public int degree() {
@@ -182,15 +280,18 @@ public final class JsclInteger extends Generic {
     }
 
     public JsclInteger mod(JsclInteger that) {
-        return new JsclInteger(content.mod(that.content));
+        if (big == null && that.big == null && that.small > 0) {
+            return valueOf(Math.floorMod(small, that.small));
+        }
+        return valueOf(content().mod(that.content()));
     }
 
     public JsclInteger modPow(JsclInteger exponent, JsclInteger integer) {
-        return new JsclInteger(content.modPow(exponent.content, integer.content));
+        return valueOf(content().modPow(exponent.content(), integer.content()));
     }
 
     public JsclInteger modInverse(JsclInteger integer) {
-        return new JsclInteger(content.modInverse(integer.content));
+        return valueOf(content().modInverse(integer.content()));
     }
 
     public JsclInteger phi() {
@@ -288,21 +389,22 @@ public final class JsclInteger extends Generic {
     }
 
     public Generic valueOf(Generic generic) {
-        return new JsclInteger(((JsclInteger) generic).content);
+        // immutable
+        return (JsclInteger) generic;
     }
 
     public Generic[] sumValue() {
-        if (content.signum() == 0) return new Generic[0];
+        if (signum() == 0) return new Generic[0];
         else return new Generic[]{this};
     }
 
     public Generic[] productValue() throws NotProductException {
-        if (content.compareTo(BigInteger.valueOf(1)) == 0) return new Generic[0];
+        if (isOne()) return new Generic[0];
         else return new Generic[]{this};
     }
 
     public Power powerValue() throws NotPowerException {
-        if (content.signum() < 0) throw new NotPowerException();
+        if (signum() < 0) throw new NotPowerException();
         else return new Power(this, 1);
     }
 
@@ -336,11 +438,29 @@ public final class JsclInteger extends Generic {
     }
 
     public int intValue() {
-        return content.intValue();
+        return big == null ? (int) small : big.intValue();
+    }
+
+    /**
+     * @return two's complement number of the lowest <var>bits</var> bits (1 to 64) of this integer, e.g. 255 is -1
+     * for 8 bits
+     */
+    public JsclInteger wrap(int bits) {
+        final long value = big == null ? small : big.longValue();
+        final int shift = 64 - bits;
+        return valueOf(value << shift >> shift);
     }
 
     public int compareTo(JsclInteger integer) {
-        return content.compareTo(integer.content);
+        if (big == null && integer.big == null) {
+            return Long.compare(small, integer.small);
+        } else if (big == null) {
+            // |integer| is larger than any small value
+            return -integer.big.signum();
+        } else if (integer.big == null) {
+            return big.signum();
+        }
+        return big.compareTo(integer.big);
     }
 
     public int compareTo(Generic generic) {
@@ -351,12 +471,16 @@ public final class JsclInteger extends Generic {
         }
     }
 
-    public String toString() {
-        return JsclMathEngine.getInstance().format(content);
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        if (big == null) {
+            options.append(result, small);
+        } else {
+            options.append(result, big);
+        }
     }
 
     public String toJava() {
-        return "JsclDouble.valueOf(" + content + ")";
+        return "JsclDouble.valueOf(" + digits() + ")";
     }
 
     public void toMathML(MathML element, @Nullable Object data) {
@@ -380,17 +504,22 @@ public final class JsclInteger extends Generic {
 
     void bodyToMathML(MathML element) {
         MathML e1 = element.element("mn");
-        e1.appendChild(element.text(String.valueOf(content)));
+        e1.appendChild(element.text(digits()));
         element.appendChild(e1);
     }
 
+    @Nonnull
+    private String digits() {
+        return big != null ? big.toString() : Long.toString(small);
+    }
+
     @Override
     public BigInteger toBigInteger() {
-        return content;
+        return content();
     }
 
     @Override
     public double doubleValue() throws NotDoubleException {
-        return content.doubleValue();
+        return big == null ? (double) small : big.doubleValue();
     }
 }
@@ -395,18 +395,15 @@ public class JsclVector extends Generic {
         }
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
-
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         result.append("[");
 
         for (int i = 0; i < rows; i++) {
-            result.append(elements[i]).append(i < rows - 1 ? ", " : "");
+            elements[i].appendTo(result, options);
+            result.append(i < rows - 1 ? ", " : "");
         }
 
         result.append("]");
-
-        return result.toString();
     }
 
     public String toJava() {
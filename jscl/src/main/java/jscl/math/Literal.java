@@ -1,6 +1,7 @@
 package jscl.math;
 
 import com.google.common.base.Function;
+import jscl.Budget;
 import jscl.math.function.Fraction;
 import jscl.math.function.Pow;
 import jscl.math.polynomial.Monomial;
@@ -65,6 +66,12 @@ public class Literal implements Comparable {
         this.size = size;
     }
 
+    void set(int i, @Nonnull Variable variable, int power) {
+        variables[i] = variable;
+        powers[i] = power;
+        degree += power;
+    }
+
     void resize(int size) {
         if (size < variables.length) {
             Variable variable[] = new Variable[size];
@@ -123,6 +130,7 @@ public class Literal implements Comparable {
         }
 
         result.resize(i);
+        Budget.degree(result.degree);
 
         return result;
     }
@@ -393,7 +401,11 @@ public class Literal implements Comparable {
 
     public String toString() {
         final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
 
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         if (degree == 0) {
             result.append("1");
         }
@@ -401,23 +413,24 @@ public class Literal implements Comparable {
         // result = var[0] ^ power[0] * var[1] ^ power[1]* ...
         for (int i = 0; i < size; i++) {
             if (i > 0) {
-                result.append("*");
+                options.appendMultiplicationSign(result);
             }
 
             final Variable var = variables[i];
             int power = powers[i];
             if (power == 1) {
-                result.append(var);
+                var.appendTo(result, options);
             } else {
                 if (var instanceof Fraction || var instanceof Pow) {
-                    result.append("(").append(var).append(")");
+                    result.append("(");
+                    var.appendTo(result, options);
+                    result.append(")");
                 } else {
-                    result.append(var);
+                    var.appendTo(result, options);
                 }
                 result.append("^").append(power);
             }
         }
-        return result.toString();
     }
 
     public String toJava() {
@@ -1,5 +1,6 @@
 package jscl.math;
 
+import jscl.Budget;
 import jscl.math.function.Conjugate;
 import jscl.math.function.Constant;
 import jscl.math.function.Fraction;
@@ -136,6 +137,7 @@ public class Matrix extends Generic {
         }
         Matrix m = (Matrix) newInstance(new Generic[rows][matrix.cols]);
         for (int i = 0; i < rows; i++) {
+            Budget.check();
             for (int j = 0; j < matrix.cols; j++) {
                 m.elements[i][j] = JsclInteger.valueOf(0);
                 for (int k = 0; k < cols; k++) {
@@ -462,23 +464,20 @@ public class Matrix extends Generic {
         }
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
-
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         result.append("[");
         for (int i = 0; i < rows; i++) {
             result.append("[");
 
             for (int j = 0; j < cols; j++) {
-                result.append(elements[i][j]).append(j < cols - 1 ? ", " : "");
+                elements[i][j].appendTo(result, options);
+                result.append(j < cols - 1 ? ", " : "");
             }
 
             result.append("]").append(i < rows - 1 ? ",\n" : "");
         }
 
         result.append("]");
-
-        return result.toString();
     }
 
     public String toJava() {
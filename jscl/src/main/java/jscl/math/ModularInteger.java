@@ -191,8 +191,8 @@ public class ModularInteger extends Generic implements Field {
         }
     }
 
-    public String toString() {
-        return "" + content;
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        result.append(content);
     }
 
     public String toJava() {
@@ -0,0 +1,341 @@
+package jscl.math;
+
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.Term;
+import jscl.math.polynomial.UnivariatePolynomial;
+import jscl.text.ParserUtils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Factorization of multivariate polynomials over the integers by evaluation and Hensel lifting.
+ * <p>
+ * After content and squarefree decomposition with respect to the main variable x (the one of least degree)
+ * the other variables are evaluated at a small integer point preserving degree and squarefreeness, and the
+ * univariate image is factored by {@link Zassenhaus}. With the point moved to the origin the monic image
+ * factors are lifted together over Q one total degree in the other variables at a time, the first factor
+ * carrying the leading coefficient. Lifted factors are then recombined in increasing subset size: the product
+ * of a subset with the leading coefficient, truncated at the degree bound, is a multiple of a true factor
+ * whenever the subset corresponds to one.
+ */
+class MultivariateFactorization {
+    static final int POINTS = 3;
+    static final int ATTEMPTS = 32;
+    final Random random = new Random(0);
+
+    /**
+     * Returns the irreducible factors of the given polynomial with integer coefficients, each repeated
+     * according to its multiplicity, up to constant factors
+     */
+    static List<Generic> compute(Generic generic) {
+        List<Generic> list = new ArrayList<Generic>();
+        new MultivariateFactorization().factorize(generic, list);
+        return list;
+    }
+
+    void factorize(Generic f, List<Generic> result) {
+        Variable va[] = f.variables();
+        if (va.length == 0) return;
+        Variable x = va[0];
+        for (int i = 1; i < va.length; i++) if (degree(f, va[i]) < degree(f, x)) x = va[i];
+        Generic c = ((UnivariatePolynomial) Polynomial.factory(x).valueOf(f)).gcd();
+        factorize(c, result);
+        f = f.divide(c);
+        if (squarefree(f, x)) {
+            result.addAll(irreducible(f, x));
+            return;
+        }
+        Generic d1 = f.derivative(x);
+        Generic a = f.gcd(d1);
+        Generic b = f.divide(a);
+        Generic e = d1.divide(a);
+        Generic d = e.subtract(b.derivative(x));
+        for (int i = 1; degree(b, x) > 0; i++) {
+            a = b.gcd(d);
+            if (degree(a, x) > 0) {
+                List<Generic> factors = irreducible(a, x);
+                for (int k = 0; k < i; k++) result.addAll(factors);
+            }
+            b = b.divide(a);
+            e = d.divide(a);
+            d = e.subtract(b.derivative(x));
+        }
+    }
+
+    /**
+     * A squarefree image of the same degree at some integer point shows the polynomial is squarefree, saving
+     * the multivariate gcd of the full decomposition
+     */
+    boolean squarefree(Generic f, Variable x) {
+        Variable va[] = f.variables();
+        int n = degree(f, x);
+        for (int k = 0; k < POINTS; k++) {
+            Generic s = f;
+            for (int j = 0; j < va.length; j++) {
+                if (!va[j].equals(x)) s = s.substitute(va[j], JsclInteger.valueOf(random.nextInt(2 * k + 5) - k - 2));
+            }
+            BigInteger u[] = coefficients(s.expand(), x);
+            if (u.length == n + 1 && Zassenhaus.gcd(u, Zassenhaus.derivative(u)).length == 1) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Factors a polynomial which is primitive and squarefree with respect to x
+     */
+    List<Generic> irreducible(Generic q, Variable x) {
+        List<Generic> list = new ArrayList<Generic>();
+        Variable va[] = q.variables();
+        Variable y[] = new Variable[va.length - 1];
+        for (int i = 0, j = 0; i < va.length; i++) if (!va[i].equals(x)) y[j++] = va[i];
+        int n = degree(q, x);
+        if (y.length == 0) {
+            for (BigInteger[] f : Zassenhaus.compute(coefficients(q, x))) list.add(Factorization.generic(x, f));
+            return list;
+        }
+        if (n == 1) {
+            list.add(q);
+            return list;
+        }
+        List<BigInteger[]> image = null;
+        int point[] = null;
+        BigInteger lc = null;
+        for (int k = 0, good = 0; k < ATTEMPTS && good < POINTS; k++) {
+            ParserUtils.checkInterruption();
+            int a[] = new int[y.length];
+            for (int j = 0; j < a.length; j++) a[j] = random.nextInt(2 * k + 5) - k - 2;
+            Generic s = q;
+            for (int j = 0; j < y.length; j++) s = s.substitute(y[j], JsclInteger.valueOf(a[j]));
+            BigInteger u[] = coefficients(s.expand(), x);
+            if (u.length != n + 1 || Zassenhaus.gcd(u, Zassenhaus.derivative(u)).length > 1) continue;
+            List<BigInteger[]> factors = Zassenhaus.compute(u);
+            good++;
+            if (image == null || factors.size() < image.size()) {
+                image = factors;
+                point = a;
+                lc = u[n];
+            }
+            if (image.size() == 1) break;
+        }
+        if (image == null) throw new NoLuckyPointException();
+        if (image.size() == 1) {
+            list.add(q);
+            return list;
+        }
+        return lift(q, x, y, point, image, lc);
+    }
+
+    List<Generic> lift(Generic q, Variable x, Variable y[], int point[], List<BigInteger[]> image, BigInteger lc) {
+        Variable unknown[] = new Variable[y.length + 1];
+        unknown[0] = x;
+        System.arraycopy(y, 0, unknown, 1, y.length);
+        Generic s = q;
+        for (int j = 0; j < y.length; j++) s = s.substitute(y[j], y[j].expressionValue().add(JsclInteger.valueOf(point[j])));
+        s = s.expand();
+        Polynomial factory = Polynomial.factory(unknown, Monomial.lexicographic, 1);
+        UnivariatePolynomial univariate = (UnivariatePolynomial) Polynomial.factory(x);
+        Polynomial p = factory.valueOf(s);
+        Polynomial l = factory.valueOf(((UnivariatePolynomial) univariate.valueOf(s)).head().coef());
+        int n = degree(q, x);
+        Monomial power[] = new Monomial[n + 1];
+        for (int k = 0; k <= n; k++) power[k] = p.head().monomial().valueof(k == 0 ? Literal.newInstance() : Literal.valueOf(x, k));
+        int r = image.size();
+        UnivariatePolynomial m[] = new UnivariatePolynomial[r];
+        for (int i = 0; i < r; i++) m[i] = monic(univariate, image.get(i));
+        Generic l0 = new Rational(lc, BigInteger.ONE);
+        UnivariatePolynomial inverse[] = new UnivariatePolynomial[r];
+        for (int i = 0; i < r; i++) {
+            Polynomial b = univariate.valueOf(i == 0 ? JsclInteger.valueOf(1) : l0);
+            for (int j = 0; j < r; j++) if (j != i) b = b.multiply(m[j]);
+            inverse[i] = inverse((UnivariatePolynomial) b, m[i]);
+        }
+        Polynomial f[] = new Polynomial[r];
+        for (int i = 0; i < r; i++) f[i] = valueOf(factory, m[i], power, power[0]);
+        f[0] = f[0].multiply(l0).add(l.subtract(factory.valueOf(l0)).multiply(power[m[0].degree()]));
+        int bound = degree(p) + degree(l);
+        Polynomial e = null;
+        for (int d = 1; d <= bound; d++) {
+            ParserUtils.checkInterruption();
+            e = p.subtract(product(f, 0, r));
+            if (e.signum() == 0) break;
+            for (Map.Entry<Monomial, Generic[]> entry : homogeneous(e, d, n, power).entrySet()) {
+                Monomial mu = entry.getKey();
+                UnivariatePolynomial c = univariate.valueof(entry.getValue());
+                for (int i = 0; i < r; i++) {
+                    Polynomial sigma = c.multiply(inverse[i]).remainder(m[i]);
+                    f[i] = f[i].add(valueOf(factory, (UnivariatePolynomial) sigma, power, mu));
+                }
+            }
+        }
+        if (e != null && e.signum() != 0) e = p.subtract(product(f, 0, r));
+        List<Generic> list = new ArrayList<Generic>();
+        if (e == null || e.signum() == 0) {
+            for (int i = 0; i < r; i++) list.add(shift(primitive(f[i], x), y, point, -1));
+            return list;
+        }
+        List<Integer> rest = new ArrayList<Integer>();
+        for (int i = 0; i < r; i++) rest.add(Integer.valueOf(i));
+        int size = 1;
+        loop:
+        while (2 * size <= rest.size()) {
+            int index[] = new int[size];
+            for (int i = 0; i < size; i++) index[i] = i;
+            do {
+                ParserUtils.checkInterruption();
+                Polynomial g = null;
+                for (int i = 0; i < size; i++) {
+                    int k = rest.get(index[i]);
+                    g = g == null ? f[k] : truncate(g.multiply(f[k]), bound);
+                }
+                if (rest.get(index[0]) != 0) g = truncate(g.multiply(l), bound);
+                Generic h = primitive(g, x);
+                if (degree(h, x) == 0) continue;
+                Polynomial t;
+                try {
+                    t = p.divide(factory.valueOf(h));
+                } catch (NotDivisibleException ex) {
+                    continue;
+                }
+                list.add(shift(h, y, point, -1));
+                p = t;
+                for (int i = size - 1; i >= 0; i--) rest.remove(index[i]);
+                continue loop;
+            } while (Zassenhaus.next(index, rest.size()));
+            size++;
+        }
+        list.add(shift(primitive(p, x), y, point, -1));
+        return list;
+    }
+
+    static Polynomial product(Polynomial f[], int from, int to) {
+        Polynomial p = f[from];
+        for (int i = from + 1; i < to; i++) p = p.multiply(f[i]);
+        return p;
+    }
+
+    /**
+     * Terms of total degree d in the variables other than x, grouped by their monomial in those variables into
+     * dense coefficient arrays in x
+     */
+    static Map<Monomial, Generic[]> homogeneous(Polynomial p, int d, int n, Monomial power[]) {
+        Map<Monomial, Generic[]> map = new TreeMap<Monomial, Generic[]>();
+        Iterator<?> it = p.iterator();
+        while (it.hasNext()) {
+            Term t = (Term) it.next();
+            Monomial m = t.monomial();
+            int k = m.element(0);
+            if (m.degree() - k != d) continue;
+            Monomial mu = m.divide(power[k]);
+            Generic c[] = map.get(mu);
+            if (c == null) {
+                c = new Generic[n];
+                for (int i = 0; i < n; i++) c[i] = JsclInteger.valueOf(0);
+                map.put(mu, c);
+            }
+            c[k] = t.coef();
+        }
+        return map;
+    }
+
+    static Polynomial truncate(Polynomial p, int bound) {
+        List<Term> list = new ArrayList<Term>();
+        Iterator<?> it = p.iterator();
+        while (it.hasNext()) {
+            Term t = (Term) it.next();
+            Monomial m = t.monomial();
+            if (m.degree() - m.element(0) <= bound) list.add(t);
+        }
+        return p.valueOf(list.toArray(new Term[list.size()]));
+    }
+
+    /**
+     * Total degree in the variables other than the first one
+     */
+    static int degree(Polynomial p) {
+        int d = 0;
+        Iterator<?> it = p.iterator();
+        while (it.hasNext()) {
+            Monomial m = ((Term) it.next()).monomial();
+            d = Math.max(d, m.degree() - m.element(0));
+        }
+        return d;
+    }
+
+    static int degree(Generic generic, Variable x) {
+        return Polynomial.factory(x).valueOf(generic).degree();
+    }
+
+    static Polynomial valueOf(Polynomial factory, UnivariatePolynomial u, Monomial power[], Monomial mu) {
+        Polynomial p = factory.valueOf(JsclInteger.valueOf(0));
+        Generic c[] = u.elements();
+        for (int k = 0; k < c.length; k++) {
+            if (c[k].signum() != 0) p = p.add(factory.valueOf(power[k].multiply(mu)).multiply(c[k]));
+        }
+        return p;
+    }
+
+    static UnivariatePolynomial monic(UnivariatePolynomial factory, BigInteger a[]) {
+        Generic c[] = new Generic[a.length];
+        BigInteger lc = a[a.length - 1];
+        for (int i = 0; i < a.length; i++) c[i] = new Rational(a[i], lc).reduce();
+        return factory.valueof(c);
+    }
+
+    /**
+     * Inverse of a modulo m over Q, a and m being coprime
+     */
+    static UnivariatePolynomial inverse(UnivariatePolynomial a, UnivariatePolynomial m) {
+        Polynomial r0 = m, r1 = a.remainder(m);
+        Polynomial t0 = m.valueOf(JsclInteger.valueOf(0)), t1 = m.valueOf(JsclInteger.valueOf(1));
+        while (r1.signum() != 0) {
+            Polynomial qr[] = r0.divideAndRemainder(r1);
+            Polynomial t = t0.subtract(qr[0].multiply(t1));
+            r0 = r1;
+            r1 = qr[1];
+            t0 = t1;
+            t1 = t;
+        }
+        return (UnivariatePolynomial) t0.divide(r0.head().coef());
+    }
+
+    /**
+     * Integer primitive part with respect to x
+     */
+    static Generic primitive(Polynomial p, Variable x) {
+        BigInteger d = BigInteger.ONE;
+        Iterator<?> it = p.iterator();
+        while (it.hasNext()) {
+            Generic c = ((Term) it.next()).coef();
+            if (c instanceof Rational) d = Rational.scm(d, ((Rational) c).denominator());
+        }
+        Generic s = JsclInteger.valueOf(0);
+        it = p.iterator();
+        while (it.hasNext()) {
+            Term t = (Term) it.next();
+            Generic c = t.coef().multiply(new JsclInteger(d));
+            s = s.add(Expression.valueOf(t.monomial().literalValue(), c.integerValue()));
+        }
+        return s.divide(((UnivariatePolynomial) Polynomial.factory(x).valueOf(s)).gcd());
+    }
+
+    static Generic shift(Generic generic, Variable y[], int point[], int sign) {
+        for (int j = 0; j < y.length; j++) {
+            generic = generic.substitute(y[j], y[j].expressionValue().add(JsclInteger.valueOf(sign * point[j])));
+        }
+        return generic.expand();
+    }
+
+    static BigInteger[] coefficients(Generic generic, Variable x) {
+        Generic c[] = ((UnivariatePolynomial) Polynomial.factory(x).valueOf(generic)).elements();
+        BigInteger a[] = new BigInteger[c.length];
+        for (int i = 0; i < c.length; i++) a[i] = c[i].integerValue().content();
+        return Zassenhaus.trim(a);
+    }
+}
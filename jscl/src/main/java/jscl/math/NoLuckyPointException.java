@@ -0,0 +1,12 @@
+package jscl.math;
+
+/**
+ * No integer point among those tried gives an image of the same degree that is squarefree, so a polynomial
+ * cannot be factored by evaluation and lifting
+ */
+class NoLuckyPointException extends ArithmeticException {
+    private static final long serialVersionUID = 1L;
+
+    NoLuckyPointException() {
+    }
+}
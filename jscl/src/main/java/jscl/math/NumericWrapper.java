@@ -1,16 +1,21 @@
 package jscl.math;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collections;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
 
+import jscl.JsclMathEngine;
 import jscl.math.function.Constant;
 import jscl.math.function.Constants;
 import jscl.math.function.ConstantsRegistry;
 import jscl.math.function.IConstant;
+import jscl.math.numeric.BigComplex;
+import jscl.math.numeric.BigReal;
 import jscl.math.numeric.Complex;
+import jscl.math.numeric.ExtendedReal;
 import jscl.math.numeric.INumeric;
 import jscl.math.numeric.Numeric;
 import jscl.math.numeric.Real;
@@ -23,11 +28,25 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
     private final Numeric content;
 
     public NumericWrapper(@Nonnull JsclInteger integer) {
-        content = Real.valueOf(integer.content().doubleValue());
+        final java.math.MathContext mc = JsclMathEngine.getInstance().getBigDecimalContext();
+        if (mc != null) {
+            content = BigReal.valueOf(new BigDecimal(integer.content()), mc);
+        } else if (JsclMathEngine.getInstance().isExtendedPrecision()) {
+            content = ExtendedReal.valueOf(integer.content());
+        } else {
+            content = Real.valueOf(integer.content().doubleValue());
+        }
     }
 
     public NumericWrapper(@Nonnull Rational rational) {
-        content = Real.valueOf(rational.numerator().doubleValue() / rational.denominator().doubleValue());
+        final java.math.MathContext mc = JsclMathEngine.getInstance().getBigDecimalContext();
+        if (mc != null) {
+            content = BigReal.valueOf(rational.numerator(), rational.denominator(), mc);
+        } else if (JsclMathEngine.getInstance().isExtendedPrecision()) {
+            content = ExtendedReal.valueOf(rational.numerator(), rational.denominator());
+        } else {
+            content = Real.valueOf(rational.numerator().doubleValue() / rational.denominator().doubleValue());
+        }
     }
 
     public NumericWrapper(@Nonnull JsclVector vector) {
@@ -57,12 +76,17 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
 
         if (constantFromRegistry != null) {
             if (constantFromRegistry.getName().equals(Constants.I.getName())) {
-                content = Complex.I;
+                final java.math.MathContext mc = JsclMathEngine.getInstance().getBigDecimalContext();
+                content = mc != null ? BigComplex.restore(BigDecimal.ZERO, BigDecimal.ONE, mc) : Complex.I;
             } else {
                 if (constantFromRegistry.getValue() != null) {
                     final Double value = constantFromRegistry.getDoubleValue();
                     if (value == null) {
                         throw new ArithmeticException("Constant " + constant.getName() + " has invalid definition: " + constantFromRegistry.getValue());
+                    } else if (JsclMathEngine.getInstance().getBigDecimalContext() != null) {
+                        content = bigValueOf(constantFromRegistry, value, JsclMathEngine.getInstance().getBigDecimalContext());
+                    } else if (JsclMathEngine.getInstance().isExtendedPrecision()) {
+                        content = extendedValueOf(constantFromRegistry, value);
                     } else {
                         content = Real.valueOf(value);
                     }
@@ -79,6 +103,41 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
         content = numeric;
     }
 
+    @Nonnull
+    private static ExtendedReal extendedValueOf(@Nonnull IConstant constant, double value) {
+        final String name = constant.getName();
+        if (name.equals(Constants.PI.getName()) || name.equals(Constants.PI_INV.getName())) {
+            return ExtendedReal.PI;
+        } else if (name.equals(ConstantsRegistry.E)) {
+            return ExtendedReal.E;
+        }
+        try {
+            // user constants may have more digits than double keeps
+            return ExtendedReal.valueOf(constant.getValue());
+        } catch (NumberFormatException e) {
+            return ExtendedReal.valueOf(value);
+        }
+    }
+
+    @Nonnull
+    private static BigReal bigValueOf(@Nonnull IConstant constant, double value, @Nonnull java.math.MathContext mc) {
+        final String name = constant.getName();
+        if (name.equals(Constants.PI.getName()) || name.equals(Constants.PI_INV.getName())) {
+            return BigReal.pi(mc);
+        } else if (name.equals(ConstantsRegistry.E)) {
+            return BigReal.e(mc);
+        }
+        try {
+            return BigReal.valueOf(new BigDecimal(constant.getValue()), mc);
+        } catch (NumberFormatException e) {
+            return BigReal.valueOf(new BigDecimal(value), mc);
+        }
+    }
+
+    private boolean isReal() {
+        return content instanceof Real || content instanceof ExtendedReal || content instanceof BigReal;
+    }
+
     public static Generic root(int subscript, Generic parameter[]) {
         Numeric param[] = new Numeric[parameter.length];
         for (int i = 0; i < param.length; i++) param[i] = ((NumericWrapper) parameter[i]).content;
@@ -239,7 +298,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
     }
 
     public JsclInteger integerValue() throws NotIntegerException {
-        if (content instanceof Real) {
+        if (isReal()) {
             double doubleValue = content.doubleValue();
             if (Math.floor(doubleValue) == doubleValue) {
                 return JsclInteger.valueOf((int) doubleValue);
@@ -258,8 +317,8 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
 
     @Override
     public boolean isInteger() {
-        if (content instanceof Real) {
-            double value = ((Real) content).doubleValue();
+        if (isReal()) {
+            double value = content.doubleValue();
             return Math.floor(value) == value;
         }
         return false;
@@ -421,12 +480,16 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
         }
     }
 
-    public String toString() {
-        return content.toString();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        if (options.getNumeralBase() != null && isReal()) {
+            options.append(result, content.doubleValue());
+        } else {
+            content.appendTo(result, options);
+        }
     }
 
     public String toJava() {
-        return "JsclDouble.valueOf(" + ((Real) content).doubleValue() + ")";
+        return "JsclDouble.valueOf(" + content.doubleValue() + ")";
     }
 
     public void toMathML(MathML element, Object data) {
@@ -450,7 +513,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
 
     void bodyToMathML(MathML element) {
         MathML e1 = element.element("mn");
-        e1.appendChild(element.text(String.valueOf(Double.valueOf(((Real) content).doubleValue()))));
+        e1.appendChild(element.text(String.valueOf(content.doubleValue())));
         element.appendChild(e1);
     }
 
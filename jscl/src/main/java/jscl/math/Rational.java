@@ -10,44 +10,113 @@ import java.util.Collections;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class Rational extends Generic implements Field {
 
     public static final Rational factory = new Rational(BigInteger.valueOf(0), BigInteger.valueOf(1));
 
+    // numerator and denominator if both fit into a long other than Long.MIN_VALUE, the BigIntegers are null then
+    final long smallNumerator;
+    final long smallDenominator;
+    @Nullable
     final BigInteger numerator;
+    @Nullable
     final BigInteger denominator;
 
     public Rational(BigInteger numerator, BigInteger denominator) {
-        this.numerator = numerator;
-        this.denominator = denominator;
+        if (JsclInteger.isSmall(numerator) && JsclInteger.isSmall(denominator)) {
+            this.smallNumerator = numerator.longValue();
+            this.smallDenominator = denominator.longValue();
+            this.numerator = null;
+            this.denominator = null;
+        } else {
+            this.smallNumerator = 0;
+            this.smallDenominator = 0;
+            this.numerator = numerator;
+            this.denominator = denominator;
+        }
+    }
+
+    private Rational(long numerator, long denominator) {
+        this.smallNumerator = numerator;
+        this.smallDenominator = denominator;
+        this.numerator = null;
+        this.denominator = null;
+    }
+
+    @Nonnull
+    private static Rational valueOf(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return new Rational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    @Nonnull
+    static Rational valueOf(@Nonnull JsclInteger numerator, @Nonnull JsclInteger denominator) {
+        if (numerator.big == null && denominator.big == null) {
+            return new Rational(numerator.small, denominator.small);
+        }
+        return new Rational(numerator.content(), denominator.content());
     }
 
     static BigInteger scm(BigInteger b1, BigInteger b2) {
         return b1.multiply(b2).divide(b1.gcd(b2));
     }
 
+    private boolean isSmall() {
+        return numerator == null;
+    }
+
     public BigInteger numerator() {
-        return numerator;
+        return numerator != null ? numerator : BigInteger.valueOf(smallNumerator);
     }
 
     public BigInteger denominator() {
-        return denominator;
+        return denominator != null ? denominator : BigInteger.valueOf(smallDenominator);
     }
 
     public Rational add(Rational rational) {
-        BigInteger gcd = denominator.gcd(rational.denominator);
+        if (isSmall() && rational.isSmall()) {
+            try {
+                final long gcd = JsclInteger.gcd(smallDenominator, rational.smallDenominator);
+                final long c = smallDenominator / gcd;
+                final long c2 = rational.smallDenominator / gcd;
+                final long n = Math.addExact(Math.multiplyExact(smallNumerator, c2), Math.multiplyExact(rational.smallNumerator, c));
+                return reduce(n, Math.multiplyExact(smallDenominator, c2));
+            } catch (ArithmeticException e) {
+                // overflow: continue with BigInteger
+            }
+        }
+        final BigInteger denominator = denominator();
+        final BigInteger thatDenominator = rational.denominator();
+        BigInteger gcd = denominator.gcd(thatDenominator);
         BigInteger c = denominator.divide(gcd);
-        BigInteger c2 = rational.denominator.divide(gcd);
-        return new Rational(numerator.multiply(c2).add(rational.numerator.multiply(c)), denominator.multiply(c2)).reduce();
+        BigInteger c2 = thatDenominator.divide(gcd);
+        return new Rational(numerator().multiply(c2).add(rational.numerator().multiply(c)), denominator.multiply(c2)).reduce();
     }
 
     Rational reduce() {
+        if (isSmall()) {
+            return reduce(smallNumerator, smallDenominator);
+        }
         BigInteger gcd = numerator.gcd(denominator);
         if (gcd.signum() != denominator.signum()) gcd = gcd.negate();
         return gcd.signum() == 0 ? this : new Rational(numerator.divide(gcd), denominator.divide(gcd));
     }
 
+    @Nonnull
+    private static Rational reduce(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            // neither the gcd nor the change of sign fit into a long
+            return new Rational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator)).reduce();
+        }
+        long gcd = JsclInteger.gcd(numerator, denominator);
+        if (Long.signum(gcd) != Long.signum(denominator)) gcd = -gcd;
+        return gcd == 0 ? valueOf(numerator, denominator) : valueOf(numerator / gcd, denominator / gcd);
+    }
+
     @Nonnull
     public Generic add(@Nonnull Generic that) {
         if (that instanceof Rational) {
@@ -60,9 +129,23 @@ public final class Rational extends Generic implements Field {
     }
 
     public Rational multiply(Rational rational) {
-        BigInteger gcd = numerator.gcd(rational.denominator);
-        BigInteger gcd2 = denominator.gcd(rational.numerator);
-        return new Rational(numerator.divide(gcd).multiply(rational.numerator.divide(gcd2)), denominator.divide(gcd2).multiply(rational.denominator.divide(gcd)));
+        if (isSmall() && rational.isSmall()) {
+            try {
+                final long gcd = JsclInteger.gcd(smallNumerator, rational.smallDenominator);
+                final long gcd2 = JsclInteger.gcd(smallDenominator, rational.smallNumerator);
+                return valueOf(Math.multiplyExact(smallNumerator / gcd, rational.smallNumerator / gcd2),
+                        Math.multiplyExact(smallDenominator / gcd2, rational.smallDenominator / gcd));
+            } catch (ArithmeticException e) {
+                // overflow (or division by zero which throws below again): continue with BigInteger
+            }
+        }
+        final BigInteger numerator = numerator();
+        final BigInteger denominator = denominator();
+        final BigInteger thatNumerator = rational.numerator();
+        final BigInteger thatDenominator = rational.denominator();
+        BigInteger gcd = numerator.gcd(thatDenominator);
+        BigInteger gcd2 = denominator.gcd(thatNumerator);
+        return new Rational(numerator.divide(gcd).multiply(thatNumerator.divide(gcd2)), denominator.divide(gcd2).multiply(thatDenominator.divide(gcd)));
     }
 
     @Nonnull
@@ -88,12 +171,25 @@ public final class Rational extends Generic implements Field {
     }
 
     public Generic inverse() {
+        if (isSmall()) {
+            if (signum() < 0) return new Rational(-smallDenominator, -smallNumerator);
+            else return new Rational(smallDenominator, smallNumerator);
+        }
         if (signum() < 0) return new Rational(denominator.negate(), numerator.negate());
         else return new Rational(denominator, numerator);
     }
 
     public Rational gcd(Rational rational) {
-        return new Rational(numerator.gcd(rational.numerator), scm(denominator, rational.denominator));
+        if (isSmall() && rational.isSmall()) {
+            try {
+                final long gcd = JsclInteger.gcd(smallDenominator, rational.smallDenominator);
+                final long scm = Math.multiplyExact(smallDenominator, rational.smallDenominator) / gcd;
+                return valueOf(JsclInteger.gcd(smallNumerator, rational.smallNumerator), scm);
+            } catch (ArithmeticException e) {
+                // overflow: continue with BigInteger
+            }
+        }
+        return new Rational(numerator().gcd(rational.numerator()), scm(denominator(), rational.denominator()));
     }
 
     public Generic gcd(@Nonnull Generic generic) {
@@ -116,11 +212,14 @@ public final class Rational extends Generic implements Field {
     }
 
     public Generic negate() {
+        if (isSmall()) {
+            return new Rational(-smallNumerator, smallDenominator);
+        }
         return new Rational(numerator.negate(), denominator);
     }
 
     public int signum() {
-        return numerator.signum();
+        return isSmall() ? Long.signum(smallNumerator) : numerator.signum();
     }
 
     public int degree() {
@@ -161,17 +260,17 @@ public final class Rational extends Generic implements Field {
 
     public Generic valueOf(Generic generic) {
         if (generic instanceof Rational) {
-            Rational r = (Rational) generic;
-            return new Rational(r.numerator, r.denominator);
+            // immutable
+            return generic;
         } else if (generic instanceof Expression) {
             boolean sign = generic.signum() < 0;
             Generic g[] = ((Fraction) (sign ? generic.negate() : generic).variableValue()).getParameters();
             JsclInteger numerator = (JsclInteger) (sign ? g[0].negate() : g[0]);
             JsclInteger denominator = (JsclInteger) g[1];
-            return new Rational(numerator.content(), denominator.content());
+            return valueOf(numerator, denominator);
         } else {
             JsclInteger en = (JsclInteger) generic;
-            return new Rational(en.content(), BigInteger.valueOf(1));
+            return valueOf(en, JsclInteger.ONE);
         }
     }
 
@@ -202,7 +301,9 @@ public final class Rational extends Generic implements Field {
     }
 
     public JsclInteger integerValue() throws NotIntegerException {
-        if (denominator.compareTo(BigInteger.ONE) == 0) {
+        if (isSmall() && smallDenominator == 1) {
+            return JsclInteger.valueOf(smallNumerator);
+        } else if (!isSmall() && denominator.compareTo(BigInteger.ONE) == 0) {
             return new JsclInteger(numerator);
         } else {
             throw NotIntegerException.get();
@@ -211,6 +312,9 @@ public final class Rational extends Generic implements Field {
 
     @Override
     public double doubleValue() throws NotDoubleException {
+        if (isSmall()) {
+            return (double) smallNumerator / (double) smallDenominator;
+        }
         return numerator.doubleValue() / denominator.doubleValue();
     }
 
@@ -229,8 +333,8 @@ public final class Rational extends Generic implements Field {
             integerValue();
             throw new NotVariableException();
         } catch (NotIntegerException e) {
-            if (numerator.compareTo(BigInteger.valueOf(1)) == 0) return new Inverse(new JsclInteger(denominator));
-            else return new Fraction(new JsclInteger(numerator), new JsclInteger(denominator));
+            if (numerator().compareTo(BigInteger.valueOf(1)) == 0) return new Inverse(new JsclInteger(denominator()));
+            else return new Fraction(new JsclInteger(numerator()), new JsclInteger(denominator()));
         }
     }
 
@@ -247,10 +351,14 @@ public final class Rational extends Generic implements Field {
     }
 
     public int compareTo(Rational rational) {
-        int c = denominator.compareTo(rational.denominator);
+        if (isSmall() && rational.isSmall()) {
+            final int c = Long.compare(smallDenominator, rational.smallDenominator);
+            return c != 0 ? c : Long.compare(smallNumerator, rational.smallNumerator);
+        }
+        int c = denominator().compareTo(rational.denominator());
         if (c < 0) return -1;
         else if (c > 0) return 1;
-        else return numerator.compareTo(rational.numerator);
+        else return numerator().compareTo(rational.numerator());
     }
 
     public int compareTo(Generic generic) {
@@ -263,20 +371,18 @@ public final class Rational extends Generic implements Field {
         }
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         try {
-            result.append(integerValue());
+            integerValue().appendTo(result, options);
         } catch (NotIntegerException e) {
-            result.append(numerator);
+            result.append(numerator());
             result.append("/");
-            result.append(denominator);
+            result.append(denominator());
         }
-        return result.toString();
     }
 
     public String toJava() {
-        return "JsclDouble.valueOf(" + numerator + "/" + denominator + ")";
+        return "JsclDouble.valueOf(" + numerator() + "/" + denominator() + ")";
     }
 
     public void toMathML(MathML element, Object data) {
@@ -306,10 +412,10 @@ public final class Rational extends Generic implements Field {
         } catch (NotIntegerException e) {
             MathML e1 = element.element("mfrac");
             MathML e2 = element.element("mn");
-            e2.appendChild(element.text(String.valueOf(numerator)));
+            e2.appendChild(element.text(String.valueOf(numerator())));
             e1.appendChild(e2);
             e2 = element.element("mn");
-            e2.appendChild(element.text(String.valueOf(denominator)));
+            e2.appendChild(element.text(String.valueOf(denominator())));
             e1.appendChild(e2);
             element.appendChild(e1);
         }
@@ -0,0 +1,80 @@
+package jscl.math;
+
+import jscl.JsclMathEngine;
+import jscl.NumeralBase;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+
+/**
+ * How {@link Generic#appendTo(StringBuilder, RenderOptions)} renders an expression: the text put in place of the
+ * multiplication sign and the numeral base of the numbers (the one of {@link JsclMathEngine} if not set).
+ * {@link #DEFAULT} renders as {@link Object#toString()}.
+ */
+public final class RenderOptions {
+
+    public static final RenderOptions DEFAULT = new RenderOptions("*", null);
+
+    @Nonnull
+    private final String multiplicationSign;
+    @Nullable
+    private final NumeralBase numeralBase;
+
+    private RenderOptions(@Nonnull String multiplicationSign, @Nullable NumeralBase numeralBase) {
+        this.multiplicationSign = multiplicationSign;
+        this.numeralBase = numeralBase;
+    }
+
+    @Nonnull
+    public RenderOptions withMultiplicationSign(@Nonnull String multiplicationSign) {
+        return new RenderOptions(multiplicationSign, numeralBase);
+    }
+
+    @Nonnull
+    public RenderOptions withNumeralBase(@Nullable NumeralBase numeralBase) {
+        return new RenderOptions(multiplicationSign, numeralBase);
+    }
+
+    @Nonnull
+    public String getMultiplicationSign() {
+        return multiplicationSign;
+    }
+
+    @Nullable
+    public NumeralBase getNumeralBase() {
+        return numeralBase;
+    }
+
+    public void appendMultiplicationSign(@Nonnull StringBuilder result) {
+        result.append(multiplicationSign);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RenderOptions)) return false;
+        final RenderOptions that = (RenderOptions) o;
+        return multiplicationSign.equals(that.multiplicationSign) && numeralBase == that.numeralBase;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * multiplicationSign.hashCode() + (numeralBase == null ? 0 : numeralBase.hashCode());
+    }
+
+    void append(@Nonnull StringBuilder result, double value) {
+        final JsclMathEngine engine = JsclMathEngine.getInstance();
+        result.append(numeralBase == null ? engine.format(value) : engine.format(value, numeralBase));
+    }
+
+    void append(@Nonnull StringBuilder result, long value) {
+        final JsclMathEngine engine = JsclMathEngine.getInstance();
+        result.append(numeralBase == null ? engine.format(value) : engine.format(value, numeralBase));
+    }
+
+    void append(@Nonnull StringBuilder result, @Nonnull BigInteger value) {
+        final JsclMathEngine engine = JsclMathEngine.getInstance();
+        result.append(numeralBase == null ? engine.format(value) : engine.format(value, numeralBase));
+    }
+}
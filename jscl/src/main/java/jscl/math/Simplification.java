@@ -1,20 +1,49 @@
 package jscl.math;
 
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
 import jscl.math.function.*;
+import jscl.math.operator.AbstractFunction;
 import jscl.math.polynomial.Basis;
 import jscl.math.polynomial.Monomial;
 import jscl.math.polynomial.Polynomial;
 import jscl.math.polynomial.UnivariatePolynomial;
+import org.solovyev.common.math.AbstractMathRegistry;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
 public final class Simplification {
 
+    private static final int RESULTS_SIZE = 256;
+    /**
+     * Results of previous calls keyed by the simplified expression, least recently used dropped first. Cleared
+     * whenever a constant, function or the angle units change.
+     */
+    @GuardedBy("results")
+    private static final Map<Key, Generic> results = new LinkedHashMap<Key, Generic>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Generic> eldest) {
+            return size() > RESULTS_SIZE;
+        }
+    };
+    @GuardedBy("results")
+    private static int version = -1;
+    @GuardedBy("results")
+    @Nullable
+    private static AngleUnit angleUnits;
+    @GuardedBy("results")
+    private static long hits;
+    @GuardedBy("results")
+    private static long misses;
+
     private final Map<Variable, Generic> cache = new TreeMap<Variable, Generic>();
     private final List<Constraint> constraints = new ArrayList<Constraint>();
     Generic result;
@@ -24,19 +53,130 @@ public final class Simplification {
     }
 
     public static Generic compute(@Nonnull Generic generic) {
+        final Key key = new Key(generic);
+        final int version = AbstractMathRegistry.getVersion();
+        final AngleUnit angleUnits = JsclMathEngine.getInstance().getAngleUnits();
+        synchronized (results) {
+            if (version != Simplification.version || angleUnits != Simplification.angleUnits) {
+                results.clear();
+                Simplification.version = version;
+                Simplification.angleUnits = angleUnits;
+            }
+            final Generic result = results.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
         final Simplification s = new Simplification();
         s.computeValue(generic);
-        return s.getValue();
+        final Generic result = s.getValue();
+        synchronized (results) {
+            if (version == Simplification.version && angleUnits == Simplification.angleUnits) {
+                results.put(key, result);
+            }
+        }
+        return result;
     }
 
-    void computeValue(Generic generic) {
-        Debug.println("simplification");
-        Debug.increment();
+    public static long getCacheHits() {
+        synchronized (results) {
+            return hits;
+        }
+    }
+
+    public static long getCacheMisses() {
+        synchronized (results) {
+            return misses;
+        }
+    }
+
+    public static void clearCache() {
+        synchronized (results) {
+            results.clear();
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Hashes the terms of the expression tree (variable names, function parameters, powers and coefficients),
+     * equality is {@link Generic#compareTo(Generic)}
+     */
+    private static final class Key {
+        @Nonnull
+        private final Generic generic;
+        private final int hash;
+
+        Key(@Nonnull Generic generic) {
+            this.generic = generic;
+            this.hash = hash(generic);
+        }
 
+        private static int hash(@Nullable Generic generic) {
+            if (generic instanceof Expression) {
+                final Expression expression = (Expression) generic;
+                int result = 1;
+                for (int i = 0; i < expression.size(); i++) {
+                    result = 31 * result + hash(expression.literal(i));
+                    result = 31 * result + hash(expression.coef(i));
+                }
+                return result;
+            } else if (generic instanceof JsclInteger) {
+                final JsclInteger integer = (JsclInteger) generic;
+                return integer.big != null ? integer.big.hashCode() : hash(integer.small);
+            } else if (generic instanceof Rational) {
+                final Rational rational = (Rational) generic;
+                if (rational.numerator != null) {
+                    return 31 * rational.numerator.hashCode() + rational.denominator.hashCode();
+                }
+                return 31 * hash(rational.smallNumerator) + hash(rational.smallDenominator);
+            }
+            // rarely simplified, left to compareTo
+            return generic == null ? 0 : generic.getClass().hashCode();
+        }
+
+        private static int hash(@Nonnull Literal literal) {
+            int result = 1;
+            for (int i = 0; i < literal.size(); i++) {
+                result = 31 * result + hash(literal.getVariable(i));
+                result = 31 * result + literal.getPower(i);
+            }
+            return result;
+        }
+
+        private static int hash(@Nonnull Variable variable) {
+            int result = variable.name.hashCode();
+            if (variable instanceof AbstractFunction) {
+                for (Generic parameter : ((AbstractFunction) variable).getParameters()) {
+                    result = 31 * result + hash(parameter);
+                }
+            }
+            return result;
+        }
+
+        private static int hash(long value) {
+            return (int) (value ^ (value >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && hash == ((Key) o).hash && generic.compareTo(((Key) o).generic) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    void computeValue(Generic generic) {
         final Variable t = new TechnicalVariable("t");
         linear = false;
         process(new Constraint(t, t.expressionValue().subtract(generic), false));
         UnivariatePolynomial p = polynomial(t);
+        Trace.event(Trace.Event.simplificationStep, generic, p.degree());
 
         switch (p.degree()) {
             case 0:
@@ -53,8 +193,6 @@ public final class Simplification {
             default:
                 linear(generic);
         }
-
-        Debug.decrement();
     }
 
     void linear(Generic generic) {
@@ -63,6 +201,7 @@ public final class Simplification {
         constraints.clear();
         process(new Constraint(t, t.expressionValue().subtract(generic), false));
         UnivariatePolynomial p = polynomial(t);
+        Trace.event(Trace.Event.simplificationStep, generic, p.degree());
         switch (p.degree()) {
             case 0:
                 result = generic;
@@ -81,12 +81,10 @@ public class TechnicalVariable extends Variable {
         return 0;
     }
 
-    public String toString() {
-        StringBuffer buffer = new StringBuffer();
-        buffer.append(name);
-        if (subscript.length == 1) buffer.append(subscript[0]);
-        else for (int i = 0; i < subscript.length; i++) buffer.append("[").append(subscript[i]).append("]");
-        return buffer.toString();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        result.append(name);
+        if (subscript.length == 1) result.append(subscript[0]);
+        else for (int i = 0; i < subscript.length; i++) result.append("[").append(subscript[i]).append("]");
     }
 
     public String toJava() {
@@ -0,0 +1,106 @@
+package jscl.math;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Typed events of the symbolic engines (Groebner bases, factorization, simplification).
+ * <p>
+ * Call sites pass the objects they already hold, nothing is formatted unless a sink is installed, so tracing
+ * costs a volatile read when off. Sinks are called on the computing thread, possibly from several threads
+ * at once.
+ */
+public final class Trace {
+
+    public enum Event {
+        /**
+         * Groebner basis computation started, value is the number of generators
+         */
+        basis,
+        /**
+         * S-polynomial of a critical pair about to be reduced, value is the pair sugar
+         */
+        pairSelected,
+        /**
+         * Reduction produced a new basis element, value is its index
+         */
+        reductionFinished,
+        /**
+         * Groebner basis computation finished, value is the size of the reduced basis
+         */
+        basisSize,
+        /**
+         * Modular images were reconstructed into the basis, value is the number of primes used
+         */
+        modularImages,
+        /**
+         * Polynomial about to be split, value is the number of factors found or 0 if not known yet
+         */
+        factorizationStep,
+        /**
+         * Minimal polynomial of an expression computed, value is its degree
+         */
+        simplificationStep
+    }
+
+    public interface Sink {
+        void event(@Nonnull Event event, @Nullable Object subject, long value);
+    }
+
+    @Nullable
+    private static volatile Sink sink;
+
+    private Trace() {
+    }
+
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    @Nullable
+    public static Sink getSink() {
+        return sink;
+    }
+
+    public static void setSink(@Nullable Sink sink) {
+        Trace.sink = sink;
+    }
+
+    public static void event(@Nonnull Event event, @Nullable Object subject, long value) {
+        final Sink s = sink;
+        if (s != null) {
+            s.event(event, subject, value);
+        }
+    }
+
+    /**
+     * Counts events and sums their values
+     */
+    public static class Counter implements Sink {
+        private final AtomicLongArray counts = new AtomicLongArray(Event.values().length);
+        private final AtomicLongArray totals = new AtomicLongArray(Event.values().length);
+
+        public void event(@Nonnull Event event, @Nullable Object subject, long value) {
+            counts.incrementAndGet(event.ordinal());
+            totals.addAndGet(event.ordinal(), value);
+        }
+
+        public long getCount(@Nonnull Event event) {
+            return counts.get(event.ordinal());
+        }
+
+        public long getTotal(@Nonnull Event event) {
+            return totals.get(event.ordinal());
+        }
+    }
+
+    /**
+     * Prints events to the {@link Debug} output stream
+     */
+    public static class Printer implements Sink {
+        public void event(@Nonnull Event event, @Nullable Object subject, long value) {
+            Debug.println(event + " " + value + (subject == null ? "" : ": " + subject));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package jscl.math;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+
+/**
+ * Thrown by {@link GenericCodec#write} for values it has no encoding for, e.g. the polynomials and modular integers
+ * used inside the algorithms
+ */
+public class UnsupportedGenericException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    @Nonnull
+    private final String type;
+
+    public UnsupportedGenericException(@Nonnull Class<?> type) {
+        super("Can't write " + type.getName());
+        this.type = type.getName();
+    }
+
+    @Nonnull
+    public String getType() {
+        return type;
+    }
+}
@@ -203,7 +203,18 @@ public abstract class Variable implements Comparable, MathEntity {
     }
 
     public String toString() {
-        return name;
+        return toString(RenderOptions.DEFAULT);
+    }
+
+    @Nonnull
+    public String toString(@Nonnull RenderOptions options) {
+        final StringBuilder result = new StringBuilder();
+        appendTo(result, options);
+        return result.toString();
+    }
+
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        result.append(name);
     }
 
     public String toJava() {
@@ -0,0 +1,534 @@
+package jscl.math;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Factorization of univariate polynomials over the integers.
+ * <p>
+ * The primitive part is split into squarefree factors (Yun), each of which is factored modulo a small prime
+ * by distinct and equal degree factorization (Cantor-Zassenhaus). The modular factors are Hensel lifted to
+ * a power of the prime beyond the Mignotte bound and recombined by trial division in increasing subset size.
+ * Polynomials are dense coefficient arrays, lowest degree first, without leading zeros.
+ */
+class Zassenhaus {
+    static final int PRIMES = 5;
+    static final BigInteger ZERO[] = new BigInteger[0];
+    final Random random = new Random(0);
+
+    /**
+     * Returns the irreducible factors of the primitive part of the given polynomial, each repeated
+     * according to its multiplicity, with positive leading coefficients
+     */
+    static List<BigInteger[]> compute(BigInteger f[]) {
+        Zassenhaus z = new Zassenhaus();
+        List<BigInteger[]> list = new ArrayList<BigInteger[]>();
+        List<BigInteger[]> parts = squarefree(primitive(f));
+        for (int i = 0; i < parts.size(); i++) {
+            BigInteger a[] = parts.get(i);
+            if (a.length < 2) continue;
+            List<BigInteger[]> factors = a.length == 2 ? singleton(a) : z.factorize(a);
+            for (int k = 0; k <= i; k++) list.addAll(factors);
+        }
+        return list;
+    }
+
+    static <T> List<T> singleton(T o) {
+        List<T> list = new ArrayList<T>();
+        list.add(o);
+        return list;
+    }
+
+    /**
+     * Squarefree decomposition, element i of the result is the product of the factors of multiplicity i + 1
+     */
+    static List<BigInteger[]> squarefree(BigInteger f[]) {
+        List<BigInteger[]> list = new ArrayList<BigInteger[]>();
+        BigInteger d1[] = derivative(f);
+        BigInteger a[] = gcd(f, d1);
+        BigInteger b[] = divide(f, a);
+        BigInteger c[] = divide(d1, a);
+        BigInteger d[] = subtract(c, derivative(b));
+        while (b.length > 1) {
+            a = gcd(b, d);
+            list.add(a);
+            b = divide(b, a);
+            c = divide(d, a);
+            d = subtract(c, derivative(b));
+        }
+        return list;
+    }
+
+    List<BigInteger[]> factorize(BigInteger f[]) {
+        long p = 0;
+        int count = Integer.MAX_VALUE;
+        int tried = 0;
+        BigInteger lc = f[f.length - 1];
+        for (BigInteger q = BigInteger.valueOf(3); tried < PRIMES && count > 1; q = q.nextProbablePrime()) {
+            long r = q.longValue();
+            if (lc.mod(q).signum() == 0) continue;
+            long a[] = reduce(f, r);
+            if (gcd(a, derivative(a, r), r).length > 1) continue;
+            int n = count(distinctDegree(a, r));
+            if (n < count) {
+                count = n;
+                p = r;
+            }
+            tried++;
+        }
+        if (count == 1) return singleton(f);
+        long a[] = reduce(f, p);
+        long g[][] = distinctDegree(a, p);
+        List<long[]> modular = new ArrayList<long[]>();
+        for (int d = 1; d < g.length; d++) if (g[d] != null) equalDegree(g[d], d, p, modular);
+        BigInteger bound = bound(f).shiftLeft(1);
+        BigInteger m = BigInteger.valueOf(p);
+        BigInteger modulo = m;
+        while (modulo.compareTo(bound) <= 0) modulo = modulo.multiply(m);
+        List<BigInteger[]> lifted = new ArrayList<BigInteger[]>();
+        hensel(f, modular, p, modulo, lifted);
+        return recombine(f, lifted, modulo);
+    }
+
+    static int count(long g[][]) {
+        int n = 0;
+        for (int d = 1; d < g.length; d++) if (g[d] != null) n += (g[d].length - 1) / d;
+        return n;
+    }
+
+    /**
+     * Mignotte bound on the coefficients of the leading coefficient times any factor
+     */
+    static BigInteger bound(BigInteger f[]) {
+        int n = f.length - 1;
+        BigInteger a = BigInteger.ZERO;
+        for (int i = 0; i <= n; i++) a = a.max(f[i].abs());
+        BigInteger s = BigInteger.valueOf((long) Math.ceil(Math.sqrt(n + 1)));
+        return s.multiply(a).multiply(f[n].abs()).shiftLeft(n);
+    }
+
+    /**
+     * Lifts the factorization of <code>f</code> modulo p into monic factors modulo <code>modulo</code>
+     */
+    void hensel(BigInteger f[], List<long[]> factors, long p, BigInteger modulo, List<BigInteger[]> result) {
+        int n = factors.size();
+        if (n == 1) {
+            BigInteger a[] = mod(f, modulo);
+            result.add(multiply(a, a[a.length - 1].modInverse(modulo), modulo));
+            return;
+        }
+        long g0[] = new long[]{f[f.length - 1].mod(BigInteger.valueOf(p)).longValue()};
+        for (int i = 0; i < n / 2; i++) g0 = multiply(g0, factors.get(i), p);
+        long h0[] = new long[]{1};
+        for (int i = n / 2; i < n; i++) h0 = multiply(h0, factors.get(i), p);
+        long e[][] = gcdex(g0, h0, p);
+        BigInteger g[] = valueOf(g0);
+        BigInteger h[] = valueOf(h0);
+        BigInteger s[] = valueOf(e[1]);
+        BigInteger t[] = valueOf(e[2]);
+        BigInteger m = BigInteger.valueOf(p);
+        while (m.compareTo(modulo) < 0) {
+            m = m.multiply(m);
+            BigInteger a[] = subtract(f, multiply(g, h));
+            a = mod(a, m);
+            BigInteger qr[][] = divideAndRemainder(mod(multiply(s, a), m), h, m);
+            BigInteger g1[] = mod(add(g, add(multiply(t, a), multiply(qr[0], g))), m);
+            BigInteger h1[] = mod(add(h, qr[1]), m);
+            BigInteger b[] = mod(subtract(add(multiply(s, g1), multiply(t, h1)), new BigInteger[]{BigInteger.ONE}), m);
+            BigInteger cd[][] = divideAndRemainder(mod(multiply(s, b), m), h1, m);
+            s = mod(subtract(s, cd[1]), m);
+            t = mod(subtract(t, add(multiply(t, b), multiply(cd[0], g1))), m);
+            g = g1;
+            h = h1;
+        }
+        hensel(mod(g, modulo), factors.subList(0, n / 2), p, modulo, result);
+        hensel(mod(h, modulo), factors.subList(n / 2, n), p, modulo, result);
+    }
+
+    /**
+     * Combines lifted factors into true factors, smallest subsets first. Candidates whose constant term
+     * cannot divide the one of the polynomial are discarded before the full trial division.
+     */
+    static List<BigInteger[]> recombine(BigInteger f[], List<BigInteger[]> lifted, BigInteger modulo) {
+        List<BigInteger[]> result = new ArrayList<BigInteger[]>();
+        List<BigInteger[]> t = new ArrayList<BigInteger[]>(lifted);
+        int s = 1;
+        loop:
+        while (2 * s <= t.size()) {
+            BigInteger lc = f[f.length - 1];
+            BigInteger lf[] = multiply(f, lc);
+            int index[] = new int[s];
+            for (int i = 0; i < s; i++) index[i] = i;
+            do {
+                BigInteger c = lc;
+                for (int i = 0; i < s; i++) c = c.multiply(t.get(index[i])[0]).mod(modulo);
+                c = symmetric(c, modulo);
+                if (c.signum() == 0 ? lf[0].signum() != 0 : lf[0].remainder(c).signum() != 0) continue;
+                BigInteger g[] = new BigInteger[]{lc};
+                for (int i = 0; i < s; i++) g = mod(multiply(g, t.get(index[i])), modulo);
+                g = symmetric(g, modulo);
+                if (divide(lf, g) == null) continue;
+                g = primitive(g);
+                result.add(g);
+                f = divide(f, g);
+                for (int i = s - 1; i >= 0; i--) t.remove(index[i]);
+                continue loop;
+            } while (next(index, t.size()));
+            s++;
+        }
+        result.add(primitive(f));
+        return result;
+    }
+
+    static boolean next(int index[], int n) {
+        int k = index.length - 1;
+        while (k >= 0 && index[k] == n - index.length + k) k--;
+        if (k < 0) return false;
+        index[k]++;
+        for (int i = k + 1; i < index.length; i++) index[i] = index[i - 1] + 1;
+        return true;
+    }
+
+    /**
+     * Distinct degree factorization of a squarefree monic polynomial, element d of the result is the product
+     * of its factors of degree d or null
+     */
+    static long[][] distinctDegree(long f[], long p) {
+        long g[][] = new long[f.length][];
+        f = monic(f, p);
+        long x[] = new long[]{0, 1};
+        long h[] = x;
+        BigInteger q = BigInteger.valueOf(p);
+        for (int d = 1; 2 * d <= f.length - 1; d++) {
+            h = power(h, q, f, p);
+            long a[] = gcd(subtract(h, x, p), f, p);
+            if (a.length > 1) {
+                g[d] = a;
+                f = divideAndRemainder(f, a, p)[0];
+                h = remainder(h, f, p);
+            }
+        }
+        if (f.length > 1) g[f.length - 1] = f;
+        return g;
+    }
+
+    void equalDegree(long g[], int d, long p, List<long[]> result) {
+        int n = g.length - 1;
+        if (n == d) {
+            result.add(g);
+            return;
+        }
+        BigInteger e = BigInteger.valueOf(p).pow(d).subtract(BigInteger.ONE).shiftRight(1);
+        while (true) {
+            long a[] = new long[n];
+            for (int i = 0; i < n; i++) a[i] = (long) (random.nextDouble() * p);
+            a = trim(a);
+            if (a.length < 2) continue;
+            long b[] = subtract(power(a, e, g, p), new long[]{1}, p);
+            long h[] = gcd(b, g, p);
+            if (h.length > 1 && h.length < g.length) {
+                equalDegree(h, d, p, result);
+                equalDegree(divideAndRemainder(g, h, p)[0], d, p, result);
+                return;
+            }
+        }
+    }
+
+    // polynomials over Z
+
+    static BigInteger[] trim(BigInteger a[]) {
+        int n = a.length;
+        while (n > 0 && a[n - 1].signum() == 0) n--;
+        if (n == a.length) return a;
+        BigInteger b[] = new BigInteger[n];
+        System.arraycopy(a, 0, b, 0, n);
+        return b;
+    }
+
+    static BigInteger[] add(BigInteger a[], BigInteger b[]) {
+        BigInteger c[] = new BigInteger[Math.max(a.length, b.length)];
+        for (int i = 0; i < c.length; i++) {
+            BigInteger x = i < a.length ? a[i] : BigInteger.ZERO;
+            c[i] = i < b.length ? x.add(b[i]) : x;
+        }
+        return trim(c);
+    }
+
+    static BigInteger[] subtract(BigInteger a[], BigInteger b[]) {
+        BigInteger c[] = new BigInteger[Math.max(a.length, b.length)];
+        for (int i = 0; i < c.length; i++) {
+            BigInteger x = i < a.length ? a[i] : BigInteger.ZERO;
+            c[i] = i < b.length ? x.subtract(b[i]) : x;
+        }
+        return trim(c);
+    }
+
+    static BigInteger[] multiply(BigInteger a[], BigInteger b[]) {
+        if (a.length == 0 || b.length == 0) return ZERO;
+        BigInteger c[] = new BigInteger[a.length + b.length - 1];
+        for (int i = 0; i < c.length; i++) c[i] = BigInteger.ZERO;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0) continue;
+            for (int j = 0; j < b.length; j++) c[i + j] = c[i + j].add(a[i].multiply(b[j]));
+        }
+        return trim(c);
+    }
+
+    static BigInteger[] multiply(BigInteger a[], BigInteger c) {
+        BigInteger b[] = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = a[i].multiply(c);
+        return trim(b);
+    }
+
+    static BigInteger[] derivative(BigInteger a[]) {
+        if (a.length < 2) return ZERO;
+        BigInteger b[] = new BigInteger[a.length - 1];
+        for (int i = 1; i < a.length; i++) b[i - 1] = a[i].multiply(BigInteger.valueOf(i));
+        return b;
+    }
+
+    static BigInteger content(BigInteger a[]) {
+        BigInteger c = BigInteger.ZERO;
+        for (int i = 0; i < a.length && !c.equals(BigInteger.ONE); i++) c = c.gcd(a[i]);
+        return c;
+    }
+
+    /**
+     * Primitive part with positive leading coefficient
+     */
+    static BigInteger[] primitive(BigInteger a[]) {
+        if (a.length == 0) return a;
+        BigInteger c = content(a);
+        if (a[a.length - 1].signum() < 0) c = c.negate();
+        if (c.equals(BigInteger.ONE)) return a;
+        BigInteger b[] = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = a[i].divide(c);
+        return b;
+    }
+
+    /**
+     * Exact quotient or null if <code>b</code> does not divide <code>a</code>, gives up at the first
+     * coefficient which does not divide
+     */
+    static BigInteger[] divide(BigInteger a[], BigInteger b[]) {
+        int n = a.length - b.length;
+        if (n < 0) return a.length == 0 ? a : null;
+        BigInteger r[] = a.clone();
+        BigInteger q[] = new BigInteger[n + 1];
+        BigInteger lc = b[b.length - 1];
+        for (int i = n; i >= 0; i--) {
+            BigInteger qr[] = r[i + b.length - 1].divideAndRemainder(lc);
+            if (qr[1].signum() != 0) return null;
+            q[i] = qr[0];
+            if (q[i].signum() == 0) continue;
+            for (int j = 0; j < b.length; j++) r[i + j] = r[i + j].subtract(q[i].multiply(b[j]));
+        }
+        for (int i = 0; i < b.length - 1; i++) if (r[i].signum() != 0) return null;
+        return q;
+    }
+
+    /**
+     * Greatest common divisor by primitive remainder sequence, primitive with positive leading coefficient
+     */
+    static BigInteger[] gcd(BigInteger a[], BigInteger b[]) {
+        a = primitive(a);
+        b = primitive(b);
+        if (a.length < b.length) {
+            BigInteger c[] = a;
+            a = b;
+            b = c;
+        }
+        while (b.length > 0) {
+            BigInteger r[] = a;
+            BigInteger lc = b[b.length - 1];
+            while (r.length >= b.length) {
+                int n = r.length - b.length;
+                BigInteger c = r[r.length - 1];
+                BigInteger s[] = new BigInteger[r.length];
+                for (int i = 0; i < r.length; i++) s[i] = r[i].multiply(lc);
+                for (int i = 0; i < b.length; i++) s[i + n] = s[i + n].subtract(c.multiply(b[i]));
+                r = primitive(trim(s));
+            }
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    // polynomials over Z/mZ
+
+    static BigInteger[] mod(BigInteger a[], BigInteger m) {
+        BigInteger b[] = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = a[i].mod(m);
+        return trim(b);
+    }
+
+    static BigInteger[] multiply(BigInteger a[], BigInteger c, BigInteger m) {
+        return mod(multiply(a, c), m);
+    }
+
+    static BigInteger[] multiply(BigInteger a[], BigInteger b[], BigInteger m) {
+        return mod(multiply(a, b), m);
+    }
+
+    static BigInteger symmetric(BigInteger a, BigInteger m) {
+        return a.shiftLeft(1).compareTo(m) > 0 ? a.subtract(m) : a;
+    }
+
+    static BigInteger[] symmetric(BigInteger a[], BigInteger m) {
+        BigInteger b[] = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = symmetric(a[i], m);
+        return b;
+    }
+
+    /**
+     * Division by a polynomial with unit leading coefficient modulo m
+     */
+    static BigInteger[][] divideAndRemainder(BigInteger a[], BigInteger b[], BigInteger m) {
+        int n = a.length - b.length;
+        if (n < 0) return new BigInteger[][]{ZERO, a};
+        BigInteger r[] = a.clone();
+        BigInteger q[] = new BigInteger[n + 1];
+        BigInteger inv = b[b.length - 1].modInverse(m);
+        for (int i = n; i >= 0; i--) {
+            q[i] = r[i + b.length - 1].multiply(inv).mod(m);
+            if (q[i].signum() == 0) continue;
+            for (int j = 0; j < b.length; j++) r[i + j] = r[i + j].subtract(q[i].multiply(b[j])).mod(m);
+        }
+        BigInteger s[] = new BigInteger[b.length - 1];
+        System.arraycopy(r, 0, s, 0, s.length);
+        return new BigInteger[][]{trim(q), trim(s)};
+    }
+
+    // polynomials over Z/pZ, p small enough for products to fit in a long
+
+    static long[] trim(long a[]) {
+        int n = a.length;
+        while (n > 0 && a[n - 1] == 0) n--;
+        if (n == a.length) return a;
+        long b[] = new long[n];
+        System.arraycopy(a, 0, b, 0, n);
+        return b;
+    }
+
+    static long[] reduce(BigInteger a[], long p) {
+        BigInteger q = BigInteger.valueOf(p);
+        long b[] = new long[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = a[i].mod(q).longValue();
+        return trim(b);
+    }
+
+    static BigInteger[] valueOf(long a[]) {
+        BigInteger b[] = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = BigInteger.valueOf(a[i]);
+        return b;
+    }
+
+    static long[] subtract(long a[], long b[], long p) {
+        long c[] = new long[Math.max(a.length, b.length)];
+        for (int i = 0; i < c.length; i++) {
+            long x = (i < a.length ? a[i] : 0) - (i < b.length ? b[i] : 0);
+            c[i] = x < 0 ? x + p : x;
+        }
+        return trim(c);
+    }
+
+    static long[] multiply(long a[], long b[], long p) {
+        if (a.length == 0 || b.length == 0) return new long[0];
+        long c[] = new long[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) continue;
+            for (int j = 0; j < b.length; j++) c[i + j] = (c[i + j] + a[i] * b[j]) % p;
+        }
+        return trim(c);
+    }
+
+    static long[] multiply(long a[], long c, long p) {
+        long b[] = new long[a.length];
+        for (int i = 0; i < a.length; i++) b[i] = a[i] * c % p;
+        return trim(b);
+    }
+
+    static long[] derivative(long a[], long p) {
+        if (a.length < 2) return new long[0];
+        long b[] = new long[a.length - 1];
+        for (int i = 1; i < a.length; i++) b[i - 1] = a[i] * (i % p) % p;
+        return trim(b);
+    }
+
+    static long inverse(long a, long p) {
+        return BigInteger.valueOf(a).modInverse(BigInteger.valueOf(p)).longValue();
+    }
+
+    static long[] monic(long a[], long p) {
+        if (a.length == 0 || a[a.length - 1] == 1) return a;
+        return multiply(a, inverse(a[a.length - 1], p), p);
+    }
+
+    static long[][] divideAndRemainder(long a[], long b[], long p) {
+        int n = a.length - b.length;
+        if (n < 0) return new long[][]{new long[0], a};
+        long r[] = a.clone();
+        long q[] = new long[n + 1];
+        long inv = inverse(b[b.length - 1], p);
+        for (int i = n; i >= 0; i--) {
+            long c = r[i + b.length - 1] * inv % p;
+            q[i] = c;
+            if (c == 0) continue;
+            for (int j = 0; j < b.length; j++) r[i + j] = (r[i + j] + (p - c) * b[j]) % p;
+        }
+        long s[] = new long[b.length - 1];
+        System.arraycopy(r, 0, s, 0, s.length);
+        return new long[][]{trim(q), trim(s)};
+    }
+
+    static long[] remainder(long a[], long b[], long p) {
+        return divideAndRemainder(a, b, p)[1];
+    }
+
+    static long[] gcd(long a[], long b[], long p) {
+        while (b.length > 0) {
+            long r[] = remainder(a, b, p);
+            a = b;
+            b = r;
+        }
+        return monic(a, p);
+    }
+
+    /**
+     * Returns the monic gcd g of a and b with s and t such that s a + t b = g
+     */
+    static long[][] gcdex(long a[], long b[], long p) {
+        long r0[] = a, r1[] = b;
+        long s0[] = new long[]{1}, s1[] = new long[0];
+        long t0[] = new long[0], t1[] = new long[]{1};
+        while (r1.length > 0) {
+            long qr[][] = divideAndRemainder(r0, r1, p);
+            long x[] = subtract(s0, multiply(qr[0], s1, p), p);
+            long y[] = subtract(t0, multiply(qr[0], t1, p), p);
+            r0 = r1;
+            r1 = qr[1];
+            s0 = s1;
+            s1 = x;
+            t0 = t1;
+            t1 = y;
+        }
+        long inv = inverse(r0[r0.length - 1], p);
+        return new long[][]{multiply(r0, inv, p), multiply(s0, inv, p), multiply(t0, inv, p)};
+    }
+
+    /**
+     * Returns a^e modulo f
+     */
+    static long[] power(long a[], BigInteger e, long f[], long p) {
+        long r[] = new long[]{1};
+        a = remainder(a, f, p);
+        for (int i = e.bitLength() - 1; i >= 0; i--) {
+            r = remainder(multiply(r, r, p), f, p);
+            if (e.testBit(i)) r = remainder(multiply(r, a, p), f, p);
+        }
+        return r;
+    }
+}
@@ -10,6 +10,7 @@ import jscl.math.Generic;
 import jscl.math.JsclInteger;
 import jscl.math.NotIntegrableException;
 import jscl.math.NumericWrapper;
+import jscl.math.RenderOptions;
 import jscl.math.Variable;
 import jscl.mathml.MathML;
 import jscl.util.ArrayComparator;
@@ -169,20 +170,19 @@ public class Constant extends Variable {
         return hashArray;
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         result.append(name);
 
         for (Generic subscript : subscripts) {
-            result.append("[").append(subscript).append("]");
+            result.append("[");
+            subscript.appendTo(result, options);
+            result.append("]");
         }
 
         if (prime != 0) {
             if (prime <= PRIME_CHARS) result.append(primeChars(prime));
             else result.append("{").append(prime).append("}");
         }
-
-        return result.toString();
     }
 
     public String toJava() {
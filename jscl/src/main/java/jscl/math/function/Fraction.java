@@ -123,14 +123,12 @@ public class Fraction extends Algebraic {
         return ((NumericWrapper) parameters[0]).divide((NumericWrapper) parameters[1]);
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
-
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         try {
             parameters[0].powerValue();
-            result.append(parameters[0]);
+            parameters[0].appendTo(result, options);
         } catch (NotPowerException e) {
-            result.append(GenericVariable.valueOf(parameters[0]));
+            GenericVariable.valueOf(parameters[0]).appendTo(result, options);
         }
 
         result.append("/");
@@ -138,19 +136,18 @@ public class Fraction extends Algebraic {
         try {
             final Variable v = parameters[1].variableValue();
             if (v instanceof Fraction) {
-                result.append(GenericVariable.valueOf(parameters[1]));
+                GenericVariable.valueOf(parameters[1]).appendTo(result, options);
             } else {
-                result.append(v);
+                v.appendTo(result, options);
             }
         } catch (NotVariableException e) {
             try {
                 parameters[1].abs().powerValue();
-                result.append(parameters[1]);
+                parameters[1].appendTo(result, options);
             } catch (NotPowerException e2) {
-                result.append(GenericVariable.valueOf(parameters[1]));
+                GenericVariable.valueOf(parameters[1]).appendTo(result, options);
             }
         }
-        return result.toString();
     }
 
     public String toJava() {
@@ -2,6 +2,7 @@ package jscl.math.function;
 
 import jscl.math.Generic;
 import jscl.math.NotIntegrableException;
+import jscl.math.RenderOptions;
 import jscl.math.Variable;
 import jscl.mathml.MathML;
 import jscl.util.ArrayComparator;
@@ -20,6 +21,14 @@ public class ImplicitFunction extends Function {
         this.subscripts = subscripts;
     }
 
+    public int[] derivations() {
+        return derivations;
+    }
+
+    public Generic[] subscript() {
+        return subscripts;
+    }
+
     static int compareDerivation(int c1[], int c2[]) {
         int n = c1.length;
         for (int i = n - 1; i >= 0; i--) {
@@ -113,9 +122,7 @@ public class ImplicitFunction extends Function {
         }
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
-
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         int n = 0;
         for (int derivation : derivations) {
             n += derivation;
@@ -124,7 +131,9 @@ public class ImplicitFunction extends Function {
         result.append(name);
 
         for (Generic aSubscript : subscripts) {
-            result.append("[").append(aSubscript).append("]");
+            result.append("[");
+            aSubscript.appendTo(result, options);
+            result.append("]");
         }
 
         if (n == 0) {
@@ -138,12 +147,11 @@ public class ImplicitFunction extends Function {
         result.append("(");
 
         for (int i = 0; i < parameters.length; i++) {
-            result.append(parameters[i]).append(i < parameters.length - 1 ? ", " : "");
+            parameters[i].appendTo(result, options);
+            result.append(i < parameters.length - 1 ? ", " : "");
         }
 
         result.append(")");
-
-        return result.toString();
     }
 
     String derivationToString() {
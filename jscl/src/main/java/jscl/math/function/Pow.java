@@ -199,48 +199,46 @@ public class Pow extends Algebraic {
         return ((NumericWrapper) parameters[0]).pow(parameters[1]);
     }
 
-    public String toString() {
-        StringBuffer buffer = new StringBuffer();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         try {
             JsclInteger en = parameters[0].integerValue();
-            if (en.signum() < 0) buffer.append(GenericVariable.valueOf(en, true));
-            else buffer.append(en);
+            if (en.signum() < 0) GenericVariable.valueOf(en, true).appendTo(result, options);
+            else en.appendTo(result, options);
         } catch (NotIntegerException e) {
             try {
                 Variable v = parameters[0].variableValue();
                 if (v instanceof Fraction || v instanceof Pow) {
-                    buffer.append(GenericVariable.valueOf(parameters[0]));
-                } else buffer.append(v);
+                    GenericVariable.valueOf(parameters[0]).appendTo(result, options);
+                } else v.appendTo(result, options);
             } catch (NotVariableException e2) {
                 try {
                     Power o = parameters[0].powerValue();
-                    if (o.exponent() == 1) buffer.append(o.value(true));
-                    else buffer.append(GenericVariable.valueOf(parameters[0]));
+                    if (o.exponent() == 1) o.value(true).appendTo(result, options);
+                    else GenericVariable.valueOf(parameters[0]).appendTo(result, options);
                 } catch (NotPowerException e3) {
-                    buffer.append(GenericVariable.valueOf(parameters[0]));
+                    GenericVariable.valueOf(parameters[0]).appendTo(result, options);
                 }
             }
         }
-        buffer.append("^");
+        result.append("^");
         try {
             JsclInteger en = parameters[1].integerValue();
-            buffer.append(en);
+            en.appendTo(result, options);
         } catch (NotIntegerException e) {
             try {
                 Variable v = parameters[1].variableValue();
                 if (v instanceof Fraction) {
-                    buffer.append(GenericVariable.valueOf(parameters[1]));
-                } else buffer.append(v);
+                    GenericVariable.valueOf(parameters[1]).appendTo(result, options);
+                } else v.appendTo(result, options);
             } catch (NotVariableException e2) {
                 try {
                     parameters[1].powerValue();
-                    buffer.append(parameters[1]);
+                    parameters[1].appendTo(result, options);
                 } catch (NotPowerException e3) {
-                    buffer.append(GenericVariable.valueOf(parameters[1]));
+                    GenericVariable.valueOf(parameters[1]).appendTo(result, options);
                 }
             }
         }
-        return buffer.toString();
     }
 
     public String toJava() {
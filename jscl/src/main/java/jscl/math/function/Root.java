@@ -322,16 +322,17 @@ public class Root extends Algebraic {
         }
     }
 
-    public String toString() {
-        StringBuffer buffer = new StringBuffer();
-        buffer.append(name);
-        buffer.append("[").append(subscript).append("]");
-        buffer.append("(");
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        result.append(name);
+        result.append("[");
+        subscript.appendTo(result, options);
+        result.append("]");
+        result.append("(");
         for (int i = 0; i < parameters.length; i++) {
-            buffer.append(parameters[i]).append(i < parameters.length - 1 ? ", " : "");
+            parameters[i].appendTo(result, options);
+            result.append(i < parameters.length - 1 ? ", " : "");
         }
-        buffer.append(")");
-        return buffer.toString();
+        result.append(")");
     }
 
     public String toJava() {
@@ -143,20 +143,20 @@ public class Sqrt extends Algebraic {
     }
 
     @Override
-    public String toString() {
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         final Generic parameter = parameters[0];
         if (parameter != null) {
             try {
                 if (JsclInteger.ONE.negate().equals(parameter.integerValue())) {
-                    return Constants.I.getName();
+                    result.append(Constants.I.getName());
                 } else {
-                    return super.toString();
+                    super.appendTo(result, options);
                 }
             } catch (NotIntegerException e) {
-                return super.toString();
+                super.appendTo(result, options);
             }
         } else {
-            return super.toString();
+            super.appendTo(result, options);
         }
     }
 
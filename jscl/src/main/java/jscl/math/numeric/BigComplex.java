@@ -0,0 +1,287 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.math.NotDivisibleException;
+import jscl.math.NotDoubleException;
+import jscl.math.RenderOptions;
+import jscl.text.msg.JsclMessage;
+import jscl.text.msg.Messages;
+import org.solovyev.common.msg.MessageType;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Complex number with the precision of a {@link MathContext}, counterpart of {@link BigReal}
+ */
+public final class BigComplex extends Numeric {
+
+    @Nonnull
+    private final BigDecimal real, imaginary;
+    @Nonnull
+    private final MathContext mc;
+
+    private BigComplex(@Nonnull BigDecimal real, @Nonnull BigDecimal imaginary, @Nonnull MathContext mc) {
+        this.real = real;
+        this.imaginary = imaginary;
+        this.mc = mc;
+    }
+
+    @Nonnull
+    public static BigComplex valueOf(@Nonnull BigDecimal real, @Nonnull BigDecimal imaginary, @Nonnull MathContext mc) {
+        if (JsclMathEngine.getInstance().getAngleUnits() != AngleUnit.rad) {
+            JsclMathEngine.getInstance().getMessageRegistry().addMessage(new JsclMessage(Messages.msg_23, MessageType.warning));
+        }
+
+        return restore(real, imaginary, mc);
+    }
+
+    /**
+     * Same as {@link #valueOf(BigDecimal, BigDecimal, MathContext)} without the angle units warning, for numbers
+     * computed before
+     */
+    @Nonnull
+    public static BigComplex restore(@Nonnull BigDecimal real, @Nonnull BigDecimal imaginary, @Nonnull MathContext mc) {
+        return new BigComplex(real.round(mc), imaginary.round(mc), mc);
+    }
+
+    @Nonnull
+    public static BigComplex valueOf(@Nonnull BigReal real) {
+        return new BigComplex(real.bigDecimalValue(), BigDecimal.ZERO, real.getMathContext());
+    }
+
+    /**
+     * @return <var>numeric</var> (real or complex) as complex number with precision not lower than <var>mc</var>
+     */
+    @Nonnull
+    public static BigComplex valueOf(@Nonnull Numeric numeric, @Nonnull MathContext mc) {
+        if (numeric instanceof BigComplex) {
+            final BigComplex that = (BigComplex) numeric;
+            return that.mc.getPrecision() >= mc.getPrecision() ? that : new BigComplex(that.real, that.imaginary, mc);
+        } else if (numeric instanceof Complex) {
+            final Complex that = (Complex) numeric;
+            return new BigComplex(toBigDecimal(that.realPart()), toBigDecimal(that.imaginaryPart()), mc);
+        } else if (numeric instanceof BigReal) {
+            final BigReal that = (BigReal) numeric;
+            return new BigComplex(that.bigDecimalValue(), BigDecimal.ZERO, BigReal.max(that.getMathContext(), mc));
+        } else if (BigReal.isReal(numeric)) {
+            return new BigComplex(BigReal.toBigDecimal(numeric), BigDecimal.ZERO, mc);
+        } else throw new ArithmeticException();
+    }
+
+    @Nonnull
+    private static BigDecimal toBigDecimal(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new ArithmeticException("Not a finite number: " + value);
+        }
+        return new BigDecimal(value);
+    }
+
+    @Nonnull
+    public BigDecimal realPart() {
+        return real;
+    }
+
+    @Nonnull
+    public BigDecimal imaginaryPart() {
+        return imaginary;
+    }
+
+    @Nonnull
+    public MathContext getMathContext() {
+        return mc;
+    }
+
+    @Nonnull
+    private BigComplex toBigComplex(@Nonnull Numeric numeric) {
+        return valueOf(numeric, mc);
+    }
+
+    public BigComplex add(@Nonnull BigComplex that) {
+        final MathContext mc = BigReal.max(this.mc, that.mc);
+        return valueOf(real.add(that.real, mc), imaginary.add(that.imaginary, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric add(@Nonnull Numeric that) {
+        if (that instanceof Complex || that instanceof BigComplex || BigReal.isReal(that)) {
+            return add(toBigComplex(that));
+        } else {
+            return that.valueOf(this).add(that);
+        }
+    }
+
+    public BigComplex subtract(@Nonnull BigComplex that) {
+        final MathContext mc = BigReal.max(this.mc, that.mc);
+        return valueOf(real.subtract(that.real, mc), imaginary.subtract(that.imaginary, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric subtract(@Nonnull Numeric that) {
+        if (that instanceof Complex || that instanceof BigComplex || BigReal.isReal(that)) {
+            return subtract(toBigComplex(that));
+        } else {
+            return that.valueOf(this).subtract(that);
+        }
+    }
+
+    public BigComplex multiply(@Nonnull BigComplex that) {
+        final MathContext mc = BigReal.max(this.mc, that.mc);
+        return valueOf(real.multiply(that.real).subtract(imaginary.multiply(that.imaginary), mc),
+                real.multiply(that.imaginary).add(imaginary.multiply(that.real), mc), mc);
+    }
+
+    @Nonnull
+    public Numeric multiply(@Nonnull Numeric that) {
+        if (that instanceof Complex || that instanceof BigComplex || BigReal.isReal(that)) {
+            return multiply(toBigComplex(that));
+        } else {
+            return that.multiply(this);
+        }
+    }
+
+    public BigComplex divide(@Nonnull BigComplex that) throws ArithmeticException {
+        final MathContext mc = BigReal.max(this.mc, that.mc);
+        final BigDecimal magnitude2 = that.magnitude2();
+        return valueOf(real.multiply(that.real).add(imaginary.multiply(that.imaginary)).divide(magnitude2, mc),
+                imaginary.multiply(that.real).subtract(real.multiply(that.imaginary)).divide(magnitude2, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric divide(@Nonnull Numeric that) throws NotDivisibleException {
+        if (that instanceof Complex || that instanceof BigComplex || BigReal.isReal(that)) {
+            return divide(toBigComplex(that));
+        } else {
+            return that.valueOf(this).divide(that);
+        }
+    }
+
+    @Nonnull
+    public Numeric negate() {
+        return valueOf(real.negate(), imaginary.negate(), mc);
+    }
+
+    @Nonnull
+    @Override
+    public Numeric abs() {
+        return BigReal.valueOf(BigMath.sqrt(magnitude2(), mc), mc);
+    }
+
+    public int signum() {
+        final int result = real.signum();
+        return result != 0 ? result : imaginary.signum();
+    }
+
+    @Nonnull
+    private BigDecimal magnitude2() {
+        return real.multiply(real).add(imaginary.multiply(imaginary));
+    }
+
+    @Nonnull
+    private BigDecimal angle() {
+        return BigMath.atan2(imaginary, real, mc);
+    }
+
+    @Nonnull
+    public Numeric ln() {
+        if (signum() == 0) {
+            throw new ArithmeticException("Logarithm of zero");
+        }
+        // ln|z| = ln(|z|^2) / 2
+        final BigDecimal ln = BigMath.ln(magnitude2(), mc).divide(BigDecimal.valueOf(2), mc);
+        return valueOf(ln, angle(), mc);
+    }
+
+    @Nonnull
+    public Numeric lg() {
+        if (signum() == 0) {
+            throw new ArithmeticException("Logarithm of zero");
+        }
+        final BigDecimal lg = BigMath.lg(magnitude2(), mc).divide(BigDecimal.valueOf(2), mc);
+        return valueOf(lg, angle(), mc);
+    }
+
+    @Nonnull
+    public Numeric exp() {
+        final BigDecimal angle = BigReal.valueOf(imaginary, mc).toRad();
+        final BigDecimal exp = BigMath.exp(real, mc);
+        return valueOf(exp.multiply(BigMath.cos(angle, mc)), exp.multiply(BigMath.sin(angle, mc)), mc);
+    }
+
+    @Nonnull
+    public Numeric inverse() {
+        final BigDecimal magnitude2 = magnitude2();
+        return valueOf(real.divide(magnitude2, mc), imaginary.negate().divide(magnitude2, mc), mc);
+    }
+
+    @Nonnull
+    @Override
+    public Numeric nThRoot(int n) {
+        return pow(BigReal.valueOf(BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc), mc));
+    }
+
+    public Numeric conjugate() {
+        return valueOf(real, imaginary.negate(), mc);
+    }
+
+    public int compareTo(@Nonnull BigComplex that) {
+        final int result = imaginary.compareTo(that.imaginary);
+        return result != 0 ? result : real.compareTo(that.real);
+    }
+
+    public int compareTo(Numeric that) {
+        if (that instanceof Complex || that instanceof BigComplex || BigReal.isReal(that)) {
+            return compareTo(toBigComplex(that));
+        } else {
+            return that.valueOf(this).compareTo(that);
+        }
+    }
+
+    @Override
+    public double doubleValue() {
+        throw NotDoubleException.get();
+    }
+
+    @Nonnull
+    public Numeric valueOf(@Nonnull Numeric numeric) {
+        return toBigComplex(numeric);
+    }
+
+    @Nonnull
+    private String toString(@Nonnull BigDecimal value) {
+        return JsclMathEngine.getInstance().format(value, mc.getPrecision());
+    }
+
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
+
+    @Override
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        // parts are compared as formatted: digits below the precision are not shown
+        final String real = toString(this.real);
+        final String imaginary = toString(this.imaginary);
+        if (imaginary.equals("0")) {
+            result.append(real);
+            return;
+        }
+
+        if (!real.equals("0")) {
+            result.append(real);
+            if (!imaginary.startsWith("-")) {
+                result.append("+");
+            }
+        }
+        if (imaginary.equals("-1")) {
+            result.append("-");
+        } else if (!imaginary.equals("1")) {
+            result.append(imaginary);
+            options.appendMultiplicationSign(result);
+        }
+        result.append("i");
+    }
+}
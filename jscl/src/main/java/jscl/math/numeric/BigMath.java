@@ -0,0 +1,512 @@
+package jscl.math.numeric;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Elementary functions of {@link BigDecimal}s. Arguments are reduced and split into rationals p/q with few digits, the
+ * Taylor series of which are summed exactly by binary splitting. Logarithm and arctangent are computed by iterations on
+ * exponent and sine/cosine.
+ */
+final class BigMath {
+
+    // extra digits used inside of the functions
+    private static final int GUARD = 10;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal SQRT2 = new BigDecimal("1.4142135623730950488");
+    private static final BigDecimal SQRT1_2 = new BigDecimal("0.70710678118654752440");
+    private static final BigDecimal THREE = BigDecimal.valueOf(3);
+    // digits after the point in the first part of a bit-burst
+    private static final int FIRST_BURST = 8;
+
+    private static final CachedConstant pi = new CachedConstant() {
+        @Nonnull
+        @Override
+        BigDecimal compute(@Nonnull MathContext mc) {
+            // Machin: π = 16 atan(1/5) - 4 atan(1/239)
+            final BigDecimal a = atanSeries(BigInteger.ONE, BigInteger.valueOf(5), true, mc);
+            final BigDecimal b = atanSeries(BigInteger.ONE, BigInteger.valueOf(239), true, mc);
+            return a.multiply(BigDecimal.valueOf(16)).subtract(b.multiply(BigDecimal.valueOf(4)), mc);
+        }
+    };
+
+    private static final CachedConstant e = new CachedConstant() {
+        @Nonnull
+        @Override
+        BigDecimal compute(@Nonnull MathContext mc) {
+            return expSeries(BigInteger.ONE, BigInteger.ONE, mc);
+        }
+    };
+
+    private static final CachedConstant ln2 = new CachedConstant() {
+        @Nonnull
+        @Override
+        BigDecimal compute(@Nonnull MathContext mc) {
+            // ln(2) = 2 atanh(1/3)
+            return atanSeries(BigInteger.ONE, BigInteger.valueOf(3), false, mc).multiply(TWO, mc);
+        }
+    };
+
+    private static final CachedConstant ln10 = new CachedConstant() {
+        @Nonnull
+        @Override
+        BigDecimal compute(@Nonnull MathContext mc) {
+            return ln(BigDecimal.TEN, mc);
+        }
+    };
+
+    private BigMath() {
+        throw new AssertionError();
+    }
+
+    @Nonnull
+    static BigDecimal pi(@Nonnull MathContext mc) {
+        return pi.get(mc);
+    }
+
+    @Nonnull
+    static BigDecimal e(@Nonnull MathContext mc) {
+        return e.get(mc);
+    }
+
+    @Nonnull
+    static BigDecimal ln2(@Nonnull MathContext mc) {
+        return ln2.get(mc);
+    }
+
+    @Nonnull
+    static BigDecimal sqrt(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() < 0) {
+            throw new ArithmeticException("Square root of negative number");
+        } else if (x.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        final MathContext wc = working(mc, 0);
+        // x = m * 10^(2h) with m in [1, 100)
+        final int e = exponent(x);
+        final int h = e >= 0 ? e / 2 : (e - 1) / 2;
+        final BigDecimal m = x.movePointLeft(2 * h);
+        BigDecimal y = BigDecimal.valueOf(Math.sqrt(m.doubleValue()));
+        // Newton doubles the correct digits on every step
+        for (int digits = 15; digits < 2 * wc.getPrecision(); digits *= 2) {
+            y = y.add(m.divide(y, wc)).divide(TWO, wc);
+        }
+        return y.movePointRight(h).round(mc);
+    }
+
+    @Nonnull
+    static BigDecimal exp(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        // x = k ln(2) + r, |r| <= ln(2)/2
+        final long k = x.divide(ln2(MathContext.DECIMAL64), MathContext.DECIMAL64).setScale(0, RoundingMode.HALF_EVEN).longValue();
+        if (k > 999999999 || k < -999999999) {
+            throw new ArithmeticException("Overflow");
+        }
+        final MathContext wc = working(mc, digits(k));
+        BigDecimal r = x.subtract(ln2(wc).multiply(BigDecimal.valueOf(k)), wc);
+        // exp(r0 + r1 + ...) = exp(r0) exp(r1) ..., every next part has twice as many digits and needs half as many
+        // terms (bit-burst)
+        BigDecimal result = BigDecimal.ONE;
+        for (int digits = FIRST_BURST; r.signum() != 0; digits *= 2) {
+            final BigDecimal part = burst(r, digits);
+            r = r.subtract(part);
+            if (part.signum() != 0) {
+                result = result.multiply(expSeries(numerator(part), denominator(part), wc), wc);
+            }
+        }
+        return result.multiply(TWO.pow((int) k, wc), mc);
+    }
+
+    @Nonnull
+    static BigDecimal ln(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Logarithm of non-positive number");
+        }
+        // x = m * 2^k, m in [1/√2, √2]
+        long k = Math.round((x.unscaledValue().bitLength() - x.scale() * 3.321928094887362) - 0.5);
+        // ln(x) is about x - 1 for x close to 1: m - exp(y) below is computed with the leading digits of x - 1
+        // cancelled, so they are added to the working precision
+        final BigDecimal d = x.subtract(BigDecimal.ONE);
+        final int cancelled = d.signum() == 0 ? 0 : Math.max(0, -exponent(d));
+        final MathContext wc = working(mc, digits(k) + cancelled);
+        BigDecimal m = x.multiply(TWO.pow((int) -k, wc), wc);
+        while (m.compareTo(SQRT2) > 0) {
+            m = m.divide(TWO, wc);
+            k++;
+        }
+        while (m.compareTo(SQRT1_2) < 0) {
+            m = m.multiply(TWO, wc);
+            k--;
+        }
+        // Halley: y = y + 2 (m - exp(y)) / (m + exp(y)) triples the correct digits
+        BigDecimal result = new BigDecimal(Math.log(m.doubleValue()));
+        for (int digits = 15; digits < wc.getPrecision(); digits *= 3) {
+            final MathContext ic = new MathContext(Math.min(wc.getPrecision(), 3 * digits + GUARD), RoundingMode.HALF_EVEN);
+            final BigDecimal exp = exp(result, ic);
+            result = result.add(TWO.multiply(m.subtract(exp)).divide(m.add(exp), ic), ic);
+        }
+        if (k != 0) {
+            result = result.add(ln2(wc).multiply(BigDecimal.valueOf(k)));
+        }
+        return result.round(mc);
+    }
+
+    @Nonnull
+    static BigDecimal lg(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        final MathContext wc = working(mc, 0);
+        return ln(x, wc).divide(ln10.get(wc), mc);
+    }
+
+    @Nonnull
+    static BigDecimal sin(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        return sinCos(x, mc)[0].round(mc);
+    }
+
+    @Nonnull
+    static BigDecimal cos(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        return sinCos(x, mc)[1].round(mc);
+    }
+
+    @Nonnull
+    static BigDecimal tan(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        final BigDecimal[] sinCos = sinCos(x, mc);
+        return sinCos[0].divide(sinCos[1], mc);
+    }
+
+    /**
+     * @return {sin(x), cos(x)} with the working precision of <var>mc</var>
+     */
+    @Nonnull
+    private static BigDecimal[] sinCos(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        // x = n π/2 + r, |r| <= π/4
+        final int magnitude = Math.max(0, exponent(x) + 1);
+        final MathContext wc = working(mc, 0);
+        BigInteger n;
+        BigDecimal r;
+        // digits of r lost when x is close to a multiple of π/2
+        int cancelled = 0;
+        while (true) {
+            final MathContext rc = working(mc, magnitude + cancelled);
+            final BigDecimal halfPi = pi(rc).divide(TWO, rc);
+            n = x.divide(halfPi, rc).setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+            r = n.signum() == 0 ? x : x.subtract(halfPi.multiply(new BigDecimal(n)), rc);
+            if (n.signum() == 0 || r.signum() != 0 && -exponent(r) <= cancelled) {
+                r = r.round(wc);
+                break;
+            }
+            // x is not a multiple of π/2 as π is irrational: repeat with the lost digits added
+            cancelled = r.signum() == 0 ? 2 * (cancelled + GUARD) : -exponent(r);
+        }
+
+        // bit-burst as in exp: sin(a + b) = sin(a) cos(b) + cos(a) sin(b), cos(a + b) = cos(a) cos(b) - sin(a) sin(b)
+        BigDecimal sin = BigDecimal.ZERO;
+        BigDecimal cos = BigDecimal.ONE;
+        for (int digits = FIRST_BURST; r.signum() != 0; digits *= 2) {
+            final BigDecimal part = burst(r, digits);
+            r = r.subtract(part);
+            if (part.signum() != 0) {
+                final BigInteger p = numerator(part);
+                final BigInteger q = denominator(part);
+                final BigDecimal partSin = sinSeries(p, q, wc);
+                final BigDecimal partCos = cosSeries(p, q, wc);
+                final BigDecimal newSin = sin.multiply(partCos).add(cos.multiply(partSin), wc);
+                cos = cos.multiply(partCos).subtract(sin.multiply(partSin), wc);
+                sin = newSin;
+            }
+        }
+
+        switch (n.mod(BigInteger.valueOf(4)).intValue()) {
+            case 1:
+                return new BigDecimal[]{cos, sin.negate()};
+            case 2:
+                return new BigDecimal[]{sin.negate(), cos.negate()};
+            case 3:
+                return new BigDecimal[]{cos.negate(), sin};
+            default:
+                return new BigDecimal[]{sin, cos};
+        }
+    }
+
+    @Nonnull
+    static BigDecimal atan(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() < 0) {
+            return atan(x.negate(), mc).negate();
+        } else if (x.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        final MathContext wc = working(mc, 0);
+        if (x.compareTo(BigDecimal.ONE) > 0) {
+            // atan(x) = π/2 - atan(1/x)
+            return pi(wc).divide(TWO).subtract(atan(BigDecimal.ONE.divide(x, wc), wc), mc);
+        }
+        // y = y + atan(t) with t = tan(atan(x) - y) = (x cos(y) - sin(y)) / (cos(y) + x sin(y)): as t is small
+        // atan(t) = t - t^3/3 gives five times the correct digits
+        BigDecimal result = new BigDecimal(Math.atan(x.doubleValue()));
+        for (int digits = 15; digits < wc.getPrecision(); digits *= 5) {
+            final MathContext ic = new MathContext(Math.min(wc.getPrecision(), 5 * digits + GUARD), RoundingMode.HALF_EVEN);
+            final BigDecimal[] sinCos = sinCos(result, ic);
+            final BigDecimal t = x.multiply(sinCos[1]).subtract(sinCos[0]).divide(sinCos[1].add(x.multiply(sinCos[0])), ic);
+            result = result.add(t.subtract(t.pow(3).divide(THREE, ic)), ic);
+        }
+        return result.round(mc);
+    }
+
+    @Nonnull
+    static BigDecimal atan2(@Nonnull BigDecimal y, @Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() == 0) {
+            return y.signum() == 0 ? BigDecimal.ZERO : pi(mc).divide(y.signum() > 0 ? TWO : TWO.negate(), mc);
+        }
+        final MathContext wc = working(mc, 0);
+        final BigDecimal atan = atan(y.divide(x, wc), wc);
+        if (x.signum() > 0) {
+            return atan.round(mc);
+        } else if (y.signum() >= 0) {
+            return atan.add(pi(wc), mc);
+        } else {
+            return atan.subtract(pi(wc), mc);
+        }
+    }
+
+    /**
+     * @return arcsine of x, |x| <= 1
+     */
+    @Nonnull
+    static BigDecimal asin(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        final int c = x.abs().compareTo(BigDecimal.ONE);
+        if (c > 0) {
+            throw new ArithmeticException("Arcsine of " + x);
+        } else if (c == 0) {
+            return pi(mc).divide(BigDecimal.valueOf(2 * x.signum()), mc);
+        }
+        final MathContext wc = working(mc, 0);
+        final BigDecimal cos = sqrt(BigDecimal.ONE.subtract(x.multiply(x)), wc);
+        return atan(x.divide(cos, wc), mc);
+    }
+
+    @Nonnull
+    static BigDecimal pow(@Nonnull BigDecimal x, @Nonnull BigDecimal y, @Nonnull MathContext mc) {
+        if (isIntegral(y) && y.abs().compareTo(BigDecimal.valueOf(999999999)) <= 0) {
+            return x.pow(y.intValueExact(), mc);
+        }
+        final MathContext wc = working(mc, Math.max(0, exponent(y) + 1));
+        return exp(y.multiply(ln(x, wc), wc), mc);
+    }
+
+    static boolean isIntegral(@Nonnull BigDecimal x) {
+        return x.signum() == 0 || x.scale() <= 0 || x.stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * @return exponent of the most significant digit, e.g. 2 for 123.4
+     */
+    static int exponent(@Nonnull BigDecimal x) {
+        return x.precision() - x.scale() - 1;
+    }
+
+    /**
+     * @return <var>x</var> truncated to <var>digits</var> digits after the point
+     */
+    @Nonnull
+    private static BigDecimal burst(@Nonnull BigDecimal x, int digits) {
+        return x.scale() <= digits ? x : x.setScale(digits, RoundingMode.DOWN);
+    }
+
+    @Nonnull
+    private static MathContext working(@Nonnull MathContext mc, long extraDigits) {
+        return new MathContext(mc.getPrecision() + GUARD + (int) extraDigits, RoundingMode.HALF_EVEN);
+    }
+
+    private static int digits(long value) {
+        return value == 0 ? 0 : (int) Math.log10(Math.abs((double) value)) + 1;
+    }
+
+    /**
+     * @return p such that x = p / {@link #denominator(BigDecimal)}
+     */
+    @Nonnull
+    private static BigInteger numerator(@Nonnull BigDecimal x) {
+        return x.scale() >= 0 ? x.unscaledValue() : x.setScale(0).unscaledValue();
+    }
+
+    @Nonnull
+    private static BigInteger denominator(@Nonnull BigDecimal x) {
+        return BigInteger.TEN.pow(Math.max(0, x.scale()));
+    }
+
+    /**
+     * @return exp(p/q), |p/q| <= 1
+     */
+    @Nonnull
+    private static BigDecimal expSeries(@Nonnull final BigInteger p, @Nonnull final BigInteger q, @Nonnull MathContext mc) {
+        // term(k) = term(k - 1) * p / (k q)
+        final double log10x = log10(p, q);
+        return sum(new Series() {
+            BigInteger p(int k) {
+                return p;
+            }
+
+            BigInteger q(int k) {
+                return q.multiply(BigInteger.valueOf(k));
+            }
+
+            double log10(int k) {
+                return log10x - Math.log10(k);
+            }
+        }, mc);
+    }
+
+    /**
+     * @return sin(p/q), |p/q| <= π/4
+     */
+    @Nonnull
+    private static BigDecimal sinSeries(@Nonnull BigInteger p, @Nonnull BigInteger q, @Nonnull MathContext mc) {
+        // term(k) = -term(k - 1) * p^2 / ((2k) (2k + 1) q^2)
+        final BigInteger p2 = p.multiply(p).negate();
+        final BigInteger q2 = q.multiply(q);
+        final double log10x2 = 2 * log10(p, q);
+        final BigDecimal sum = sum(new Series() {
+            BigInteger p(int k) {
+                return p2;
+            }
+
+            BigInteger q(int k) {
+                return q2.multiply(BigInteger.valueOf(2L * k * (2 * k + 1)));
+            }
+
+            double log10(int k) {
+                return log10x2 - Math.log10(2. * k * (2 * k + 1));
+            }
+        }, mc);
+        return sum.multiply(new BigDecimal(p)).divide(new BigDecimal(q), mc);
+    }
+
+    /**
+     * @return cos(p/q), |p/q| <= π/4
+     */
+    @Nonnull
+    private static BigDecimal cosSeries(@Nonnull BigInteger p, @Nonnull BigInteger q, @Nonnull MathContext mc) {
+        // term(k) = -term(k - 1) * p^2 / ((2k - 1) (2k) q^2)
+        final BigInteger p2 = p.multiply(p).negate();
+        final BigInteger q2 = q.multiply(q);
+        final double log10x2 = 2 * log10(p, q);
+        return sum(new Series() {
+            BigInteger p(int k) {
+                return p2;
+            }
+
+            BigInteger q(int k) {
+                return q2.multiply(BigInteger.valueOf(2L * k * (2 * k - 1)));
+            }
+
+            double log10(int k) {
+                return log10x2 - Math.log10(2. * k * (2 * k - 1));
+            }
+        }, mc);
+    }
+
+    /**
+     * @return atan(p/q) if alternating, atanh(p/q) otherwise, |p/q| < 1
+     */
+    @Nonnull
+    private static BigDecimal atanSeries(@Nonnull BigInteger p, @Nonnull BigInteger q, boolean alternating, @Nonnull MathContext mc) {
+        // term(k) = (-)term(k - 1) * p^2 (2k - 1) / (q^2 (2k + 1))
+        final BigInteger p2 = alternating ? p.multiply(p).negate() : p.multiply(p);
+        final BigInteger q2 = q.multiply(q);
+        final double log10x2 = 2 * log10(p, q);
+        final BigDecimal sum = sum(new Series() {
+            BigInteger p(int k) {
+                return p2.multiply(BigInteger.valueOf(2 * k - 1));
+            }
+
+            BigInteger q(int k) {
+                return q2.multiply(BigInteger.valueOf(2 * k + 1));
+            }
+
+            double log10(int k) {
+                return log10x2 + Math.log10((2. * k - 1) / (2 * k + 1));
+            }
+        }, mc);
+        return sum.multiply(new BigDecimal(p)).divide(new BigDecimal(q), mc);
+    }
+
+    private static double log10(@Nonnull BigInteger p, @Nonnull BigInteger q) {
+        return p.signum() == 0 ? Double.NEGATIVE_INFINITY : log10(p.abs()) - log10(q);
+    }
+
+    private static double log10(@Nonnull BigInteger n) {
+        // shifted to stay in the range of double
+        final int shift = Math.max(0, n.bitLength() - 1000);
+        return Math.log10(n.shiftRight(shift).doubleValue()) + shift * 0.3010299956639812;
+    }
+
+    /**
+     * @return sum of term(n) for n >= 0 where term(0) = 1 and term(k) = term(k - 1) * p(k) / q(k)
+     */
+    @Nonnull
+    private static BigDecimal sum(@Nonnull Series series, @Nonnull MathContext mc) {
+        // number of terms to reach the precision
+        final int precision = mc.getPrecision();
+        double log10 = 0;
+        int terms = 1;
+        while (log10 > -precision) {
+            log10 += series.log10(terms);
+            terms++;
+        }
+        final BigInteger[] pqt = series.split(0, terms);
+        return new BigDecimal(pqt[2]).divide(new BigDecimal(pqt[1]), mc);
+    }
+
+    private abstract static class Series {
+
+        abstract BigInteger p(int k);
+
+        abstract BigInteger q(int k);
+
+        /**
+         * @return estimate of log10|p(k) / q(k)|
+         */
+        abstract double log10(int k);
+
+        /**
+         * Binary splitting of the terms in [a, b): returns {P, Q, T} where P and Q are the products of p(k) and q(k)
+         * for k in (a, b] and T / Q is the sum of the terms in [a, b) divided by term(a)
+         */
+        @Nonnull
+        BigInteger[] split(int a, int b) {
+            if (b - a == 1) {
+                final BigInteger q = q(b);
+                return new BigInteger[]{p(b), q, q};
+            }
+            final int m = (a + b) >>> 1;
+            final BigInteger[] left = split(a, m);
+            final BigInteger[] right = split(m, b);
+            return new BigInteger[]{
+                    left[0].multiply(right[0]),
+                    left[1].multiply(right[1]),
+                    left[2].multiply(right[1]).add(left[0].multiply(right[2]))};
+        }
+    }
+
+    private abstract static class CachedConstant {
+
+        // value with the highest precision computed so far
+        private BigDecimal value;
+
+        @Nonnull
+        abstract BigDecimal compute(@Nonnull MathContext mc);
+
+        @Nonnull
+        synchronized BigDecimal get(@Nonnull MathContext mc) {
+            if (value == null || value.precision() < mc.getPrecision() + GUARD) {
+                value = compute(working(mc, 0));
+            }
+            return value.round(mc);
+        }
+    }
+}
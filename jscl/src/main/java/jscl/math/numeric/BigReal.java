@@ -0,0 +1,372 @@
+package jscl.math.numeric;
+
+import jscl.JsclMathEngine;
+import jscl.math.NotDivisibleException;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Real number with the precision of a {@link MathContext}, see {@link JsclMathEngine#setBigDecimalContext(MathContext)}.
+ * Results of operations have the larger of the precisions of the operands.
+ */
+public final class BigReal extends Numeric {
+
+    @Nonnull
+    private final BigDecimal value;
+    @Nonnull
+    private final MathContext mc;
+
+    private BigReal(@Nonnull BigDecimal value, @Nonnull MathContext mc) {
+        this.value = value;
+        this.mc = mc;
+    }
+
+    @Nonnull
+    public static BigReal valueOf(@Nonnull BigDecimal value, @Nonnull MathContext mc) {
+        return new BigReal(value.round(mc), mc);
+    }
+
+    @Nonnull
+    public static BigReal valueOf(@Nonnull BigInteger numerator, @Nonnull BigInteger denominator, @Nonnull MathContext mc) {
+        return new BigReal(new BigDecimal(numerator).divide(new BigDecimal(denominator), mc), mc);
+    }
+
+    @Nonnull
+    public static BigReal pi(@Nonnull MathContext mc) {
+        return new BigReal(BigMath.pi(mc), mc);
+    }
+
+    @Nonnull
+    public static BigReal e(@Nonnull MathContext mc) {
+        return new BigReal(BigMath.e(mc), mc);
+    }
+
+    /**
+     * @return value of a real number (Real, ExtendedReal or BigReal) as BigDecimal
+     * @throws ArithmeticException if the value is infinite or NaN
+     */
+    @Nonnull
+    static BigDecimal toBigDecimal(@Nonnull Numeric real) {
+        if (real instanceof BigReal) {
+            return ((BigReal) real).value;
+        } else if (real instanceof ExtendedReal) {
+            return ((ExtendedReal) real).toBigDecimal();
+        }
+        final double value = real.doubleValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new ArithmeticException("Not a finite number: " + value);
+        }
+        return new BigDecimal(value);
+    }
+
+    static boolean isReal(@Nonnull Numeric numeric) {
+        return numeric instanceof Real || numeric instanceof ExtendedReal || numeric instanceof BigReal;
+    }
+
+    @Nonnull
+    static MathContext max(@Nonnull MathContext a, @Nonnull MathContext b) {
+        return a.getPrecision() >= b.getPrecision() ? a : b;
+    }
+
+    @Nonnull
+    public BigDecimal bigDecimalValue() {
+        return value;
+    }
+
+    @Nonnull
+    public MathContext getMathContext() {
+        return mc;
+    }
+
+    @Nonnull
+    private BigReal newInstance(@Nonnull BigDecimal value) {
+        return new BigReal(value, mc);
+    }
+
+    @Nonnull
+    private BigReal toBigReal(@Nonnull Numeric real) {
+        return real instanceof BigReal ? (BigReal) real : new BigReal(toBigDecimal(real), mc);
+    }
+
+    public BigReal add(@Nonnull BigReal that) {
+        final MathContext mc = max(this.mc, that.mc);
+        return new BigReal(value.add(that.value, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric add(@Nonnull Numeric that) {
+        if (isReal(that)) {
+            return add(toBigReal(that));
+        } else if (that instanceof Complex || that instanceof BigComplex) {
+            return BigComplex.valueOf(this).add(that);
+        } else {
+            return that.valueOf(this).add(that);
+        }
+    }
+
+    public BigReal subtract(@Nonnull BigReal that) {
+        final MathContext mc = max(this.mc, that.mc);
+        return new BigReal(value.subtract(that.value, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric subtract(@Nonnull Numeric that) {
+        if (isReal(that)) {
+            return subtract(toBigReal(that));
+        } else if (that instanceof Complex || that instanceof BigComplex) {
+            return BigComplex.valueOf(this).subtract(that);
+        } else {
+            return that.valueOf(this).subtract(that);
+        }
+    }
+
+    public BigReal multiply(@Nonnull BigReal that) {
+        final MathContext mc = max(this.mc, that.mc);
+        return new BigReal(value.multiply(that.value, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric multiply(@Nonnull Numeric that) {
+        if (isReal(that)) {
+            return multiply(toBigReal(that));
+        } else if (that instanceof Complex || that instanceof BigComplex) {
+            return BigComplex.valueOf(this).multiply(that);
+        } else {
+            return that.multiply(this);
+        }
+    }
+
+    public BigReal divide(@Nonnull BigReal that) throws ArithmeticException {
+        final MathContext mc = max(this.mc, that.mc);
+        return new BigReal(value.divide(that.value, mc), mc);
+    }
+
+    @Nonnull
+    public Numeric divide(@Nonnull Numeric that) throws NotDivisibleException {
+        if (isReal(that)) {
+            return divide(toBigReal(that));
+        } else if (that instanceof Complex || that instanceof BigComplex) {
+            return BigComplex.valueOf(this).divide(that);
+        } else {
+            return that.valueOf(this).divide(that);
+        }
+    }
+
+    @Nonnull
+    public Numeric negate() {
+        return newInstance(value.negate());
+    }
+
+    public int signum() {
+        return value.signum();
+    }
+
+    @Nonnull
+    public Numeric ln() {
+        if (signum() >= 0) {
+            return newInstance(BigMath.ln(value, mc));
+        } else {
+            return BigComplex.valueOf(BigMath.ln(value.negate(), mc), BigMath.pi(mc), mc);
+        }
+    }
+
+    @Nonnull
+    public Numeric lg() {
+        if (signum() >= 0) {
+            return newInstance(BigMath.lg(value, mc));
+        } else {
+            return BigComplex.valueOf(BigMath.lg(value.negate(), mc), BigMath.pi(mc), mc);
+        }
+    }
+
+    @Nonnull
+    public Numeric exp() {
+        return newInstance(BigMath.exp(value, mc));
+    }
+
+    @Nonnull
+    public Numeric inverse() {
+        return newInstance(BigDecimal.ONE.divide(value, mc));
+    }
+
+    public Numeric pow(@Nonnull BigReal that) {
+        final MathContext mc = max(this.mc, that.mc);
+        if (signum() < 0 && !BigMath.isIntegral(that.value)) {
+            return BigComplex.valueOf(this).pow(that);
+        } else if (signum() == 0 && that.signum() > 0) {
+            return newInstance(BigDecimal.ZERO);
+        } else {
+            return new BigReal(BigMath.pow(value, that.value, mc), mc);
+        }
+    }
+
+    public Numeric pow(@Nonnull Numeric numeric) {
+        if (isReal(numeric)) {
+            return pow(toBigReal(numeric));
+        } else {
+            return valueOf(numeric).pow(numeric);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Numeric pow(int exponent) {
+        return newInstance(value.pow(exponent, mc));
+    }
+
+    @Nonnull
+    public Numeric sqrt() {
+        if (signum() < 0) {
+            return Complex.I.multiply(negate().sqrt());
+        } else {
+            return newInstance(BigMath.sqrt(value, mc));
+        }
+    }
+
+    @Nonnull
+    public Numeric nThRoot(int n) {
+        if (signum() < 0) {
+            return n % 2 == 0 ? sqrt().nThRoot(n / 2) : negate().nThRoot(n).negate();
+        } else if (signum() == 0) {
+            return this;
+        } else {
+            return newInstance(BigMath.exp(BigMath.ln(value, mc).divide(BigDecimal.valueOf(n), mc), mc));
+        }
+    }
+
+    public Numeric conjugate() {
+        return this;
+    }
+
+    /*
+     * Angles are converted with π of the precision of the number
+     */
+
+    @Nonnull
+    private BigDecimal defaultToRad(@Nonnull BigDecimal value) {
+        switch (JsclMathEngine.getInstance().getAngleUnits()) {
+            case deg:
+                return value.multiply(BigMath.pi(mc)).divide(BigDecimal.valueOf(180), mc);
+            case grad:
+                return value.multiply(BigMath.pi(mc)).divide(BigDecimal.valueOf(200), mc);
+            case turns:
+                return value.multiply(BigMath.pi(mc)).multiply(BigDecimal.valueOf(2), mc);
+            default:
+                return value;
+        }
+    }
+
+    @Nonnull
+    private BigDecimal radToDefault(@Nonnull BigDecimal value) {
+        switch (JsclMathEngine.getInstance().getAngleUnits()) {
+            case deg:
+                return value.multiply(BigDecimal.valueOf(180)).divide(BigMath.pi(mc), mc);
+            case grad:
+                return value.multiply(BigDecimal.valueOf(200)).divide(BigMath.pi(mc), mc);
+            case turns:
+                return value.divide(BigMath.pi(mc).multiply(BigDecimal.valueOf(2)), mc);
+            default:
+                return value;
+        }
+    }
+
+    @Nonnull
+    BigDecimal toRad() {
+        return defaultToRad(value);
+    }
+
+    @Nonnull
+    public Numeric sin() {
+        return newInstance(BigMath.sin(defaultToRad(value), mc));
+    }
+
+    @Nonnull
+    public Numeric cos() {
+        return newInstance(BigMath.cos(defaultToRad(value), mc));
+    }
+
+    @Nonnull
+    public Numeric tan() {
+        return newInstance(BigMath.tan(defaultToRad(value), mc));
+    }
+
+    @Nonnull
+    @Override
+    public Numeric cot() {
+        return tan().inverse();
+    }
+
+    @Nonnull
+    public Numeric asin() {
+        if (value.abs().compareTo(BigDecimal.ONE) > 0) {
+            return super.asin();
+        }
+        return newInstance(radToDefault(BigMath.asin(value, mc)));
+    }
+
+    @Nonnull
+    public Numeric acos() {
+        if (value.abs().compareTo(BigDecimal.ONE) > 0) {
+            return super.acos();
+        }
+        final BigDecimal halfPi = BigMath.pi(mc).divide(BigDecimal.valueOf(2));
+        return newInstance(radToDefault(halfPi.subtract(BigMath.asin(value, mc), mc)));
+    }
+
+    @Nonnull
+    public Numeric atan() {
+        return newInstance(radToDefault(BigMath.atan(value, mc)));
+    }
+
+    @Nonnull
+    @Override
+    public Numeric acot() {
+        final BigDecimal halfPi = BigMath.pi(mc).divide(BigDecimal.valueOf(2));
+        return newInstance(radToDefault(halfPi.subtract(BigMath.atan(value, mc), mc)));
+    }
+
+    @Nonnull
+    public Numeric valueOf(@Nonnull Numeric numeric) {
+        if (isReal(numeric)) {
+            return toBigReal(numeric);
+        } else if (numeric instanceof Complex || numeric instanceof BigComplex) {
+            return BigComplex.valueOf(numeric, mc);
+        } else throw new ArithmeticException();
+    }
+
+    public int compareTo(@Nonnull BigReal that) {
+        return value.compareTo(that.value);
+    }
+
+    public int compareTo(Numeric numeric) {
+        if (numeric instanceof BigReal) {
+            return compareTo((BigReal) numeric);
+        } else if (isReal(numeric) && !Double.isInfinite(numeric.doubleValue()) && !Double.isNaN(numeric.doubleValue())) {
+            return compareTo(toBigReal(numeric));
+        } else if (isReal(numeric)) {
+            return Double.compare(doubleValue(), numeric.doubleValue());
+        } else {
+            return valueOf(numeric).compareTo(numeric);
+        }
+    }
+
+    public String toString() {
+        return JsclMathEngine.getInstance().format(value, mc.getPrecision());
+    }
+
+    @Override
+    public BigInteger toBigInteger() {
+        if (BigMath.isIntegral(value)) {
+            return value.toBigInteger();
+        }
+        return null;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value.doubleValue();
+    }
+}
@@ -4,6 +4,7 @@ import jscl.AngleUnit;
 import jscl.JsclMathEngine;
 import jscl.math.NotDivisibleException;
 import jscl.math.NotDoubleException;
+import jscl.math.RenderOptions;
 import jscl.text.msg.JsclMessage;
 import jscl.text.msg.Messages;
 import org.solovyev.common.msg.MessageType;
@@ -27,6 +28,14 @@ public final class Complex extends Numeric {
             JsclMathEngine.getInstance().getMessageRegistry().addMessage(new JsclMessage(Messages.msg_23, MessageType.warning));
         }
 
+        return restore(real, imaginary);
+    }
+
+    /**
+     * Same as {@link #valueOf(double, double)} without the angle units warning, for numbers computed before
+     */
+    @Nonnull
+    public static Complex restore(double real, double imaginary) {
         if (real == 0d && imaginary == 1d) {
             return I;
         } else {
@@ -42,7 +51,7 @@ public final class Complex extends Numeric {
     public Numeric add(@Nonnull Numeric that) {
         if (that instanceof Complex) {
             return add((Complex) that);
-        } else if (that instanceof Real) {
+        } else if (that instanceof Real || that instanceof ExtendedReal) {
             return add(valueOf(that));
         } else {
             return that.valueOf(this).add(that);
@@ -57,7 +66,7 @@ public final class Complex extends Numeric {
     public Numeric subtract(@Nonnull Numeric that) {
         if (that instanceof Complex) {
             return subtract((Complex) that);
-        } else if (that instanceof Real) {
+        } else if (that instanceof Real || that instanceof ExtendedReal) {
             return subtract(valueOf(that));
         } else {
             return that.valueOf(this).subtract(that);
@@ -72,7 +81,7 @@ public final class Complex extends Numeric {
     public Numeric multiply(@Nonnull Numeric that) {
         if (that instanceof Complex) {
             return multiply((Complex) that);
-        } else if (that instanceof Real) {
+        } else if (that instanceof Real || that instanceof ExtendedReal) {
             return multiply(valueOf(that));
         } else {
             return that.multiply(this);
@@ -87,7 +96,7 @@ public final class Complex extends Numeric {
     public Numeric divide(@Nonnull Numeric that) throws NotDivisibleException {
         if (that instanceof Complex) {
             return divide((Complex) that);
-        } else if (that instanceof Real) {
+        } else if (that instanceof Real || that instanceof ExtendedReal) {
             return divide(valueOf(that));
         } else {
             return that.valueOf(this).divide(that);
@@ -201,7 +210,7 @@ public final class Complex extends Numeric {
     public int compareTo(Numeric that) {
         if (that instanceof Complex) {
             return compareTo((Complex) that);
-        } else if (that instanceof Real) {
+        } else if (that instanceof Real || that instanceof ExtendedReal) {
             return compareTo(valueOf(that));
         } else {
             return that.valueOf(this).compareTo(that);
@@ -224,12 +233,19 @@ public final class Complex extends Numeric {
         } else if (numeric instanceof Real) {
             Real d = (Real) numeric;
             return d.toComplex();
+        } else if (numeric instanceof ExtendedReal) {
+            return ((ExtendedReal) numeric).toComplex();
         } else throw new ArithmeticException();
     }
 
     public String toString() {
         final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
 
+    @Override
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         if (imaginary == 0.) {
             result.append(toString(real));
         } else {
@@ -255,12 +271,10 @@ public final class Complex extends Numeric {
                     } else {
                         result.append(toString(imaginary));
                     }
-                    result.append("*");
+                    options.appendMultiplicationSign(result);
                 }
             }
             result.append("i");
         }
-
-        return result.toString();
     }
 }
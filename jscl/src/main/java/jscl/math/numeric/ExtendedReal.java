@@ -0,0 +1,533 @@
+package jscl.math.numeric;
+
+import jscl.JsclMathEngine;
+import jscl.math.NotDivisibleException;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Real number with a 63-bit mantissa (about 19 significant digits) backed by {@link midpcalc.Real}.
+ * Instances are immutable, operations are done in per-thread {@link midpcalc.Real} registers which are reused
+ * between calls.
+ */
+public final class ExtendedReal extends Numeric {
+
+    public static final ExtendedReal ZERO = valueOf(midpcalc.Real.ZERO);
+    public static final ExtendedReal ONE = valueOf(midpcalc.Real.ONE);
+    public static final ExtendedReal PI = valueOf(midpcalc.Real.PI);
+    public static final ExtendedReal E = valueOf(midpcalc.Real.E);
+    // size of the binary form, see toBytes
+    public static final int BYTES = 12;
+
+    private static final ThreadLocal<Registers> registers = new ThreadLocal<Registers>() {
+        @Override
+        protected Registers initialValue() {
+            return new Registers();
+        }
+    };
+
+    private final byte sign;
+    private final int exponent;
+    private final long mantissa;
+
+    private ExtendedReal(byte sign, int exponent, long mantissa) {
+        this.sign = sign;
+        this.exponent = exponent;
+        this.mantissa = mantissa;
+    }
+
+    @Nonnull
+    private static ExtendedReal valueOf(@Nonnull midpcalc.Real register) {
+        return new ExtendedReal(register.sign, register.exponent, register.mantissa);
+    }
+
+    @Nonnull
+    public static ExtendedReal valueOf(double value) {
+        final midpcalc.Real a = registers.get().a;
+        a.assignDoubleBits(Double.doubleToRawLongBits(value));
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public static ExtendedReal valueOf(@Nonnull Real value) {
+        return valueOf(value.doubleValue());
+    }
+
+    @Nonnull
+    public static ExtendedReal valueOf(@Nonnull BigInteger value) {
+        final midpcalc.Real a = registers.get().a;
+        final int bitLength = value.bitLength();
+        if (bitLength < 64) {
+            a.assign(value.longValue());
+        } else {
+            // keep 62 bits and round on the next one
+            final int shift = bitLength - 62;
+            final BigInteger abs = value.abs();
+            long top = abs.shiftRight(shift).longValue();
+            if (abs.testBit(shift - 1)) {
+                top++;
+            }
+            a.assign(value.signum() < 0 ? -top : top);
+            a.scalbn(shift);
+        }
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public static ExtendedReal valueOf(@Nonnull BigInteger numerator, @Nonnull BigInteger denominator) {
+        return valueOf(numerator).divide(valueOf(denominator));
+    }
+
+    /**
+     * @param value decimal number, e.g. 1.5 or 2e-10
+     */
+    @Nonnull
+    public static ExtendedReal valueOf(@Nonnull String value) throws NumberFormatException {
+        final midpcalc.Real a = registers.get().a;
+        a.assign(value);
+        if (a.isNan()) {
+            throw new NumberFormatException(value);
+        }
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public static ExtendedReal valueOf(@Nonnull byte[] data, int offset) {
+        final midpcalc.Real a = registers.get().a;
+        a.assign(data, offset);
+        return valueOf(a);
+    }
+
+    public void toBytes(@Nonnull byte[] data, int offset) {
+        load(registers.get().a).toBytes(data, offset);
+    }
+
+    @Nonnull
+    private midpcalc.Real load(@Nonnull midpcalc.Real register) {
+        register.assign(sign, exponent, mantissa);
+        return register;
+    }
+
+    public ExtendedReal add(@Nonnull ExtendedReal that) {
+        final Registers r = registers.get();
+        final midpcalc.Real a = load(r.a);
+        a.add(that.load(r.b));
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric add(@Nonnull Numeric that) {
+        if (that instanceof ExtendedReal) {
+            return add((ExtendedReal) that);
+        } else if (that instanceof Real) {
+            return add(valueOf((Real) that));
+        } else {
+            return that.valueOf(this).add(that);
+        }
+    }
+
+    public ExtendedReal subtract(@Nonnull ExtendedReal that) {
+        final Registers r = registers.get();
+        final midpcalc.Real a = load(r.a);
+        a.sub(that.load(r.b));
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric subtract(@Nonnull Numeric that) {
+        if (that instanceof ExtendedReal) {
+            return subtract((ExtendedReal) that);
+        } else if (that instanceof Real) {
+            return subtract(valueOf((Real) that));
+        } else {
+            return that.valueOf(this).subtract(that);
+        }
+    }
+
+    public ExtendedReal multiply(@Nonnull ExtendedReal that) {
+        final Registers r = registers.get();
+        final midpcalc.Real a = load(r.a);
+        a.mul(that.load(r.b));
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric multiply(@Nonnull Numeric that) {
+        if (that instanceof ExtendedReal) {
+            return multiply((ExtendedReal) that);
+        } else if (that instanceof Real) {
+            return multiply(valueOf((Real) that));
+        } else {
+            return that.multiply(this);
+        }
+    }
+
+    public ExtendedReal divide(@Nonnull ExtendedReal that) throws ArithmeticException {
+        final Registers r = registers.get();
+        final midpcalc.Real a = load(r.a);
+        a.div(that.load(r.b));
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric divide(@Nonnull Numeric that) throws NotDivisibleException {
+        if (that instanceof ExtendedReal) {
+            return divide((ExtendedReal) that);
+        } else if (that instanceof Real) {
+            return divide(valueOf((Real) that));
+        } else {
+            return that.valueOf(this).divide(that);
+        }
+    }
+
+    @Nonnull
+    public Numeric negate() {
+        return new ExtendedReal((byte) (sign ^ 1), exponent, mantissa);
+    }
+
+    public int signum() {
+        final midpcalc.Real a = load(registers.get().a);
+        return a.isZero() ? 0 : (a.isNegative() ? -1 : 1);
+    }
+
+    @Nonnull
+    public Numeric ln() {
+        if (signum() >= 0) {
+            final midpcalc.Real a = load(registers.get().a);
+            a.ln();
+            return valueOf(a);
+        } else {
+            return Complex.valueOf(((ExtendedReal) negate().ln()).doubleValue(), Math.PI);
+        }
+    }
+
+    @Nonnull
+    public Numeric lg() {
+        if (signum() >= 0) {
+            final midpcalc.Real a = load(registers.get().a);
+            a.log10();
+            return valueOf(a);
+        } else {
+            return Complex.valueOf(((ExtendedReal) negate().lg()).doubleValue(), Math.PI);
+        }
+    }
+
+    @Nonnull
+    public Numeric exp() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.exp();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric inverse() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.recip();
+        return valueOf(a);
+    }
+
+    public Numeric pow(@Nonnull ExtendedReal that) {
+        final Registers r = registers.get();
+        final midpcalc.Real b = that.load(r.b);
+        if (signum() < 0 && !b.isIntegral()) {
+            return toComplex().pow(Real.valueOf(that.doubleValue()));
+        } else {
+            final midpcalc.Real a = load(r.a);
+            a.pow(b);
+            return valueOf(a);
+        }
+    }
+
+    public Numeric pow(@Nonnull Numeric numeric) {
+        if (numeric instanceof ExtendedReal) {
+            return pow((ExtendedReal) numeric);
+        } else if (numeric instanceof Real) {
+            return pow(valueOf((Real) numeric));
+        } else {
+            return numeric.valueOf(this).pow(numeric);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Numeric pow(int exponent) {
+        final midpcalc.Real a = load(registers.get().a);
+        a.pow(exponent);
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric sqrt() {
+        if (signum() < 0) {
+            return Complex.I.multiply(negate().sqrt());
+        } else {
+            final midpcalc.Real a = load(registers.get().a);
+            a.sqrt();
+            return valueOf(a);
+        }
+    }
+
+    @Nonnull
+    public Numeric nThRoot(int n) {
+        if (signum() < 0) {
+            return n % 2 == 0 ? sqrt().nThRoot(n / 2) : negate().nThRoot(n).negate();
+        } else {
+            final Registers r = registers.get();
+            final midpcalc.Real a = load(r.a);
+            r.b.assign(n);
+            a.nroot(r.b);
+            return valueOf(a);
+        }
+    }
+
+    public Numeric conjugate() {
+        return this;
+    }
+
+    /*
+     * Angles are converted with the extended value of π so that e.g. sin(180°) is computed as accurately as sin(π)
+     */
+
+    @Nonnull
+    private static midpcalc.Real defaultToRad(@Nonnull midpcalc.Real a) {
+        switch (JsclMathEngine.getInstance().getAngleUnits()) {
+            case deg:
+                a.mul(midpcalc.Real.PI);
+                a.div(180);
+                break;
+            case grad:
+                a.mul(midpcalc.Real.PI);
+                a.div(200);
+                break;
+            case turns:
+                a.mul(midpcalc.Real.PI2);
+                break;
+        }
+        return a;
+    }
+
+    @Nonnull
+    private static midpcalc.Real radToDefault(@Nonnull midpcalc.Real a) {
+        switch (JsclMathEngine.getInstance().getAngleUnits()) {
+            case deg:
+                a.mul(180);
+                a.div(midpcalc.Real.PI);
+                break;
+            case grad:
+                a.mul(200);
+                a.div(midpcalc.Real.PI);
+                break;
+            case turns:
+                a.div(midpcalc.Real.PI2);
+                break;
+        }
+        return a;
+    }
+
+    @Nonnull
+    public Numeric sin() {
+        final midpcalc.Real a = defaultToRad(load(registers.get().a));
+        a.sin();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric cos() {
+        final midpcalc.Real a = defaultToRad(load(registers.get().a));
+        a.cos();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    public Numeric tan() {
+        final midpcalc.Real a = defaultToRad(load(registers.get().a));
+        a.tan();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    @Override
+    public Numeric cot() {
+        return tan().inverse();
+    }
+
+    @Nonnull
+    public Numeric asin() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.asin();
+        if (a.isNan()) {
+            return super.asin();
+        }
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    public Numeric acos() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.acos();
+        if (a.isNan()) {
+            return super.acos();
+        }
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    public Numeric atan() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.atan();
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    @Override
+    public Numeric acot() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.atan();
+        a.neg();
+        a.add(midpcalc.Real.PI_2);
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    @Override
+    public Numeric sinh() {
+        final midpcalc.Real a = defaultToRad(load(registers.get().a));
+        a.sinh();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    @Override
+    public Numeric cosh() {
+        final midpcalc.Real a = defaultToRad(load(registers.get().a));
+        a.cosh();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    @Override
+    public Numeric tanh() {
+        final midpcalc.Real a = defaultToRad(load(registers.get().a));
+        a.tanh();
+        return valueOf(a);
+    }
+
+    @Nonnull
+    @Override
+    public Numeric asinh() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.asinh();
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    @Override
+    public Numeric acosh() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.acosh();
+        if (a.isNan()) {
+            return super.acosh();
+        }
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    @Override
+    public Numeric atanh() {
+        final midpcalc.Real a = load(registers.get().a);
+        a.atanh();
+        if (a.isNan()) {
+            return super.atanh();
+        }
+        return valueOf(radToDefault(a));
+    }
+
+    @Nonnull
+    public Numeric valueOf(@Nonnull Numeric numeric) {
+        if (numeric instanceof ExtendedReal) {
+            return numeric;
+        } else if (numeric instanceof Real) {
+            return valueOf((Real) numeric);
+        } else throw new ArithmeticException();
+    }
+
+    public int compareTo(@Nonnull ExtendedReal that) {
+        final Registers r = registers.get();
+        final midpcalc.Real a = load(r.a);
+        final midpcalc.Real b = that.load(r.b);
+        if (a.lessThan(b)) {
+            return -1;
+        } else if (a.greaterThan(b)) {
+            return 1;
+        } else if (a.equalTo(b)) {
+            return 0;
+        } else {
+            // NaN
+            return Double.compare(a.toDouble(), b.toDouble());
+        }
+    }
+
+    public int compareTo(Numeric numeric) {
+        if (numeric instanceof ExtendedReal) {
+            return compareTo((ExtendedReal) numeric);
+        } else if (numeric instanceof Real) {
+            return compareTo(valueOf((Real) numeric));
+        } else {
+            return numeric.valueOf(this).compareTo(numeric);
+        }
+    }
+
+    public String toString() {
+        return toString(doubleValue());
+    }
+
+    @Nonnull
+    public Complex toComplex() {
+        return Complex.valueOf(doubleValue(), 0.);
+    }
+
+    @Override
+    public BigInteger toBigInteger() {
+        final midpcalc.Real a = load(registers.get().a);
+        if (!a.isFinite() || !a.isIntegral()) {
+            return null;
+        }
+        // value = mantissa * 2^(exponent - 0x40000000 - 62)
+        final int shift = exponent - 0x40000000 - 62;
+        final BigInteger result = shift >= 0 ? BigInteger.valueOf(mantissa).shiftLeft(shift) : BigInteger.valueOf(mantissa >> -shift);
+        return sign != 0 ? result.negate() : result;
+    }
+
+    /**
+     * @return exact value of this number
+     * @throws ArithmeticException if the number is infinite or NaN
+     */
+    @Nonnull
+    public BigDecimal toBigDecimal() {
+        final midpcalc.Real a = load(registers.get().a);
+        if (!a.isFinite()) {
+            throw new ArithmeticException("Not a finite number: " + this);
+        } else if (a.isZero()) {
+            return BigDecimal.ZERO;
+        }
+        final int shift = exponent - 0x40000000 - 62;
+        final BigInteger m = BigInteger.valueOf(sign != 0 ? -mantissa : mantissa);
+        if (shift >= 0) {
+            return new BigDecimal(m.shiftLeft(shift));
+        }
+        // m / 2^n = m * 5^n / 10^n
+        return new BigDecimal(m.multiply(BigInteger.valueOf(5).pow(-shift)), -shift);
+    }
+
+    @Override
+    public double doubleValue() {
+        return load(registers.get().a).toDouble();
+    }
+
+    private static final class Registers {
+        final midpcalc.Real a = new midpcalc.Real();
+        final midpcalc.Real b = new midpcalc.Real();
+    }
+}
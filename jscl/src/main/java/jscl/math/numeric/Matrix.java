@@ -2,6 +2,7 @@ package jscl.math.numeric;
 
 import jscl.math.NotDivisibleException;
 import jscl.math.NotDoubleException;
+import jscl.math.RenderOptions;
 import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
@@ -82,6 +83,19 @@ public class Matrix extends Numeric {
     public Matrix multiply(Matrix matrix) {
         if (cols != matrix.rows) throw new ArithmeticException();
         Matrix m = newInstance(new Numeric[rows][matrix.cols]);
+        if (NumericAccumulator.accepts(this.m) && NumericAccumulator.accepts(matrix.m)) {
+            final NumericAccumulator a = new NumericAccumulator();
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < matrix.cols; j++) {
+                    a.reset();
+                    for (int k = 0; k < cols; k++) {
+                        a.addProduct(this.m[i][k], matrix.m[k][j]);
+                    }
+                    m.m[i][j] = a.toNumeric();
+                }
+            }
+            return m;
+        }
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < matrix.cols; j++) {
                 m.m[i][j] = Real.ZERO;
@@ -101,6 +115,17 @@ public class Matrix extends Numeric {
             Vector v = ((Vector) that).newInstance(new Numeric[rows]);
             Vector v2 = (Vector) that;
             if (cols != v2.n) throw new ArithmeticException();
+            if (NumericAccumulator.accepts(m) && NumericAccumulator.accepts(v2.element)) {
+                final NumericAccumulator a = new NumericAccumulator();
+                for (int i = 0; i < rows; i++) {
+                    a.reset();
+                    for (int k = 0; k < cols; k++) {
+                        a.addProduct(m[i][k], v2.element[k]);
+                    }
+                    v.element[i] = a.toNumeric();
+                }
+                return v;
+            }
             for (int i = 0; i < rows; i++) {
                 v.element[i] = Real.ZERO;
                 for (int k = 0; k < cols; k++) {
@@ -196,6 +221,13 @@ public class Matrix extends Numeric {
     }
 
     public Numeric trace() {
+        if (NumericAccumulator.accepts(m)) {
+            final NumericAccumulator a = new NumericAccumulator();
+            for (int i = 0; i < rows; i++) {
+                a.add(m[i][i]);
+            }
+            return a.toNumeric();
+        }
         Numeric s = Real.ZERO;
         for (int i = 0; i < rows; i++) {
             s = s.add(m[i][i]);
@@ -296,16 +328,22 @@ public class Matrix extends Numeric {
 
     public String toString() {
         final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
+
+    @Override
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         result.append("{");
         for (int i = 0; i < rows; i++) {
             result.append("{");
             for (int j = 0; j < cols; j++) {
-                result.append(m[i][j]).append(j < cols - 1 ? ", " : "");
+                m[i][j].appendTo(result, options);
+                result.append(j < cols - 1 ? ", " : "");
             }
             result.append("}").append(i < rows - 1 ? ",\n" : "");
         }
         result.append("}");
-        return result.toString();
     }
 
     protected Matrix newInstance() {
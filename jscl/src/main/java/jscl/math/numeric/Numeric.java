@@ -3,6 +3,7 @@ package jscl.math.numeric;
 import jscl.AngleUnit;
 import jscl.JsclMathEngine;
 import jscl.math.Arithmetic;
+import jscl.math.RenderOptions;
 
 import javax.annotation.Nonnull;
 import java.math.BigInteger;
@@ -322,6 +323,13 @@ public abstract class Numeric implements Arithmetic<Numeric>, INumeric<Numeric>,
         return obj instanceof Numeric && compareTo((Numeric) obj) == 0;
     }
 
+    /**
+     * Appends the text of this number, {@link #toString()} being the text rendered with {@link RenderOptions#DEFAULT}
+     */
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        result.append(toString());
+    }
+
     @Nonnull
     protected String toString(final double value) {
         return JsclMathEngine.getInstance().format(value);
@@ -0,0 +1,144 @@
+package jscl.math.numeric;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Mutable real or complex number for long chains of operations on {@link Real}s and {@link Complex}es (sums, scalar
+ * products): intermediate results are kept in two doubles, only {@link #toNumeric()} creates a number
+ */
+public final class NumericAccumulator {
+
+    private double re;
+    private double im;
+    // the result is complex once a complex number took part, as for Complex#add(Numeric)
+    private boolean complex;
+
+    /**
+     * @return true if <var>numeric</var> can be used in the operations of an accumulator
+     */
+    public static boolean accepts(@Nonnull Numeric numeric) {
+        return numeric instanceof Real || numeric instanceof Complex;
+    }
+
+    public static boolean accepts(@Nonnull Numeric[] numerics) {
+        for (Numeric numeric : numerics) {
+            if (!accepts(numeric)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean accepts(@Nonnull Numeric[][] numerics) {
+        for (Numeric[] row : numerics) {
+            if (!accepts(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    public NumericAccumulator reset() {
+        re = 0;
+        im = 0;
+        complex = false;
+        return this;
+    }
+
+    @Nonnull
+    public NumericAccumulator set(@Nonnull Numeric numeric) {
+        re = realPart(numeric);
+        im = imaginaryPart(numeric);
+        complex = numeric instanceof Complex;
+        return this;
+    }
+
+    @Nonnull
+    public NumericAccumulator add(@Nonnull Numeric numeric) {
+        re += realPart(numeric);
+        if (numeric instanceof Complex) {
+            im += ((Complex) numeric).imaginaryPart();
+            complex = true;
+        }
+        return this;
+    }
+
+    @Nonnull
+    public NumericAccumulator subtract(@Nonnull Numeric numeric) {
+        re -= realPart(numeric);
+        if (numeric instanceof Complex) {
+            im -= ((Complex) numeric).imaginaryPart();
+            complex = true;
+        }
+        return this;
+    }
+
+    /**
+     * Adds <var>a</var>*<var>b</var>
+     */
+    @Nonnull
+    public NumericAccumulator addProduct(@Nonnull Numeric a, @Nonnull Numeric b) {
+        if (a instanceof Complex || b instanceof Complex) {
+            return addProduct(realPart(a), imaginaryPart(a), realPart(b), imaginaryPart(b));
+        } else {
+            return addProduct(a.doubleValue(), b.doubleValue());
+        }
+    }
+
+    @Nonnull
+    public NumericAccumulator addProduct(double a, double b) {
+        re += a * b;
+        return this;
+    }
+
+    /**
+     * Adds the product of complex numbers (<var>aRe</var> + <var>aIm</var>*i)*(<var>bRe</var> + <var>bIm</var>*i)
+     */
+    @Nonnull
+    public NumericAccumulator addProduct(double aRe, double aIm, double bRe, double bIm) {
+        re += aRe * bRe - aIm * bIm;
+        im += aRe * bIm + aIm * bRe;
+        complex = true;
+        return this;
+    }
+
+    /**
+     * Adds (<var>a</var> - <var>b</var>)^2
+     */
+    @Nonnull
+    public NumericAccumulator addSquaredDifference(@Nonnull Numeric a, @Nonnull Numeric b) {
+        final double re = realPart(a) - realPart(b);
+        if (a instanceof Complex || b instanceof Complex) {
+            final double im = imaginaryPart(a) - imaginaryPart(b);
+            return addProduct(re, im, re, im);
+        } else {
+            return addProduct(re, re);
+        }
+    }
+
+    public double re() {
+        return re;
+    }
+
+    public double im() {
+        return im;
+    }
+
+    public boolean isComplex() {
+        return complex;
+    }
+
+    @Nonnull
+    public Numeric toNumeric() {
+        return complex ? Complex.valueOf(re, im) : Real.valueOf(re);
+    }
+
+    static double realPart(@Nonnull Numeric numeric) {
+        return numeric instanceof Complex ? ((Complex) numeric).realPart() : numeric.doubleValue();
+    }
+
+    static double imaginaryPart(@Nonnull Numeric numeric) {
+        return numeric instanceof Complex ? ((Complex) numeric).imaginaryPart() : 0d;
+    }
+}
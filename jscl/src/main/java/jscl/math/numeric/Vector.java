@@ -2,6 +2,7 @@ package jscl.math.numeric;
 
 import jscl.math.NotDivisibleException;
 import jscl.math.NotDoubleException;
+import jscl.math.RenderOptions;
 import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
@@ -123,6 +124,13 @@ public class Vector extends Numeric {
     }
 
     public Numeric scalarProduct(Vector vector) {
+        if (NumericAccumulator.accepts(element) && NumericAccumulator.accepts(vector.element)) {
+            final NumericAccumulator a = new NumericAccumulator();
+            for (int i = 0; i < n; i++) {
+                a.addProduct(element[i], vector.element[i]);
+            }
+            return a.toNumeric();
+        }
         Numeric a = Real.ZERO;
         for (int i = 0; i < n; i++) {
             a = a.add(element[i].multiply(vector.element[i]));
@@ -171,16 +179,20 @@ public class Vector extends Numeric {
 
     public String toString() {
         final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
 
+    @Override
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         result.append("[");
 
         for (int i = 0; i < n; i++) {
-            result.append(element[i]).append(i < n - 1 ? ", " : "");
+            element[i].appendTo(result, options);
+            result.append(i < n - 1 ? ", " : "");
         }
 
         result.append("]");
-
-        return result.toString();
     }
 
     @Nonnull
@@ -2,6 +2,7 @@ package jscl.math.operator;
 
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
+import jscl.math.RenderOptions;
 import jscl.math.Variable;
 import jscl.math.function.Constant;
 import jscl.mathml.MathML;
@@ -144,35 +145,27 @@ public abstract class AbstractFunction extends Variable {
 
     public abstract Generic selfNumeric();
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
-
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         // f(x, y, z)
         result.append(name);
         result.append("(");
         for (int i = 0; i < parameters.length; i++) {
-            result.append(formatParameter(i));
+            appendParameter(result, options, i);
             if (i < parameters.length - 1) {
                 result.append(", ");
             }
         }
         result.append(")");
-
-        return result.toString();
     }
 
-    @Nonnull
-    protected final String formatParameter(int i) {
+    protected final void appendParameter(@Nonnull StringBuilder result, @Nonnull RenderOptions options, int i) {
         Generic parameter = parameters[i];
 
-        String result;
         if (parameter != null) {
-            result = parameter.toString();
+            parameter.appendTo(result, options);
         } else {
-            result = formatUndefinedParameter(i);
+            result.append(formatUndefinedParameter(i));
         }
-
-        return result;
     }
 
     @Nonnull
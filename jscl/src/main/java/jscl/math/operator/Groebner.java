@@ -17,7 +17,11 @@ public class Groebner extends Operator {
     public static final String NAME = "groebner";
 
     public Groebner(Generic generic, Generic variable, Generic ordering, Generic modulo) {
-        super(NAME, new Generic[]{generic, variable, ordering, modulo});
+        this(generic, variable, ordering, modulo, buchberger());
+    }
+
+    public Groebner(Generic generic, Generic variable, Generic ordering, Generic modulo, Generic algorithm) {
+        super(NAME, new Generic[]{generic, variable, ordering, modulo, algorithm});
     }
 
     private Groebner(Generic parameters[]) {
@@ -25,7 +29,7 @@ public class Groebner extends Operator {
     }
 
     private static Generic[] createParameters(Generic[] parameters) {
-        final Generic[] result = new Generic[4];
+        final Generic[] result = new Generic[5];
 
         try {
             result[0] = parameters[0];
@@ -35,10 +39,19 @@ public class Groebner extends Operator {
         } catch (ParseException e) {
             throw new ArithmeticException(e.getMessage());
         }
+        result[4] = parameters.length > 4 ? parameters[4] : buchberger();
 
         return result;
     }
 
+    private static Generic buchberger() {
+        try {
+            return Expression.valueOf("buchberger");
+        } catch (ParseException e) {
+            throw new ArithmeticException(e.getMessage());
+        }
+    }
+
     static Ordering ordering(Generic generic) {
         Variable v = generic.variableValue();
         if (v.compareTo(new Constant("lex")) == 0) return Monomial.lexicographic;
@@ -53,17 +66,32 @@ public class Groebner extends Operator {
         throw new ArithmeticException();
     }
 
+    // modular is the same as buchberger when a modulo is given, the basis is then computed over that prime field
+    static int algorithm(Generic generic) {
+        Variable v = generic.variableValue();
+        if (v.compareTo(new Constant("buchberger")) == 0) return Basis.BUCHBERGER;
+        else if (v.compareTo(new Constant("f4")) == 0) return Basis.F4;
+        else if (v.compareTo(new Constant("block")) == 0) return Basis.BLOCK;
+        else if (v.compareTo(new Constant("modular")) == 0) return Basis.MODULAR;
+        throw new ArithmeticException();
+    }
+
     @Override
     public int getMinParameters() {
         return 2;
     }
 
+    @Override
+    public int getMaxParameters() {
+        return 5;
+    }
+
     public Generic selfExpand() {
         Generic generic[] = ((JsclVector) parameters[0]).elements();
         Variable variable[] = toVariables((JsclVector) parameters[1]);
         Ordering ord = ordering(parameters[2]);
         int m = parameters[3].integerValue().intValue();
-        return new PolynomialVector(Basis.compute(generic, variable, ord, m));
+        return new PolynomialVector(Basis.compute(generic, variable, ord, m, algorithm(parameters[4]) | Basis.ADAPTIVE));
     }
 
     public Operator transmute() {
@@ -73,7 +101,7 @@ public class Groebner extends Operator {
             Variable variable[] = toVariables((JsclVector) p[1]);
             Ordering ord = ordering(parameters[2]);
             int m = parameters[3].integerValue().intValue();
-            return new Groebner(new PolynomialVector(new Basis(generic, Polynomial.factory(variable, ord, m))), p[1], parameters[2], parameters[3]);
+            return new Groebner(new PolynomialVector(new Basis(generic, Polynomial.factory(variable, ord, m))), p[1], parameters[2], parameters[3], parameters[4]);
         }
         return this;
     }
@@ -98,10 +126,13 @@ public class Groebner extends Operator {
     public void toMathML(MathML element, Object data) {
         MathML e1;
         int exponent = data instanceof Integer ? (Integer) data : 1;
-        int n = 4;
-        if (parameters[3].signum() == 0) {
-            n = 3;
-            if (ordering(parameters[2]) == Monomial.lexicographic) n = 2;
+        int n = 5;
+        if (algorithm(parameters[4]) == Basis.BUCHBERGER) {
+            n = 4;
+            if (parameters[3].signum() == 0) {
+                n = 3;
+                if (ordering(parameters[2]) == Monomial.lexicographic) n = 2;
+            }
         }
         if (exponent == 1) nameToMathML(element);
         else {
@@ -127,7 +158,7 @@ public class Groebner extends Operator {
 
     @Nonnull
     public Variable newInstance() {
-        return new Groebner(null, null, null, null);
+        return new Groebner(null, null, null, null, null);
     }
 }
 
@@ -143,18 +174,15 @@ class PolynomialVector extends JsclVector {
         this.basis = basis;
     }
 
-    public String toString() {
-        final StringBuilder result = new StringBuilder();
-
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         result.append("[");
 
         for (int i = 0; i < rows; i++) {
-            result.append(basis.polynomial(elements[i])).append(i < rows - 1 ? ", " : "");
+            basis.polynomial(elements[i]).appendTo(result, options);
+            result.append(i < rows - 1 ? ", " : "");
         }
 
         result.append("]");
-
-        return result.toString();
     }
 
     protected void bodyToMathML(MathML e0) {
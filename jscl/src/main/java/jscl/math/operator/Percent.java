@@ -60,7 +60,8 @@ public class Percent extends PostfixFunction {
         Generic percentValue = parameters[0];
 
         final Generic normalizedPercentage = percentValue.divide(JsclInteger.valueOf(100));
-        if (UNDEFINED_PARAMETER != parameters[1]) {
+        // parameters are converted to numbers in numeric(): the marker can't be checked by reference
+        if (parameters[1].compareTo(UNDEFINED_PARAMETER.numeric()) != 0) {
             Generic previousSumElement = parameters[1];
 
             return previousSumElement.multiply(normalizedPercentage);
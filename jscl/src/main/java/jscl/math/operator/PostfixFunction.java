@@ -1,8 +1,11 @@
 package jscl.math.operator;
 
 import jscl.math.Generic;
+import jscl.math.RenderOptions;
 import jscl.math.Variable;
 
+import javax.annotation.Nonnull;
+
 /**
  * User: serso
  * Date: 11/2/11
@@ -14,8 +17,9 @@ abstract class PostfixFunction extends Operator {
         super(name, parameter);
     }
 
-    public String toString() {
-        return formatParameter(0) + getName();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        appendParameter(result, options, 0);
+        result.append(getName());
     }
 
     public final Generic numeric() {
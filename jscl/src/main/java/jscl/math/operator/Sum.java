@@ -3,7 +3,9 @@ package jscl.math.operator;
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
 import jscl.math.NotIntegerException;
+import jscl.math.NumericWrapper;
 import jscl.math.Variable;
+import jscl.math.numeric.NumericAccumulator;
 import jscl.mathml.MathML;
 
 import javax.annotation.Nonnull;
@@ -60,6 +62,38 @@ public class Sum extends Operator {
         return expressionValue();
     }
 
+    /**
+     * Adds the numeric values of the terms without expanding them first, real and complex terms in a
+     * {@link NumericAccumulator}
+     */
+    @Override
+    public Generic numeric() {
+        final Variable variable = parameters[1].variableValue();
+        final int from, to;
+        try {
+            from = parameters[2].expand().integerValue().intValue();
+            to = parameters[3].expand().integerValue().intValue();
+        } catch (NotIntegerException e) {
+            return super.numeric();
+        }
+
+        final NumericAccumulator sum = new NumericAccumulator();
+        // set once a term is not a real or complex number
+        Generic result = null;
+        for (int i = from; i <= to; i++) {
+            final Generic term = parameters[0].substitute(variable, JsclInteger.valueOf(i)).numeric();
+            if (result == null && term instanceof NumericWrapper && NumericAccumulator.accepts(((NumericWrapper) term).content())) {
+                sum.add(((NumericWrapper) term).content());
+            } else {
+                result = (result == null ? new NumericWrapper(sum.toNumeric()) : result).add(term);
+            }
+        }
+        if (result != null) {
+            return result;
+        }
+        return from <= to ? new NumericWrapper(sum.toNumeric()) : JsclInteger.ZERO.numeric();
+    }
+
     public void toMathML(MathML element, Object data) {
         int exponent = data instanceof Integer ? (Integer) data : 1;
         if (exponent == 1) bodyToMathML(element);
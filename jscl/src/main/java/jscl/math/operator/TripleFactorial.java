@@ -2,6 +2,7 @@ package jscl.math.operator;
 
 import jscl.NotSupportedException;
 import jscl.math.Generic;
+import jscl.math.RenderOptions;
 import jscl.math.Variable;
 import jscl.mathml.MathML;
 import jscl.text.ParserUtils;
@@ -51,7 +52,7 @@ public class TripleFactorial extends PostfixFunction {
     }
 
     @Override
-    public String toString() {
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
         throw new NotSupportedException(Messages.msg_18);
     }
 
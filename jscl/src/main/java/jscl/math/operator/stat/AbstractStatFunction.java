@@ -1,8 +1,18 @@
 package jscl.math.operator.stat;
 
 import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.NumericWrapper;
+import jscl.math.numeric.Numeric;
+import jscl.math.numeric.NumericAccumulator;
+import jscl.math.numeric.Real;
 import jscl.math.operator.Operator;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Comparator;
+
 /**
  * User: serso
  * Date: 1/15/12
@@ -22,4 +32,115 @@ public abstract class AbstractStatFunction extends Operator {
 
         return selfNumeric();
     }
+
+    @Nonnull
+    static Generic[] numeric(@Nonnull Generic[] elements) {
+        final Generic[] result = new Generic[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            result[i] = elements[i].numeric();
+        }
+        return result;
+    }
+
+    /**
+     * @return values of <var>numerics</var> if all of them are reals (double precision), null otherwise
+     */
+    @Nullable
+    static double[] doubles(@Nonnull Generic[] numerics) {
+        final double[] result = new double[numerics.length];
+        for (int i = 0; i < numerics.length; i++) {
+            final Generic numeric = numerics[i];
+            if (!(numeric instanceof NumericWrapper) || !(((NumericWrapper) numeric).content() instanceof Real)) {
+                return null;
+            }
+            result[i] = ((NumericWrapper) numeric).content().doubleValue();
+        }
+        return result;
+    }
+
+    @Nonnull
+    static Generic numeric(double value) {
+        return new NumericWrapper(Real.valueOf(value));
+    }
+
+    /**
+     * @return <var>p</var>-percentile of <var>numerics</var>, see {@link Statistics#percentile(double[], double)}
+     */
+    @Nonnull
+    static Generic percentile(@Nonnull Generic[] numerics, double p) {
+        final double[] values = doubles(numerics);
+        if (values != null) {
+            return numeric(Statistics.percentile(values, p));
+        }
+        if (!(p >= 0 && p <= 1)) {
+            throw new ArithmeticException("Percentile " + p + " of " + numerics.length + " values");
+        }
+
+        final Generic[] sorted = numerics.clone();
+        Arrays.sort(sorted, new Comparator<Generic>() {
+            @Override
+            public int compare(Generic l, Generic r) {
+                return l.subtract(r).signum();
+            }
+        });
+        final double rank = p * (sorted.length - 1);
+        final int lower = (int) rank;
+        if (lower == rank) {
+            return sorted[lower];
+        }
+        final Generic value = sorted[lower];
+        return value.add(sorted[lower + 1].subtract(value).multiply(numeric(rank - lower)));
+    }
+
+    /**
+     * @return sum of <var>numerics</var>, added in a {@link NumericAccumulator} if all of them are real or complex
+     */
+    @Nonnull
+    static Generic sum(@Nonnull Generic[] numerics) {
+        if (accepts(numerics)) {
+            final NumericAccumulator sum = new NumericAccumulator();
+            for (Generic numeric : numerics) {
+                sum.add(((NumericWrapper) numeric).content());
+            }
+            return new NumericWrapper(sum.toNumeric());
+        }
+        Generic result = numerics[0];
+        for (int i = 1; i < numerics.length; i++) {
+            result = result.add(numerics[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @return sum of (x - <var>mean</var>)^2 for all x in <var>numerics</var>
+     */
+    @Nonnull
+    static Generic sumOfSquares(@Nonnull Generic[] numerics, @Nonnull Generic mean) {
+        if (accepts(numerics) && accepts(mean)) {
+            final Numeric m = ((NumericWrapper) mean).content();
+            final NumericAccumulator sum = new NumericAccumulator();
+            for (Generic numeric : numerics) {
+                sum.addSquaredDifference(((NumericWrapper) numeric).content(), m);
+            }
+            return new NumericWrapper(sum.toNumeric());
+        }
+        Generic result = new NumericWrapper(JsclInteger.ZERO);
+        for (Generic numeric : numerics) {
+            result = result.add(numeric.subtract(mean).pow(2));
+        }
+        return result;
+    }
+
+    private static boolean accepts(@Nonnull Generic[] numerics) {
+        for (Generic numeric : numerics) {
+            if (!accepts(numeric)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean accepts(@Nonnull Generic numeric) {
+        return numeric instanceof NumericWrapper && NumericAccumulator.accepts(((NumericWrapper) numeric).content());
+    }
 }
@@ -49,11 +49,12 @@ public class Mean extends AbstractStatFunction {
             } else if (elements.length == 1) {
                 return elements[0];
             } else {
-                Generic result = elements[0].numeric();
-                for (int i = 1; i < elements.length; i++) {
-                    result = result.add(elements[i].numeric());
+                final Generic[] numerics = numeric(elements);
+                final double[] values = doubles(numerics);
+                if (values != null) {
+                    return numeric(Statistics.of(values).getMean());
                 }
-                return result.divide(JsclInteger.valueOf(elements.length).numeric());
+                return sum(numerics).divide(JsclInteger.valueOf(elements.length).numeric());
             }
         } else {
             return expressionValue();
@@ -50,12 +50,14 @@ public class MeanSquareDeviation extends AbstractStatFunction {
             } else if (elements.length == 1) {
                 return new NumericWrapper(JsclInteger.ZERO);
             } else {
-                final Generic mean = new Mean(vector).numeric();
-
-                Generic result = new NumericWrapper(JsclInteger.ZERO);
-                for (int i = 0; i < elements.length; i++) {
-                    result = result.add(elements[i].numeric().subtract(mean).pow(2));
+                final Generic[] numerics = numeric(elements);
+                final double[] values = doubles(numerics);
+                if (values != null) {
+                    return numeric(Math.sqrt(Statistics.of(values).getVariance()));
                 }
+                final Generic mean = sum(numerics).divide(JsclInteger.valueOf(elements.length).numeric());
+
+                final Generic result = sumOfSquares(numerics, mean);
                 return new Sqrt(result.divide(JsclInteger.valueOf(elements.length).numeric())).numeric();
             }
         } else {
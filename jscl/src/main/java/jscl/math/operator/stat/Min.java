@@ -49,11 +49,16 @@ public class Min extends AbstractStatFunction {
             } else if (elements.length == 1) {
                 return elements[0];
             } else {
-                Generic result = elements[0].numeric();
+                final Generic[] numerics = numeric(elements);
+                final double[] values = doubles(numerics);
+                if (values != null) {
+                    return numeric(Statistics.of(values).getMin());
+                }
 
-                for (int i = 1; i < elements.length; i++) {
-                    final Generic candidate = elements[i].numeric();
-                    if (result.subtract(candidate).signum() < 0) {
+                Generic result = numerics[0];
+                for (int i = 1; i < numerics.length; i++) {
+                    final Generic candidate = numerics[i];
+                    if (result.subtract(candidate).signum() > 0) {
                         result = candidate;
                     }
                 }
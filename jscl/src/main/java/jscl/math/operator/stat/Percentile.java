@@ -0,0 +1,62 @@
+package jscl.math.operator.stat;
+
+import jscl.math.*;
+import jscl.math.operator.Operator;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Value below which the given fraction (0 to 1, e.g. 90%) of the elements lies, interpolated linearly between the
+ * closest elements
+ */
+public class Percentile extends AbstractStatFunction {
+
+    public static final String NAME = "percentile";
+
+    public Percentile(JsclVector vector, Generic fraction) {
+        this(new Generic[]{vector, fraction});
+    }
+
+    private Percentile(@Nonnull Generic[] parameters) {
+        super(NAME, parameters);
+    }
+
+    @Nonnull
+    @Override
+    public Operator newInstance(@Nonnull Generic[] parameters) {
+        return new Percentile(parameters);
+    }
+
+    @Override
+    public int getMinParameters() {
+        return 2;
+    }
+
+    @Override
+    public Generic selfExpand() {
+        return expressionValue();
+    }
+
+    @Override
+    public Generic selfNumeric() {
+        if (parameters[0] instanceof JsclVector) {
+            final JsclVector vector = (JsclVector) parameters[0];
+            final Generic[] elements = vector.elements();
+            final double fraction = parameters[1].numeric().doubleValue();
+
+            if (elements.length == 0) {
+                return new NumericWrapper(JsclInteger.ZERO);
+            } else {
+                return percentile(numeric(elements), fraction);
+            }
+        } else {
+            return expressionValue();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Variable newInstance() {
+        return new Percentile(null, null);
+    }
+}
@@ -50,12 +50,15 @@ public class StandardDeviation extends AbstractStatFunction {
             } else if (elements.length == 1) {
                 return new NumericWrapper(JsclInteger.ZERO);
             } else {
-                final Generic mean = new Mean(vector).numeric();
-
-                Generic result = new NumericWrapper(JsclInteger.ZERO);
-                for (int i = 0; i < elements.length; i++) {
-                    result = result.add(elements[i].numeric().subtract(mean).pow(2));
+                final Generic[] numerics = numeric(elements);
+                final double[] values = doubles(numerics);
+                if (values != null) {
+                    final Statistics statistics = Statistics.of(values);
+                    return numeric(Math.sqrt(statistics.getSumOfSquares() / (statistics.getCount() + 1)));
                 }
+                final Generic mean = sum(numerics).divide(JsclInteger.valueOf(elements.length).numeric());
+
+                final Generic result = sumOfSquares(numerics, mean);
                 return new Sqrt(result.divide(JsclInteger.valueOf(elements.length).numeric().subtract(JsclInteger.ONE.negate().numeric()))).numeric();
             }
         } else {
@@ -0,0 +1,224 @@
+package jscl.math.operator.stat;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Count, sum, mean, sum of squared deviations from the mean (Welford), minimum and maximum of doubles computed in one
+ * pass. Statistics of parts of the values are merged with {@link #combine(Statistics)}, large arrays are split into
+ * parts which are computed in parallel.
+ */
+public final class Statistics {
+
+    // arrays of at least this size are split into parts computed in parallel
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private long count;
+    private double sum;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    @Nonnull
+    public static Statistics of(@Nonnull double[] values) {
+        if (values.length >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            return PoolHolder.pool.invoke(new Task(values, 0, values.length));
+        }
+        return of(values, 0, values.length);
+    }
+
+    @Nonnull
+    public static Statistics of(@Nonnull double[] values, int from, int to) {
+        final Statistics result = new Statistics();
+        for (int i = from; i < to; i++) {
+            result.accept(values[i]);
+        }
+        return result;
+    }
+
+    public void accept(double value) {
+        count++;
+        sum += value;
+        final double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the values of <var>that</var> to this statistics (Chan et al.)
+     */
+    @Nonnull
+    public Statistics combine(@Nonnull Statistics that) {
+        if (that.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = that.count;
+            sum = that.sum;
+            mean = that.mean;
+            m2 = that.m2;
+            min = that.min;
+            max = that.max;
+            return this;
+        }
+        final long n = count + that.count;
+        final double delta = that.mean - mean;
+        mean += delta * that.count / n;
+        m2 += that.m2 + delta * delta * count * that.count / n;
+        count = n;
+        sum += that.sum;
+        min = Math.min(min, that.min);
+        max = Math.max(max, that.max);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return sum of squared deviations from the mean
+     */
+    public double getSumOfSquares() {
+        return m2;
+    }
+
+    /**
+     * @return sum divided by count (as the sum of the values is divided by their number), NaN if there are no values
+     */
+    public double getMean() {
+        return sum / count;
+    }
+
+    /**
+     * @return sum of squared deviations from the mean divided by count
+     */
+    public double getVariance() {
+        return m2 / count;
+    }
+
+    /**
+     * @return sum of squared deviations from the mean divided by count - 1
+     */
+    public double getSampleVariance() {
+        return m2 / (count - 1);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * @param p fraction of the values which are not greater than the result, from 0 to 1
+     * @return percentile of <var>values</var> interpolated linearly between the closest ranks (as PERCENTILE.INC of
+     * spreadsheets), the order of <var>values</var> is changed
+     */
+    public static double percentile(@Nonnull double[] values, double p) {
+        if (values.length == 0 || !(p >= 0 && p <= 1)) {
+            throw new ArithmeticException("Percentile " + p + " of " + values.length + " values");
+        }
+        final double rank = p * (values.length - 1);
+        final int lower = (int) rank;
+        final double value = select(values, lower);
+        if (lower == rank) {
+            return value;
+        }
+        // values after the lower rank are not smaller after the selection
+        double next = values[lower + 1];
+        for (int i = lower + 2; i < values.length; i++) {
+            next = Math.min(next, values[i]);
+        }
+        return value + (rank - lower) * (next - value);
+    }
+
+    /**
+     * Quickselect: moves the k-th smallest value to <var>values</var>[k], smaller values before and larger values
+     * after it
+     */
+    static double select(@Nonnull double[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        while (right > left) {
+            if (right - left < 16) {
+                Arrays.sort(values, left, right + 1);
+                break;
+            }
+            // median of three as pivot
+            final int middle = (left + right) >>> 1;
+            if (values[middle] < values[left]) swap(values, left, middle);
+            if (values[right] < values[left]) swap(values, left, right);
+            if (values[right] < values[middle]) swap(values, middle, right);
+            final double pivot = values[middle];
+
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    private static void swap(@Nonnull double[] values, int i, int j) {
+        final double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static final class PoolHolder {
+        static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    private static final class Task extends RecursiveTask<Statistics> {
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        Task(@Nonnull double[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Statistics compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                return of(values, from, to);
+            }
+            final int middle = (from + to) >>> 1;
+            final Task left = new Task(values, from, middle);
+            left.fork();
+            final Statistics right = new Task(values, middle, to).compute();
+            return left.join().combine(right);
+        }
+    }
+}
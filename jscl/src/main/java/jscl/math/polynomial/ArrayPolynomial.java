@@ -1,5 +1,6 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Expression;
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
@@ -30,6 +31,7 @@ final class ArrayPolynomial extends Polynomial {
     }
 
     void init(int size) {
+        Budget.terms(size);
         content = new Term[size];
         this.size = size;
     }
@@ -235,6 +237,19 @@ final class ArrayPolynomial extends Polynomial {
         return p;
     }
 
+    public Polynomial valueOf(Term term[]) {
+        ArrayPolynomial p = newinstance(term.length);
+        int sugar = 0;
+        for (int i = 0; i < term.length; i++) {
+            Monomial m = term[i].monomial();
+            p.content[i] = new Term(m, coefficient(term[i].coef()));
+            sugar = Math.max(sugar, m.degree());
+        }
+        p.degree = degree(p);
+        p.sugar = sugar;
+        return p;
+    }
+
     public Polynomial freeze() {
         return this;
     }
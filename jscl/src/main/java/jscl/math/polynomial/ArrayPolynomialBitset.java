@@ -0,0 +1,313 @@
+package jscl.math.polynomial;
+
+import jscl.Budget;
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclBoolean;
+import jscl.math.JsclInteger;
+import jscl.math.Literal;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Polynomial of the boolean ring over GF(2) with bit-packed monomials.
+ * <p>
+ * Terms are kept as one flat int array of {@link DefinedBooleanMonomial} words sorted in increasing order, so
+ * addition is a merge which drops equal terms (XOR of the term sets) and never allocates per term. Monomial
+ * objects are only created when terms are iterated.
+ */
+class ArrayPolynomialBitset extends Polynomial {
+    static final Generic one = new JsclBoolean(1);
+    final int words;
+    final boolean graded;
+    final boolean reverse;
+    int data[];
+    int size;
+    int degree;
+
+    ArrayPolynomialBitset(Monomial monomialFactory) {
+        super(monomialFactory, JsclBoolean.factory);
+        words = monomialFactory.element.length;
+        graded = ordering instanceof DegreeOrdering;
+        reverse = ordering == SmallMonomial.degreeReverseLexicographic;
+        data = new int[0];
+    }
+
+    ArrayPolynomialBitset(int size, Monomial monomialFactory) {
+        this(monomialFactory);
+        data = new int[size * words];
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Iterator<Term> iterator(boolean direction, Monomial current) {
+        return new ContentIterator(direction, current);
+    }
+
+    Term term(int index) {
+        return new Term(monomial(index), one);
+    }
+
+    Monomial monomial(int index) {
+        Monomial m = monomialFactory.newinstance();
+        System.arraycopy(data, index * words, m.element, 0, words);
+        m.degree = degree(data, index);
+        return m;
+    }
+
+    int degree(int a[], int i) {
+        int d = 0;
+        for (int k = i * words, n = k + words; k < n; k++) d += Integer.bitCount(a[k]);
+        return d;
+    }
+
+    int compare(int a[], int i, int b[], int j) {
+        if (graded) {
+            int d1 = degree(a, i);
+            int d2 = degree(b, j);
+            if (d1 != d2) return d1 < d2 ? -1 : 1;
+        }
+        for (int k = words - 1; k >= 0; k--) {
+            long l1 = a[i * words + k] & 0xffffffffl;
+            long l2 = b[j * words + k] & 0xffffffffl;
+            if (l1 != l2) return (l1 < l2) != reverse ? -1 : 1;
+        }
+        return 0;
+    }
+
+    int indexOf(Monomial monomial, boolean direction) {
+        if (monomial == null) return direction ? size : 0;
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compare(data, mid, monomial.element, 0);
+            if (c < 0) lo = mid + 1;
+            else if (c > 0) hi = mid - 1;
+            else return direction ? mid : mid + 1;
+        }
+        return lo;
+    }
+
+    @Nonnull
+    public Polynomial subtract(@Nonnull Polynomial that) {
+        ArrayPolynomialBitset q = (ArrayPolynomialBitset) that;
+        if (q.size == 0) return this;
+        if (size == 0) return q;
+        int r[] = new int[(size + q.size) * words];
+        int i1 = 0, i2 = 0, n = 0;
+        while (i1 < size || i2 < q.size) {
+            int c = i1 == size ? 1 : (i2 == q.size ? -1 : compare(data, i1, q.data, i2));
+            if (c < 0) System.arraycopy(data, i1++ * words, r, n++ * words, words);
+            else if (c > 0) System.arraycopy(q.data, i2++ * words, r, n++ * words, words);
+            else {
+                i1++;
+                i2++;
+            }
+        }
+        ArrayPolynomialBitset p = newinstance(r, n);
+        p.sugar = Math.max(sugar, q.sugar);
+        return p;
+    }
+
+    public Polynomial multiplyAndSubtract(Generic generic, Polynomial polynomial) {
+        if (generic.signum() == 0) return this;
+        return subtract(polynomial);
+    }
+
+    public Polynomial multiplyAndSubtract(Monomial monomial, Generic generic, Polynomial polynomial) {
+        if (generic.signum() == 0) return this;
+        return subtract(polynomial.multiply(monomial));
+    }
+
+    public Polynomial multiply(Generic generic) {
+        if (generic.signum() == 0) return valueOf(JsclInteger.valueOf(0));
+        return this;
+    }
+
+    public Polynomial multiply(Monomial monomial) {
+        if (monomial.degree() == 0) return this;
+        int a[] = new int[size * words];
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < words; k++) a[i * words + k] = data[i * words + k] | monomial.element[k];
+        }
+        int index[] = new int[size];
+        for (int i = 0; i < size; i++) index[i] = i;
+        sort(a, index, new int[size], 0, size);
+        int r[] = new int[size * words];
+        int n = 0;
+        for (int i = 0; i < size; ) {
+            int j = i + 1;
+            while (j < size && compare(a, index[i], a, index[j]) == 0) j++;
+            if (((j - i) & 1) != 0) System.arraycopy(a, index[i] * words, r, n++ * words, words);
+            i = j;
+        }
+        ArrayPolynomialBitset p = newinstance(r, n);
+        p.sugar = sugar + monomial.degree();
+        return p;
+    }
+
+    void sort(int a[], int index[], int buffer[], int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        sort(a, index, buffer, from, mid);
+        sort(a, index, buffer, mid, to);
+        if (compare(a, index[mid - 1], a, index[mid]) <= 0) return;
+        System.arraycopy(index, from, buffer, from, to - from);
+        int i = from, j = mid;
+        for (int k = from; k < to; k++) {
+            if (j == to || (i < mid && compare(a, buffer[i], a, buffer[j]) <= 0)) index[k] = buffer[i++];
+            else index[k] = buffer[j++];
+        }
+    }
+
+    public Polynomial divide(Generic generic) throws ArithmeticException {
+        if (generic.signum() == 0) throw new ArithmeticException();
+        return this;
+    }
+
+    public Polynomial divide(Monomial monomial) throws ArithmeticException {
+        if (monomial.degree() == 0) return this;
+        int r[] = new int[size * words];
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < words; k++) {
+                int a = data[i * words + k];
+                int b = monomial.element[k];
+                if ((b & ~a) != 0) throw new ArithmeticException();
+                r[i * words + k] = a & ~b;
+            }
+        }
+        ArrayPolynomialBitset p = newinstance(r, size);
+        p.sugar = sugar - monomial.degree();
+        return p;
+    }
+
+    public Polynomial gcd(Polynomial polynomial) {
+        throw new UnsupportedOperationException();
+    }
+
+    public int degree() {
+        return degree;
+    }
+
+    public Polynomial valueOf(Polynomial polynomial) {
+        if (polynomial instanceof ArrayPolynomialBitset) {
+            ArrayPolynomialBitset q = (ArrayPolynomialBitset) polynomial;
+            ArrayPolynomialBitset p = newinstance(q.data.clone(), q.size);
+            p.sugar = q.sugar;
+            return p;
+        }
+        return valueOf(polynomial.genericValue());
+    }
+
+    public Polynomial valueOf(Generic generic) {
+        if (generic instanceof Expression) {
+            Expression expression = (Expression) generic;
+            Map<Monomial, Generic> map = new TreeMap<Monomial, Generic>();
+            int n = expression.size();
+            for (int i = 0; i < n; i++) {
+                // x^k = x in the boolean ring, the monomial absorbs all powers
+                Monomial m = monomial(expression.literal(i));
+                Generic a2 = coefficient(expression.coef(i));
+                Generic a1 = map.get(m);
+                Generic a = a1 == null ? a2 : a1.add(a2);
+                if (a.signum() == 0) map.remove(m);
+                else map.put(m, a);
+            }
+            int r[] = new int[map.size() * words];
+            int sugar = 0;
+            Iterator<Monomial> it = map.keySet().iterator();
+            for (int i = 0; it.hasNext(); i++) {
+                Monomial m = it.next();
+                System.arraycopy(m.element, 0, r, i * words, words);
+                sugar = Math.max(sugar, m.degree());
+            }
+            ArrayPolynomialBitset p = newinstance(r, map.size());
+            p.sugar = sugar;
+            return p;
+        } else {
+            return coefficient(generic).signum() != 0 ? valueOf(monomial(Literal.newInstance())) : newinstance(new int[0], 0);
+        }
+    }
+
+    public Polynomial valueOf(Monomial monomial) {
+        int r[] = new int[words];
+        System.arraycopy(monomial.element, 0, r, 0, words);
+        ArrayPolynomialBitset p = newinstance(r, 1);
+        p.sugar = monomial.degree();
+        return p;
+    }
+
+    public Polynomial valueOf(Term term[]) {
+        int r[] = new int[term.length * words];
+        int n = 0;
+        for (int i = 0; i < term.length; i++) {
+            if (term[i].coef().signum() == 0) continue;
+            System.arraycopy(term[i].monomial().element, 0, r, n++ * words, words);
+        }
+        ArrayPolynomialBitset p = newinstance(r, n);
+        for (int i = 0; i < n; i++) p.sugar = Math.max(p.sugar, degree(r, i));
+        return p;
+    }
+
+    public Polynomial freeze() {
+        return this;
+    }
+
+    public Term head() {
+        return size > 0 ? term(size - 1) : null;
+    }
+
+    public Term tail() {
+        return size > 0 ? term(0) : null;
+    }
+
+    public int compareTo(Polynomial polynomial) {
+        ArrayPolynomialBitset q = (ArrayPolynomialBitset) polynomial;
+        int i1 = size;
+        int i2 = q.size;
+        while (i1 > 0 || i2 > 0) {
+            int c = i1 == 0 ? -1 : (i2 == 0 ? 1 : compare(data, i1 - 1, q.data, i2 - 1));
+            if (c != 0) return c;
+            i1--;
+            i2--;
+        }
+        return 0;
+    }
+
+    ArrayPolynomialBitset newinstance(int data[], int size) {
+        Budget.terms(size);
+        ArrayPolynomialBitset p = new ArrayPolynomialBitset(monomialFactory);
+        p.data = data;
+        p.size = size;
+        p.degree = size > 0 ? degree(data, size - 1) : 0;
+        return p;
+    }
+
+    class ContentIterator implements Iterator<Term> {
+        final boolean direction;
+        int index;
+
+        ContentIterator(boolean direction, Monomial current) {
+            this.direction = direction;
+            index = indexOf(current, direction);
+        }
+
+        public boolean hasNext() {
+            return direction ? index > 0 : index < size;
+        }
+
+        public Term next() {
+            return direction ? term(--index) : term(index++);
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
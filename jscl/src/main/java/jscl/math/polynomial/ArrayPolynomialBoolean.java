@@ -1,5 +1,6 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Generic;
 import jscl.math.JsclBoolean;
 import jscl.math.JsclInteger;
@@ -20,6 +21,7 @@ class ArrayPolynomialBoolean extends ArrayPolynomialModular {
     }
 
     void init(int size) {
+        Budget.terms(size);
         monomial = new Monomial[size];
         this.size = size;
     }
@@ -78,6 +80,11 @@ class ArrayPolynomialBoolean extends ArrayPolynomialModular {
         return this;
     }
 
+    public Polynomial divide(Generic generic) throws ArithmeticException {
+        if (generic.signum() == 0) throw new ArithmeticException();
+        return this;
+    }
+
     public Polynomial multiply(Monomial monomial) {
         if (defined) {
             Map map = new TreeMap(ordering);
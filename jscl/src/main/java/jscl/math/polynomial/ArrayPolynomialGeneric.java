@@ -1,5 +1,6 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Expression;
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
@@ -31,6 +32,7 @@ class ArrayPolynomialGeneric extends Polynomial {
     }
 
     void init(int size) {
+        Budget.terms(size);
         monomial = new Monomial[size];
         coef = new Generic[size];
         this.size = size;
@@ -61,6 +63,12 @@ class ArrayPolynomialGeneric extends Polynomial {
         };
     }
 
+    public Generic coefficient(Monomial monomial) {
+        // monomials compare in their own ordering
+        int n = Arrays.binarySearch(this.monomial, monomial);
+        return n < 0 ? coefficient(JsclInteger.valueOf(0)) : getCoef(n);
+    }
+
     int indexOf(Monomial monomial, boolean direction) {
         if (monomial == null) return direction ? size : 0;
         int n = Arrays.binarySearch(this.monomial, monomial, ordering);
@@ -283,6 +291,20 @@ class ArrayPolynomialGeneric extends Polynomial {
         return p;
     }
 
+    public Polynomial valueOf(Term term[]) {
+        ArrayPolynomialGeneric p = newinstance(term.length);
+        int sugar = 0;
+        for (int i = 0; i < term.length; i++) {
+            Monomial m = term[i].monomial();
+            p.monomial[i] = m;
+            p.setCoef(i, coefficient(term[i].coef()));
+            sugar = Math.max(sugar, m.degree());
+        }
+        p.degree = degree(p);
+        p.sugar = sugar;
+        return p;
+    }
+
     public Polynomial freeze() {
         return this;
     }
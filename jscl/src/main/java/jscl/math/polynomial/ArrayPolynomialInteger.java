@@ -1,5 +1,6 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
 
@@ -19,6 +20,7 @@ class ArrayPolynomialInteger extends ArrayPolynomialGeneric {
     }
 
     void init(int size) {
+        Budget.terms(size);
         monomial = new Monomial[size];
         coef = new BigInteger[size];
         this.size = size;
@@ -1,10 +1,12 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
 import jscl.math.ModularInteger;
 
 import javax.annotation.Nonnull;
+import java.math.BigInteger;
 
 class ArrayPolynomialModular extends ArrayPolynomialGeneric {
     final int modulo;
@@ -21,6 +23,7 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
     }
 
     void init(int size) {
+        Budget.terms(size);
         monomial = new Monomial[size];
         coef = new int[size];
         this.size = size;
@@ -58,13 +61,14 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
                 p.coef[i] = a;
                 m1 = i1 > 0 ? monomial[--i1] : null;
             } else if (c > 0) {
-                int a = (int) (((long) modulo - (long) q.coef[i2]) % modulo);
+                int a = modulo - q.coef[i2];
                 --i;
                 p.monomial[i] = m2;
                 p.coef[i] = a;
                 m2 = i2 > 0 ? q.monomial[--i2] : null;
             } else {
-                int a = (int) (((long) coef[i1] + (long) modulo - (long) q.coef[i2]) % modulo);
+                int a = coef[i1] - q.coef[i2];
+                if (a < 0) a += modulo;
                 if (a != 0) {
                     --i;
                     p.monomial[i] = m1;
@@ -82,8 +86,10 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
 
     public Polynomial multiplyAndSubtract(Generic generic, Polynomial polynomial) {
         if (generic.signum() == 0) return this;
-        int g = generic.integerValue().intValue();
+        int g = residue(generic);
+        if (g == 0) return this;
         if (g == 1) return subtract(polynomial);
+        long gp = precompute(g);
         ArrayPolynomialModular q = (ArrayPolynomialModular) polynomial;
         ArrayPolynomialModular p = (ArrayPolynomialModular) newinstance(size + q.size);
         int i = p.size;
@@ -100,13 +106,16 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
                 p.coef[i] = a;
                 m1 = i1 > 0 ? monomial[--i1] : null;
             } else if (c > 0) {
-                int a = (int) (((long) modulo - ((long) q.coef[i2] * (long) g) % modulo) % modulo);
-                --i;
-                p.monomial[i] = m2;
-                p.coef[i] = a;
+                int a = multiply(q.coef[i2], g, gp);
+                if (a != 0) {
+                    --i;
+                    p.monomial[i] = m2;
+                    p.coef[i] = modulo - a;
+                }
                 m2 = i2 > 0 ? q.monomial[--i2] : null;
             } else {
-                int a = (int) (((long) coef[i1] + (long) modulo - ((long) q.coef[i2] * (long) g) % modulo) % modulo);
+                int a = coef[i1] - multiply(q.coef[i2], g, gp);
+                if (a < 0) a += modulo;
                 if (a != 0) {
                     --i;
                     p.monomial[i] = m1;
@@ -126,7 +135,9 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
         if (defined) throw new UnsupportedOperationException();
         if (generic.signum() == 0) return this;
         if (monomial.degree() == 0) return multiplyAndSubtract(generic, polynomial);
-        int g = generic.integerValue().intValue();
+        int g = residue(generic);
+        if (g == 0) return this;
+        long gp = precompute(g);
         ArrayPolynomialModular q = (ArrayPolynomialModular) polynomial;
         ArrayPolynomialModular p = (ArrayPolynomialModular) newinstance(size + q.size);
         int i = p.size;
@@ -143,13 +154,16 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
                 p.coef[i] = a;
                 m1 = i1 > 0 ? this.monomial[--i1] : null;
             } else if (c > 0) {
-                int a = (int) (((long) modulo - ((long) q.coef[i2] * (long) g) % modulo) % modulo);
-                --i;
-                p.monomial[i] = m2;
-                p.coef[i] = a;
+                int a = multiply(q.coef[i2], g, gp);
+                if (a != 0) {
+                    --i;
+                    p.monomial[i] = m2;
+                    p.coef[i] = modulo - a;
+                }
                 m2 = i2 > 0 ? q.monomial[--i2].multiply(monomial) : null;
             } else {
-                int a = (int) (((long) coef[i1] + (long) modulo - ((long) q.coef[i2] * (long) g) % modulo) % modulo);
+                int a = coef[i1] - multiply(q.coef[i2], g, gp);
+                if (a < 0) a += modulo;
                 if (a != 0) {
                     --i;
                     p.monomial[i] = m1;
@@ -167,18 +181,37 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
 
     public Polynomial multiply(Generic generic) {
         if (generic.signum() == 0) return valueOf(JsclInteger.valueOf(0));
-        int g = generic.integerValue().intValue();
+        return multiply(residue(generic));
+    }
+
+    Polynomial multiply(int g) {
+        if (g == 0) return valueOf(JsclInteger.valueOf(0));
         if (g == 1) return this;
+        long gp = precompute(g);
         ArrayPolynomialModular p = (ArrayPolynomialModular) newinstance(size);
-        for (int i = 0; i < size; i++) {
-            p.monomial[i] = monomial[i];
-            p.coef[i] = (int) (((long) coef[i] * (long) g) % modulo);
+        int i = p.size;
+        for (int j = size - 1; j >= 0; j--) {
+            int c = multiply(coef[j], g, gp);
+            // zero divisors of a composite modulus
+            if (c == 0) continue;
+            --i;
+            p.monomial[i] = monomial[j];
+            p.coef[i] = c;
         }
-        p.degree = degree;
+        if (i > 0) {
+            p.resize(p.size - i);
+            p.degree = degree(p);
+        } else p.degree = degree;
         p.sugar = sugar;
         return p;
     }
 
+    public Polynomial divide(Generic generic) throws ArithmeticException {
+        int g = residue(generic);
+        if (g == 0) throw new ArithmeticException();
+        return multiply(inverse(g));
+    }
+
     public Polynomial multiply(Monomial monomial) {
         if (defined) throw new UnsupportedOperationException();
         if (monomial.degree() == 0) return this;
@@ -192,6 +225,47 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
         return p;
     }
 
+    int residue(Generic generic) {
+        if (generic instanceof ModularInteger) {
+            int a = ((ModularInteger) generic).content() % modulo;
+            return a < 0 ? a + modulo : a;
+        }
+        return generic.integerValue().content().mod(BigInteger.valueOf(modulo)).intValue();
+    }
+
+    /**
+     * Precomputed quotient floor(g * 2^32 / p) for Shoup multiplication by the fixed factor g
+     */
+    long precompute(int g) {
+        return ((long) g << 32) / modulo;
+    }
+
+    /**
+     * Returns x * g mod p for x, g in [0, p) without division: the precomputed quotient estimates x * g / p
+     * up to one, so the remainder only needs a conditional subtraction
+     */
+    int multiply(int x, int g, long gp) {
+        long q = ((long) x * gp) >>> 32;
+        long r = (long) x * g - q * modulo;
+        return (int) (r >= modulo ? r - modulo : r);
+    }
+
+    int inverse(int a) {
+        long t = 0, u = 1;
+        long r = modulo, s = a;
+        while (s != 0) {
+            long q = r / s;
+            long x = t - q * u;
+            t = u;
+            u = x;
+            x = r - q * s;
+            r = s;
+            s = x;
+        }
+        if (r != 1) throw new ArithmeticException();
+        return (int) (t < 0 ? t + modulo : t);
+    }
+
     protected Generic coefficient(Generic generic) {
         return coefFactory.valueOf(generic);
     }
@@ -201,7 +275,7 @@ class ArrayPolynomialModular extends ArrayPolynomialGeneric {
     }
 
     protected void setCoef(int n, Generic generic) {
-        coef[n] = generic.integerValue().intValue();
+        coef[n] = residue(generic);
     }
 
     protected ArrayPolynomialGeneric newinstance(int n) {
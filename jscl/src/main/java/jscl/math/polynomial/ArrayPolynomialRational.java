@@ -1,5 +1,6 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Generic;
 import jscl.math.Rational;
 
@@ -16,6 +17,7 @@ class ArrayPolynomialRational extends ArrayPolynomialGeneric {
     }
 
     void init(int size) {
+        Budget.terms(size);
         monomial = new Monomial[size];
         coef = new Rational[size];
         this.size = size;
@@ -33,6 +33,14 @@ public class Basis {
     public static final int SUGAR = 0x800;
     public static final int FUSSY = 0x1000;
     public static final int F4_SIMPLIFY = 0x2000;
+    public static final int MODULAR = 0x4000;
+    public static final int THREADS = 0x78000;
+    /**
+     * Flag requesting the data structure to be chosen by {@link Profile}. The overloads without flags set it,
+     * explicit flags of 0 keep meaning 32-bit exponents in arrays
+     */
+    public static final int ADAPTIVE = 0x80000;
+    static final int THREADS_SHIFT = 15;
     static final int DEFAULT = GM_SETTING | SUGAR;
     final Polynomial factory;
     final Generic element[];
@@ -51,7 +59,7 @@ public class Basis {
     }
 
     public static Basis compute(Generic generic[], Variable unknown[], Ordering ordering, int modulo) {
-        return compute(generic, unknown, ordering, modulo, 0);
+        return compute(generic, unknown, ordering, modulo, ADAPTIVE);
     }
 
     public static Basis compute(Generic generic[], Variable unknown[], Ordering ordering, int modulo, int flags) {
@@ -60,11 +68,25 @@ public class Basis {
     }
 
     static Basis compute(Generic generic[], Variable unknown[], Ordering ordering, int modulo, int flags, boolean degree, boolean defining) {
+        // over a prime field the basis is computed directly, the multi-modular algorithm only applies to integers
+        if (modulo != 0) flags &= ~MODULAR;
+        if ((flags & ADAPTIVE) > 0) flags = new Profile(generic, unknown).select(modulo, flags & ~ADAPTIVE);
         if (degree)
             return compute(compute(generic, unknown, Monomial.degreeReverseLexicographic, modulo, flags, false, defining).elements(), unknown, ordering, modulo, flags, false, defining);
         return Standard.compute(new Basis(defining ? augment(defining(unknown, modulo), generic) : generic, Polynomial.factory(unknown, ordering, modulo, flags)), flags);
     }
 
+    /**
+     * Flag requesting S-pairs of the same sugar degree to be reduced on the given number of threads (at most 15)
+     */
+    public static int threads(int n) {
+        return Math.max(0, Math.min(n, THREADS >> THREADS_SHIFT)) << THREADS_SHIFT;
+    }
+
+    public static int parallelism(int flags) {
+        return (flags & THREADS) >> THREADS_SHIFT;
+    }
+
     public static Generic[] defining(Variable unknown[], int modulo) {
         Generic a[] = new Generic[unknown.length];
         for (int i = 0; i < unknown.length; i++) {
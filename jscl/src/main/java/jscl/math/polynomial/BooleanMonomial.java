@@ -25,7 +25,7 @@ class BooleanMonomial extends SmallMonomial {
             int a = (element[q] >> r) & nmask;
             int b = (monomial.element[q] >> r) & nmask;
             int c = a + b;
-            if (c > nmask) throw new ArithmeticException();
+            if (c > nmask) throw new ExponentOverflowException();
             m.element[q] |= c << r;
             m.degree += c;
         }
@@ -33,6 +33,7 @@ class BooleanMonomial extends SmallMonomial {
     }
 
     public boolean multiple(Monomial monomial, boolean strict) {
+        if (rejects(monomial)) return false;
         boolean equal = true;
         for (int i = 0; i < unknown.length; i++) {
             int q = i >> log2p;
@@ -101,7 +102,7 @@ class BooleanMonomial extends SmallMonomial {
         int r = (n & pmask) << log2n;
         int a = (element[q] >> r) & nmask;
         int c = a + integer;
-        if (c > nmask) throw new ArithmeticException();
+        if (c > nmask) throw new ExponentOverflowException();
         element[q] |= c << r;
         degree += c - a;
     }
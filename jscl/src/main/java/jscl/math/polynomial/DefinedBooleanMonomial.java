@@ -1,10 +1,18 @@
 package jscl.math.polynomial;
 
+import jscl.math.NotDivisibleException;
 import jscl.math.Variable;
 
+/**
+ * Monomial of the boolean ring (x^2 = x), one bit per variable packed in 32-bit words: multiplication and
+ * least common multiple are word ORs, greatest common divisor is an AND and divisibility is tested word by word.
+ */
 class DefinedBooleanMonomial extends BooleanMonomial {
+    static final int log2p = 5;
+    static final int pmask = (1 << log2p) - 1;
+
     DefinedBooleanMonomial(Variable unknown[], Ordering ordering) {
-        super(unknown, ordering);
+        this(((unknown.length - 1) >> log2p) + 1, unknown, ordering);
     }
 
     DefinedBooleanMonomial(int length, Variable unknown[], Ordering ordering) {
@@ -13,19 +21,73 @@ class DefinedBooleanMonomial extends BooleanMonomial {
 
     public Monomial multiply(Monomial monomial) {
         Monomial m = newinstance();
-        for (int i = 0; i < unknown.length; i++) {
-            int q = i >> log2p;
-            int r = (i & pmask) << log2n;
-            int a = (element[q] >> r) & nmask;
-            int b = (monomial.element[q] >> r) & nmask;
-            int c = a + b;
-            if (c > 1) c = 1;
-            m.element[q] |= c << r;
-            m.degree += c;
+        for (int q = 0; q < element.length; q++) {
+            int c = element[q] | monomial.element[q];
+            m.element[q] = c;
+            m.degree += Integer.bitCount(c);
+        }
+        return m;
+    }
+
+    public boolean multiple(Monomial monomial, boolean strict) {
+        boolean equal = true;
+        for (int q = 0; q < element.length; q++) {
+            int a = element[q];
+            int b = monomial.element[q];
+            if ((b & ~a) != 0) return false;
+            equal &= a == b;
+        }
+        return !strict || !equal;
+    }
+
+    public Monomial divide(Monomial monomial) throws ArithmeticException {
+        Monomial m = newinstance();
+        for (int q = 0; q < element.length; q++) {
+            int a = element[q];
+            int b = monomial.element[q];
+            if ((b & ~a) != 0) throw new NotDivisibleException();
+            m.element[q] = a & ~b;
+        }
+        m.degree = degree - monomial.degree;
+        return m;
+    }
+
+    public Monomial gcd(Monomial monomial) {
+        Monomial m = newinstance();
+        for (int q = 0; q < element.length; q++) {
+            int c = element[q] & monomial.element[q];
+            m.element[q] = c;
+            m.degree += Integer.bitCount(c);
+        }
+        return m;
+    }
+
+    public Monomial scm(Monomial monomial) {
+        Monomial m = newinstance();
+        for (int q = 0; q < element.length; q++) {
+            int c = element[q] | monomial.element[q];
+            m.element[q] = c;
+            m.degree += Integer.bitCount(c);
         }
         return m;
     }
 
+    public int element(int n) {
+        if (reverse()) n = unknown.length - 1 - n;
+        return (element[n >> log2p] >>> (n & pmask)) & 1;
+    }
+
+    void put(int n, int integer) {
+        if (integer <= 0) return;
+        if (reverse()) n = unknown.length - 1 - n;
+        int q = n >> log2p;
+        int b = 1 << (n & pmask);
+        if ((element[q] & b) == 0) {
+            element[q] |= b;
+            degree++;
+        }
+    }
+
     protected Monomial newinstance() {
         return new DefinedBooleanMonomial(element.length, unknown, ordering);
     }
@@ -0,0 +1,12 @@
+package jscl.math.polynomial;
+
+/**
+ * An exponent outgrew the bits reserved for it in a packed monomial
+ */
+public class ExponentOverflowException extends ArithmeticException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ExponentOverflowException() {
+    }
+}
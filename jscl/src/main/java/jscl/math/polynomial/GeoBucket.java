@@ -2,6 +2,7 @@ package jscl.math.polynomial;
 
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
+import jscl.math.RenderOptions;
 import jscl.mathml.MathML;
 
 import javax.annotation.Nonnull;
@@ -224,6 +225,10 @@ final class GeoBucket extends Polynomial {
         return valueOf(factory.valueOf(monomial));
     }
 
+    public Polynomial valueOf(Term term[]) {
+        return valueOf(factory.valueOf(term));
+    }
+
     public Polynomial freeze() {
         canonicalize();
         return this;
@@ -273,17 +278,16 @@ final class GeoBucket extends Polynomial {
         return compareTo((GeoBucket) polynomial);
     }
 
-    public String toString() {
-        if (canonicalized) return polynomial().toString();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        if (canonicalized) polynomial().appendTo(result, options);
         else {
-            StringBuffer buffer = new StringBuffer();
-            buffer.append("{");
+            result.append("{");
             for (int i = 0; i < size; i++) {
                 Polynomial p = content[i];
-                buffer.append(p == null ? factory.valueOf(JsclInteger.valueOf(0)) : p).append(i < size - 1 ? ", " : "");
+                (p == null ? factory.valueOf(JsclInteger.valueOf(0)) : p).appendTo(result, options);
+                result.append(i < size - 1 ? ", " : "");
             }
-            buffer.append("}");
-            return buffer.toString();
+            result.append("}");
         }
     }
 
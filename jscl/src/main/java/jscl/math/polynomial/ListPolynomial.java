@@ -202,6 +202,20 @@ final class ListPolynomial extends Polynomial {
         return p;
     }
 
+    @SuppressWarnings("unchecked")
+    public Polynomial valueOf(Term term[]) {
+        ListPolynomial p = newinstance(term.length);
+        int sugar = 0;
+        for (int i = 0; i < term.length; i++) {
+            Monomial m = term[i].monomial();
+            p.content.add(new Term(m, coefficient(term[i].coef())));
+            sugar = Math.max(sugar, m.degree());
+        }
+        p.degree = degree(p);
+        p.sugar = sugar;
+        return p;
+    }
+
     public Polynomial freeze() {
         mutable = false;
         return this;
@@ -1,12 +1,15 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.Literal;
 import jscl.math.NotDivisibleException;
+import jscl.math.RenderOptions;
 import jscl.math.Variable;
 import jscl.math.function.Fraction;
 import jscl.math.function.Pow;
 import jscl.mathml.MathML;
 
+import javax.annotation.Nonnull;
 import java.util.Iterator;
 
 public class Monomial implements Comparable {
@@ -18,6 +21,7 @@ public class Monomial implements Comparable {
     final Ordering ordering;
     final int element[];
     int degree;
+    int mask;
 
     Monomial(Variable unknown[], Ordering ordering) {
         this(unknown.length, unknown, ordering);
@@ -81,6 +85,7 @@ public class Monomial implements Comparable {
             m.element[i] = element[i] + monomial.element[i];
         }
         m.degree = degree + monomial.degree;
+        Budget.degree(m.degree);
         return m;
     }
 
@@ -89,6 +94,7 @@ public class Monomial implements Comparable {
     }
 
     public boolean multiple(Monomial monomial, boolean strict) {
+        if (rejects(monomial)) return false;
         boolean equal = true;
         for (int i = 0; i < unknown.length; i++) {
             if (element[i] < monomial.element[i]) return false;
@@ -97,6 +103,37 @@ public class Monomial implements Comparable {
         return strict ? !equal : true;
     }
 
+    /**
+     * Divisibility mask: if this monomial divides another one then its mask bits are a subset of the other's.
+     * Each variable owns <code>31 / n</code> bits set while its exponent exceeds the bit rank (variables share
+     * a bit when there are more than 31 of them), bit 31 marks the mask as computed.
+     */
+    public int divisibilityMask() {
+        int mask = this.mask;
+        if (mask == 0) {
+            mask = 1 << 31;
+            int n = unknown.length;
+            if (n > 31) {
+                for (int i = 0; i < n; i++) if (element(i) > 0) mask |= 1 << (i % 31);
+            } else if (n > 0) {
+                int b = 31 / n;
+                for (int i = 0; i < n; i++) {
+                    int e = Math.min(element(i), b);
+                    mask |= ((1 << e) - 1) << (i * b);
+                }
+            }
+            this.mask = mask;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns true if the masks prove that the given monomial does not divide this one
+     */
+    final boolean rejects(Monomial monomial) {
+        return (monomial.divisibilityMask() & ~divisibilityMask()) != 0;
+    }
+
     public Monomial divide(Monomial monomial) throws ArithmeticException {
         Monomial m = newinstance();
         for (int i = 0; i < unknown.length; i++) {
@@ -193,25 +230,31 @@ public class Monomial implements Comparable {
     }
 
     public String toString() {
-        StringBuffer buffer = new StringBuffer();
-        if (degree == 0) buffer.append("1");
+        final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
+
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        if (degree == 0) result.append("1");
         boolean b = false;
         for (int i = 0; i < unknown.length; i++) {
             int c = element(i);
             if (c > 0) {
-                if (b) buffer.append("*");
+                if (b) options.appendMultiplicationSign(result);
                 else b = true;
                 Variable v = unknown[i];
-                if (c == 1) buffer.append(v);
+                if (c == 1) v.appendTo(result, options);
                 else {
                     if (v instanceof Fraction || v instanceof Pow) {
-                        buffer.append("(").append(v).append(")");
-                    } else buffer.append(v);
-                    buffer.append("^").append(c);
+                        result.append("(");
+                        v.appendTo(result, options);
+                        result.append(")");
+                    } else v.appendTo(result, options);
+                    result.append("^").append(c);
                 }
             }
         }
-        return buffer.toString();
     }
 
     public void toMathML(MathML element, Object data) {
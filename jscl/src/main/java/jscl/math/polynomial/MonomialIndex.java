@@ -0,0 +1,179 @@
+package jscl.math.polynomial;
+
+import java.util.*;
+
+/**
+ * List of polynomials indexed by their head monomials.
+ * <p>
+ * Heads are stored in a trie over exponent vectors (one level per variable, children sorted by exponent),
+ * so finding the polynomials whose head divides a monomial only visits branches with exponents not exceeding
+ * the monomial's. Lookups return polynomials in list order, the way a linear scan would. Appending updates the
+ * trie in place, other structural modifications rebuild it on the next lookup.
+ */
+public class MonomialIndex extends AbstractList<Polynomial> {
+    final List<Polynomial> list = new ArrayList<Polynomial>();
+    final List<Entry> entries = new ArrayList<Entry>();
+    Node root;
+    boolean valid = true;
+
+    public MonomialIndex() {
+    }
+
+    // wildcard, so that the raw lists of the Groebner engines need no unchecked conversion
+    public MonomialIndex(Collection<?> collection) {
+        for (Object o : collection) add((Polynomial) o);
+    }
+
+    public Polynomial get(int index) {
+        return list.get(index);
+    }
+
+    public int size() {
+        return list.size();
+    }
+
+    public void add(int index, Polynomial element) {
+        list.add(index, element);
+        Entry e = new Entry(element, index);
+        entries.add(index, e);
+        if (index == list.size() - 1) {
+            if (valid) insert(e);
+        } else valid = false;
+    }
+
+    public Polynomial set(int index, Polynomial p) {
+        Entry e = entries.get(index);
+        Monomial m = p.signum() == 0 ? null : p.head().monomial();
+        if (m == null || e.head == null || m.compareTo(e.head) != 0) {
+            entries.set(index, new Entry(p, index));
+            valid = false;
+        } else e.polynomial = p;
+        return list.set(index, p);
+    }
+
+    public Polynomial remove(int index) {
+        entries.remove(index);
+        valid = false;
+        return list.remove(index);
+    }
+
+    public void clear() {
+        list.clear();
+        entries.clear();
+        root = null;
+        valid = true;
+    }
+
+    /**
+     * Returns the first polynomial whose head divides the given monomial or null
+     */
+    public Polynomial divisor(Monomial monomial) {
+        if (!valid) rebuild();
+        if (root == null) return null;
+        Entry e = root.first(monomial, 0, null);
+        return e == null ? null : e.polynomial;
+    }
+
+    /**
+     * Returns all polynomials whose heads divide the given monomial, in list order
+     */
+    public List<Polynomial> divisors(Monomial monomial) {
+        if (!valid) rebuild();
+        List<Entry> all = new ArrayList<Entry>();
+        if (root != null) root.all(monomial, 0, all);
+        Collections.sort(all);
+        List<Polynomial> list = new ArrayList<Polynomial>(all.size());
+        for (Entry e : all) list.add(e.polynomial);
+        return list;
+    }
+
+    void rebuild() {
+        root = null;
+        int n = entries.size();
+        for (int i = 0; i < n; i++) {
+            Entry e = entries.get(i);
+            e.position = i;
+            insert(e);
+        }
+        valid = true;
+    }
+
+    void insert(Entry e) {
+        if (e.head == null) return;
+        if (root == null) root = new Node(e.head.unknown.length);
+        root.insert(e, 0);
+    }
+
+    static class Entry implements Comparable<Entry> {
+        final Monomial head;
+        Polynomial polynomial;
+        int position;
+
+        Entry(Polynomial polynomial, int position) {
+            this.polynomial = polynomial;
+            this.position = position;
+            head = polynomial.signum() == 0 ? null : polynomial.head().monomial();
+        }
+
+        public int compareTo(Entry e) {
+            return position - e.position;
+        }
+    }
+
+    static class Node {
+        final int depth;
+        int exponent[] = new int[0];
+        Node child[] = new Node[0];
+        final List<Entry> leaf = new ArrayList<Entry>();
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+
+        void insert(Entry e, int level) {
+            if (level == depth) {
+                leaf.add(e);
+                return;
+            }
+            int a = e.head.element(level);
+            int i = Arrays.binarySearch(exponent, a);
+            if (i < 0) {
+                i = -i - 1;
+                int ex[] = new int[exponent.length + 1];
+                Node ch[] = new Node[child.length + 1];
+                System.arraycopy(exponent, 0, ex, 0, i);
+                System.arraycopy(child, 0, ch, 0, i);
+                ex[i] = a;
+                ch[i] = new Node(depth);
+                System.arraycopy(exponent, i, ex, i + 1, exponent.length - i);
+                System.arraycopy(child, i, ch, i + 1, child.length - i);
+                exponent = ex;
+                child = ch;
+            }
+            child[i].insert(e, level + 1);
+        }
+
+        Entry first(Monomial monomial, int level, Entry best) {
+            if (level == depth) {
+                int n = leaf.size();
+                for (int i = 0; i < n; i++) {
+                    Entry e = leaf.get(i);
+                    if (best == null || e.position < best.position) best = e;
+                }
+                return best;
+            }
+            int a = monomial.element(level);
+            for (int i = 0; i < exponent.length && exponent[i] <= a; i++) best = child[i].first(monomial, level + 1, best);
+            return best;
+        }
+
+        void all(Monomial monomial, int level, List<Entry> list) {
+            if (level == depth) {
+                list.addAll(leaf);
+                return;
+            }
+            int a = monomial.element(level);
+            for (int i = 0; i < exponent.length && exponent[i] <= a; i++) child[i].all(monomial, level + 1, list);
+        }
+    }
+}
@@ -219,11 +219,15 @@ final class PolynomialWrapper extends Generic {
         }
     }
 
-    public String toString() {
-        StringBuffer buffer = new StringBuffer();
-        if (signum() < 0) buffer.append("-").append(negate());
-        else buffer.append("(").append(content).append(")");
-        return buffer.toString();
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        if (signum() < 0) {
+            result.append("-");
+            negate().appendTo(result, options);
+        } else {
+            result.append("(");
+            content.appendTo(result, options);
+            result.append(")");
+        }
     }
 
     public String toJava() {
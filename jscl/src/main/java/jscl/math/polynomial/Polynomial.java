@@ -71,6 +71,7 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
                     case 1:
                         return new ArrayPolynomialRational(monomialFactory);
                     case 2:
+                        if (monomialFactory instanceof DefinedBooleanMonomial) return new ArrayPolynomialBitset(monomialFactory);
                         return new ArrayPolynomialBoolean(monomialFactory);
                     default:
                         return new ArrayPolynomialModular(monomialFactory, ModularInteger.factory(modulo));
@@ -94,8 +95,7 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
     }
 
     static Polynomial factory(Polynomial polynomial, int modulo) {
-        Monomial m = polynomial.monomialFactory;
-        return factory(m.unknown(), m.ordering(), modulo);
+        return factory(polynomial.monomialFactory, modulo, 0, false);
     }
 
     public abstract int size();
@@ -286,6 +286,16 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
 
     public abstract Polynomial valueOf(Monomial monomial);
 
+    /**
+     * Builds a polynomial from terms with distinct monomials sorted in increasing order
+     */
+    public Polynomial valueOf(Term term[]) {
+        Polynomial p = valueOf(JsclInteger.valueOf(0));
+        Polynomial q = valueOf(JsclInteger.valueOf(-1));
+        for (int i = 0; i < term.length; i++) p = p.multiplyAndSubtract(term[i].monomial(), term[i].coef(), q);
+        return p;
+    }
+
     public final Polynomial copy() {
         return valueOf(this);
     }
@@ -303,9 +313,15 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
     }
 
     public Generic coefficient(Monomial monomial) {
-        Iterator it = iterator(false, monomial);
-        Term t = it.hasNext() ? (Term) it.next() : null;
-        return coefficient(t == null || ordering.compare(t.monomial(), monomial) == 0 ? t : null);
+        // iterators started at a monomial skip it, so scan up from the lowest term instead
+        Iterator it = iterator();
+        while (it.hasNext()) {
+            Term t = (Term) it.next();
+            int c = ordering.compare(t.monomial(), monomial);
+            if (c == 0) return t.coef();
+            else if (c > 0) break;
+        }
+        return coefficient((Term) null);
     }
 
     Monomial monomial(Term term) {
@@ -327,26 +343,32 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
     public Polynomial reduce(Collection ideal, boolean tail) {
         Polynomial p = this;
         Iterator it = tail ? p.iterator(p.head().monomial()) : p.iterator(true);
-        loop:
         while (it.hasNext()) {
             Term t = (Term) it.next();
             Monomial m1 = t.monomial();
-            Iterator iq = ideal.iterator();
-            while (iq.hasNext()) {
-                Polynomial q = (Polynomial) iq.next();
-                Monomial m2 = q.head().monomial();
-                if (m1.multiple(m2)) {
-                    Monomial m = m1.divide(m2);
-                    p = p.reduce(t.coef(), m, q);
-                    it = tail ? p.iterator(m1) : p.iterator(true);
-                    continue loop;
-                }
-            }
-            tail = true;
+            Polynomial q = reducer(ideal, m1);
+            if (q != null) {
+                Monomial m = m1.divide(q.head().monomial());
+                p = p.reduce(t.coef(), m, q);
+                it = tail ? p.iterator(m1) : p.iterator(true);
+            } else tail = true;
         }
         return p;
     }
 
+    /**
+     * Returns the first polynomial of the ideal whose head divides the given monomial or null
+     */
+    public static Polynomial reducer(Collection<?> ideal, Monomial monomial) {
+        if (ideal instanceof MonomialIndex) return ((MonomialIndex) ideal).divisor(monomial);
+        Iterator<?> it = ideal.iterator();
+        while (it.hasNext()) {
+            Polynomial q = (Polynomial) it.next();
+            if (monomial.multiple(q.head().monomial())) return q;
+        }
+        return null;
+    }
+
     public Polynomial reduce(Generic generic, Monomial monomial, Polynomial polynomial) {
         if (field) return multiplyAndSubtract(monomial, generic.divide(polynomial.head().coef()), polynomial);
         else {
@@ -431,8 +453,13 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
     }
 
     public String toString() {
-        StringBuffer buffer = new StringBuffer();
-        if (signum() == 0) buffer.append("0");
+        final StringBuilder result = new StringBuilder();
+        appendTo(result, RenderOptions.DEFAULT);
+        return result.toString();
+    }
+
+    public void appendTo(@Nonnull StringBuilder result, @Nonnull RenderOptions options) {
+        if (signum() == 0) result.append("0");
         int i = 0;
         for (Iterator it = iterator(); it.hasNext(); i++) {
             Term t = (Term) it.next();
@@ -440,16 +467,18 @@ public abstract class Polynomial implements Arithmetic<Polynomial>, Comparable {
             Generic a = t.coef();
             if (a instanceof Expression)
                 a = a.signum() > 0 ? GenericVariable.valueOf(a).expressionValue() : GenericVariable.valueOf(a.negate()).expressionValue().negate();
-            if (a.signum() > 0 && i > 0) buffer.append("+");
-            if (m.degree() == 0) buffer.append(a);
+            if (a.signum() > 0 && i > 0) result.append("+");
+            if (m.degree() == 0) a.appendTo(result, options);
             else {
                 if (a.abs().compareTo(JsclInteger.valueOf(1)) == 0) {
-                    if (a.signum() < 0) buffer.append("-");
-                } else buffer.append(a).append("*");
-                buffer.append(m);
+                    if (a.signum() < 0) result.append("-");
+                } else {
+                    a.appendTo(result, options);
+                    options.appendMultiplicationSign(result);
+                }
+                m.appendTo(result, options);
             }
         }
-        return buffer.toString();
     }
 
     public void toMathML(MathML element, @Nullable Object data) {
@@ -0,0 +1,64 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Literal;
+import jscl.math.Variable;
+
+/**
+ * Shape of a polynomial system: term count, number of variables and degree spread.
+ * <p>
+ * Used to pick the polynomial representation when the caller asks {@link Basis} for it: geobuckets for
+ * inhomogeneous systems over the integers in three or more variables, where reductions are dominated by
+ * repeated long subtractions.
+ * <p>
+ * The thresholds come from the sweep of RepresentationBenchmark in jscl-benchmarks (random systems in 3 and 4
+ * variables with 4 to 16 terms and degree spreads from 0 to 2, reverse degree lexicographic order). Over Q
+ * geobuckets took a third to a fifth of the time of arrays as soon as the spread was 1 or more: 2.5 ms instead
+ * of 16 ms for 3 variables and 16 terms, 0.5 s instead of 2.3 s for 4 variables and 8 terms. Homogeneous
+ * systems, two variables and fewer terms showed differences under a millisecond either way. Modulo a prime
+ * geobuckets were slower in every case, up to 7 times, so they are not chosen there, nor for the multi-modular
+ * algorithm which reduces modulo primes. Packed 8-bit exponents were up to twice as fast as 32-bit ones on
+ * some systems and twice as slow on others, so they are never chosen.
+ */
+class Profile {
+    static final int BUCKETS_VARIABLES = 3;
+    static final int BUCKETS_TERMS = 4;
+    static final int BUCKETS_SPREAD = 1;
+    final int variables;
+    int terms;
+    int spread;
+
+    Profile(Generic generic[], Variable unknown[]) {
+        variables = unknown.length;
+        for (int i = 0; i < generic.length; i++) {
+            Generic g = generic[i].expand();
+            if (!(g instanceof Expression)) continue;
+            Expression e = (Expression) g;
+            int n = e.size();
+            int min = Integer.MAX_VALUE, max = 0;
+            for (int j = 0; j < n; j++) {
+                Literal l = e.literal(j);
+                int d = l.degree();
+                min = Math.min(min, d);
+                max = Math.max(max, d);
+            }
+            terms = Math.max(terms, n);
+            if (n > 0) spread = Math.max(spread, max - min);
+        }
+    }
+
+    /**
+     * Returns the flags with the data structure chosen for this shape, flags which already select a monomial
+     * packing or a data structure are returned as is
+     */
+    int select(int modulo, int flags) {
+        if ((flags & (Basis.POWER_SIZE | Basis.DATA_STRUCT | Basis.GEO_BUCKETS)) != 0) return flags;
+        if (modulo == 0 && (flags & Basis.MODULAR) == 0 && buckets()) flags |= Basis.GEO_BUCKETS;
+        return flags;
+    }
+
+    boolean buckets() {
+        return variables >= BUCKETS_VARIABLES && terms >= BUCKETS_TERMS && spread >= BUCKETS_SPREAD;
+    }
+}
@@ -1,5 +1,6 @@
 package jscl.math.polynomial;
 
+import jscl.Budget;
 import jscl.math.NotDivisibleException;
 import jscl.math.Variable;
 
@@ -28,14 +29,16 @@ class SmallMonomial extends Monomial {
             int a = (element[q] >> r) & nmask;
             int b = (monomial.element[q] >> r) & nmask;
             int c = a + b;
-            if (c > nmask) throw new ArithmeticException();
+            if (c > nmask) throw new ExponentOverflowException();
             m.element[q] |= c << r;
             m.degree += c;
         }
+        Budget.degree(m.degree);
         return m;
     }
 
     public boolean multiple(Monomial monomial, boolean strict) {
+        if (rejects(monomial)) return false;
         boolean equal = true;
         for (int i = 0; i < unknown.length; i++) {
             int q = i >> log2p;
@@ -104,13 +107,13 @@ class SmallMonomial extends Monomial {
         int r = (n & pmask) << log2n;
         int a = (element[q] >> r) & nmask;
         int c = a + integer;
-        if (c > nmask) throw new ArithmeticException();
+        if (c > nmask) throw new ExponentOverflowException();
         element[q] |= c << r;
         degree += c - a;
     }
 
     boolean reverse() {
-        return ordering instanceof DegreeReverseLexicographic;
+        return ordering instanceof SmallDegreeReverseLexicographic;
     }
 
     protected Monomial newinstance() {
@@ -204,6 +204,20 @@ final class TreePolynomial extends Polynomial {
         return p;
     }
 
+    @SuppressWarnings("unchecked")
+    public Polynomial valueOf(Term term[]) {
+        TreePolynomial p = newinstance();
+        int sugar = 0;
+        for (int i = 0; i < term.length; i++) {
+            Monomial m = term[i].monomial();
+            p.content.put(m, coefficient(term[i].coef()));
+            sugar = Math.max(sugar, m.degree());
+        }
+        p.degree = degree(p);
+        p.sugar = sugar;
+        return p;
+    }
+
     public Polynomial freeze() {
         mutable = false;
         return this;
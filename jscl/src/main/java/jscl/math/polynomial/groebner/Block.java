@@ -1,6 +1,6 @@
 package jscl.math.polynomial.groebner;
 
-import jscl.math.Debug;
+import jscl.Budget;
 import jscl.math.polynomial.Basis;
 import jscl.math.polynomial.DegreeOrdering;
 import jscl.math.polynomial.Ordering;
@@ -19,9 +19,9 @@ class Block extends Standard {
     }
 
     void compute() {
-        Debug.println("evaluate");
         int degree = 0;
         while (!pairs.isEmpty()) {
+            Budget.check();
             List list = new ArrayList();
             Iterator it = pairs.keySet().iterator();
             while (it.hasNext()) {
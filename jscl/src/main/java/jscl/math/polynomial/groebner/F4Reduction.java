@@ -1,6 +1,6 @@
 package jscl.math.polynomial.groebner;
 
-import jscl.math.Debug;
+import jscl.math.Trace;
 import jscl.math.polynomial.Basis;
 import jscl.math.polynomial.Monomial;
 import jscl.math.polynomial.Polynomial;
@@ -8,12 +8,16 @@ import jscl.math.polynomial.Term;
 
 import java.util.*;
 
+/**
+ * One F4 step: the S-pairs of the lowest degree with their reducers form a matrix which is row reduced at once,
+ * by {@link MacaulayMatrix} modulo a word-size prime and by {@link ReducedRowEchelonForm} otherwise
+ */
 class F4Reduction {
     final Collection ideal;
     final List list;
     final int flags;
     final List polys = new ArrayList();
-    final List content = new ArrayList();
+    final List<Polynomial> content = new ArrayList<Polynomial>();
     final Map considered = new TreeMap();
     final Map head = new TreeMap();
     final Map proj = new TreeMap();
@@ -42,7 +46,7 @@ class F4Reduction {
     }
 
     void add(Pair pair) {
-        Debug.println(pair);
+        Trace.event(Trace.Event.pairSelected, pair, pair.sugar);
         Projection pr[] = new Projection[]{new Projection(pair, 0), new Projection(pair, 1)};
         for (int i = 0; i < pr.length; i++)
             if (!proj.containsKey(pr[i])) {
@@ -61,22 +65,15 @@ class F4Reduction {
             Monomial m1 = t.monomial();
             if (considered.containsKey(m1)) continue;
             else considered.put(m1, null);
-            Iterator iq = ideal.iterator();
-            while (iq.hasNext()) {
-                Polynomial q = (Polynomial) iq.next();
-                Monomial m2 = q.head().monomial();
-                if (m1.multiple(m2)) {
-                    Monomial m = m1.divide(m2);
-                    add(new Projection(m, q).simplify(list));
-                    break;
-                }
-            }
+            Polynomial q = Polynomial.reducer(ideal, m1);
+            if (q != null) add(new Projection(m1.divide(q.head().monomial()), q).simplify(list));
         }
         content.add(p);
     }
 
     void process() {
-        List list = ReducedRowEchelonForm.compute(content);
+        int modulo = MacaulayMatrix.modulo(content);
+        List list = modulo > 0 ? MacaulayMatrix.compute(content, modulo) : ReducedRowEchelonForm.compute(content);
         content.clear();
         int n = list.size();
         for (int i = 0; i < n; i++) {
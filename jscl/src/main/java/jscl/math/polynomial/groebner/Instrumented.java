@@ -24,6 +24,10 @@ class Instrumented extends Standard {
         }
     }
 
+    boolean parallel() {
+        return false;
+    }
+
     void process(Pair pair) {
         if (criterion(pair)) return;
         Polynomial x = reduce(new Pair(new Polynomial[]{auxiliary(pair.polynomial[0]), auxiliary(pair.polynomial[1])}), aux);
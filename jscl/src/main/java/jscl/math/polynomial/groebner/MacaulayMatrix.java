@@ -0,0 +1,239 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Generic;
+import jscl.math.ModularInteger;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.Term;
+
+import java.util.*;
+
+/**
+ * Sparse Macaulay matrix over Z/pZ used by the F4 reduction.
+ * <p>
+ * Only F4 modulo a word-size prime is reduced here, F4 over the integers keeps reducing with
+ * {@link ReducedRowEchelonForm}. {@link Modular} with F4 (flags <code>F4 | MODULAR</code>) computes its images
+ * here, but its final check over Q costs about as much as F4 over Q itself: on katsura 4 and 5 it took three
+ * times as long on one core, so it is not chosen for F4 by default.
+ * <p>
+ * Monomials are mapped to columns once (column 0 holds the greatest monomial), rows are stored as
+ * parallel column/coefficient int arrays and eliminated with a dense 64-bit accumulator which is
+ * only reduced modulo p once per output coefficient.
+ */
+class MacaulayMatrix {
+    final int modulo;
+    final long bound;
+    final Monomial column[];
+    final Polynomial factory;
+    final int rows[][];
+    final int coefs[][];
+    final int sugar[];
+    int pivot[];
+
+    MacaulayMatrix(List<Polynomial> list, int modulo) {
+        this.modulo = modulo;
+        bound = (long) modulo * modulo;
+        factory = list.get(0);
+        Map<Monomial, Integer> map = new TreeMap<Monomial, Integer>(Collections.reverseOrder());
+        int n = list.size();
+        for (int i = 0; i < n; i++) {
+            Iterator<?> it = list.get(i).iterator();
+            while (it.hasNext()) map.put(((Term) it.next()).monomial(), null);
+        }
+        column = map.keySet().toArray(new Monomial[map.size()]);
+        for (int i = 0; i < column.length; i++) map.put(column[i], Integer.valueOf(i));
+        rows = new int[n][];
+        coefs = new int[n][];
+        sugar = new int[n];
+        for (int i = 0; i < n; i++) {
+            Polynomial p = list.get(i);
+            // size() of a geobucket counts buckets, not terms
+            int size = 0;
+            for (Iterator<?> it = p.iterator(); it.hasNext(); it.next()) size++;
+            int r[] = new int[size];
+            int c[] = new int[size];
+            Iterator<?> it = p.iterator(true);
+            for (int j = 0; j < size; j++) {
+                Term t = (Term) it.next();
+                r[j] = map.get(t.monomial()).intValue();
+                c[j] = ((ModularInteger) t.coef()).content();
+            }
+            rows[i] = r;
+            coefs[i] = c;
+            sugar[i] = p.sugar();
+        }
+    }
+
+    /**
+     * Returns the common modulus of the coefficients or 0 if the rows are not over Z/pZ
+     */
+    static int modulo(List<Polynomial> list) {
+        int modulo = 0;
+        int n = list.size();
+        for (int i = 0; i < n; i++) {
+            Polynomial p = list.get(i);
+            if (p.signum() == 0) continue;
+            Generic a = p.head().coef();
+            if (!(a instanceof ModularInteger)) return 0;
+            int m = ((ModularInteger) a).modulo();
+            if (modulo == 0) modulo = m;
+            else if (modulo != m) return 0;
+        }
+        return modulo;
+    }
+
+    static List<Polynomial> compute(List<Polynomial> list, int modulo) {
+        MacaulayMatrix m = new MacaulayMatrix(list, modulo);
+        m.compute();
+        return m.content();
+    }
+
+    void compute() {
+        long acc[] = new long[column.length];
+        pivot = new int[column.length];
+        Arrays.fill(pivot, -1);
+        Integer order[] = new Integer[rows.length];
+        for (int i = 0; i < order.length; i++) order[i] = Integer.valueOf(i);
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer o1, Integer o2) {
+                int i1 = o1.intValue();
+                int i2 = o2.intValue();
+                int c = lead(i1) - lead(i2);
+                if (c != 0) return c;
+                c = rows[i1].length - rows[i2].length;
+                return c != 0 ? c : i1 - i2;
+            }
+        });
+        for (int k = 0; k < order.length; k++) {
+            int i = order[k].intValue();
+            int r[] = rows[i];
+            if (r.length == 0) continue;
+            int l = r[0];
+            if (pivot[l] == -1) {
+                // rows sorted by head: the sparsest row with a new head is a pivot as is
+                setPivot(i, l);
+                continue;
+            }
+            load(i, acc);
+            l = reduce(i, acc, l, false);
+            if (l == -1) {
+                rows[i] = new int[0];
+                coefs[i] = new int[0];
+            } else {
+                store(i, acc, l);
+                setPivot(i, l);
+            }
+        }
+        for (int l = column.length - 1; l >= 0; l--) {
+            int i = pivot[l];
+            if (i == -1 || rows[i].length == 1) continue;
+            load(i, acc);
+            reduce(i, acc, l + 1, true);
+            store(i, acc, l);
+        }
+    }
+
+    /**
+     * Eliminates known pivots from the accumulator starting at the given column. Stops at the first
+     * column without a pivot unless <code>tail</code> is set, returns the new head column or -1 if the
+     * row vanished.
+     */
+    int reduce(int i, long acc[], int from, boolean tail) {
+        int head = -1;
+        for (int j = from; j < acc.length; j++) {
+            long v = acc[j];
+            if (v == 0) continue;
+            int a = (int) (v % modulo);
+            acc[j] = a;
+            if (a == 0) continue;
+            int p = pivot[j];
+            if (p == -1) {
+                if (tail) continue;
+                head = j;
+                break;
+            }
+            int r[] = rows[p];
+            int c[] = coefs[p];
+            long f = modulo - a;
+            acc[j] = 0;
+            for (int k = 1; k < r.length; k++) {
+                long w = acc[r[k]] + f * c[k];
+                acc[r[k]] = w >= bound ? w - bound : w;
+            }
+            sugar[i] = Math.max(sugar[i], sugar[p]);
+        }
+        return head;
+    }
+
+    void load(int i, long acc[]) {
+        int r[] = rows[i];
+        int c[] = coefs[i];
+        for (int k = 0; k < r.length; k++) acc[r[k]] = c[k];
+    }
+
+    void store(int i, long acc[], int head) {
+        int n = 0;
+        for (int j = head; j < acc.length; j++) if (acc[j] != 0 && (acc[j] = acc[j] % modulo) != 0) n++;
+        int r[] = new int[n];
+        int c[] = new int[n];
+        long inv = inverse((int) acc[head]);
+        n = 0;
+        for (int j = head; j < acc.length; j++) {
+            if (acc[j] != 0) {
+                r[n] = j;
+                c[n] = (int) (acc[j] * inv % modulo);
+                n++;
+                acc[j] = 0;
+            }
+        }
+        rows[i] = r;
+        coefs[i] = c;
+    }
+
+    void setPivot(int i, int l) {
+        int c[] = coefs[i];
+        if (c[0] != 1) {
+            long inv = inverse(c[0]);
+            for (int k = 0; k < c.length; k++) c[k] = (int) (c[k] * inv % modulo);
+        }
+        pivot[l] = i;
+    }
+
+    long inverse(int a) {
+        long t = 0, u = 1;
+        long r = modulo, s = a;
+        while (s != 0) {
+            long q = r / s;
+            long x = t - q * u;
+            t = u;
+            u = x;
+            x = r - q * s;
+            r = s;
+            s = x;
+        }
+        return t < 0 ? t + modulo : t;
+    }
+
+    List<Polynomial> content() {
+        List<Polynomial> list = new ArrayList<Polynomial>();
+        for (int l = 0; l < column.length; l++) {
+            int i = pivot[l];
+            if (i == -1) continue;
+            int r[] = rows[i];
+            int c[] = coefs[i];
+            int n = r.length;
+            Term term[] = new Term[n];
+            for (int k = 0; k < n; k++) {
+                term[n - 1 - k] = new Term(column[r[k]], new ModularInteger(c[k], modulo));
+            }
+            Polynomial p = factory.valueOf(term);
+            p.setSugar(sugar[i]);
+            list.add(p.normalize().freeze());
+        }
+        return list;
+    }
+
+    int lead(int i) {
+        return rows[i].length > 0 ? rows[i][0] : column.length;
+    }
+}
@@ -0,0 +1,244 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.ModularInteger;
+import jscl.math.Trace;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.Term;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Multi-modular Groebner basis computation over the rationals.
+ * <p>
+ * Bases are computed modulo batches of word-size primes in parallel, primes whose leading monomials
+ * disagree with the majority are discarded as unlucky, coefficients are combined by Chinese remaindering
+ * and rationally reconstructed. A candidate must first equal the basis modulo a prime not used for the
+ * reconstruction, otherwise more primes are added. Only a candidate which passes that check is verified over
+ * Q, once: it must be a Groebner basis of an ideal containing the input. Should that fail, or the primes run
+ * out, the basis is computed over Q directly.
+ */
+class Modular {
+    static final int MAX_ROUNDS = 64;
+    final Basis basis;
+    final int flags;
+    final int batch;
+    final List<Image> images = new ArrayList<Image>();
+    int prime = Integer.MAX_VALUE;
+
+    Modular(Basis basis, int flags) {
+        this.basis = basis;
+        this.flags = flags & ~(Basis.MODULAR | Basis.INSTRUMENTED);
+        batch = Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    static Basis compute(Basis basis, int flags) {
+        return new Modular(basis, flags).compute();
+    }
+
+    Basis compute() {
+        for (int i = 0; i < MAX_ROUNDS; i++) {
+            images.addAll(images(primes(batch)));
+            List<Image> lucky = lucky();
+            Polynomial candidate[] = reconstruct(lucky);
+            if (candidate == null || !agrees(candidate)) continue;
+            if (!verify(candidate)) break;
+            Trace.event(Trace.Event.modularImages, null, lucky.size());
+            return basis.valueof(elements(candidate));
+        }
+        return Standard.compute(basis, flags);
+    }
+
+    int[] primes(int n) {
+        int a[] = new int[n];
+        for (int i = 0; i < n; i++) {
+            while (!BigInteger.valueOf(prime).isProbablePrime(32)) prime -= 2;
+            a[i] = prime;
+            prime -= 2;
+        }
+        return a;
+    }
+
+    /**
+     * Images modulo the given primes, one per thread, each computed serially
+     */
+    List<Image> images(int primes[]) {
+        final int flags = this.flags & ~Basis.THREADS;
+        List<Callable<Image>> tasks = new ArrayList<Callable<Image>>();
+        for (int i = 0; i < primes.length; i++) {
+            final int p = primes[i];
+            tasks.add(new Callable<Image>() {
+                public Image call() {
+                    return new Image(basis, p, flags);
+                }
+            });
+        }
+        return Parallel.invokeAll(tasks);
+    }
+
+    /**
+     * Images grouped by leading monomials, the largest group is assumed to come from lucky primes
+     */
+    List<Image> lucky() {
+        Map<Image, List<Image>> groups = new TreeMap<Image, List<Image>>();
+        for (Image im : images) {
+            List<Image> group = groups.get(im);
+            if (group == null) groups.put(im, group = new ArrayList<Image>());
+            group.add(im);
+        }
+        List<Image> lucky = null;
+        for (List<Image> group : groups.values()) {
+            if (lucky == null || group.size() > lucky.size()) lucky = group;
+        }
+        return lucky;
+    }
+
+    Polynomial[] reconstruct(List<Image> lucky) {
+        Image first = lucky.get(0);
+        int n = first.polynomial.length;
+        Polynomial a[] = new Polynomial[n];
+        for (int i = 0; i < n; i++) {
+            Map<Monomial, BigInteger> residues = new TreeMap<Monomial, BigInteger>();
+            BigInteger modulo = BigInteger.ONE;
+            for (Image im : lucky) {
+                BigInteger p = BigInteger.valueOf(im.prime);
+                Map<Monomial, BigInteger> terms = im.terms(i);
+                Set<Monomial> monomials = new TreeSet<Monomial>(residues.keySet());
+                monomials.addAll(terms.keySet());
+                BigInteger inverse = modulo.mod(p).modInverse(p);
+                for (Monomial m : monomials) {
+                    BigInteger r1 = residues.get(m);
+                    BigInteger r2 = terms.get(m);
+                    if (r1 == null) r1 = BigInteger.ZERO;
+                    if (r2 == null) r2 = BigInteger.ZERO;
+                    residues.put(m, r1.add(modulo.multiply(r2.subtract(r1).multiply(inverse).mod(p))));
+                }
+                modulo = modulo.multiply(p);
+            }
+            BigInteger numerator[] = new BigInteger[residues.size()];
+            BigInteger denominator[] = new BigInteger[residues.size()];
+            BigInteger lcm = BigInteger.ONE;
+            int k = 0;
+            for (BigInteger residue : residues.values()) {
+                BigInteger r[] = reconstruct(residue, modulo);
+                if (r == null) return null;
+                numerator[k] = r[0];
+                denominator[k] = r[1];
+                lcm = lcm.divide(lcm.gcd(r[1])).multiply(r[1]);
+                k++;
+            }
+            Generic s = JsclInteger.valueOf(0);
+            k = 0;
+            for (Monomial m : residues.keySet()) {
+                BigInteger c = numerator[k].multiply(lcm.divide(denominator[k]));
+                if (c.signum() != 0) s = s.add(Expression.valueOf(m.literalValue(), new JsclInteger(c)));
+                k++;
+            }
+            a[i] = basis.polynomial(s);
+        }
+        return a;
+    }
+
+    /**
+     * Rational reconstruction of the residue <code>u</code> modulo <code>m</code>, returns numerator and
+     * denominator with both absolute values bounded by sqrt(m/2) or null if no such fraction exists
+     */
+    static BigInteger[] reconstruct(BigInteger u, BigInteger m) {
+        BigInteger r0 = m, r1 = u.mod(m);
+        BigInteger s0 = BigInteger.ZERO, s1 = BigInteger.ONE;
+        while (r1.multiply(r1).shiftLeft(1).compareTo(m) > 0) {
+            BigInteger q = r0.divide(r1);
+            BigInteger r = r0.subtract(q.multiply(r1));
+            r0 = r1;
+            r1 = r;
+            BigInteger s = s0.subtract(q.multiply(s1));
+            s0 = s1;
+            s1 = s;
+        }
+        if (s1.multiply(s1).shiftLeft(1).compareTo(m) > 0 || !r1.gcd(s1).equals(BigInteger.ONE)) return null;
+        return s1.signum() < 0 ? new BigInteger[]{r1.negate(), s1.negate()} : new BigInteger[]{r1, s1};
+    }
+
+    /**
+     * Compares the candidate with the basis modulo a fresh prime, which costs one more image. A wrong candidate,
+     * for instance a basis of an ideal larger than the input one, is found with high probability. So is an
+     * unlucky fresh prime, the candidate is then reconstructed again with that image added.
+     */
+    boolean agrees(Polynomial candidate[]) {
+        for (int i = 0; i < candidate.length; i++) if (candidate[i].signum() == 0) return false;
+        Image image = new Image(basis, primes(1)[0], flags);
+        images.add(image);
+        Set<Polynomial> expected = new TreeSet<Polynomial>(Arrays.asList(image.polynomial));
+        Set<Polynomial> actual = new TreeSet<Polynomial>();
+        for (int i = 0; i < candidate.length; i++) actual.add(image.basis.polynomial(candidate[i].genericValue()).normalize());
+        return expected.equals(actual);
+    }
+
+    /**
+     * Checks over Q that the candidate is a Groebner basis and that the input reduces to zero by it
+     */
+    boolean verify(Polynomial candidate[]) {
+        List<Polynomial> ideal = Arrays.asList(candidate);
+        Generic a[] = basis.elements();
+        for (int i = 0; i < a.length; i++) {
+            if (basis.polynomial(a[i]).reduce(ideal, false).signum() != 0) return false;
+        }
+        for (int i = 0; i < candidate.length; i++) {
+            for (int j = i + 1; j < candidate.length; j++) {
+                Monomial m1 = candidate[i].head().monomial();
+                Monomial m2 = candidate[j].head().monomial();
+                if (m1.gcd(m2).degree() == 0) continue;
+                if (Standard.s_polynomial(candidate[i], candidate[j]).reduce(ideal, false).signum() != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    static Generic[] elements(Polynomial candidate[]) {
+        Set<Polynomial> set = new TreeSet<Polynomial>(Arrays.asList(candidate));
+        Generic a[] = new Generic[set.size()];
+        Iterator<Polynomial> it = set.iterator();
+        for (int i = 0; i < a.length; i++) a[i] = it.next().genericValue();
+        return a;
+    }
+
+    static class Image implements Comparable<Image> {
+        final int prime;
+        final Basis basis;
+        final Polynomial polynomial[];
+
+        Image(Basis basis, int prime, int flags) {
+            this.prime = prime;
+            this.basis = Standard.compute(basis.modulo(prime), flags);
+            Generic a[] = this.basis.elements();
+            polynomial = new Polynomial[a.length];
+            for (int i = 0; i < a.length; i++) polynomial[i] = this.basis.polynomial(a[i]);
+        }
+
+        Map<Monomial, BigInteger> terms(int n) {
+            Map<Monomial, BigInteger> map = new TreeMap<Monomial, BigInteger>();
+            Iterator<?> it = polynomial[n].iterator();
+            while (it.hasNext()) {
+                Term t = (Term) it.next();
+                map.put(t.monomial(), BigInteger.valueOf(((ModularInteger) t.coef()).content()));
+            }
+            return map;
+        }
+
+        public int compareTo(Image image) {
+            int c = polynomial.length - image.polynomial.length;
+            if (c != 0) return c;
+            for (int i = 0; i < polynomial.length; i++) {
+                c = polynomial[i].head().monomial().compareTo(image.polynomial[i].head().monomial());
+                if (c != 0) return c;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.Budget;
+import jscl.text.ParseInterruptedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Worker threads shared by the parallel Groebner computations.
+ * <p>
+ * Threads are created on demand and end after a minute of idleness, so the many small bases of the calculator
+ * do not pay for a pool each. Tasks run under the budget of the caller, and tasks not finished yet are
+ * cancelled (their threads interrupted) when the caller is interrupted or one of them fails.
+ */
+final class Parallel {
+    private static final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "jscl-groebner");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // not intended for instantiation
+    private Parallel() {
+        throw new AssertionError();
+    }
+
+    static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        final CompletionService<T> service = new ExecutorCompletionService<T>(executor);
+        final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) futures.add(service.submit(Budget.inherit(task)));
+            // in the order of completion, so that a failure is seen while other tasks still run
+            for (int i = 0; i < futures.size(); i++) service.take().get();
+            final List<T> results = new ArrayList<T>(futures.size());
+            for (Future<T> future : futures) results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParseInterruptedException("Interrupted!", e);
+        } catch (ExecutionException e) {
+            throw failed(e);
+        } finally {
+            for (Future<T> future : futures) future.cancel(true);
+        }
+    }
+
+    private static RuntimeException failed(ExecutionException e) {
+        final Throwable t = e.getCause();
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new ArithmeticException(t.getMessage());
+    }
+}
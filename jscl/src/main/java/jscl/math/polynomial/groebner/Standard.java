@@ -1,20 +1,23 @@
 package jscl.math.polynomial.groebner;
 
-import jscl.math.Debug;
+import jscl.Budget;
 import jscl.math.Generic;
+import jscl.math.Trace;
 import jscl.math.polynomial.Basis;
 import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.MonomialIndex;
 import jscl.math.polynomial.Ordering;
 import jscl.math.polynomial.Polynomial;
 import jscl.util.ArrayUtils;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 public class Standard {
     final int flags;
     final Comparator comparator;
     final Map pairs;
-    final List polys = new ArrayList();
+    final MonomialIndex polys = new MonomialIndex();
     final Map removed = new TreeMap();
     int npairs;
     int npolys;
@@ -29,6 +32,7 @@ public class Standard {
     }
 
     public static Basis compute(Basis basis, int flags) {
+        if ((flags & Basis.MODULAR) > 0) return Modular.compute(basis, flags);
         return compute(basis, flags, (flags & Basis.INSTRUMENTED) > 0);
     }
 
@@ -52,7 +56,7 @@ public class Standard {
     }
 
     static Polynomial reduce(Pair pair, Collection ideal) {
-        Debug.println(pair);
+        Trace.event(Trace.Event.pairSelected, pair, pair.sugar);
         return s_polynomial(pair.polynomial[0], pair.polynomial[1]).reduce(ideal, false).normalize().freeze();
     }
 
@@ -66,13 +70,13 @@ public class Standard {
     }
 
     void computeValue(Basis basis) {
-        Debug.println(basis);
+        if (Trace.isEnabled()) Trace.event(Trace.Event.basis, basis, basis.elements().length);
         populate(basis);
         npolys = 0;
         compute();
         remove();
         reduce();
-        Debug.println("signature = (" + npairs + ", " + npolys + ", " + polys.size() + ")");
+        Trace.event(Trace.Event.basisSize, null, polys.size());
     }
 
     void populate(Basis basis) {
@@ -91,14 +95,73 @@ public class Standard {
     }
 
     void compute() {
-        Debug.println("evaluate");
-        while (!pairs.isEmpty()) {
+        int threads = parallel() ? Basis.parallelism(flags) : 0;
+        if (threads > 1) compute(threads);
+        else while (!pairs.isEmpty()) {
+            Budget.check();
             Pair pa = (Pair) pairs.keySet().iterator().next();
             process(pa);
             remove(pa);
         }
     }
 
+    boolean parallel() {
+        return true;
+    }
+
+    /**
+     * Reduces pairs of the lowest sugar (or degree) concurrently against a snapshot of the basis, then replays
+     * the batch in pair order: criteria are checked and results reduced further against the polynomials
+     * added meanwhile, so the basis is the one of the serial algorithm. Each of the threads takes every
+     * threads-th pair of the batch.
+     */
+    void compute(final int threads) {
+        while (!pairs.isEmpty()) {
+            Budget.check();
+            final List<Pair> batch = batch();
+            final MonomialIndex snapshot = new MonomialIndex(polys);
+            final int n = batch.size();
+            final Polynomial reduced[] = new Polynomial[n];
+            List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int k = 0; k < Math.min(threads, n); k++) {
+                final int start = k;
+                tasks.add(new Callable<Void>() {
+                    public Void call() {
+                        for (int i = start; i < n; i += threads) {
+                            Budget.check();
+                            reduced[i] = reduce(batch.get(i), snapshot);
+                        }
+                        return null;
+                    }
+                });
+            }
+            Parallel.invokeAll(tasks);
+            for (int i = 0; i < n; i++) {
+                Pair pa = batch.get(i);
+                if (pairs.containsKey(pa) && !criterion(pa)) {
+                    Polynomial p = reduced[i];
+                    if (p.signum() != 0 && polys.size() > snapshot.size()) p = p.reduce(polys, false).normalize().freeze();
+                    if (p.signum() != 0) add(p);
+                    npairs++;
+                }
+                remove(pa);
+            }
+        }
+    }
+
+    List<Pair> batch() {
+        List<Pair> list = new ArrayList<Pair>();
+        int degree = -1;
+        for (Object o : pairs.keySet()) {
+            Pair pa = (Pair) o;
+            int d = (flags & Basis.SUGAR) > 0 ? pa.sugar : pa.scm.degree();
+            if (degree == -1) degree = d;
+            else if (d != degree) break;
+            list.add(pa);
+        }
+        return list;
+    }
+
     void process(Pair pair) {
         if (criterion(pair)) return;
         Polynomial p = reduce(pair, polys);
@@ -113,7 +176,7 @@ public class Standard {
 
     void add(Polynomial polynomial) {
         polynomial.setIndex(polys.size());
-        Debug.println("(" + polynomial.head().monomial() + ", " + polynomial.index() + ")");
+        Trace.event(Trace.Event.reductionFinished, polynomial, polynomial.index());
         if ((flags & Basis.GM_SETTING) > 0) makePairsGM(polynomial);
         else makePairs(polynomial);
         polys.add(polynomial);
@@ -125,23 +188,21 @@ public class Standard {
     }
 
     void makePairs(Polynomial polynomial) {
-        Iterator it = polys.iterator();
+        Iterator<Polynomial> it = polys.iterator();
         while (it.hasNext()) {
-            Polynomial p = (Polynomial) it.next();
+            Polynomial p = it.next();
             Pair pa = new Pair(p, polynomial);
             if (!pa.coprime) pairs.put(pa, null);
         }
     }
 
     boolean b_criterion(Pair pair) {
-        Iterator it = polys.iterator();
+        Iterator<Polynomial> it = polys.divisors(pair.scm).iterator();
         while (it.hasNext()) {
-            Polynomial p = (Polynomial) it.next();
-            if (pair.scm.multiple(p.head().monomial())) {
-                Pair pa1 = new Pair(sort(pair.polynomial[0], p));
-                Pair pa2 = new Pair(sort(pair.polynomial[1], p));
-                if (considered(pa1) && considered(pa2)) return true;
-            }
+            Polynomial p = it.next();
+            Pair pa1 = new Pair(sort(pair.polynomial[0], p));
+            Pair pa2 = new Pair(sort(pair.polynomial[1], p));
+            if (considered(pa1) && considered(pa2)) return true;
         }
         return false;
     }
@@ -193,18 +254,16 @@ public class Standard {
     }
 
     void remove() {
-        Iterator it = polys.iterator();
+        Iterator<Polynomial> it = polys.iterator();
         while (it.hasNext()) if (removed.containsKey(it.next())) it.remove();
     }
 
     void reduce() {
-        Debug.println("reduce");
-        Map map = new TreeMap();
+        Map<Polynomial, Object> map = new TreeMap<Polynomial, Object>();
         int size = polys.size();
         for (int i = 0; i < size; i++) {
-            Polynomial p = (Polynomial) polys.get(i);
+            Polynomial p = polys.get(i);
             polys.set(i, p = p.reduce(polys, true).normalize().freeze());
-            Debug.println("(" + p.head().monomial() + ")");
             map.put(p, null);
         }
         polys.clear();
@@ -215,7 +274,7 @@ public class Standard {
         int size = polys.size();
         Generic a[] = new Generic[size];
         for (int i = 0; i < size; i++) {
-            a[i] = ((Polynomial) polys.get(i)).genericValue();
+            a[i] = polys.get(i).genericValue();
         }
         return a;
     }
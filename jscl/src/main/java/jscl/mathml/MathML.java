@@ -1,68 +1,138 @@
 package jscl.mathml;
 
-import org.apache.xerces.dom.CoreDocumentImpl;
-import org.apache.xerces.dom.DocumentTypeImpl;
-import org.apache.xerces.dom.ElementImpl;
-import org.apache.xerces.dom.TextImpl;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Node of a MathML tree: a document, an element or a text. The tree is kept as plain lists and written out as
+ * XML directly, attributes in name order and characters escaped as the JAXP serializer of a DOM would do.
+ */
 public class MathML {
-    static Transformer xhtml;
-    Node node;
+    final String name;
+    final String data;
+    Map<String, String> attributes;
+    List<MathML> children;
 
-    MathML(Node node) {
-        this.node = node;
+    MathML(String name, String data) {
+        this.name = name;
+        this.data = data;
     }
 
-    public MathML(String qualifiedName, String publicID, String systemID) {
-        this(new CoreDocumentImpl());
-        CoreDocumentImpl document = (CoreDocumentImpl) document();
-        document.setXmlEncoding("utf-8");
-        document.appendChild(new DocumentTypeImpl(document, qualifiedName, publicID, systemID));
+    /**
+     * Creates a document, the root of the tree which creates its elements and texts
+     */
+    public MathML() {
+        this(null, null);
     }
 
-    static Transformer transformer() throws TransformerException {
-        return xhtml == null ? xhtml = TransformerFactory.newInstance().newTransformer() : xhtml;
-    }
-
-    public Document document() {
-        return node instanceof CoreDocumentImpl ? (Document) node : node.getOwnerDocument();
+    /**
+     * @deprecated no document type is written, use {@link #MathML()}
+     */
+    @Deprecated
+    public MathML(String qualifiedName, String publicID, String systemID) {
+        this();
     }
 
     public MathML element(String name) {
-        CoreDocumentImpl document = (CoreDocumentImpl) document();
-        return new MathML(new ElementImpl(document, name));
+        return new MathML(name, null);
     }
 
     public void setAttribute(String name, String value) {
-        ((Element) node).setAttribute(name, value);
+        if (attributes == null) attributes = new TreeMap<String, String>();
+        attributes.put(name, value);
     }
 
     public MathML text(String data) {
-        CoreDocumentImpl document = (CoreDocumentImpl) document();
-        return new MathML(new TextImpl(document, data));
+        return new MathML(null, data);
     }
 
     public void appendChild(MathML math) {
-        node.appendChild(math.node);
+        if (children == null) children = new ArrayList<MathML>();
+        children.add(math);
+    }
+
+    public void write(Appendable out) throws IOException {
+        if (data != null) {
+            escape(out, data, false);
+            return;
+        }
+        if (name != null) {
+            out.append('<').append(name);
+            if (attributes != null) {
+                for (Map.Entry<String, String> e : attributes.entrySet()) {
+                    out.append(' ').append(e.getKey()).append("=\"");
+                    escape(out, e.getValue(), true);
+                    out.append('"');
+                }
+            }
+            if (empty()) {
+                out.append("/>");
+                return;
+            }
+            out.append('>');
+        }
+        if (children != null) {
+            for (int i = 0; i < children.size(); i++) children.get(i).write(out);
+        }
+        if (name != null) out.append("</").append(name).append('>');
+    }
+
+    boolean empty() {
+        if (children != null) {
+            for (int i = 0; i < children.size(); i++) {
+                MathML child = children.get(i);
+                if (child.data == null || child.data.length() > 0) return false;
+            }
+        }
+        return true;
+    }
+
+    static void escape(Appendable out, String s, boolean attribute) throws IOException {
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '"':
+                    if (attribute) out.append("&quot;");
+                    else out.append(c);
+                    break;
+                case '\t':
+                case '\n':
+                    if (attribute) reference(out, c);
+                    else out.append(c);
+                    break;
+                default:
+                    if (c < 0x20 || (c >= 0x7f && c <= 0x9f)) reference(out, c);
+                    else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        reference(out, Character.toCodePoint(c, s.charAt(++i)));
+                    } else out.append(c);
+            }
+        }
+    }
+
+    static void reference(Appendable out, int c) throws IOException {
+        out.append("&#").append(String.valueOf(c)).append(';');
     }
 
     public String toString() {
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        StringBuilder buffer = new StringBuilder();
         try {
-            transformer().transform(new DOMSource(node), new StreamResult(os));
-        } catch (TransformerException e) {
+            write(buffer);
+        } catch (IOException e) {
+            throw new AssertionError(e);
         }
-        String s = os.toString();
-        return s.substring(s.indexOf(">") + 1);
+        return buffer.toString();
     }
 }
@@ -1,5 +1,6 @@
 package jscl.text;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -11,6 +12,9 @@ import javax.annotation.Nullable;
 import jscl.NumeralBase;
 import jscl.math.Generic;
 import jscl.math.NumericWrapper;
+import jscl.math.numeric.BigReal;
+import jscl.math.numeric.ExtendedReal;
+import jscl.math.numeric.Numeric;
 import jscl.math.numeric.Real;
 import jscl.text.msg.Messages;
 
@@ -18,7 +22,7 @@ public class DoubleParser implements Parser<NumericWrapper> {
 
     public static final Parser<NumericWrapper> parser = new DoubleParser();
 
-    private static final List<Parser<Double>> parsers = Arrays.asList(
+    private static final List<Parser<Numeric>> parsers = Arrays.asList(
             Singularity.parser,
             FloatingPointLiteral.parser);
 
@@ -27,20 +31,20 @@ public class DoubleParser implements Parser<NumericWrapper> {
 
     @Nonnull
     public NumericWrapper parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        final Parser<Double> multiTryParser = new MultiTryParser<Double>(new ArrayList<Parser<? extends Double>>(parsers));
-        return new NumericWrapper(Real.valueOf(multiTryParser.parse(p, previousSumElement)));
+        final Parser<Numeric> multiTryParser = new MultiTryParser<Numeric>(new ArrayList<Parser<? extends Numeric>>(parsers));
+        return new NumericWrapper(multiTryParser.parse(p, previousSumElement));
     }
 }
 
-class Singularity implements Parser<Double> {
+class Singularity implements Parser<Numeric> {
 
-    public static final Parser<Double> parser = new Singularity();
+    public static final Parser<Numeric> parser = new Singularity();
 
     private Singularity() {
     }
 
     @Nonnull
-    public Double parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    public Numeric parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
         int pos0 = p.position.intValue();
 
         double result = 0d;
@@ -54,18 +58,18 @@ class Singularity implements Parser<Double> {
             ParserUtils.throwParseException(p, pos0, Messages.msg_10, "NaN", "∞");
         }
 
-        return result;
+        return Real.valueOf(result);
     }
 }
 
-class FloatingPointLiteral implements Parser<Double> {
+class FloatingPointLiteral implements Parser<Numeric> {
 
-    public static final Parser<Double> parser = new FloatingPointLiteral();
+    public static final Parser<Numeric> parser = new FloatingPointLiteral();
 
     private FloatingPointLiteral() {
     }
 
-    public Double parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    public Numeric parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
         int pos0 = p.position.intValue();
 
         final NumeralBase nb = NumeralBaseParser.parser.parse(p, previousSumElement);
@@ -131,7 +135,14 @@ class FloatingPointLiteral implements Parser<Double> {
 
         final String doubleString = result.toString();
         try {
-            return nb.toDouble(doubleString);
+            final java.math.MathContext mc = p.context.getBigDecimalContext();
+            if (nb == NumeralBase.dec && mc != null) {
+                return BigReal.valueOf(new BigDecimal(doubleString), mc);
+            } else if (nb == NumeralBase.dec && p.context.isExtendedPrecision()) {
+                // parse digits directly as 0.1 has no exact double value
+                return ExtendedReal.valueOf(doubleString);
+            }
+            return Real.valueOf(nb.toDouble(doubleString));
         } catch (NumberFormatException e) {
             throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_8, Collections.singletonList(doubleString));
         }
@@ -111,7 +111,23 @@ public final class Messages {
      * Differentiation in not RAD mode can lead to unexpected results!
      */
     public static final String msg_25 = "msg_25";
-    static final int COUNT = 26;
+    /**
+     * Calculation took longer than {0} s
+     */
+    public static final String msg_26 = "msg_26";
+    /**
+     * Calculation has more than {0} terms
+     */
+    public static final String msg_27 = "msg_27";
+    /**
+     * Calculation has a degree above {0}
+     */
+    public static final String msg_28 = "msg_28";
+    /**
+     * Calculation created more than {0} terms in total
+     */
+    public static final String msg_29 = "msg_29";
+    static final int COUNT = 30;
 
     // not intended for instantiation
     private Messages() {
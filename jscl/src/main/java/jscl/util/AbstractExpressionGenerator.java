@@ -2,17 +2,28 @@ package jscl.util;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Random;
 
 public abstract class AbstractExpressionGenerator<T> {
 
     public static final double MAX_VALUE = Math.pow(10, 4);
     private final int depth;
+    @Nonnull
+    private final Random random;
 
     protected AbstractExpressionGenerator() {
         this(10);
     }
     public AbstractExpressionGenerator(int depth) {
+        this(depth, new Random());
+    }
+
+    /**
+     * Same seed, same sequence of expressions
+     */
+    public AbstractExpressionGenerator(int depth, @Nonnull Random random) {
         this.depth = depth;
+        this.random = random;
     }
 
     public int getDepth() {
@@ -23,12 +34,12 @@ public abstract class AbstractExpressionGenerator<T> {
     public abstract T generate();
 
     protected boolean generateBrackets() {
-        return Math.random() > 0.8d;
+        return random.nextDouble() > 0.8d;
     }
 
     @Nonnull
     protected Operation generateOperation() {
-        final int operationId = (int) (Math.random() * 4d);
+        final int operationId = (int) (random.nextDouble() * 4d);
         final Operation result = Operation.getOperationById(operationId);
         if (result == null) {
             throw new UnsupportedOperationException("Check!");
@@ -38,14 +49,14 @@ public abstract class AbstractExpressionGenerator<T> {
 
     @Nullable
     protected Function generateFunction() {
-        final int functionId = (int) (Math.random() * 8d);
+        final int functionId = (int) (random.nextDouble() * 8d);
         return Function.getFunctionById(functionId);
     }
 
     // only positive values (as - operator exists)
     @Nonnull
     protected Double generateNumber() {
-        return Math.random() * MAX_VALUE;
+        return random.nextDouble() * MAX_VALUE;
     }
 
     protected enum Operation {
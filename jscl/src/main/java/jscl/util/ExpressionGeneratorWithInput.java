@@ -3,6 +3,7 @@ package jscl.util;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class ExpressionGeneratorWithInput extends AbstractExpressionGenerator<List<String>> {
 
@@ -14,7 +15,11 @@ public class ExpressionGeneratorWithInput extends AbstractExpressionGenerator<Li
     }
 
     public ExpressionGeneratorWithInput(@Nonnull List<String> subExpressions, int depth) {
-        super(depth);
+        this(subExpressions, depth, new Random());
+    }
+
+    public ExpressionGeneratorWithInput(@Nonnull List<String> subExpressions, int depth, @Nonnull Random random) {
+        super(depth, random);
         this.subExpressions = new ArrayList<String>(subExpressions);
     }
 
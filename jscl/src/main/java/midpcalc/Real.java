@@ -327,6 +327,7 @@ public final class Real {
     private Real expTmp;
     private Real expTmp2;
     private Real expTmp3;
+    private Real ftoaTmp;
 
     /**
      * Creates a new <code>Real</code> with a value of zero.
@@ -619,6 +620,11 @@ public final class Real {
         return expTmp3;
     }
 
+    private Real ftoaTmp() {
+        if (ftoaTmp == null) ftoaTmp = new Real();
+        return ftoaTmp;
+    }
+
     /**
      * Assigns this <code>Real</code> the value of another <code>Real</code>.
      * <p/>
@@ -6359,36 +6365,43 @@ public final class Real {
         }
     }
 
-    private String align(StringBuilder s, NumberFormat format) {
+    private void align(StringBuilder s, int start, NumberFormat format) {
         if (format.align == NumberFormat.ALIGN_LEFT) {
-            while (s.length() < format.maxwidth)
+            while (s.length() - start < format.maxwidth)
                 s.append(' ');
         } else if (format.align == NumberFormat.ALIGN_RIGHT) {
-            while (s.length() < format.maxwidth)
-                s.insert(0, ' ');
+            while (s.length() - start < format.maxwidth)
+                s.insert(start, ' ');
         } else if (format.align == NumberFormat.ALIGN_CENTER) {
-            while (s.length() < format.maxwidth) {
+            while (s.length() - start < format.maxwidth) {
                 s.append(' ');
-                if (s.length() < format.maxwidth)
-                    s.insert(0, ' ');
+                if (s.length() - start < format.maxwidth)
+                    s.insert(start, ' ');
             }
         }
-        return s.toString();
     }
 
     private String ftoa(NumberFormat format) {
         buf.setLength(0);
+        ftoa(buf, format);
+        return buf.toString();
+    }
+
+    private void ftoa(StringBuilder buf, NumberFormat format) {
+        final int start = buf.length();
         if (this.exponent < 0 && this.mantissa != 0) {
             buf.append("NaN");
-            return align(buf, format);
+            align(buf, start, format);
+            return;
         }
         if (this.exponent < 0 && this.mantissa == 0) {
             buf.append((this.sign != 0) ? "-∞" : "∞");
-            return align(buf, format);
+            align(buf, start, format);
+            return;
         }
 
         final int digitsPerThousand = digitsPerThousand(format);
-        final Real tmp = new Real();
+        final Real tmp = ftoaTmp();
         tmp.assign(this);
         int accurateDigits = tmp.getDigits(digits, format.base);
         if (format.base == 10 && (exponent > 0x4000003e || !isIntegral()))
@@ -6496,17 +6509,17 @@ public final class Real {
         buf.append(exp);
         // In case hex/oct/bin number, prefix with 0's or f/7/1's
         if (format.base != 10) {
-            while (buf.length() < format.maxwidth) {
+            while (buf.length() - start < format.maxwidth) {
                 pointPos2++;
                 if (pointPos2 > 0 && pointPos2 % digitsPerThousand == 0)
-                    buf.insert(0, format.thousand);
-                if (buf.length() < format.maxwidth)
-                    buf.insert(0, prefixChar);
+                    buf.insert(start, format.thousand);
+                if (buf.length() - start < format.maxwidth)
+                    buf.insert(start, prefixChar);
             }
-            if (buf.charAt(0) == format.thousand)
-                buf.deleteCharAt(0);
+            if (buf.charAt(start) == format.thousand)
+                buf.deleteCharAt(start);
         }
-        return align(buf, format);
+        align(buf, start, format);
     }
 
     private int digitsPerThousand(NumberFormat format) {
@@ -6617,6 +6630,19 @@ public final class Real {
         return ftoa(format);
     }
 
+    /**
+     * Appends this <code>Real</code> to a <code>StringBuilder</code> using
+     * the given <code>NumberFormat</code>, as {@link
+     * #toString(Real.NumberFormat) toString()} would convert it, without
+     * creating an intermediate <code>String</code>.
+     *
+     * @param s      the <code>StringBuilder</code> to append to.
+     * @param format the number format to use in the conversion.
+     */
+    public void appendTo(StringBuilder s, NumberFormat format) {
+        ftoa(s, format);
+    }
+
     /**
      * The number format used to convert <code>Real</code> values to
      * <code>String</code> using {@link Real#toString(Real.NumberFormat)
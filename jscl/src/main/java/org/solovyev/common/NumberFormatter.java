@@ -9,6 +9,7 @@ import static midpcalc.Real.NumberFormat.FSE_SCI;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 
 import java.math.RoundingMode;
 import javax.annotation.Nonnull;
@@ -24,8 +25,19 @@ public class NumberFormatter {
     public static final int MAX_PRECISION = 15;
     public static final int ENG_PRECISION = 10;
 
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+    private static final double[] DOUBLE_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     private final Real.NumberFormat numberFormat = new Real.NumberFormat();
     private final Real real = new Real();
+    private final Real power = new Real();
+    private final ShortestDecimal decimal = new ShortestDecimal();
+    private final StringBuilder buffer = new StringBuilder(32);
+    private long unscaled;
+    private int unscaledExponent;
     private int format = FSE_NONE;
     private int simpleFormatMagnitude = DEFAULT_MAGNITUDE;
     private int precision = MAX_PRECISION;
@@ -71,6 +83,10 @@ public class NumberFormatter {
     @Nonnull
     public CharSequence format(double value, int radix) {
         checkRadix(radix);
+        if (value == 0) {
+            // -0.0 is printed as 0
+            value = 0.0;
+        }
         double absValue = Math.abs(value);
         final boolean simpleFormat = useSimpleFormat(radix, absValue);
 
@@ -78,7 +94,7 @@ public class NumberFormatter {
         if (simpleFormat) {
             precision += 1;
             final int newScale = Math.max(1, (int) (precision * Math.max(1, radix / 10f)) - 1);
-            value = BigDecimal.valueOf(value).setScale(newScale, RoundingMode.HALF_UP).doubleValue();
+            value = round(value, newScale);
             absValue = Math.abs(value);
         }
         if (simpleFormat) {
@@ -95,10 +111,14 @@ public class NumberFormatter {
         numberFormat.base = radix;
         numberFormat.maxwidth = simpleFormat ? 100 : 30;
 
+        buffer.setLength(0);
         if (radix == 2 && value < 0) {
-            return "-" + prepare(absValue);
+            buffer.append('-');
+            realFormat(absValue);
+            return prepare(1);
         }
-        return prepare(value);
+        realFormat(value);
+        return prepare(0);
     }
 
     private int getPrecision() {
@@ -125,10 +145,60 @@ public class NumberFormatter {
         numberFormat.base = radix;
         numberFormat.maxwidth = simpleFormat ? 100 : 30;
 
-        if (radix == 2 && value.compareTo(BigInteger.ZERO) < 0) {
-            return "-" + prepare(absValue);
+        buffer.setLength(0);
+        if (radix == 2 && value.signum() < 0) {
+            buffer.append('-');
+            realFormat(absValue);
+            return prepare(1);
         }
-        return prepare(value);
+        realFormat(value);
+        return prepare(0);
+    }
+
+    /**
+     * Formats <code>value</code> rounded to <code>digits</code> significant decimal digits, trailing zeros are dropped.
+     * As for doubles the simple format also rounds to <code>digits</code> fraction digits.
+     */
+    @Nonnull
+    public CharSequence format(@Nonnull BigDecimal value, int digits) {
+        value = value.round(new MathContext(digits, RoundingMode.HALF_EVEN));
+        if (format == FSE_NONE && value.scale() > digits) {
+            value = value.setScale(digits, RoundingMode.HALF_EVEN);
+        }
+        if (value.signum() == 0) {
+            return "0";
+        }
+        value = value.stripTrailingZeros();
+        final int exponent = value.precision() - value.scale() - 1;
+        buffer.setLength(0);
+        if (format == FSE_NONE ? exponent < digits : -simpleFormatMagnitude <= exponent && exponent < simpleFormatMagnitude) {
+            buffer.append(value.toPlainString());
+            if (groupingSeparator != NO_GROUPING) {
+                final int start = value.signum() < 0 ? 1 : 0;
+                final int dot = buffer.indexOf(".");
+                for (int i = (dot >= 0 ? dot : buffer.length()) - 3; i > start; i -= 3) {
+                    buffer.insert(i, groupingSeparator);
+                }
+            }
+            return buffer.toString();
+        }
+        final String unscaled = value.unscaledValue().abs().toString();
+        // engineering format keeps exponents divisible by 3
+        final int shift = format == FSE_ENG ? (exponent % 3 + 3) % 3 : 0;
+        if (value.signum() < 0) {
+            buffer.append('-');
+        }
+        buffer.append(unscaled, 0, Math.min(unscaled.length(), shift + 1));
+        for (int i = unscaled.length(); i < shift + 1; i++) {
+            buffer.append('0');
+        }
+        if (unscaled.length() > shift + 1) {
+            buffer.append('.').append(unscaled, shift + 1, unscaled.length());
+        }
+        if (exponent != shift) {
+            buffer.append('E').append(exponent - shift);
+        }
+        return buffer.toString();
     }
 
     private void checkRadix(int radix) {
@@ -165,34 +235,126 @@ public class NumberFormatter {
         return false;
     }
 
-    @Nonnull
-    private CharSequence prepare(double value) {
-        return stripZeros(realFormat(value)).replace('e', 'E');
+    /**
+     * Same as <code>BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).doubleValue()</code>, rounds the
+     * digits of {@link Double#toString(double)}
+     */
+    private double round(double value, int scale) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // throws
+            return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+        }
+        decimal.assign(value);
+        unscale();
+        final int drop = -unscaledExponent - scale;
+        if (drop <= 0) {
+            // nothing to round
+            return value;
+        }
+        long rounded = 0;
+        if (drop < POWERS_OF_TEN.length) {
+            final long divisor = POWERS_OF_TEN[drop];
+            rounded = unscaled / divisor;
+            if (unscaled % divisor >= divisor / 2) {
+                rounded++;
+            }
+        }
+        if (decimal.negative) {
+            rounded = -rounded;
+        }
+        if (Math.abs(rounded) < 1L << 52 && scale < DOUBLE_POWERS_OF_TEN.length) {
+            return rounded / DOUBLE_POWERS_OF_TEN[scale];
+        }
+        return BigDecimal.valueOf(rounded, scale).doubleValue();
     }
 
-    @Nonnull
-    private CharSequence prepare(@Nonnull  BigInteger value) {
-        return stripZeros(realFormat(value)).replace('e', 'E');
+    /**
+     * Sets {@link #unscaled} and {@link #unscaledExponent} to the digits and the exponent which {@link Real#assign(String)}
+     * and {@link BigDecimal#valueOf(double)} read from {@link Double#toString(double)}: the plain notation keeps at least
+     * one fractional digit and the computerized scientific notation at least one digit after the point.
+     */
+    private void unscale() {
+        unscaled = decimal.digits;
+        unscaledExponent = decimal.exponent;
+        if (unscaled == 0) {
+            // "0.0"
+            unscaledExponent = -1;
+            return;
+        }
+        final int length = decimal.length();
+        final int exponent = length + decimal.exponent - 1;
+        if (exponent >= -3 && exponent < 7) {
+            if (decimal.exponent >= 0) {
+                unscaled *= POWERS_OF_TEN[decimal.exponent + 1];
+                unscaledExponent = -1;
+            }
+        } else if (length == 1) {
+            unscaled *= 10;
+            unscaledExponent--;
+        }
     }
 
-    @Nonnull
-    private String realFormat(double value) {
-        real.assign(Double.toString(value));
-        return real.toString(numberFormat);
+    private void realFormat(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            real.assign(Double.toString(value));
+        } else if (numberFormat.base != 10 && value == Math.rint(value)) {
+            // whole numbers are exact in other radices: beyond 2^53 their shortest decimal form is not the value.
+            // Fractions keep the digits of the decimal rounding done by format(double, int)
+            real.assignDoubleBits(Double.doubleToLongBits(value));
+        } else {
+            decimal.assign(value);
+            unscale();
+            real.assign(unscaled);
+            if (unscaledExponent != 0) {
+                power.assign(Real.TEN);
+                power.pow(Math.abs(unscaledExponent));
+                if (unscaledExponent < 0) {
+                    real.div(power);
+                } else {
+                    real.mul(power);
+                }
+            }
+            if (decimal.negative) {
+                real.neg();
+            }
+        }
+        real.appendTo(buffer, numberFormat);
     }
 
-    @Nonnull
-    private String realFormat(@Nonnull  BigInteger value) {
-        real.assign(value.toString());
-        return real.toString(numberFormat);
+    /**
+     * Assigns the value rounded to the 63 bits of a {@link Real} mantissa, half up as {@link Real} rounds
+     */
+    private void realFormat(@Nonnull BigInteger value) {
+        final int bits = value.bitLength();
+        if (bits < 64) {
+            real.assign(value.longValue());
+        } else {
+            final BigInteger abs = value.abs();
+            final int shift = abs.bitLength() - 63;
+            long mantissa = abs.shiftRight(shift).longValue();
+            int exponent = 0x40000000 + 62 + shift;
+            if (abs.testBit(shift - 1)) {
+                mantissa++;
+                if (mantissa < 0) {
+                    mantissa = 1L << 62;
+                    exponent++;
+                }
+            }
+            real.assign(value.signum() < 0 ? 1 : 0, exponent, mantissa);
+        }
+        real.appendTo(buffer, numberFormat);
     }
 
+    /**
+     * Strips leading and trailing zeros and the zero exponent of the formatted number in {@link #buffer} from
+     * <code>start</code> on
+     */
     @Nonnull
-    private String stripZeros(@Nonnull String s) {
+    private CharSequence prepare(int start) {
         int dot = -1;
         int firstNonZero = -1;
-        for (int i = 0; i < s.length(); i++) {
-            final char c = s.charAt(i);
+        for (int i = start; i < buffer.length(); i++) {
+            final char c = buffer.charAt(i);
             if (c != '0' && c != groupingSeparator && firstNonZero == -1) {
                 firstNonZero = i;
             }
@@ -203,41 +365,34 @@ public class NumberFormatter {
         }
         if (firstNonZero == -1) {
             // all zeros
-            return "";
+            buffer.setLength(start);
+            return buffer.toString();
         }
-        if (dot < 0) {
-            // no dot - no trailing zeros
-            return s.substring(firstNonZero);
-        }
-        if (firstNonZero == dot) {
-            // one zero before dot must be kept
-            firstNonZero--;
-        }
-        final int e = s.lastIndexOf('e');
-        final int i = findLastNonZero(s, e);
-        final int end = i == dot ? i : i + 1;
-        return s.substring(firstNonZero, end) + getExponent(s, e);
-    }
-
-    @Nonnull
-    private String getExponent(@Nonnull String s, int e) {
-        String exponent = "";
-        if (e > 0) {
-            exponent = s.substring(e);
-            if (exponent.length() == 2 && exponent.charAt(1) == '0') {
-                exponent = "";
+        int e = -1;
+        for (int i = buffer.length() - 1; i > start; i--) {
+            if (buffer.charAt(i) == 'e') {
+                e = i;
+                buffer.setCharAt(i, 'E');
+                break;
             }
         }
-        return exponent;
-    }
-
-    private int findLastNonZero(@Nonnull String s, int e) {
-        int i = e > 0 ? e - 1 : s.length() - 1;
-        for (; i >= 0; i--) {
-            if (s.charAt(i) != '0') {
-                break;
+        if (dot >= 0) {
+            if (firstNonZero == dot) {
+                // one zero before dot must be kept
+                firstNonZero--;
+            }
+            int i = e > 0 ? e - 1 : buffer.length() - 1;
+            while (i >= start && buffer.charAt(i) == '0') {
+                i--;
+            }
+            final int end = i == dot ? i : i + 1;
+            if (e > 0 && buffer.length() - e == 2 && buffer.charAt(e + 1) == '0') {
+                // "e0"
+                buffer.setLength(e);
             }
+            buffer.delete(end, e > 0 ? e : buffer.length());
         }
-        return i;
+        buffer.delete(start, firstNonZero);
+        return buffer.toString();
     }
 }
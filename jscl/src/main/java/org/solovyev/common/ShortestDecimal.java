@@ -0,0 +1,162 @@
+package org.solovyev.common;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest decimal which rounds back to a given double: <code>digits * 10^exponent</code>, the same digits as
+ * {@link Double#toString(double)} produces. Computed from the IEEE bits with the Schubfach algorithm of R. Giulietti
+ * ("The Schubfach way to render doubles", 2020) without creating any objects.
+ */
+final class ShortestDecimal {
+
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << 52;
+    private static final long C_TINY = 3;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = 0x7fffffffffffffffL;
+
+    // 10^-k = g * 2^r, g rounded up to 126 bits and split into 63 bit halves
+    private static final long[] g = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+        final BigInteger mask = BigInteger.valueOf(MASK_63);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger beta;
+            if (k <= 0) {
+                final BigInteger p = BigInteger.TEN.pow(-k);
+                final int r = p.bitLength() - 126;
+                beta = r >= 0 ? p.shiftRight(r) : p.shiftLeft(-r);
+            } else {
+                final BigInteger p = BigInteger.TEN.pow(k);
+                beta = BigInteger.ONE.shiftLeft(p.bitLength() + 125).divide(p);
+            }
+            beta = beta.add(BigInteger.ONE);
+            g[2 * (k - K_MIN)] = beta.shiftRight(63).longValue();
+            g[2 * (k - K_MIN) + 1] = beta.and(mask).longValue();
+        }
+    }
+
+    boolean negative;
+    // no trailing zeros, zero for 0.0
+    long digits;
+    int exponent;
+
+    /**
+     * @param value finite double
+     */
+    void assign(double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long t = bits & (C_MIN - 1);
+        final int bq = (int) (bits >>> 52) & 0x7ff;
+        negative = bits < 0;
+        if (bq != 0) {
+            final int mq = 1075 - bq;
+            final long c = C_MIN | t;
+            if (0 < mq && mq < 53) {
+                final long f = c >> mq;
+                if (f << mq == c) {
+                    // integer
+                    normalize(f, 0);
+                    return;
+                }
+            }
+            assign(-mq, c, 0);
+        } else if (t != 0) {
+            if (t < C_TINY) {
+                assign(Q_MIN, 10 * t, -1);
+            } else {
+                assign(Q_MIN, t, 0);
+            }
+        } else {
+            digits = 0;
+            exponent = 0;
+        }
+    }
+
+    private void assign(int q, long c, int dk) {
+        final int out = (int) c & 1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+        final long g1 = g[2 * (k - K_MIN)];
+        final long g0 = g[2 * (k - K_MIN) + 1];
+
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) {
+            final long sp10 = 10 * Math.multiplyHigh(s, 115292150460684698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                normalize(upin ? sp10 : tp10, k + dk);
+                return;
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            normalize(uin ? s : t, k + dk);
+            return;
+        }
+        final long cmp = vb - (s + t << 1);
+        normalize(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+    }
+
+    private void normalize(long f, int e) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        digits = f;
+        exponent = e;
+    }
+
+    /**
+     * @return number of decimal digits
+     */
+    int length() {
+        int n = 1;
+        for (long d = digits; d >= 10; d /= 10) n++;
+        return n;
+    }
+
+    // (g1 * 2^63 + g0) * cp / 2^127 rounded to odd
+    private static long rop(long g1, long g0, long cp) {
+        final long x1 = Math.multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = Math.multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    // floor(e * log10(2))
+    private static int flog10pow2(int e) {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    // floor(e * log10(2) + log10(3/4))
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661971961083L - 274743187321L >> 41);
+    }
+
+    // floor(e * log2(10))
+    private static int flog2pow10(int e) {
+        return (int) (e * 913124641741L >> 38);
+    }
+}
@@ -44,6 +44,7 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
     @GuardedBy("this")
     @Nonnull
     private static volatile Integer counter = 0;
+    private static volatile int version = 0;
     @GuardedBy("this")
     @Nonnull
     protected final SortedList<T> entities = SortedList.newInstance(new ArrayList<T>(30), MATH_ENTITY_COMPARATOR);
@@ -74,6 +75,17 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
 
     protected abstract void onInit();
 
+    /**
+     * Number of changes made to any registry, used to invalidate results depending on registered entities
+     */
+    public static int getVersion() {
+        return version;
+    }
+
+    private static synchronized void changed() {
+        version++;
+    }
+
     @Nonnull
     private static synchronized Integer count() {
         final Integer result = counter;
@@ -124,6 +136,7 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
             if (!contains(entity.getName(), this.entities)) {
                 addEntity(entity, this.entities);
                 this.entityNames = null;
+                changed();
             }
         }
     }
@@ -144,12 +157,14 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
                 if (entity.isSystem()) {
                     systemEntities.add(entity);
                 }
+                changed();
                 return entity;
             } else {
                 existingEntity.copy(entity);
                 this.entities.sort();
                 this.entityNames = null;
                 this.systemEntities.sort();
+                changed();
                 return existingEntity;
             }
         }
@@ -161,6 +176,7 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
                 final T removed = removeByName(entities, entity.getName());
                 if (removed != null) {
                     this.entityNames = null;
+                    changed();
                 }
             }
         }
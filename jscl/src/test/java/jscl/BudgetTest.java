@@ -0,0 +1,129 @@
+package jscl;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class BudgetTest {
+
+    @Test
+    public void testTerms() throws Exception {
+        assertEquals(Budget.Limit.terms, exceeded(new Budget.Builder().setMaxTerms(1000), "(a+b+c+d+e)^40"));
+    }
+
+    @Test
+    public void testAllocations() throws Exception {
+        // no intermediate power of (a+b+c) has more than 231 terms, all of them have more than 100000
+        assertEquals(Budget.Limit.allocations, exceeded(new Budget.Builder().setMaxTerms(1000).setMaxAllocations(100000), "(a+b+c)^20"));
+    }
+
+    @Test
+    public void testDegree() throws Exception {
+        assertEquals(Budget.Limit.degree, exceeded(new Budget.Builder().setMaxDegree(100), "x^60*y^60"));
+    }
+
+    @Test
+    public void testTime() throws Exception {
+        assertEquals(Budget.Limit.time, exceeded(new Budget.Builder().setTimeout(50), "(a+b+c+d+e+f+g)^30"));
+    }
+
+    @Test
+    public void testWithinBudget() throws Exception {
+        final Budget budget = new Budget.Builder().setTimeout(10000).setMaxTerms(100).setMaxDegree(10).create();
+        budget.enter();
+        try {
+            assertEquals("a^2+2*a*b+b^2", Expression.valueOf("(a+b)^2").expand().toString());
+        } finally {
+            budget.exit();
+        }
+        assertNull(Budget.current());
+        assertEquals("x^60*y^60", Expression.valueOf("x^60*y^60").expand().toString());
+    }
+
+    @Test
+    public void testInteractive() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        final Budget budget = Budget.interactive().create();
+        budget.enter();
+        try {
+            assertEquals(201, ((Expression) Expression.valueOf(me.simplify("(x+1)^200")).expand()).size());
+            assertEquals("(7+5*y+x^3*y+3*x*y^2)*(11-2*x*y+x^2*y^2)", Expression.valueOf("(x^3*y+3*x*y^2+5*y+7)*(x^2*y^2-2*x*y+11)").expand().factorize().toString());
+            assertEquals(231, ((Expression) Expression.valueOf("(a+b+c)^20").expand()).size());
+        } finally {
+            budget.exit();
+        }
+    }
+
+    @Test
+    public void testInherit() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(Budget.Limit.terms, exceeded(executor, new Budget.Builder().setMaxTerms(1000), 0));
+            assertEquals(Budget.Limit.allocations, exceeded(executor, new Budget.Builder().setMaxAllocations(100000), 0));
+            // the worker starts after the deadline of the caller has passed, it does not get a fresh one
+            assertEquals(Budget.Limit.time, exceeded(executor, new Budget.Builder().setTimeout(50), 100));
+            assertNull(executor.submit(new Callable<Budget>() {
+                @Override
+                public Budget call() {
+                    return Budget.current();
+                }
+            }).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMessages() throws Exception {
+        assertEquals("Calculation took longer than 10 s", new BudgetExceededException(Budget.Limit.time, 10000).getLocalizedMessage(Locale.ENGLISH));
+        assertEquals("Calculation took longer than 0.5 s", new BudgetExceededException(Budget.Limit.time, 500).getLocalizedMessage(Locale.ENGLISH));
+        assertEquals("Calculation has more than 100,000 terms", new BudgetExceededException(Budget.Limit.terms, 100000).getLocalizedMessage(Locale.ENGLISH));
+        assertEquals("Calculation has a degree above 10,000", new BudgetExceededException(Budget.Limit.degree, 10000).getLocalizedMessage(Locale.ENGLISH));
+        assertEquals("Calculation created more than 20,000,000 terms in total", new BudgetExceededException(Budget.Limit.allocations, 20000000).getLocalizedMessage(Locale.ENGLISH));
+    }
+
+    private static Budget.Limit exceeded(Budget.Builder builder, String expression) throws Exception {
+        final Budget budget = builder.create();
+        budget.enter();
+        try {
+            Expression.valueOf(expression).expand();
+            fail();
+            return null;
+        } catch (BudgetExceededException e) {
+            return e.getLimit();
+        } finally {
+            budget.exit();
+        }
+    }
+
+    private static Budget.Limit exceeded(ExecutorService executor, Budget.Builder builder, long delay) throws Exception {
+        final Budget budget = builder.create();
+        budget.enter();
+        try {
+            Thread.sleep(delay);
+            executor.submit(Budget.inherit(new Callable<Generic>() {
+                @Override
+                public Generic call() throws Exception {
+                    Budget.check();
+                    return Expression.valueOf("(a+b+c+d+e)^40").expand();
+                }
+            })).get();
+            fail();
+            return null;
+        } catch (ExecutionException e) {
+            return ((BudgetExceededException) e.getCause()).getLimit();
+        } finally {
+            budget.exit();
+        }
+    }
+}
@@ -8,6 +8,11 @@ import jscl.math.function.ExtendedConstant;
 import jscl.math.function.IConstant;
 import jscl.text.ParseException;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 public class NumeralBaseTest {
@@ -88,4 +93,135 @@ public class NumeralBaseTest {
             me.setNumeralBase(defaultNumeralBase);
         }
     }
+
+    @Test
+    public void testIntegers() throws Exception {
+        MathEngine me = JsclMathEngine.getInstance();
+
+        final NumeralBase defaultNumeralBase = me.getNumeralBase();
+        try {
+            me.setNumeralBase(NumeralBase.hex);
+            // integers are not converted to doubles
+            assertEquals("8000000000000000", me.evaluate("7FFFFFFFFFFFFFFF+1"));
+            assertEquals("7FFFFFFE80000001", me.evaluate("FFFFFFFF*7FFFFFFF"));
+            assertEquals("5", me.evaluate("A/2"));
+            assertEquals("3.555555555555616", me.evaluate("A/3"));
+
+            for (NumeralBase nb : NumeralBase.values()) {
+                for (long value : new long[]{0, 1, 255, 256, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE}) {
+                    final BigInteger expected = BigInteger.valueOf(value);
+                    assertEquals(nb.toString(expected), nb.toString(value));
+                    assertEquals(nb.toString(expected.and(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE))), nb.toUnsignedString(value));
+                    assertEquals(expected, nb.toJsclInteger(nb.toString(expected.abs())).toBigInteger().multiply(BigInteger.valueOf(expected.signum())));
+                }
+            }
+        } finally {
+            me.setNumeralBase(defaultNumeralBase);
+        }
+    }
+
+    @Test
+    public void testWordSize() throws Exception {
+        MathEngine me = JsclMathEngine.getInstance();
+
+        final NumeralBase defaultNumeralBase = me.getNumeralBase();
+        try {
+            me.setNumeralBase(NumeralBase.hex);
+            me.setWordSize(8);
+            assertEquals("0", me.evaluate("FF+1"));
+            assertEquals("80", me.evaluate("7F+1"));
+            assertEquals("FF", me.evaluate("0-1"));
+            assertEquals("1", me.evaluate("FF*FF"));
+            assertEquals("3.555555555555616", me.evaluate("A/3"));
+
+            me.setWordSize(64);
+            assertEquals("FFFFFFFFFFFFFFFF", me.evaluate("0-1"));
+            assertEquals("0", me.evaluate("FFFFFFFFFFFFFFFF+1"));
+
+            me.setNumeralBase(NumeralBase.bin);
+            me.setWordSize(16);
+            assertEquals("1111111111111110", me.evaluate("0-10"));
+
+            me.setNumeralBase(NumeralBase.dec);
+            assertEquals("-32768", me.evaluate("32767+1"));
+            assertEquals("-1", me.evaluate("0x:FFFF"));
+            assertEquals("0.5", me.evaluate("1/2"));
+
+            try {
+                me.setWordSize(12);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+            }
+        } finally {
+            me.setWordSize(0);
+            me.setNumeralBase(defaultNumeralBase);
+        }
+        assertEquals("256", me.evaluate("255+1"));
+    }
+
+    @Test
+    public void testDoubles() throws Exception {
+        assertEquals("FF.80", NumeralBase.hex.toString(255.5, 2));
+        assertEquals("0.1999999999999A000000", NumeralBase.hex.toString(0.1, 20));
+        assertEquals("-0.110", NumeralBase.bin.toString(-0.75, 3));
+        assertEquals("0.0", NumeralBase.hex.toString(1d / 32, 1));
+        assertEquals("0.2", NumeralBase.hex.toString(3d / 32, 1));
+        assertEquals("1.0", NumeralBase.hex.toString(0.999, 1));
+        assertEquals("0.0", NumeralBase.hex.toString(-0.001, 1));
+        assertEquals("10.", NumeralBase.oct.toString(8d, 0));
+        assertEquals("0.33", NumeralBase.dec.toString(1d / 3, 2));
+        assertEquals("-12.50", NumeralBase.dec.toString(-12.5, 2));
+
+        final Random random = new Random(42);
+        final StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            final double value;
+            switch (i % 4) {
+                case 0:
+                    value = random.nextDouble();
+                    break;
+                case 1:
+                    value = random.nextGaussian() * 1e6;
+                    break;
+                case 2:
+                    value = Double.longBitsToDouble(random.nextLong());
+                    break;
+                default:
+                    value = random.nextInt(1 << 20) / 1024d;
+                    break;
+            }
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+            final int fractionDigits = random.nextInt(30);
+            for (NumeralBase nb : NumeralBase.values()) {
+                final String expected = nb == NumeralBase.dec ? truncated(value, fractionDigits) : rounded(value, nb.radix, fractionDigits);
+                assertEquals(expected, nb.toString(value, fractionDigits));
+                buffer.setLength(0);
+                assertEquals(expected, nb.append(buffer, value, fractionDigits).toString());
+            }
+        }
+    }
+
+    private static String rounded(double value, int radix, int fractionDigits) {
+        final BigDecimal scaled = new BigDecimal(Math.abs(value)).multiply(BigDecimal.valueOf(radix).pow(fractionDigits));
+        return format(value, scaled.setScale(0, RoundingMode.HALF_EVEN).toBigInteger(), radix, fractionDigits);
+    }
+
+    private static String truncated(double value, int fractionDigits) {
+        final BigDecimal scaled = BigDecimal.valueOf(Math.abs(value)).multiply(BigDecimal.TEN.pow(fractionDigits));
+        return format(value, scaled.toBigInteger(), 10, fractionDigits);
+    }
+
+    private static String format(double value, BigInteger digits, int radix, int fractionDigits) {
+        final StringBuilder result = new StringBuilder(digits.toString(radix).toUpperCase());
+        while (result.length() < fractionDigits + 1) {
+            result.insert(0, '0');
+        }
+        result.insert(result.length() - fractionDigits, '.');
+        if (value < 0 && digits.signum() != 0) {
+            result.insert(0, '-');
+        }
+        return result.toString();
+    }
 }
@@ -0,0 +1,85 @@
+package jscl.math;
+
+import jscl.Budget;
+import jscl.BudgetExceededException;
+import jscl.math.polynomial.Polynomial;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FactorizationTest {
+
+    @Test
+    public void testUnivariate() throws Exception {
+        assertEquals("-6*(1-x)*(1+x)", factorize("6*x^2-6"));
+        assertEquals("-(2-x)*(1+x)^2", factorize("(x+1)^2*(x-2)"));
+        assertEquals("x^3*(1+x)", factorize("x^3*(x+1)"));
+        assertEquals("(2-2*x+x^2)*(2+2*x+x^2)", factorize("x^4+4"));
+        assertEquals("2*(1-x)*(1+x)*(3-x^2)", factorize("2*x^4-8*x^2+6"));
+        assertEquals("1+x^16", factorize("x^16+1"));
+        // Swinnerton-Dyer polynomial: irreducible but splits into linear and quadratic factors modulo every prime
+        assertEquals(1, Zassenhaus.compute(coefficients("x^16-136*x^14+6476*x^12-141912*x^10+1513334*x^8-7453176*x^6+13950764*x^4-5596840*x^2+46225")).size());
+    }
+
+    @Test
+    public void testHighDegree() throws Exception {
+        assertEquals(6, Zassenhaus.compute(coefficients("x^50-1")).size());
+        assertEquals(2, Zassenhaus.compute(coefficients("(x^25+3*x^7-2)*(x^25-x^13+5*x+1)")).size());
+        assertEquals(6, Zassenhaus.compute(coefficients("(3*x^5+2*x-1)^3*(x^7-x+11)^2*(5*x^3-2)")).size());
+        for (String s : new String[]{"x^50-1", "(x^10+x+1)*(2*x^20-7*x^3+1)*(3*x^20+x^19-4)"}) {
+            final Generic generic = Expression.valueOf(s).expand();
+            final long time = System.currentTimeMillis();
+            final Generic factorized = generic.factorize();
+            assertTrue(System.currentTimeMillis() - time < 1000);
+            assertEquals(0, factorized.expand().subtract(generic).signum());
+        }
+    }
+
+    @Test
+    public void testMultivariate() throws Exception {
+        assertEquals("(x-y)*(x+y)", factorize("x^2-y^2"));
+        assertEquals("(x-y)^3*(x+y+z)^4", factorize("(x+y+z)^4*(x-y)^3"));
+        assertEquals("6*(1+y)*(2-x*y)^2*(1+x^2+y^2)", factorize("6*(x^2+y^2+1)*(x*y-2)^2*(y+1)"));
+        assertEquals("x^4+y^4", factorize("x^4+y^4"));
+        assertEquals("(b+a*x)*(d+c*x)", factorize("(a*x+b)*(c*x+d)"));
+        final Generic generic = Expression.valueOf("(x^3*y+z)*(x*z^2+y^2*x-1)*(x+y+z+1)*(x^2*z-y+3)").expand();
+        final Generic factorized = generic.factorize();
+        int factors = 0;
+        for (Generic factor : factorized.productValue()) if (factor.variables().length > 0) factors++;
+        assertEquals(4, factors);
+        assertEquals(0, factorized.expand().subtract(generic).signum());
+    }
+
+    @Test
+    public void testBudgetNotSwallowed() throws Exception {
+        final Generic generic = Expression.valueOf("(x^3*y+3*x*y^2+5*y+7)*(x^2*y^2-2*x*y+11)").expand();
+        final Trace.Counter counter = new Trace.Counter();
+        final Budget budget = new Budget.Builder().setMaxTerms(40).create();
+        Trace.setSink(counter);
+        budget.enter();
+        try {
+            generic.factorize();
+            fail();
+        } catch (BudgetExceededException e) {
+            assertEquals(Budget.Limit.terms, e.getLimit());
+        } finally {
+            budget.exit();
+            Trace.setSink(null);
+        }
+        // the abort in the lifting does not fall back to the divisor search
+        assertEquals(0, counter.getCount(Trace.Event.factorizationStep));
+    }
+
+    private static String factorize(String expression) throws Exception {
+        return Expression.valueOf(expression).expand().factorize().toString();
+    }
+
+    private static BigInteger[] coefficients(String expression) throws Exception {
+        final Generic generic = Expression.valueOf(expression).expand();
+        return Factorization.univariate(Polynomial.factory(generic.variables()).valueOf(generic));
+    }
+}
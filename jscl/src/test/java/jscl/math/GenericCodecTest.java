@@ -0,0 +1,150 @@
+package jscl.math;
+
+import jscl.JsclMathEngine;
+import jscl.math.function.Constant;
+import jscl.math.numeric.BigComplex;
+import jscl.math.numeric.BigReal;
+import jscl.math.numeric.Complex;
+import jscl.math.numeric.ExtendedReal;
+import jscl.math.numeric.Real;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GenericCodecTest {
+
+    @Test
+    public void testExpressions() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        for (String expression : new String[]{"0", "1", "-7", "2^70-1", "-(2^70)", "x", "2*x*y^2-3/4*z", "sin(x)^2+cos(x)^2",
+                "π*e+i", "√(2)+cubic(x)", "ln(x)/lg(y)", "x^(1/3)+(x+1)^y", "5!+3!!", "20%", "∂(sin(x), x)", "∫(cos(x), x)",
+                "Σ(n^2, n, 1, 10)", "[1, 2, x]", "[[1, 2], [3, x]]", "f'(x)", "x_1+y'", "gt(x, y)", "abs(-x)", "45°", "1.5+x"}) {
+            assertRoundTrip(Expression.valueOf(expression));
+            assertRoundTrip(Expression.valueOf(expression).expand());
+            assertRoundTrip(me.simplifyGeneric(expression));
+        }
+    }
+
+    @Test
+    public void testNumerics() throws Exception {
+        assertRoundTrip(new NumericWrapper(Real.valueOf(Math.PI)));
+        assertRoundTrip(new NumericWrapper(Real.valueOf(-0d)));
+        assertRoundTrip(new NumericWrapper(Complex.valueOf(1.5, -2)));
+        assertRoundTrip(Expression.valueOf("[1.5, 2]").numeric());
+        assertRoundTrip(Expression.valueOf("[[1, 2.5], [3, 4]]").numeric());
+        assertRoundTrip(Expression.valueOf(2.25));
+        assertRoundTrip(new NumericWrapper(ExtendedReal.valueOf("0.1")));
+        assertRoundTrip(new NumericWrapper(BigReal.pi(new MathContext(50))));
+        assertRoundTrip(new NumericWrapper(BigReal.valueOf(new BigDecimal("-1.5E-300"), MathContext.DECIMAL128)));
+        assertRoundTrip(new NumericWrapper(BigComplex.valueOf(BigDecimal.TEN.pow(40), new BigDecimal("-0.25"), MathContext.DECIMAL64)));
+    }
+
+    @Test
+    public void testIntegers() throws Exception {
+        for (long value : new long[]{0, 1, -1, 63, 64, -64, -65, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertRoundTrip(new JsclInteger(BigInteger.valueOf(value)));
+        }
+        assertRoundTrip(new JsclInteger(BigInteger.ONE.shiftLeft(64)));
+        assertRoundTrip(new Rational(BigInteger.valueOf(-3), BigInteger.ONE.shiftLeft(100)));
+    }
+
+    @Test
+    public void testCorpus() throws Exception {
+        for (Map.Entry<String, List<String>> entry : PerformanceTest.corpus().entrySet()) {
+            if (entry.getKey().equals("parse")) continue;
+            final List<String> inputs = entry.getValue();
+            for (int i = 0; i < inputs.size(); i += 10) {
+                assertRoundTrip(Expression.valueOf(inputs.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testSharing() throws Exception {
+        final Generic e = Expression.valueOf("(a+b+c)^10").expand();
+        final int once = write(e).length;
+        final int twice = write(new JsclVector(new Generic[]{e, e})).length;
+        assertTrue(once + " " + twice, twice < once + 10);
+
+        // names are written once
+        final Generic sum = Expression.valueOf("alpha*beta+alpha^2+beta^2+alpha*beta^3");
+        assertTrue(write(sum).length < 2 * sum.toString().length());
+    }
+
+    @Test
+    public void testUnknownVersion() throws Exception {
+        final byte[] bytes = write(Expression.valueOf("x"));
+        bytes[0] = (byte) (GenericCodec.VERSION + 1);
+        try {
+            read(bytes);
+            fail();
+        } catch (IOException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        final byte[] bytes = write(Expression.valueOf("sin(x)+y^2"));
+        for (int length = 0; length < bytes.length; length++) {
+            final byte[] truncated = new byte[length];
+            System.arraycopy(bytes, 0, truncated, 0, length);
+            try {
+                read(truncated);
+                fail();
+            } catch (IOException e) {
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownConstant() throws Exception {
+        assertRoundTrip(Expression.valueOf(new Constant("unknown")));
+    }
+
+    @Test
+    public void testUnsupported() throws Exception {
+        try {
+            write(new JsclVector(new Generic[]{Expression.valueOf("x"), new ModularInteger(3, 7)}));
+            fail();
+        } catch (UnsupportedGenericException e) {
+            assertEquals(ModularInteger.class.getName(), e.getType());
+        }
+    }
+
+    private static void assertRoundTrip(@Nonnull Generic expected) throws IOException {
+        final Generic actual = read(write(expected));
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.toString(), 0, expected.compareTo(actual));
+    }
+
+    @Nonnull
+    private static byte[] write(@Nonnull Generic generic) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        GenericCodec.write(out, generic);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Nonnull
+    private static Generic read(@Nonnull byte[] bytes) throws IOException {
+        return GenericCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,172 @@
+package jscl.math;
+
+import au.com.bytecode.opencsv.CSVReader;
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.util.ExpressionGenerator;
+import jscl.util.ExpressionGeneratorWithInput;
+import org.junit.Assume;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Latency and allocation budgets of the parser and the evaluator on a fixed corpus of calculator inputs: the
+ * rows of nb_table.csv and trig_table.csv and expressions generated from them with a fixed seed. Budgets are
+ * read from perf_budget.properties and scaled with -Djscl.perf.scale. The test is skipped unless the scale is above
+ * 0, as it is in the perfTest task.
+ */
+public class PerformanceTest {
+
+    private static final long SEED = 20111214L;
+
+    @Test
+    public void testBudgets() throws Exception {
+        final double scale = Double.parseDouble(System.getProperty("jscl.perf.scale", "0"));
+        Assume.assumeTrue(scale > 0);
+
+        final Map<String, List<String>> corpus = corpus();
+        final Properties budgets = new Properties();
+        try (InputStream in = PerformanceTest.class.getResourceAsStream("perf_budget.properties")) {
+            budgets.load(in);
+        }
+
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        final AngleUnit angleUnits = me.getAngleUnits();
+        me.setAngleUnits(AngleUnit.deg);
+        final List<String> failures = new ArrayList<>();
+        try {
+            for (Map.Entry<String, List<String>> entry : corpus.entrySet()) {
+                final String category = entry.getKey();
+                final boolean parse = category.equals("parse");
+                // the first pass only warms up the JIT
+                run(entry.getValue(), parse);
+                final Stats stats = run(entry.getValue(), parse);
+                System.out.println(category + ": " + stats);
+                check(failures, category, "p50", stats.percentile(50), stats, budgets, scale);
+                check(failures, category, "p99", stats.percentile(99), stats, budgets, scale);
+                if (stats.bytes >= 0) check(failures, category, "bytes", stats.bytes, stats, budgets, scale);
+            }
+        } finally {
+            me.setAngleUnits(angleUnits);
+        }
+        if (!failures.isEmpty()) fail("Performance budget exceeded: " + failures);
+    }
+
+    private static void check(@Nonnull List<String> failures, @Nonnull String category, @Nonnull String name, long value, @Nonnull Stats stats, @Nonnull Properties budgets, double scale) {
+        final String budget = budgets.getProperty(category + "." + name);
+        assertTrue("No budget for " + category + "." + name, budget != null);
+        final double limit = Long.parseLong(budget.trim()) * scale;
+        if (value > limit) {
+            failures.add(category + "." + name + "=" + value + " > " + (long) limit + " (" + stats + ")");
+        }
+    }
+
+    @Nonnull
+    private static Stats run(@Nonnull List<String> inputs, boolean parse) throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported() ? (com.sun.management.ThreadMXBean) threads : null;
+        final long thread = Thread.currentThread().getId();
+        final long[] latencies = new long[inputs.size()];
+        final long before = allocations == null ? 0 : allocations.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < latencies.length; i++) {
+            final String input = inputs.get(i);
+            final long start = System.nanoTime();
+            if (parse) {
+                Expression.valueOf(input);
+            } else {
+                me.evaluate(input);
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        final long bytes = allocations == null ? -1 : (allocations.getThreadAllocatedBytes(thread) - before) / latencies.length;
+        return new Stats(latencies, bytes);
+    }
+
+    @Nonnull
+    static Map<String, List<String>> corpus() throws Exception {
+        final Map<String, List<String>> corpus = new LinkedHashMap<>();
+        final Random random = new Random(SEED);
+
+        final List<String> numerals = new ArrayList<>();
+        for (String[] line : read("nb_table.csv")) {
+            final List<String> input = new ArrayList<>();
+            input.add(line[0].toUpperCase());
+            input.add("0x:" + line[1].toUpperCase());
+            input.add("0b:" + line[2].toUpperCase());
+            numerals.addAll(input);
+            numerals.addAll(new ExpressionGeneratorWithInput(input, 20, random).generate());
+        }
+        corpus.put("numeral", numerals);
+
+        final List<String> trigonometric = new ArrayList<>();
+        for (String[] line : read("trig_table.csv")) {
+            final String x = line[0] + "°";
+            for (String f : new String[]{"sin", "cos", "tan", "cot"}) trigonometric.add(f + "(" + x + ")");
+            for (String f : new String[]{"sinh", "cosh", "tanh", "coth"}) trigonometric.add(f + "(" + line[5] + ")");
+            trigonometric.add("asin(sin(" + x + "))");
+            trigonometric.add("acos(cos(" + x + "))");
+            trigonometric.add("atan(tan(" + x + "))");
+        }
+        corpus.put("trigonometric", trigonometric);
+
+        final ExpressionGenerator generator = new ExpressionGenerator(20, random);
+        final List<String> generated = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) generated.add(generator.generate());
+        corpus.put("generated", generated);
+        corpus.put("parse", generated);
+        return corpus;
+    }
+
+    @Nonnull
+    private static List<String[]> read(@Nonnull String resource) throws Exception {
+        final CSVReader reader = new CSVReader(new InputStreamReader(PerformanceTest.class.getResourceAsStream(resource)), '\t');
+        try {
+            final List<String[]> lines = new ArrayList<>();
+            // skip first line
+            reader.readNext();
+            for (String[] line = reader.readNext(); line != null; line = reader.readNext()) lines.add(line);
+            return lines;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static final class Stats {
+        // microseconds, sorted
+        private final long[] latencies;
+        private final long bytes;
+
+        private Stats(@Nonnull long[] latencies, long bytes) {
+            this.latencies = new long[latencies.length];
+            for (int i = 0; i < latencies.length; i++) this.latencies[i] = latencies[i] / 1000;
+            Arrays.sort(this.latencies);
+            this.bytes = bytes;
+        }
+
+        long percentile(int p) {
+            final int i = (int) Math.ceil(p / 100d * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(i, latencies.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return latencies.length + " inputs, p50=" + percentile(50) + "us, p90=" + percentile(90) + "us, p99=" + percentile(99) + "us, max=" + latencies[latencies.length - 1] + "us, " + bytes + " bytes/input";
+        }
+    }
+}
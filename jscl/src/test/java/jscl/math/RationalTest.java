@@ -0,0 +1,173 @@
+package jscl.math;
+
+import jscl.JsclMathEngine;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RationalTest {
+
+    private static final long[] EDGES = {0, 1, -1, 2, -2, 3, 7, 1L << 31, -(1L << 31), 1L << 32, (1L << 62) + 1,
+            Long.MAX_VALUE, -Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE};
+
+    @Test
+    public void testIntegerOverflow() throws Exception {
+        final JsclInteger max = JsclInteger.valueOf(Long.MAX_VALUE);
+        assertNull(max.big);
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), max.add(JsclInteger.ONE).toBigInteger());
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).pow(2), max.multiply(max).toBigInteger());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), max.negate().subtract(JsclInteger.ONE).toBigInteger());
+
+        // results which fit into a long again are small
+        final JsclInteger big = max.add(JsclInteger.ONE);
+        assertTrue(big.big != null);
+        assertNull(big.subtract(JsclInteger.ONE).big);
+        assertEquals(0, big.subtract(JsclInteger.ONE).compareTo(max));
+        assertEquals(1, big.compareTo(max));
+        assertEquals(-1, big.negate().compareTo(max.negate()));
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        assertSame(JsclInteger.ZERO, JsclInteger.valueOf(0));
+        assertSame(JsclInteger.ONE, JsclInteger.valueOf(1));
+        assertSame(JsclInteger.valueOf(-128), JsclInteger.valueOf(-128));
+        assertSame(JsclInteger.valueOf(1024), JsclInteger.valueOf(1024));
+        assertSame(JsclInteger.ONE, JsclInteger.valueOf(3).subtract(JsclInteger.valueOf(2)));
+        assertEquals(Long.MIN_VALUE + 1, JsclInteger.valueOf(Long.MIN_VALUE + 1).toBigInteger().longValue());
+    }
+
+    @Test
+    public void testIntegersAgainstBigInteger() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            final long a = next(random, i);
+            final long b = next(random, i + 1);
+            final BigInteger x = BigInteger.valueOf(a);
+            final BigInteger y = BigInteger.valueOf(b);
+            final JsclInteger u = JsclInteger.valueOf(a);
+            final JsclInteger v = JsclInteger.valueOf(b);
+
+            assertEquals(x.add(y), u.add(v).toBigInteger());
+            assertEquals(x.subtract(y), u.subtract(v).toBigInteger());
+            assertEquals(x.multiply(y), u.multiply(v).toBigInteger());
+            assertEquals(x.gcd(y), u.gcd(v).toBigInteger());
+            assertEquals(Integer.signum(x.compareTo(y)), Integer.signum(u.compareTo(v)));
+            if (b != 0) {
+                final Generic[] qr = u.divideAndRemainder(v);
+                assertEquals(x.divide(y), qr[0].toBigInteger());
+                assertEquals(x.remainder(y), qr[1].toBigInteger());
+            }
+        }
+    }
+
+    @Test
+    public void testRationalsAgainstBigInteger() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            final Rational r = rational(random, i);
+            final Rational s = rational(random, i + 1);
+
+            assertRational(r.numerator().multiply(s.denominator()).add(s.numerator().multiply(r.denominator())),
+                    r.denominator().multiply(s.denominator()), r.add(s));
+            assertRational(r.numerator().multiply(s.numerator()), r.denominator().multiply(s.denominator()), r.multiply(s));
+            // ordered by denominator first, as in the BigInteger implementation
+            final int c = r.denominator().compareTo(s.denominator());
+            assertEquals(Integer.signum(c != 0 ? c : r.numerator().compareTo(s.numerator())), Integer.signum(r.compareTo(s)));
+        }
+    }
+
+    @Test
+    public void testLongMinValue() throws Exception {
+        final BigInteger minValue = BigInteger.valueOf(Long.MIN_VALUE);
+        final BigInteger d = BigInteger.valueOf(3037000499L);
+        // -1/-d + MAX_VALUE/d: the numerator is -2^63 before the signs are normalized
+        final Rational r = new Rational(BigInteger.valueOf(-1), d.negate()).add(new Rational(BigInteger.valueOf(Long.MAX_VALUE), d));
+        assertEquals(minValue.negate(), r.numerator());
+        assertEquals(d, r.denominator());
+
+        final Rational half = new Rational(BigInteger.ONE, BigInteger.valueOf(2));
+        assertRational(minValue, BigInteger.ONE, new Rational(BigInteger.valueOf(-Long.MAX_VALUE), BigInteger.ONE).add(new Rational(BigInteger.ONE.negate(), BigInteger.ONE)));
+        assertRational(minValue.add(BigInteger.ONE), BigInteger.valueOf(2), new Rational(BigInteger.valueOf(-(1L << 62)), BigInteger.ONE).add(half));
+        assertRational(minValue, BigInteger.valueOf(3), new Rational(BigInteger.valueOf(Long.MAX_VALUE), BigInteger.valueOf(-3)).add(new Rational(BigInteger.ONE, BigInteger.valueOf(-3))));
+        assertRational(BigInteger.ONE, minValue.negate(), new Rational(BigInteger.ONE, BigInteger.valueOf(1L << 62)).multiply(half));
+    }
+
+    @Test
+    public void testUnreducedAgainstBigInteger() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            // signs and common factors are left as they are
+            final long a = next(random, i);
+            final long b = next(random, i + 1);
+            final long c = next(random, i + 2);
+            final long d = next(random, i + 3);
+            if (b == 0 || d == 0) {
+                continue;
+            }
+            final Rational r = new Rational(BigInteger.valueOf(a), BigInteger.valueOf(b));
+            final Rational s = new Rational(BigInteger.valueOf(c), BigInteger.valueOf(d));
+            assertRational(r.numerator().multiply(s.denominator()).add(s.numerator().multiply(r.denominator())),
+                    r.denominator().multiply(s.denominator()), r.add(s));
+        }
+    }
+
+    @Test
+    public void testExactArithmetic() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        me.setExactArithmetic(true);
+        try {
+            assertEquals("1/2", me.evaluate("1/3+1/6"));
+            assertEquals("-1/6", me.evaluate("1/3-1/2"));
+            assertEquals("3/5", me.evaluate("3*(1/5)"));
+            assertEquals("1/4", me.evaluate("2^-2"));
+            assertEquals("700000000003/21", me.evaluate("100000000000/3+1/7"));
+            assertEquals("1/18446744073709551616", me.evaluate("1/4611686018427387904/4"));
+            assertEquals("6", me.evaluate("4/2+4"));
+
+            // no exact value: computed numerically
+            assertEquals("0.5", me.evaluate("cos(60)"));
+            assertEquals("0.1", me.evaluate("10%"));
+            assertEquals("∞", me.evaluate("1/0"));
+        } finally {
+            me.setExactArithmetic(false);
+        }
+        assertEquals("0.5", me.evaluate("1/3+1/6"));
+    }
+
+    private static long next(@Nonnull Random random, int i) {
+        switch (i % 4) {
+            case 0:
+                return EDGES[random.nextInt(EDGES.length)];
+            case 1:
+                return random.nextInt();
+            case 2:
+                return random.nextLong() >> random.nextInt(64);
+            default:
+                return random.nextLong();
+        }
+    }
+
+    @Nonnull
+    private static Rational rational(@Nonnull Random random, int i) {
+        long denominator = next(random, i);
+        if (denominator == 0) {
+            denominator = 1;
+        }
+        return Rational.valueOf(JsclInteger.valueOf(next(random, i + 2)), JsclInteger.valueOf(denominator)).reduce();
+    }
+
+    private static void assertRational(@Nonnull BigInteger numerator, @Nonnull BigInteger denominator, @Nonnull Rational actual) {
+        BigInteger gcd = numerator.gcd(denominator);
+        if (gcd.signum() != denominator.signum()) gcd = gcd.negate();
+        assertEquals(numerator.divide(gcd), actual.numerator());
+        assertEquals(denominator.divide(gcd), actual.denominator());
+    }
+}
@@ -0,0 +1,66 @@
+package jscl.math;
+
+import jscl.JsclMathEngine;
+import jscl.NumeralBase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RenderOptionsTest {
+
+    @Test
+    public void testMultiplicationSign() throws Exception {
+        final RenderOptions options = RenderOptions.DEFAULT.withMultiplicationSign("×");
+
+        final Generic e = Expression.valueOf("2*x*y^2+sin(3*x)");
+        assertEquals("2*x*y^2+sin(3*x)", e.toString());
+        assertEquals("2×x×y^2+sin(3×x)", e.toString(options));
+        assertEquals("2*x*y^2+sin(3*x)", e.toString());
+
+        assertEquals("[2×x, y]", new JsclVector(new Generic[]{Expression.valueOf("2*x"), Expression.valueOf("y")}).toString(options));
+        assertEquals("2xy", Expression.valueOf("2*x*y").toString(RenderOptions.DEFAULT.withMultiplicationSign("")));
+    }
+
+    @Test
+    public void testNumeric() throws Exception {
+        final RenderOptions options = RenderOptions.DEFAULT.withMultiplicationSign("×");
+
+        assertEquals("2+3×i", Expression.valueOf("2+3*i").numeric().toString(options));
+        assertEquals("[1+2×i, 3]", Expression.valueOf("[1+2*i, 3]").numeric().toString(options));
+    }
+
+    @Test
+    public void testEqualOptionsShareRenderedText() throws Exception {
+        final Generic e = Expression.valueOf("2*x*y");
+
+        final String text = e.toString(RenderOptions.DEFAULT.withMultiplicationSign("×"));
+        assertEquals(RenderOptions.DEFAULT.withMultiplicationSign("×"), RenderOptions.DEFAULT.withMultiplicationSign("×"));
+        assertSame(text, e.toString(RenderOptions.DEFAULT.withMultiplicationSign("×")));
+    }
+
+    @Test
+    public void testNumeralBase() throws Exception {
+        final Generic e = Expression.valueOf("255*x+16");
+        assertEquals("16+255*x", e.toString());
+        assertEquals("10+FF*x", e.toString(RenderOptions.DEFAULT.withNumeralBase(NumeralBase.hex)));
+        assertEquals("10000+11111111*x", e.toString(RenderOptions.DEFAULT.withNumeralBase(NumeralBase.bin)));
+    }
+
+    @Test
+    public void testRenderedTextFollowsEngine() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        final Generic e = Expression.valueOf("255*x");
+
+        final String text = e.toString();
+        assertEquals("255*x", text);
+        assertSame(text, e.toString());
+        try {
+            me.setNumeralBase(NumeralBase.hex);
+            assertEquals("FF*x", e.toString());
+        } finally {
+            me.setNumeralBase(NumeralBase.dec);
+        }
+        assertEquals("255*x", e.toString());
+    }
+}
@@ -0,0 +1,72 @@
+package jscl.math;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.NumeralBase;
+import jscl.math.function.Constant;
+import jscl.math.function.ExtendedConstant;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SimplificationTest {
+
+    @Test
+    public void testCache() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        Simplification.clearCache();
+
+        final Generic first = Expression.valueOf("(x^2-1)/(x-1)+sin(y)^2+cos(y)^2").expand().simplify();
+        final Generic second = Expression.valueOf("(x^2-1)/(x-1)+sin(y)^2+cos(y)^2").expand().simplify();
+        assertSame(first, second);
+        assertTrue(me.getSimplificationHitRate() > 0);
+
+        // changes to constants and angle units invalidate cached results
+        final Generic third;
+        try {
+            me.getConstantsRegistry().addOrUpdate(new ExtendedConstant.Builder(new Constant("k"), (String) null).create());
+            third = Expression.valueOf("(x^2-1)/(x-1)+sin(y)^2+cos(y)^2").expand().simplify();
+            assertNotSame(first, third);
+            assertEquals(first.toString(), third.toString());
+        } finally {
+            me.getConstantsRegistry().remove(me.getConstantsRegistry().get("k"));
+        }
+
+        final AngleUnit angleUnits = me.getAngleUnits();
+        try {
+            me.setAngleUnits(angleUnits == AngleUnit.rad ? AngleUnit.deg : AngleUnit.rad);
+            assertNotSame(third, Expression.valueOf("(x^2-1)/(x-1)+sin(y)^2+cos(y)^2").expand().simplify());
+        } finally {
+            me.setAngleUnits(angleUnits);
+        }
+    }
+
+    @Test
+    public void testKeyIndependentOfFormatting() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        Simplification.clearCache();
+
+        final Generic first = Expression.valueOf("(x^2-1)/(x-1)+1000000*sin(y)").expand().simplify();
+        final Generic same = Expression.valueOf("(x^2-1)/(x-1)+1000000*sin(y)").expand();
+        final NumeralBase numeralBase = me.getNumeralBase();
+        try {
+            // prints the coefficient differently
+            me.setNumeralBase(NumeralBase.hex);
+            assertSame(first, same.simplify());
+        } finally {
+            me.setNumeralBase(numeralBase);
+        }
+        // same shape, different function parameters
+        assertEquals("1+x+1000000*sin(z)", Expression.valueOf("(x^2-1)/(x-1)+1000000*sin(z)").expand().simplify().toString());
+    }
+
+    @Test
+    public void testOperators() throws Exception {
+        // operators with the same function and variable but different points must not share a result
+        assertEquals("∂(cos(t), t, 2, 1)", Expression.valueOf("∂(cos(t),t,2)").simplify().toString());
+        assertEquals("∂(cos(t), t, 3, 1)", Expression.valueOf("∂(cos(t),t,3)").simplify().toString());
+    }
+}
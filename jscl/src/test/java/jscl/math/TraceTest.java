@@ -0,0 +1,36 @@
+package jscl.math;
+
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraceTest {
+
+    @Test
+    public void testCounter() throws Exception {
+        final Trace.Counter counter = new Trace.Counter();
+        Trace.setSink(counter);
+        try {
+            final Generic[] generic = {Expression.valueOf("x^2+y^2+z^2-1").expand(), Expression.valueOf("x*y*z-1").expand(), Expression.valueOf("x-y+z").expand()};
+            final Variable[] unknown = {Expression.valueOf("x").variableValue(), Expression.valueOf("y").variableValue(), Expression.valueOf("z").variableValue()};
+            final Basis basis = Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, Basis.GM_SETTING | Basis.SUGAR);
+            assertEquals(1, counter.getCount(Trace.Event.basis));
+            assertEquals(3, counter.getTotal(Trace.Event.basis));
+            assertTrue(counter.getCount(Trace.Event.pairSelected) > 0);
+            assertTrue(counter.getCount(Trace.Event.reductionFinished) >= basis.elements().length);
+            assertEquals(basis.elements().length, counter.getTotal(Trace.Event.basisSize));
+
+            Expression.valueOf("(x^2-y^2)*(x+y)^2").expand().factorize();
+            assertEquals(1, counter.getCount(Trace.Event.factorizationStep));
+            // factors are counted with multiplicity: (x-y)*(x+y)^3
+            assertEquals(4, counter.getTotal(Trace.Event.factorizationStep));
+        } finally {
+            Trace.setSink(null);
+        }
+        assertFalse(Trace.isEnabled());
+    }
+}
@@ -0,0 +1,161 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BigRealTest {
+
+    private static final String PI = "3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117068";
+    private static final String E = "2.718281828459045235360287471352662497757247093699959574966967627724076630353547594571382178525166427";
+    private static final String LN2 = "0.6931471805599453094172321214581765680755001343602552541206800094933936219696947156058633269964186875";
+    private static final String SIN1 = "0.8414709848078965066525023216302989996225630607983710656727517099919104043912396689486397435430526959";
+
+    private static final MathContext MC = new MathContext(100);
+
+    private JsclMathEngine me;
+
+    @Before
+    public void setUp() throws Exception {
+        me = JsclMathEngine.getInstance();
+        me.setBigDecimalContext(MC);
+        me.setAngleUnits(AngleUnit.rad);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        me.setBigDecimalContext(null);
+        me.setAngleUnits(JsclMathEngine.DEFAULT_ANGLE_UNITS);
+    }
+
+    @Test
+    public void testConstants() throws Exception {
+        assertEquals(PI, me.evaluate("π"));
+        assertEquals(E, me.evaluate("e"));
+        assertEquals(LN2, me.evaluate("ln(2)"));
+        assertEquals(PI, me.evaluate("4*atan(1)"));
+        assertEquals(PI, me.evaluate("6*asin(0.5)"));
+        assertEquals(E, me.evaluate("exp(1)"));
+        assertEquals(SIN1, me.evaluate("sin(1)"));
+
+        // lower precision is rounded from the cached value
+        assertEquals(new BigDecimal(PI).round(new MathContext(20)), BigReal.pi(new MathContext(20)).bigDecimalValue());
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        assertEquals("1", me.evaluate("1e16+1-10^16"));
+        assertEquals("1", me.evaluate("1e50+1-10^50"));
+        assertEquals("0", me.evaluate("0.1*3-0.3"));
+        assertEquals("0", me.evaluate("sin(π)"));
+        assertEquals("0.3333333333333333333333333333333333333333333333333333333333333333333333333333333333333333333333333333", me.evaluate("1/3"));
+    }
+
+    @Test
+    public void testNearMultiplesOfHalfPi() throws Exception {
+        final MathContext mc = new MathContext(50);
+        // the digits of x - n π/2 which cancel are added to the reduction
+        assertEquals(new BigDecimal("2.6433832795028841971693993751058209749445892293872E-21"), BigMath.sin(new BigDecimal("3.14159265358979323846"), mc));
+        assertEquals(new BigDecimal("1.0487472296153908203143104499314017412671058533991E-53"), BigMath.cos(new BigDecimal("1.5707963267948966192313216916397514420985846996875529"), mc));
+        assertEquals(new BigDecimal("9.5351860940479624454237472316426160574754458699644E+52"), BigMath.tan(new BigDecimal("1.5707963267948966192313216916397514420985846996875529"), mc));
+        assertEquals(new BigDecimal("-0.000030144353359488449214330280008650099590255807066325"), BigMath.sin(new BigDecimal("355"), mc));
+    }
+
+    @Test
+    public void testLnNearOne() throws Exception {
+        // ln(1 + d) = d - d^2/2 + d^3/3 - ...
+        final BigDecimal x = new BigDecimal("0.9999999999999999999993351");
+        assertEquals(new BigDecimal("-6.6490000000000000000E-22"), BigMath.ln(x, new MathContext(20)));
+        assertEquals(new BigDecimal("-6.6490000000000000000022104600500000000000009798233E-22"), BigMath.ln(x, new MathContext(50)));
+        assertEquals(new BigDecimal("9.9999999999999999999999999999999999999995000000000E-41"), BigMath.ln(new BigDecimal("1.0000000000000000000000000000000000000001"), new MathContext(50)));
+        assertEquals(new BigDecimal("-1.000000000000000000005000000000000000000033333333333333333333583333333333333333335333333333333333333E-20"), BigMath.ln(new BigDecimal("0.99999999999999999999"), MC));
+        assertEquals("-0.0000000000000000000100000000000000000000500000000000000000003333333333333333333358333333333333333334", me.evaluate("ln(0.99999999999999999999)"));
+    }
+
+    @Test
+    public void testIdentities() throws Exception {
+        for (String x : new String[]{"0.1", "0.5", "1", "2.5", "10", "123.456"}) {
+            final BigReal value = BigReal.valueOf(new BigDecimal(x), MC);
+            assertClose(value, value.exp().ln());
+            assertClose(value, value.sqrt().pow(2));
+            assertClose(BigReal.valueOf(BigDecimal.ONE, MC), value.sin().pow(2).add(value.cos().pow(2)));
+            assertClose(value.tan(), value.sin().divide(value.cos()));
+            assertClose(value, value.atan().tan());
+        }
+        assertEquals("1E100", me.evaluate("10^100"));
+    }
+
+    @Test
+    public void testMixedTypes() throws Exception {
+        final BigReal half = BigReal.valueOf(new BigDecimal("0.5"), MC);
+        assertTrue(half.add(Real.ONE) instanceof BigReal);
+        assertTrue(Real.ONE.add(half) instanceof BigReal);
+        assertTrue(ExtendedReal.ONE.multiply(half) instanceof BigReal);
+        assertEquals(0, Real.valueOf(1.5).compareTo(half.add(Real.ONE)));
+
+        assertTrue(Complex.I.add(half) instanceof BigComplex);
+        assertTrue(half.multiply(Complex.I) instanceof BigComplex);
+        assertTrue(BigReal.valueOf(BigDecimal.ONE.negate(), MC).ln() instanceof BigComplex);
+
+        assertEquals("-1", me.evaluate("i^2"));
+        assertEquals("-1", me.evaluate("exp(i*π)"));
+        assertEquals("1.5+2*i", me.evaluate("1.5+2*i"));
+        assertEquals("2*i", me.evaluate("√(-4)"));
+        assertEquals(LN2 + "+" + PI + "*i", me.evaluate("ln(-2)"));
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        try {
+            me.evaluate("1/0");
+            fail();
+        } catch (ArithmeticException e) {
+            // ok: no infinities with BigDecimal
+        }
+    }
+
+    @Test
+    public void testToBigInteger() throws Exception {
+        assertEquals(BigInteger.valueOf(120), BigReal.valueOf(new BigDecimal("120.000"), MC).toBigInteger());
+        assertNull(BigReal.valueOf(new BigDecimal("1.5"), MC).toBigInteger());
+        assertEquals("1606938044258990275541962092341162602522202993782792835301376", me.evaluate("2^200"));
+    }
+
+    @Test
+    public void testSpeed() throws Exception {
+        final BigReal x = BigReal.valueOf(new BigDecimal("0.7"), MC);
+        // warm up
+        for (int i = 0; i < 20; i++) {
+            x.sin();
+            x.ln();
+        }
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            x.sin();
+            x.exp();
+            x.ln();
+            x.atan();
+        }
+        final long time = System.currentTimeMillis() - start;
+        assertTrue("100 digits took " + time + "ms", time < 1000);
+    }
+
+    private static void assertClose(@Nonnull Numeric expected, @Nonnull Numeric actual) {
+        final BigDecimal e = ((BigReal) expected).bigDecimalValue();
+        final BigDecimal a = ((BigReal) actual).bigDecimalValue();
+        final BigDecimal tolerance = e.abs().max(BigDecimal.ONE).movePointLeft(95);
+        assertTrue(e + " != " + a, e.subtract(a).abs().compareTo(tolerance) <= 0);
+    }
+}
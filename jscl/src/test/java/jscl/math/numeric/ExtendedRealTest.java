@@ -0,0 +1,101 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExtendedRealTest {
+
+    private JsclMathEngine me;
+
+    @Before
+    public void setUp() throws Exception {
+        me = JsclMathEngine.getInstance();
+        me.setExtendedPrecision(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        me.setExtendedPrecision(false);
+        me.setAngleUnits(JsclMathEngine.DEFAULT_ANGLE_UNITS);
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        assertEquals("1", me.evaluate("1e16+1-10^16"));
+        assertEquals("1", me.evaluate("1e8^2+1-1e16"));
+        assertEquals("0", me.evaluate("0.1*3-0.3"));
+
+        me.setExtendedPrecision(false);
+        assertEquals("0", me.evaluate("1e16+1-10^16"));
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        final BigInteger big = BigInteger.TEN.pow(18);
+        final ExtendedReal one = ExtendedReal.valueOf(big.add(BigInteger.ONE)).subtract(ExtendedReal.valueOf(big));
+        assertEquals(0, one.compareTo(ExtendedReal.ONE));
+
+        final ExtendedReal third = ExtendedReal.valueOf(BigInteger.ONE, BigInteger.valueOf(3));
+        assertEquals(0, third.multiply(ExtendedReal.valueOf(3)).compareTo(ExtendedReal.ONE));
+        assertEquals(0, ExtendedReal.valueOf("0.1").multiply(ExtendedReal.valueOf(3)).subtract(ExtendedReal.valueOf("0.3")).signum());
+
+        assertEquals(-1, ExtendedReal.valueOf(-2.5).signum());
+        assertEquals(2.5, ExtendedReal.valueOf(-2.5).abs().doubleValue(), 0);
+        assertEquals(0.1, ExtendedReal.valueOf("0.1").doubleValue(), 0);
+    }
+
+    @Test
+    public void testMixedTypes() throws Exception {
+        final ExtendedReal half = ExtendedReal.valueOf(0.5);
+        assertTrue(half.add(Real.ONE) instanceof ExtendedReal);
+        assertTrue(Real.ONE.add(half) instanceof ExtendedReal);
+        assertTrue(Real.TWO.multiply(half) instanceof ExtendedReal);
+        assertEquals(0, Real.valueOf(1.5).compareTo(half.add(Real.ONE)));
+
+        final Numeric complex = Complex.I.add(half);
+        assertTrue(complex instanceof Complex);
+        assertEquals(0.5, ((Complex) complex).realPart(), 0);
+        assertTrue(half.multiply(Complex.I) instanceof Complex);
+    }
+
+    @Test
+    public void testFunctions() throws Exception {
+        me.setAngleUnits(AngleUnit.rad);
+        for (double x : new double[]{0.1, 0.5, 1, 2, 10}) {
+            final ExtendedReal e = ExtendedReal.valueOf(x);
+            assertEquals(Math.sin(x), e.sin().doubleValue(), 1e-15);
+            assertEquals(Math.cos(x), e.cos().doubleValue(), 1e-15);
+            assertEquals(Math.atan(x), e.atan().doubleValue(), 1e-15);
+            assertEquals(Math.log(x), e.ln().doubleValue(), 1e-15);
+            assertEquals(Math.sqrt(x), e.sqrt().doubleValue(), 1e-15);
+            assertEquals(Math.exp(x), e.exp().doubleValue(), Math.exp(x) * 1e-15);
+            assertEquals(Math.pow(x, 2.5), e.pow(ExtendedReal.valueOf(2.5)).doubleValue(), Math.pow(x, 2.5) * 1e-15);
+        }
+        assertTrue(ExtendedReal.valueOf(-1).ln() instanceof Complex);
+        assertTrue(ExtendedReal.valueOf(-4).sqrt() instanceof Complex);
+        assertTrue(ExtendedReal.valueOf(2).asin() instanceof Complex);
+        assertEquals(-8, ExtendedReal.valueOf(-2).pow(ExtendedReal.valueOf(3)).doubleValue(), 0);
+
+        me.setAngleUnits(AngleUnit.deg);
+        assertEquals("0.5", me.evaluate("sin(30)"));
+        assertEquals("30", me.evaluate("asin(0.5)"));
+        assertEquals("1", me.evaluate("tan(45)"));
+    }
+
+    @Test
+    public void testToBigInteger() throws Exception {
+        for (BigInteger value : new BigInteger[]{BigInteger.ZERO, BigInteger.valueOf(-12345), BigInteger.ONE.shiftLeft(62), BigInteger.ONE.shiftLeft(80).negate()}) {
+            assertEquals(value, ExtendedReal.valueOf(value).toBigInteger());
+        }
+        assertNull(ExtendedReal.valueOf(1.5).toBigInteger());
+    }
+}
@@ -0,0 +1,113 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.math.Expression;
+import jscl.math.JsclVector;
+import jscl.math.operator.stat.Mean;
+import jscl.math.operator.stat.StandardDeviation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NumericAccumulatorTest {
+
+    @Before
+    public void setUp() throws Exception {
+        JsclMathEngine.getInstance().setAngleUnits(AngleUnit.rad);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        JsclMathEngine.getInstance().setAngleUnits(JsclMathEngine.DEFAULT_ANGLE_UNITS);
+    }
+
+    @Test
+    public void testSameAsNumerics() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final Numeric[] numerics = new Numeric[random.nextInt(20) + 1];
+            for (int j = 0; j < numerics.length; j++) {
+                numerics[j] = i % 2 == 0 ? Real.valueOf(random.nextGaussian()) : Complex.valueOf(random.nextGaussian(), random.nextGaussian());
+            }
+
+            final NumericAccumulator accumulator = new NumericAccumulator();
+            Numeric expected = Real.ZERO;
+            for (Numeric numeric : numerics) {
+                accumulator.add(numeric);
+                expected = expected.add(numeric);
+            }
+            assertSameNumber(expected, accumulator.toNumeric());
+
+            accumulator.reset();
+            expected = Real.ZERO;
+            for (int j = 0; j < numerics.length; j++) {
+                final Numeric other = numerics[numerics.length - 1 - j];
+                accumulator.addProduct(numerics[j], other);
+                expected = expected.add(numerics[j].multiply(other));
+            }
+            assertSameNumber(expected, accumulator.toNumeric());
+
+            accumulator.reset();
+            expected = Real.ZERO;
+            for (Numeric numeric : numerics) {
+                accumulator.addSquaredDifference(numeric, numerics[0]);
+                expected = expected.add(numeric.subtract(numerics[0]).pow(2));
+            }
+            assertSameNumber(expected, accumulator.toNumeric());
+        }
+    }
+
+    @Test
+    public void testMatrices() throws Exception {
+        assertEquals("{{1+3*i, 3},\n{5+7*i, 7}}", numeric("[[1, 3], [5, 7]]").multiply(numeric("[[1, 0], [i, 1]]")).toString());
+        assertEquals("[22, 62]", numeric("[[1, 3], [5, 7]]").multiply(numeric("[4, 6]")).toString());
+        assertEquals("5+3*i", numeric("[1, 3]").multiply(numeric("[5, i]")).toString());
+        assertEquals("8", ((Matrix) numeric("[[1, 3], [5, 7]]")).trace().toString());
+
+        // other numbers are multiplied as before
+        final MathContext mc = new MathContext(30);
+        final Numeric big = BigReal.valueOf(BigDecimal.ONE.divide(BigDecimal.valueOf(3), mc), mc);
+        assertFalse(NumericAccumulator.accepts(big));
+        assertTrue(new Vector(new Numeric[]{big, Real.ONE}).multiply(new Vector(new Numeric[]{Real.valueOf(3), Real.ONE})) instanceof BigReal);
+    }
+
+    @Test
+    public void testSumsAndStatistics() throws Exception {
+        assertEquals("385", Expression.valueOf("Σ(n^2, n, 1, 10)").numeric().toString());
+        assertEquals("6*i", Expression.valueOf("Σ(n*i, n, 1, 3)").numeric().toString());
+        assertEquals("0", Expression.valueOf("Σ(n, n, 5, 1)").numeric().toString());
+        assertEquals(JsclMathEngine.getInstance().evaluate("Σ(sin(n), n, 1, 100)"), Expression.valueOf("Σ(sin(n), n, 1, 100)").numeric().toString());
+
+        final JsclVector vector = (JsclVector) Expression.valueOf("[1.5, -2, 7, 0.25, 3]").expand();
+        assertEquals("1.95", new Mean(vector).numeric().toString());
+        assertEquals("2.747726332806817", new StandardDeviation(vector).numeric().toString());
+        final JsclVector complex = (JsclVector) Expression.valueOf("[1, i, 3]").expand();
+        assertEquals("1.333333333333333+0.333333333333333*i", new Mean(complex).numeric().toString());
+    }
+
+    private static void assertSameNumber(@Nonnull Numeric expected, @Nonnull Numeric actual) {
+        assertSame(expected.getClass(), actual.getClass());
+        if (expected instanceof Complex) {
+            assertEquals(((Complex) expected).realPart(), ((Complex) actual).realPart(), 0);
+            assertEquals(((Complex) expected).imaginaryPart(), ((Complex) actual).imaginaryPart(), 0);
+        } else {
+            assertEquals(expected.doubleValue(), actual.doubleValue(), 0);
+        }
+    }
+
+    @Nonnull
+    private static Numeric numeric(@Nonnull String expression) throws Exception {
+        return ((jscl.math.NumericWrapper) Expression.valueOf(expression).expand().numeric()).content();
+    }
+}
@@ -0,0 +1,21 @@
+package jscl.math.operator;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GroebnerTest {
+
+    @Test
+    public void testDefaultAlgorithm() throws Exception {
+        final Groebner groebner = new Groebner(Expression.valueOf("[x^2+y, x*y-1]"), Expression.valueOf("[x, y]"), Expression.valueOf("lex"), JsclInteger.valueOf(0));
+        final Generic expression = groebner.expressionValue();
+        assertEquals("[1+x^3, x^2+y]", expression.expand().toString());
+
+        final Groebner buchberger = new Groebner(Expression.valueOf("[x^2+y, x*y-1]"), Expression.valueOf("[x, y]"), Expression.valueOf("lex"), JsclInteger.valueOf(0), Expression.valueOf("buchberger"));
+        assertEquals(buchberger.expressionValue().toMathML(), expression.toMathML());
+    }
+}
@@ -1,9 +1,13 @@
 package jscl.math.operator.stat;
 
-import jscl.JsclMathEngine;
-import jscl.MathEngine;
+import jscl.math.Expression;
+import jscl.math.JsclVector;
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
+
+import static org.junit.Assert.assertEquals;
+
 /**
  * User: serso
  * Date: 1/15/12
@@ -13,8 +17,14 @@ public class MinTest {
 
     @Test
     public void testFunction() throws Exception {
-        final MathEngine me = JsclMathEngine.getInstance();
-
+        assertEquals("1", new Min(vector("[3, 1, 5]")).numeric().toString());
+        assertEquals("5", new Max(vector("[3, 1, 5]")).numeric().toString());
+        assertEquals("-7.5", new Min(vector("[3, -7.5, 1, 5]")).numeric().toString());
+        assertEquals("3", new Min(vector("[3]")).numeric().toString());
+    }
 
+    @Nonnull
+    private static JsclVector vector(@Nonnull String expression) throws Exception {
+        return (JsclVector) Expression.valueOf(expression).expand();
     }
 }
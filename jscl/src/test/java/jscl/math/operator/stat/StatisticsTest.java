@@ -0,0 +1,117 @@
+package jscl.math.operator.stat;
+
+import jscl.math.Expression;
+import jscl.math.JsclVector;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatisticsTest {
+
+    @Test
+    public void testSamePassAsTwoPasses() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            final double[] values = newValues(random, random.nextInt(100) + 1);
+            assertStatistics(values, Statistics.of(values));
+        }
+    }
+
+    @Test
+    public void testCombine() throws Exception {
+        final Random random = new Random(42);
+        final double[] values = newValues(random, 1000);
+        for (int i = 0; i <= values.length; i += 100) {
+            final Statistics statistics = Statistics.of(values, 0, i).combine(Statistics.of(values, i, values.length));
+            assertStatistics(values, statistics);
+        }
+        assertStatistics(values, new Statistics().combine(Statistics.of(values)));
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        final Random random = new Random(42);
+        final double[] values = newValues(random, Statistics.PARALLEL_THRESHOLD * 5 + 7);
+        assertStatistics(values, Statistics.of(values));
+    }
+
+    @Test
+    public void testPercentile() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            final double[] values = newValues(random, random.nextInt(200) + 1);
+            if (i % 2 == 0) {
+                // repeated values
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = Math.floor(values[j]);
+                }
+            }
+            final double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            for (double p : new double[]{0, 0.1, 0.25, 0.5, 0.9, 0.999, 1}) {
+                final double rank = p * (sorted.length - 1);
+                final int lower = (int) rank;
+                final double expected = lower == rank ? sorted[lower] : sorted[lower] + (rank - lower) * (sorted[lower + 1] - sorted[lower]);
+                assertEquals(expected, Statistics.percentile(values.clone(), p), 0);
+            }
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testPercentileOutOfRange() throws Exception {
+        Statistics.percentile(new double[]{1, 3}, 1.5);
+    }
+
+    @Test
+    public void testOperators() throws Exception {
+        final JsclVector vector = vector("[1.5, -4, 7, 0.25, 3, 3]");
+        assertEquals("1.791666666666667", new Mean(vector).numeric().toString());
+        assertEquals("2.25", new Median(vector).numeric().toString());
+        assertEquals("5", new Percentile(vector("[1.5, -4, 7, 0.25, 3, 3]"), Expression.valueOf("90%")).numeric().toString());
+        assertEquals("-4", new Percentile(vector("[1.5, -4, 7, 0.25, 3, 3]"), Expression.valueOf("0")).numeric().toString());
+        assertEquals("3", new Median(vector("[3, 1, 7]")).numeric().toString());
+        assertEquals("1", new MeanSquareDeviation(vector("[1, 3, 1, 3]")).numeric().toString());
+    }
+
+    @Nonnull
+    private static JsclVector vector(@Nonnull String expression) throws Exception {
+        return (JsclVector) Expression.valueOf(expression).expand();
+    }
+
+    @Nonnull
+    private static double[] newValues(@Nonnull Random random, int size) {
+        final double[] values = new double[size];
+        final double offset = random.nextInt(1000);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = offset + random.nextGaussian() * 10;
+        }
+        return values;
+    }
+
+    private static void assertStatistics(@Nonnull double[] values, @Nonnull Statistics actual) {
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        final double mean = sum / values.length;
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+
+        assertEquals(values.length, actual.getCount());
+        assertEquals(mean, actual.getMean(), Math.abs(mean) * 1e-12);
+        assertEquals(squares, actual.getSumOfSquares(), squares * 1e-9);
+        assertEquals(squares / values.length, actual.getVariance(), squares * 1e-9);
+        assertEquals(min, actual.getMin(), 0);
+        assertEquals(max, actual.getMax(), 0);
+    }
+}
@@ -0,0 +1,55 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ArrayPolynomialBitsetTest {
+
+    @Test
+    public void testArithmetic() throws Exception {
+        final Variable[] unknown = new Variable[40];
+        for (int i = 0; i < unknown.length; i++) unknown[i] = Expression.valueOf("x" + i).variableValue();
+        for (Ordering ordering : new Ordering[]{Monomial.lexicographic, Monomial.totalDegreeLexicographic, Monomial.degreeReverseLexicographic}) {
+            final Monomial monomialFactory = Monomial.factory(unknown, ordering, Basis.POWER_2_DEFINED);
+            final Polynomial bitset = Polynomial.factory(monomialFactory, 2, 0, false);
+            final Polynomial reference = new ArrayPolynomialBoolean(monomialFactory);
+            assertEquals(ArrayPolynomialBitset.class, bitset.getClass());
+            final Random random = new Random(11);
+            for (int i = 0; i < 200; i++) {
+                final Generic a = random(random, unknown);
+                final Generic b = random(random, unknown);
+                final Monomial m = bitset.valueOf(random(random, unknown)).head().monomial();
+                assertEquals(reference.valueOf(a).subtract(reference.valueOf(b)).toString(), bitset.valueOf(a).subtract(bitset.valueOf(b)).toString());
+                assertEquals(reference.valueOf(a).multiply(m).toString(), bitset.valueOf(a).multiply(m).toString());
+                final Polynomial p = bitset.valueOf(a).multiply(m);
+                assertEquals(0, p.compareTo(bitset.valueOf(p.genericValue())));
+            }
+        }
+    }
+
+    @Test
+    public void testBasis() throws Exception {
+        final Variable[] unknown = {Expression.valueOf("x").variableValue(), Expression.valueOf("y").variableValue()};
+        final Generic[] generic = {Expression.valueOf("x^2*y+1"), Expression.valueOf("x+y")};
+        final Basis basis = Basis.compute(generic, unknown, Monomial.lexicographic, 2, Basis.POWER_2_DEFINED);
+        assertArrayEquals(new Generic[]{Expression.valueOf("x+1"), Expression.valueOf("y+1")}, basis.elements());
+    }
+
+    private static Generic random(Random random, Variable[] unknown) throws Exception {
+        final StringBuilder sb = new StringBuilder();
+        final int n = 1 + random.nextInt(6);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append('+');
+            sb.append(1);
+            for (int j = 0; j < unknown.length; j++) if (random.nextInt(12) == 0) sb.append("*x").append(j);
+        }
+        return Expression.valueOf(sb.toString()).expand();
+    }
+}
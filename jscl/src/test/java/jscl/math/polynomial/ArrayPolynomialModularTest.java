@@ -0,0 +1,69 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.JsclInteger;
+import jscl.math.ModularInteger;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ArrayPolynomialModularTest {
+
+    @Test
+    public void testShoupMultiplication() throws Exception {
+        final Random random = new Random(7);
+        for (int modulo : new int[]{2147483647, 2147483629, 32003, 3}) {
+            final ArrayPolynomialModular p = new ArrayPolynomialModular(Monomial.factory(new Variable[0]), ModularInteger.factory(modulo));
+            assertEquals((long) (modulo - 1) * (modulo - 1) % modulo, p.multiply(modulo - 1, modulo - 1, p.precompute(modulo - 1)));
+            for (int i = 0; i < 10000; i++) {
+                final int x = random.nextInt(modulo);
+                final int g = random.nextInt(modulo);
+                assertEquals((long) x * g % modulo, p.multiply(x, g, p.precompute(g)));
+            }
+            if (modulo > 3) assertEquals(1L, (long) p.inverse(12345) * 12345 % modulo);
+        }
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        final Variable[] unknown = {Expression.valueOf("x").variableValue(), Expression.valueOf("y").variableValue()};
+        final Polynomial factory = Polynomial.factory(unknown, Monomial.degreeReverseLexicographic, 7);
+        final Polynomial p = factory.valueOf(Expression.valueOf("3*x^2+5*x*y-y+6"));
+        final Polynomial q = factory.valueOf(Expression.valueOf("4*x^2+2*y+1"));
+        assertEquals(factory.valueOf(Expression.valueOf("6*x^2+5*x*y-3*y+5")).toString(), p.subtract(q).toString());
+        assertEquals(factory.valueOf(Expression.valueOf("3*x^2+5*x*y-y+6-3*(4*x^2+2*y+1)").expand()).toString(), p.multiplyAndSubtract(new ModularInteger(3, 7), q).toString());
+        assertEquals(factory.valueOf(Expression.valueOf("2*x^2+y")).toString(), factory.valueOf(Expression.valueOf("4*x^2+2*y")).divide(new ModularInteger(2, 7)).toString());
+        assertEquals(p.toString(), p.multiply(new ModularInteger(3, 7)).divide(new ModularInteger(3, 7)).toString());
+    }
+
+    @Test
+    public void testZeroProducts() throws Exception {
+        final Variable[] unknown = {Expression.valueOf("x").variableValue(), Expression.valueOf("y").variableValue()};
+        final Polynomial factory = Polynomial.factory(unknown, Monomial.degreeReverseLexicographic, 7);
+        final Polynomial p = factory.valueOf(Expression.valueOf("3*x^2+1"));
+        final Polynomial q = factory.valueOf(Expression.valueOf("4*y+5"));
+        final Monomial x = factory.valueOf(Expression.valueOf("x")).head().monomial();
+        // the factor is 0 mod 7
+        assertEquals(p.toString(), p.multiplyAndSubtract(JsclInteger.valueOf(14), q).toString());
+        assertEquals(2, p.multiplyAndSubtract(x, JsclInteger.valueOf(14), q).size());
+        final Polynomial zero = p.multiply(JsclInteger.valueOf(21));
+        assertEquals(0, zero.signum());
+        assertEquals(0, zero.size());
+        assertEquals("0", zero.toString());
+
+        // products of zero divisors modulo 6 leave no terms
+        final Polynomial composite = new ArrayPolynomialModular(factory.monomialFactory, ModularInteger.factory(6));
+        final Polynomial r = composite.valueOf(Expression.valueOf("x+1"));
+        final Polynomial s = composite.valueOf(Expression.valueOf("3*y"));
+        assertEquals(r.toString(), r.multiplyAndSubtract(new ModularInteger(2, 6), s).toString());
+        assertEquals(2, r.multiplyAndSubtract(new ModularInteger(2, 6), s).size());
+        assertEquals(2, r.multiplyAndSubtract(x, new ModularInteger(4, 6), s).size());
+        final Polynomial t = composite.valueOf(Expression.valueOf("3*x^2+2*y+1"));
+        assertEquals(composite.valueOf(Expression.valueOf("4*y+2")).toString(), t.multiply(new ModularInteger(2, 6)).toString());
+        assertEquals(2, t.multiply(new ModularInteger(2, 6)).size());
+        assertEquals(1, t.multiply(new ModularInteger(2, 6)).head().monomial().degree());
+    }
+}
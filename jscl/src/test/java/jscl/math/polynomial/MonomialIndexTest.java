@@ -0,0 +1,68 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MonomialIndexTest {
+
+    @Test
+    public void testDivisibilityMask() throws Exception {
+        final Polynomial factory = Polynomial.factory(unknown(3), Monomial.degreeReverseLexicographic);
+        final Monomial m1 = factory.valueOf(Expression.valueOf("x0^2*x1")).head().monomial();
+        final Monomial m2 = factory.valueOf(Expression.valueOf("x0^3*x1*x2")).head().monomial();
+        assertEquals(0, m1.divisibilityMask() & ~m2.divisibilityMask());
+        assertFalse(m1.multiple(m2));
+        assertTrue(m2.multiple(m1));
+    }
+
+    @Test
+    public void testDivisorsMatchLinearScan() throws Exception {
+        final Random random = new Random(42);
+        for (final Ordering ordering : new Ordering[]{Monomial.lexicographic, Monomial.degreeReverseLexicographic}) {
+            for (int n = 1; n <= 40; n += 13) {
+                final Variable[] unknown = unknown(n);
+                final Polynomial factory = Polynomial.factory(unknown, ordering);
+                final List<Polynomial> list = new ArrayList<>();
+                final MonomialIndex index = new MonomialIndex();
+                for (int i = 0; i < 50; i++) {
+                    final Polynomial p = factory.valueOf(monomial(random, unknown, 3));
+                    list.add(p);
+                    index.add(p);
+                }
+                index.remove(7);
+                list.remove(7);
+                for (int i = 0; i < 200; i++) {
+                    final Monomial m = factory.valueOf(monomial(random, unknown, 6)).head().monomial();
+                    assertSame(Polynomial.reducer(list, m), index.divisor(m));
+                    final List<Polynomial> expected = new ArrayList<>();
+                    for (Polynomial p : list) if (m.multiple(p.head().monomial())) expected.add(p);
+                    assertEquals(expected, index.divisors(m));
+                }
+            }
+        }
+    }
+
+    private static Expression monomial(Random random, Variable[] unknown, int degree) throws Exception {
+        final StringBuilder result = new StringBuilder("1");
+        for (int i = 0; i < 3; i++) {
+            result.append("*").append(unknown[random.nextInt(unknown.length)].getName()).append("^").append(random.nextInt(degree));
+        }
+        return Expression.valueOf(result.toString());
+    }
+
+    private static Variable[] unknown(int n) throws Exception {
+        final Variable[] result = new Variable[n];
+        for (int i = 0; i < n; i++) result[i] = Expression.valueOf("x" + i).variableValue();
+        return result;
+    }
+}
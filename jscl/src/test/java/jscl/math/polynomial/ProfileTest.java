@@ -0,0 +1,96 @@
+package jscl.math.polynomial;
+
+import jscl.Budget;
+import jscl.BudgetExceededException;
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Trace;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProfileTest {
+
+    private static Variable[] unknown(String... names) throws Exception {
+        final Variable[] unknown = new Variable[names.length];
+        for (int i = 0; i < names.length; i++) unknown[i] = Expression.valueOf(names[i]).variableValue();
+        return unknown;
+    }
+
+    private static Generic[] generic(String... expressions) throws Exception {
+        final Generic[] generic = new Generic[expressions.length];
+        for (int i = 0; i < expressions.length; i++) generic[i] = Expression.valueOf(expressions[i]).expand();
+        return generic;
+    }
+
+    @Test
+    public void testSelect() throws Exception {
+        final Variable[] unknown = unknown("x", "y", "z");
+        final Profile dense = new Profile(generic("(x+y+z+1)^6"), unknown);
+        assertEquals(Basis.GEO_BUCKETS, dense.select(0, 0));
+        assertEquals(Basis.GEO_BUCKETS | Basis.F4, dense.select(0, Basis.F4));
+        // the array kernels are faster modulo a prime
+        assertEquals(0, dense.select(32003, 0));
+        assertEquals(Basis.MODULAR, dense.select(0, Basis.MODULAR));
+        // explicit choices are kept
+        assertEquals(Basis.TREE, dense.select(0, Basis.TREE));
+        assertEquals(Basis.POWER_8, dense.select(0, Basis.POWER_8));
+        // homogeneous, too few terms or variables
+        assertEquals(0, new Profile(generic("(x+y+z)^6"), unknown).select(0, 0));
+        assertEquals(0, new Profile(generic("x^2*y-z", "x*y*z-1"), unknown).select(0, 0));
+        assertEquals(0, new Profile(generic("(x+y+1)^6"), unknown("x", "y")).select(0, 0));
+    }
+
+    @Test
+    public void testDefault() throws Exception {
+        final Variable[] unknown = unknown("x", "y", "z");
+        final Generic[] generic = generic("x^2*y+3*x*z-y+2", "y^2*z-x*y+z^2-1", "x*z^2+y*z-x+5*z");
+        final Basis basis = Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic);
+        assertEquals(Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, 0).toString(), basis.toString());
+        assertTrue(basis.factory instanceof GeoBucket);
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        final Variable[] unknown = unknown("x", "y", "z", "w");
+        final Generic[] generic = generic("y-x^15", "z-y^15", "w-z^15");
+        final Basis expected = Basis.compute(generic, unknown, Monomial.lexicographic);
+        assertEquals("{x^15-y, x^225-z, x^3375-w}, {x, y, z, w}", expected.toString());
+        assertEquals(expected.toString(), Basis.compute(generic, unknown, Monomial.lexicographic, 0, Basis.ADAPTIVE).toString());
+    }
+
+    @Test
+    public void testOtherErrorsNotRetried() throws Exception {
+        final Variable[] unknown = unknown("a", "b", "c", "d");
+        final Generic[] generic = generic("a+b+c+d", "a*b+b*c+c*d+d*a", "a*b*c+b*c*d+c*d*a+d*a*b", "a*b*c*d-1");
+        final Trace.Counter counter = new Trace.Counter();
+        final Budget budget = new Budget.Builder().setMaxDegree(5).create();
+        Trace.setSink(counter);
+        budget.enter();
+        try {
+            Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, Basis.ADAPTIVE);
+            fail();
+        } catch (BudgetExceededException e) {
+            assertEquals(Budget.Limit.degree, e.getLimit());
+        } finally {
+            budget.exit();
+            Trace.setSink(null);
+        }
+        // computed once, not retried in another representation
+        assertEquals(1, counter.getCount(Trace.Event.basis));
+    }
+
+    @Test
+    public void testOrdering() throws Exception {
+        final Variable[] unknown = unknown("a", "b", "c", "d");
+        final Generic[] generic = generic("a+b+c+d", "a*b+b*c+c*d+d*a", "a*b*c+b*c*d+c*d*a+d*a*b", "a*b*c*d-1");
+        for (Ordering ordering : new Ordering[]{Monomial.lexicographic, Monomial.totalDegreeLexicographic, Monomial.degreeReverseLexicographic}) {
+            final Basis expected = Basis.compute(generic, unknown, ordering);
+            assertEquals(expected.toString(), Basis.compute(generic, unknown, ordering, 0, Basis.POWER_8).toString());
+            assertEquals(expected.toString(), Basis.compute(generic, unknown, ordering, 0, Basis.ADAPTIVE).toString());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Ordering;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class F4Test {
+
+    static final int modulo = 32003;
+
+    static Generic[] cyclic4() throws Exception {
+        return new Generic[]{
+                Expression.valueOf("a+b+c+d"),
+                Expression.valueOf("a*b+b*c+c*d+d*a"),
+                Expression.valueOf("a*b*c+b*c*d+c*d*a+d*a*b"),
+                Expression.valueOf("a*b*c*d-1")
+        };
+    }
+
+    static Generic[] katsura3() throws Exception {
+        return new Generic[]{
+                Expression.valueOf("a+2*b+2*c+2*d-1"),
+                Expression.valueOf("a^2+2*b^2+2*c^2+2*d^2-a"),
+                Expression.valueOf("2*a*b+2*b*c+2*c*d-b"),
+                Expression.valueOf("b^2+2*a*c+2*b*d-c")
+        };
+    }
+
+    static Variable[] unknown() throws Exception {
+        return new Variable[]{
+                Expression.valueOf("a").variableValue(),
+                Expression.valueOf("b").variableValue(),
+                Expression.valueOf("c").variableValue(),
+                Expression.valueOf("d").variableValue()
+        };
+    }
+
+    @Test
+    public void testCyclic4() throws Exception {
+        assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic);
+        assertSameBasis(cyclic4(), Monomial.lexicographic);
+    }
+
+    @Test
+    public void testKatsura3() throws Exception {
+        assertSameBasis(katsura3(), Monomial.degreeReverseLexicographic);
+        assertSameBasis(katsura3(), Monomial.lexicographic);
+    }
+
+    @Test
+    public void testGeoBuckets() throws Exception {
+        assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic, modulo, Basis.F4 | Basis.GEO_BUCKETS);
+        assertSameBasis(katsura3(), Monomial.degreeReverseLexicographic, modulo, Basis.F4 | Basis.GEO_BUCKETS);
+    }
+
+    @Test
+    public void testDataStructures() throws Exception {
+        final int structures[] = {Basis.ARRAY, Basis.TREE, Basis.LIST};
+        for (int structure : structures) {
+            assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic, modulo, Basis.F4 | structure);
+            assertSameBasis(katsura3(), Monomial.degreeReverseLexicographic, 0, Basis.F4 | structure);
+        }
+    }
+
+    @Test
+    public void testRational() throws Exception {
+        assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic, 0, Basis.F4);
+        assertSameBasis(katsura3(), Monomial.lexicographic, 0, Basis.F4);
+    }
+
+    private void assertSameBasis(Generic[] generic, Ordering ordering) throws Exception {
+        assertSameBasis(generic, ordering, modulo, Basis.F4);
+    }
+
+    private void assertSameBasis(Generic[] generic, Ordering ordering, int modulo, int flags) throws Exception {
+        final Basis expected = Basis.compute(generic, unknown(), ordering, modulo);
+        final Basis actual = Basis.compute(generic, unknown(), ordering, modulo, flags);
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
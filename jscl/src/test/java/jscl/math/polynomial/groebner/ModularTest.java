@@ -0,0 +1,71 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Ordering;
+import jscl.math.polynomial.Polynomial;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static jscl.math.polynomial.groebner.F4Test.cyclic4;
+import static jscl.math.polynomial.groebner.F4Test.katsura3;
+import static jscl.math.polynomial.groebner.F4Test.unknown;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModularTest {
+
+    @Test
+    public void testCyclic4() throws Exception {
+        assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic);
+        assertSameBasis(cyclic4(), Monomial.lexicographic);
+    }
+
+    @Test
+    public void testKatsura3() throws Exception {
+        assertSameBasis(katsura3(), Monomial.degreeReverseLexicographic);
+        assertSameBasis(katsura3(), Monomial.lexicographic);
+    }
+
+    @Test
+    public void testRationalReconstruction() throws Exception {
+        final BigInteger m = BigInteger.valueOf(2147483647L).multiply(BigInteger.valueOf(2147483629L));
+        final BigInteger u = BigInteger.valueOf(-37).multiply(BigInteger.valueOf(1024).modInverse(m)).mod(m);
+        assertArrayEquals(new BigInteger[]{BigInteger.valueOf(-37), BigInteger.valueOf(1024)}, Modular.reconstruct(u, m));
+        assertArrayEquals(new BigInteger[]{BigInteger.valueOf(-1), BigInteger.valueOf(2)}, Modular.reconstruct(m.shiftRight(1), m));
+    }
+
+    @Test
+    public void testVerify() throws Exception {
+        final Basis basis = new Basis(new Generic[]{Expression.valueOf("a^2*b"), Expression.valueOf("b^2-1")}, Polynomial.factory(unknown(), Monomial.degreeReverseLexicographic, 0));
+        final Modular modular = new Modular(basis, 0);
+        // a Groebner basis of an ideal containing the input but larger than it, only the fresh prime finds it
+        final Polynomial[] larger = {basis.polynomial(Expression.valueOf("a")), basis.polynomial(Expression.valueOf("b^2-1"))};
+        assertFalse(modular.agrees(larger));
+        assertTrue(modular.verify(larger));
+        final Polynomial[] candidate = {basis.polynomial(Expression.valueOf("a^2")), basis.polynomial(Expression.valueOf("b^2-1"))};
+        assertTrue(modular.agrees(candidate));
+        assertTrue(modular.verify(candidate));
+        // not a Groebner basis
+        assertFalse(modular.verify(new Polynomial[]{basis.polynomial(Expression.valueOf("a^2*b")), basis.polynomial(Expression.valueOf("b^2-1"))}));
+    }
+
+    @Test
+    public void testPrimeField() throws Exception {
+        // the multi-modular algorithm is not used over a prime field, the basis is computed directly
+        final Basis expected = Basis.compute(katsura3(), unknown(), Monomial.degreeReverseLexicographic, 7);
+        final Basis actual = Basis.compute(katsura3(), unknown(), Monomial.degreeReverseLexicographic, 7, Basis.MODULAR);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    private void assertSameBasis(Generic[] generic, Ordering ordering) throws Exception {
+        final Basis expected = Basis.compute(generic, unknown(), ordering, 0);
+        final Basis actual = Basis.compute(generic, unknown(), ordering, 0, Basis.MODULAR);
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
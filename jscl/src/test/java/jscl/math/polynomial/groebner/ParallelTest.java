@@ -0,0 +1,73 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.Budget;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelTest {
+
+    @Test
+    public void testBudget() throws Exception {
+        final List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return Budget.current() != null;
+                }
+            });
+        }
+        assertEquals(Arrays.asList(false, false, false, false), Parallel.invokeAll(tasks));
+        final Budget budget = new Budget.Builder().setMaxTerms(1000).create();
+        budget.enter();
+        try {
+            assertEquals(Arrays.asList(true, true, true, true), Parallel.invokeAll(tasks));
+        } finally {
+            budget.exit();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                started.countDown();
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }
+        });
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() throws InterruptedException {
+                // a task cancelled before it starts is never interrupted
+                started.await();
+                throw new ArithmeticException("failed");
+            }
+        });
+        try {
+            Parallel.invokeAll(tasks);
+            fail();
+        } catch (ArithmeticException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,36 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Generic;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Ordering;
+import org.junit.Test;
+
+import static jscl.math.polynomial.groebner.F4Test.cyclic4;
+import static jscl.math.polynomial.groebner.F4Test.katsura3;
+import static jscl.math.polynomial.groebner.F4Test.unknown;
+import static org.junit.Assert.assertEquals;
+
+public class StandardTest {
+
+    @Test
+    public void testParallelCyclic4() throws Exception {
+        assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic, 0);
+        assertSameBasis(cyclic4(), Monomial.lexicographic, 0);
+        assertSameBasis(cyclic4(), Monomial.degreeReverseLexicographic, Basis.GM_SETTING);
+    }
+
+    @Test
+    public void testParallelKatsura3() throws Exception {
+        assertSameBasis(katsura3(), Monomial.degreeReverseLexicographic, 0);
+        assertSameBasis(katsura3(), Monomial.lexicographic, Basis.SUGAR);
+    }
+
+    private void assertSameBasis(Generic[] generic, Ordering ordering, int flags) throws Exception {
+        final Basis expected = Basis.compute(generic, unknown(), ordering, 0, flags);
+        for (int threads = 2; threads <= 4; threads++) {
+            final Basis actual = Basis.compute(generic, unknown(), ordering, 0, flags | Basis.threads(threads));
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+}
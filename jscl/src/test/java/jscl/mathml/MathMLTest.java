@@ -0,0 +1,47 @@
+package jscl.mathml;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Matrix;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MathMLTest {
+
+    @Test
+    public void testExpressions() throws Exception {
+        assertEquals("<math><mrow><mn>1</mn><mo>+</mo><msup><mi>x</mi><mn>2</mn></msup><mo>+</mo><mn>2</mn><mi>x</mi><mi>y</mi></mrow></math>", Expression.valueOf("x^2+2*x*y+1").toMathML());
+        assertEquals("<math><mrow><mfenced close=\"|\" open=\"|\"><mrow><mo>-</mo><mn>1</mn><mo>+</mo><mi>x</mi></mrow></mfenced></mrow></math>", Expression.valueOf("abs(x-1)").toMathML());
+        assertEquals("<math><mrow><mrow><mo>∫</mo><mrow><mi>x</mi><mi>sin</mi><mfenced><mrow><mi>x</mi></mrow></mfenced></mrow><mo>d</mo><mi>x</mi></mrow></mrow></math>", Expression.valueOf("∫(x*sin(x), x)").toMathML());
+        assertEquals("<math><mrow><mrow><munderover><mo>∑</mo><mrow><mrow><mi>n</mi></mrow><mo>=</mo><mn>1</mn></mrow><mn>10</mn></munderover><mrow><msup><mi>n</mi><mn>2</mn></msup></mrow></mrow></mrow></math>", Expression.valueOf("Σ(n^2, n, 1, 10)").toMathML());
+        assertEquals("<math><mrow><mn>2.5</mn><mi>π</mi></mrow></math>", Expression.valueOf("2.5*π").toMathML());
+        assertEquals("<math><mrow><msup><msqrt><mrow><mn>1</mn><mo>+</mo><msup><mi>x</mi><mn>2</mn></msup></mrow></msqrt><mn>3</mn></msup></mrow></math>", Expression.valueOf("√(x^2+1)^3").toMathML());
+
+        final Generic[][] elements = new Generic[2][2];
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) elements[i][j] = Expression.valueOf("x" + i + "+" + j).expand();
+        }
+        assertEquals("<math><mfenced><mtable><mtr><mtd><mrow><mi>x0</mi></mrow></mtd><mtd><mrow><mn>1</mn><mo>+</mo><mi>x0</mi></mrow></mtd></mtr><mtr><mtd><mrow><mi>x1</mi></mrow></mtd><mtd><mrow><mn>1</mn><mo>+</mo><mi>x1</mi></mrow></mtd></mtr></mtable></mfenced></math>", new Matrix(elements).toMathML());
+    }
+
+    @Test
+    public void testEscaping() throws Exception {
+        final MathML document = new MathML();
+        final MathML math = document.element("math");
+        final MathML mo = document.element("mo");
+        mo.setAttribute("b", "1");
+        mo.setAttribute("a", "1");
+        mo.setAttribute("b", "&<>\"'\t\n\r");
+        mo.appendChild(document.text("&<>\"'\t\n\r"));
+        math.appendChild(mo);
+        final MathML mi = document.element("mi");
+        mi.appendChild(document.text(""));
+        math.appendChild(mi);
+        final MathML mn = document.element("mn");
+        mn.appendChild(document.text("\u0001\u0085 𝑥"));
+        math.appendChild(mn);
+        assertEquals("<math><mo a=\"1\" b=\"&amp;&lt;&gt;&quot;'&#9;&#10;&#13;\">&amp;&lt;&gt;\"'\t\n&#13;</mo><mi/><mn>&#1;&#133; &#119909;</mn></math>", math.toString());
+        assertEquals("", document.toString());
+    }
+}
@@ -80,6 +80,9 @@ public class JsclMessageTest {
             case 17:
             case 20:
             case 21:
+            case 26:
+            case 27:
+            case 28:
                 return Arrays.asList("param0");
         }
         return Collections.emptyList();
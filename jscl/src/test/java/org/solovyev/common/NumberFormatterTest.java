@@ -177,6 +177,61 @@ public class NumberFormatterTest {
         assertEquals("5E40", numberFormatter.format(50000000000000000000000000000000000000000d));
     }
 
+    @Test
+    public void testRoundingOfDecimalDigits() throws Exception {
+        numberFormatter.useSimpleFormat();
+        numberFormatter.setPrecision(1);
+
+        // rounded half up as written, not as stored in binary
+        assertEquals("0.2", numberFormatter.format(0.15));
+        assertEquals("-0.3", numberFormatter.format(-0.25));
+        assertEquals("2.1", numberFormatter.format(2.05));
+
+        numberFormatter.setPrecision(2);
+        assertEquals("1.01", numberFormatter.format(1.005));
+        assertEquals("1.02", numberFormatter.format(1.015));
+    }
+
+    @Test
+    public void testNegativeZero() throws Exception {
+        numberFormatter.useSimpleFormat();
+        assertEquals("0", numberFormatter.format(-0.0));
+        assertEquals("0", numberFormatter.format(-0.0, 2));
+        assertEquals("0", numberFormatter.format(-0.0, 16));
+
+        numberFormatter.setPrecision(1);
+        assertEquals("0", numberFormatter.format(-0.0));
+        assertEquals("0", numberFormatter.format(-0.01));
+
+        numberFormatter.useScientificFormat(NumberFormatter.DEFAULT_MAGNITUDE);
+        assertEquals("0", numberFormatter.format(-0.0));
+    }
+
+    @Test
+    public void testBigIntegerBeyondLong() throws Exception {
+        numberFormatter.useSimpleFormat();
+        numberFormatter.setPrecision(15);
+
+        // EE34453C9351DA237
+        assertEquals("E.E34453C9351DA24E16", numberFormatter.format(new BigInteger("274630723300604355127"), 16));
+        assertEquals("1.844674407370955E19", numberFormatter.format(BigInteger.ONE.shiftLeft(64).add(BigInteger.ONE)));
+    }
+
+    @Test
+    public void testIntegralDoubleBeyondMantissa() throws Exception {
+        numberFormatter.useSimpleFormat();
+        numberFormatter.setPrecision(15);
+
+        // the shortest decimal forms 3.8670861410986016E16 and 3.6897728365593032E16 are not the stored values
+        assertEquals("8962F18D8F6820", numberFormatter.format(38670861410986016d, 16));
+        assertEquals("2113057061543664040", numberFormatter.format(38670861410986016d, 8));
+        assertEquals("10001001011000101111000110001101100011110110100000100000", numberFormatter.format(38670861410986016d, 2));
+        assertEquals("831649D84001C8", numberFormatter.format(36897728365593032d, 16));
+        assertEquals("2030544473020000710", numberFormatter.format(36897728365593032d, 8));
+        assertEquals("-10011001011001111100100100101010000101011000001111101000", numberFormatter.format(-43179785128870888d, 2));
+        assertTrue(numberFormatter.format(-43179785128870888d, 16).toString().endsWith("669836D5EA7C18"));
+    }
+
     @Test
     public void testMaximumPrecision() throws Exception {
         numberFormatter.useSimpleFormat();